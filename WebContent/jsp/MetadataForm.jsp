@@ -1,4 +1,5 @@
 <%@page import="de.fuberlin.panda.metadata.config.MetadataSourceType"%>
+<%@page import="de.fuberlin.panda.metadata.config.OutputFormat"%>
 <%@ page language="java" contentType="text/html; charset=ISO-8859-1"
     pageEncoding="ISO-8859-1"%>
 <!DOCTYPE html PUBLIC "-//W3C//DTD HTML 4.01 Transitional//EN" "http://www.w3.org/TR/html4/loose.dtd">
@@ -19,7 +20,21 @@
 					<select name="source" size="1">
    						<option><%=MetadataSourceType.XML_TEST%></option>
    						<option><%=MetadataSourceType.XML%></option>
+   						<option><%=MetadataSourceType.XML_STREAM%></option>
    						<option selected><%=MetadataSourceType.VIRTUOSO%></option>
+   						<option><%=MetadataSourceType.TDB%></option>
+					</select>
+				</td>
+			</tr>
+			<tr>
+				<td>Output format: </td>
+				<td>
+					<select name="format" size="1">
+   						<option selected><%=OutputFormat.RDF_XML_ABBREV%></option>
+   						<option><%=OutputFormat.RDF_XML%></option>
+   						<option><%=OutputFormat.N_TRIPLES%></option>
+   						<option><%=OutputFormat.TURTLE%></option>
+   						<option><%=OutputFormat.RDF_JSON%></option>
 					</select>
 				</td>
 			</tr>
@@ -1,6 +1,7 @@
 package de.fuberlin.panda.api.metadata;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,6 +15,7 @@ import javax.servlet.http.HttpServletResponse;
 import de.fuberlin.panda.api.APIHelper;
 import de.fuberlin.panda.metadata.MetadataConnector;
 import de.fuberlin.panda.metadata.config.MetadataSourceType;
+import de.fuberlin.panda.metadata.config.OutputFormat;
 import de.fuberlin.panda.metadata.exceptions.MetadataNotFoundException;
 import de.fuberlin.panda.metadata.exceptions.ProcessingUriException;
 
@@ -23,6 +25,9 @@ import de.fuberlin.panda.metadata.exceptions.ProcessingUriException;
  * requested uris and returns the metadata to the URIs in a xml text. 
  * 
  * @see #doGet(HttpServletRequest, HttpServletResponse)
+ * @see #getOutputFormat(HttpServletRequest)
+ * @see #writeMetadata(MetadataConnector, OutputFormat)
+ * @see #sendError(int, String)
  * @see #processXMLTestData(String, String)
  * 
  * @since 05.09.2013
@@ -48,36 +53,92 @@ public class MetadataRequest extends HttpServlet {
         String source = request.getParameter("source");
         boolean fusion = request.getParameter("fusion") != null;
         List<String> uris = getURIs(request.getParameter("uris"));
+        OutputFormat format = getOutputFormat(request);
         
         try {
         	if (source.equals(MetadataSourceType.XML_TEST.toString())) {
              	processXMLTestData(uris);
      		} else if(source.equals(MetadataSourceType.XML.toString())) {
      			MetadataConnector metadataConnector = new MetadataConnector(MetadataSourceType.XML, uris, fusion);
-     			response.setContentType("application/xml;charset=UTF-8");
-         		PrintWriter out = response.getWriter();
-     			String outputData = metadataConnector.getMetadata(); 
-         		out.print(outputData);
+     			writeMetadata(metadataConnector, format);
+     		} else if(source.equals(MetadataSourceType.XML_STREAM.toString())) {
+     			MetadataConnector metadataConnector = new MetadataConnector(MetadataSourceType.XML_STREAM, uris, fusion);
+     			writeMetadata(metadataConnector, format);
      		} else if(source.equals(MetadataSourceType.VIRTUOSO.toString())) {
      			MetadataConnector metadataConnector = new MetadataConnector(MetadataSourceType.VIRTUOSO, uris, fusion);
-     			response.setContentType("application/xml;charset=UTF-8");
-         		PrintWriter out = response.getWriter();
-         		out.print(metadataConnector.getMetadata());
+     			writeMetadata(metadataConnector, format);
+     		} else if(source.equals(MetadataSourceType.TDB.toString())) {
+     			MetadataConnector metadataConnector = new MetadataConnector(MetadataSourceType.TDB, uris, fusion);
+     			writeMetadata(metadataConnector, format);
      		} else {
      			APIHelper.createErrorMessage(response, "unkown error", "Metadata");
      		}
         } catch (MetadataNotFoundException e) {
-			response.sendError(HttpServletResponse.SC_NOT_FOUND, 
+			sendError(HttpServletResponse.SC_NOT_FOUND, 
 					"Couldn't find metadata with URI: " + e.getMessage());
 		} catch (ProcessingUriException e) {
-			response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
+			sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
 					"Error while processing the URI: " + e.getMessage());
 		} catch (IOException e) {
-			response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
+			sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
 					"Unablbe to open OutputStream: " + e.getMessage());
 		}
     }
 	
+	/**
+	 * This method determines the {@link OutputFormat} of the response. A valid {@code format}
+	 * parameter is preferred, otherwise the {@code Accept} header is evaluated. If neither
+	 * names a supported format (like the requests of the JSP form) the default 
+	 * {@link OutputFormat#RDF_XML_ABBREV} is returned.
+	 * 
+	 * @param request - the current {@code HttpServletRequest}.
+	 * @return the {@code OutputFormat} which should be used for the response.
+	 */
+	private OutputFormat getOutputFormat(HttpServletRequest request) {
+		OutputFormat format = OutputFormat.fromParameter(request.getParameter("format"));
+		if (format == null) {
+			format = OutputFormat.fromAcceptHeader(request.getHeader("Accept"));
+		}
+		if (format == null) {
+			format = OutputFormat.RDF_XML_ABBREV;
+		}
+		return format;
+	}
+	
+	/**
+	 * This method writes the metadata of the given {@code MetadataConnector} directly to
+	 * the servlets {@code OutputStream}. Since no content length is set, the container
+	 * sends the response with chunked transfer encoding as soon as its buffer is full.
+	 * 
+	 * @param metadataConnector - the {@link MetadataConnector} which holds the request.
+	 * @param format - the {@link OutputFormat} of the response.
+	 * @throws MetadataNotFoundException - in case an URI has no metadata.
+	 * @throws ProcessingUriException - in case the metadata couldn't be parsed from the source.
+	 * @throws IOException - in case something went wrong with the output stream.
+	 */
+	private void writeMetadata(MetadataConnector metadataConnector, OutputFormat format) 
+			throws MetadataNotFoundException, ProcessingUriException, IOException {
+		response.setContentType(format.getContentType());
+		OutputStream out = response.getOutputStream();
+		metadataConnector.writeMetadata(out, format);
+		out.flush();
+	}
+	
+	/**
+	 * This method sends an error to the client. Streamed output formats may already have
+	 * committed the response before an URI fails, in this case the status can't be changed 
+	 * anymore and the output is just cut off.
+	 * 
+	 * @param status - the HTTP status code.
+	 * @param message - the error message.
+	 * @throws IOException in case the error couldn't be sent.
+	 */
+	private void sendError(int status, String message) throws IOException {
+		if (!response.isCommitted()) {
+			response.sendError(status, message);
+		}
+	}
+	
 	/**
 	 * This method uses a {@link StringTokenizer} to separate the requested URIs 
 	 * given in the input field.  
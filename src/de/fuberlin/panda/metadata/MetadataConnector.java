@@ -1,16 +1,22 @@
 package de.fuberlin.panda.metadata;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 import org.apache.log4j.Logger;
 
 import de.fuberlin.panda.metadata.config.MetadataSourceType;
+import de.fuberlin.panda.metadata.config.OutputFormat;
 import de.fuberlin.panda.metadata.config.RDFInput;
 import de.fuberlin.panda.metadata.exceptions.MetadataNotFoundException;
 import de.fuberlin.panda.metadata.exceptions.ProcessingUriException;
+import de.fuberlin.panda.metadata.parsedMetadata.ParsedMetadataCache;
+import de.fuberlin.panda.metadata.parsedMetadata.VirtuosoBatchQuery;
+import de.fuberlin.panda.metadata.parsedMetadata.VirtuosoMetadata;
 import de.fuberlin.panda.metadata.result.ListResult;
 import de.fuberlin.panda.metadata.result.MetadataResult;
+import de.fuberlin.panda.metadata.result.StreamingListResult;
 import de.fuberlin.panda.metadata.result.fusion.FusionResult;
 import de.fuberlin.panda.metadata.result.fusion.type.TypeProperties;
 
@@ -22,6 +28,13 @@ import de.fuberlin.panda.metadata.result.fusion.type.TypeProperties;
  * 
  * @see #MetadataConnector(MetadataSourceType, List, boolean)
  * @see #getMetadata()
+ * @see #writeMetadata(OutputStream)
+ * @see #writeMetadata(OutputStream, OutputFormat)
+ * @see #setVirtuosoBatchSize(int)
+ * @see #setParallelism(int)
+ * @see #setFetchTimeout(long)
+ * @see #setFailFast(boolean)
+ * @see #setMetadataCache(ParsedMetadataCache)
  * 
  * @author Sebastian Schulz
  * @since 05.09.2013
@@ -32,6 +45,11 @@ public class MetadataConnector {
 	protected MetadataSourceType sourceType;
 	protected List<String> uris;
 	protected boolean fusion;
+	protected int virtuosoBatchSize = VirtuosoBatchQuery.DEFAULT_BATCH_SIZE;
+	protected int parallelism = MetadataFetcher.DEFAULT_PARALLELISM;
+	protected long fetchTimeoutMillis = MetadataFetcher.DEFAULT_TIMEOUT_MILLIS;
+	protected boolean failFast = true;
+	protected ParsedMetadataCache metadataCache = ParsedMetadataCache.getInstance();
 	
 	/**
 	 * The constructor just adds the given information to protected fields and calls the 
@@ -84,10 +102,73 @@ public class MetadataConnector {
 	}
 	
 	/**
-	 * This method is the main control loop of the program. At the beginning it decides if a fusion
-	 * should be done or not. Afterwards for every URI the metadata information is parsed from the
-	 * source regarding the {@code sourceType}. Finally the metadata model is created and the RDF/XML
-	 * representation is returned a s {@code String} value. 
+	 * This method sets the number of URIs which are retrieved by a single query from the 
+	 * virtuoso triple store. Up to {@code parallelism} batches are queried at the same time. 
+	 * A batch size of 1 sends one query per URI like {@link VirtuosoMetadata#parseMetadata()},
+	 * these queries are sent concurrently by the {@link MetadataFetcher}.
+	 * 
+	 * @param virtuosoBatchSize - the maximum number of URIs per query.
+	 */
+	public void setVirtuosoBatchSize(int virtuosoBatchSize) {
+		if (virtuosoBatchSize < 1) {
+			throw new IllegalArgumentException("The batch size has to be positive: " + virtuosoBatchSize);
+		}
+		this.virtuosoBatchSize = virtuosoBatchSize;
+	}
+	
+	/**
+	 * This method sets the maximum number of URIs which are parsed at the same time by the 
+	 * {@link MetadataFetcher}, respectively the maximum number of concurrent batch queries in 
+	 * case of a virtuoso batch size greater than 1. A parallelism of 1 parses the URIs one 
+	 * after another. {@link MetadataSourceType#XML_STREAM} always reads the file in a single 
+	 * pass.
+	 * 
+	 * @param parallelism - the maximum number of concurrently parsed URIs respectively batches.
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("The parallelism has to be positive: " + parallelism);
+		}
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * This method sets the maximum time the concurrent parsing of a single URI respectively
+	 * the execution of a single virtuoso batch query may take.
+	 * 
+	 * @param fetchTimeoutMillis - the timeout in milliseconds.
+	 */
+	public void setFetchTimeout(long fetchTimeoutMillis) {
+		if (fetchTimeoutMillis < 1) {
+			throw new IllegalArgumentException("The timeout has to be positive: " + fetchTimeoutMillis);
+		}
+		this.fetchTimeoutMillis = fetchTimeoutMillis;
+	}
+	
+	/**
+	 * This method sets whether the first URI without metadata stops the processing with a 
+	 * {@link MetadataNotFoundException} (default) or whether such URIs are skipped.
+	 * 
+	 * @param failFast - {@code false} to skip URIs without metadata.
+	 */
+	public void setFailFast(boolean failFast) {
+		this.failFast = failFast;
+	}
+	
+	/**
+	 * This method sets the cache the parsed metadata is taken from and added to. By default 
+	 * the process wide {@link ParsedMetadataCache#getInstance()} is used.
+	 * 
+	 * @param metadataCache - the {@code ParsedMetadataCache} or {@code null} to parse every 
+	 * 	URI again.
+	 */
+	public void setMetadataCache(ParsedMetadataCache metadataCache) {
+		this.metadataCache = metadataCache;
+	}
+	
+	/**
+	 * This method calls {@link #createMetadataResult()} to parse the metadata and returns the 
+	 * RDF/XML representation of the created model as a {@code String} value. 
 	 * 
 	 * @return a {@code String} value which represents the RDF/XML output of the metada model.
 	 * @throws MetadataNotFoundException - in case an URI has no metadata which could be parsed from 
@@ -95,14 +176,145 @@ public class MetadataConnector {
 	 * @throws ProcessingUriException - in case the metadata couldn't be parsed from the source.
 	 * @throws IOException - in case something went wrong with the output stream. 
 	 */
- 	public String getMetadata() throws MetadataNotFoundException, ProcessingUriException, IOException {
+	public String getMetadata() throws MetadataNotFoundException, ProcessingUriException, IOException {
+		return createMetadataResult().toRdfXml();
+	}
+	
+	/**
+	 * This method calls {@link #createMetadataResult()} to parse the metadata and writes the 
+	 * RDF/XML representation of the created model directly to the given {@code OutputStream}.
+	 * In contrast to {@link #getMetadata()} the output isn't buffered as a {@code String}.
+	 * 
+	 * @param out - the {@code OutputStream} the output is written to.
+	 * @throws MetadataNotFoundException - in case an URI has no metadata which could be parsed from 
+	 * 	the source.
+	 * @throws ProcessingUriException - in case the metadata couldn't be parsed from the source.
+	 * @throws IOException - in case something went wrong with the output stream. 
+	 */
+	public void writeMetadata(OutputStream out) throws MetadataNotFoundException, ProcessingUriException, 
+			IOException {
+		writeMetadata(out, OutputFormat.RDF_XML_ABBREV);
+	}
+	
+	/**
+	 * This method parses the metadata and writes it in the given {@link OutputFormat} directly 
+	 * to the {@code OutputStream}. In case no fusion is done and the format can be streamed 
+	 * (see {@link OutputFormat#isStreamable()}) a {@link StreamingListResult} writes every entry
+	 * as soon as it has been parsed. Otherwise {@link #createMetadataResult()} builds the whole
+	 * model first.
+	 * 
+	 * @param out - the {@code OutputStream} the output is written to.
+	 * @param format - the {@code OutputFormat} which should be used for the serialization.
+	 * @throws MetadataNotFoundException - in case an URI has no metadata which could be parsed from 
+	 * 	the source.
+	 * @throws ProcessingUriException - in case the metadata couldn't be parsed from the source.
+	 * @throws IOException - in case something went wrong with the output stream. 
+	 */
+	public void writeMetadata(OutputStream out, OutputFormat format) throws MetadataNotFoundException, 
+			ProcessingUriException, IOException {
+		if (!isFusionResult() && format.isStreamable()) {
+			StreamingListResult metadata = new StreamingListResult(out, format);
+			parseMetadata(metadata);
+			metadata.writeRdf(out, format);
+		} else {
+			createMetadataResult().writeRdf(out, format);
+		}
+	}
+	
+	/**
+	 * This method decides if a fusion should be done or not. 
+	 * 
+	 * @return {@code true} if the fusion flag is set and more than four URIs are given.
+	 */
+	private boolean isFusionResult() {
+		return fusion && uris.size() > 4;
+	}
+	
+	/**
+	 * This method decides if a fusion should be done or not and creates the matching 
+	 * {@code MetadataResult}. Afterwards {@link #parseMetadata(MetadataResult)} is called and
+	 * finally the metadata model is created and the {@code MetadataResult} is returned. 
+	 * 
+	 * @return a {@code MetadataResult} which holds the created metadata model.
+	 * @throws MetadataNotFoundException - in case an URI has no metadata which could be parsed from 
+	 * 	the source.
+	 * @throws ProcessingUriException - in case the metadata couldn't be parsed from the source.
+	 */
+	private MetadataResult createMetadataResult() throws MetadataNotFoundException, ProcessingUriException {
 		MetadataResult metadata;
-		if (fusion && uris.size() > 4) {
+		if (isFusionResult()) {
 			metadata = new FusionResult();
 		} else {
 			metadata = new ListResult();
 		}
 		
+		parseMetadata(metadata);
+		metadata.createRdfModel();
+		return metadata;
+	}
+	
+	/**
+	 * This method is the main control loop of the program. For every URI the metadata 
+	 * information is parsed from the source regarding the {@code sourceType} and handed 
+	 * to the given {@code MetadataResult}. For {@link MetadataSourceType#XML_STREAM} all 
+	 * URIs are parsed at once in a single pass over the XML file. For 
+	 * {@link MetadataSourceType#VIRTUOSO} one query is sent per {@code virtuosoBatchSize}
+	 * URIs and up to {@code parallelism} of these queries are sent at the same time, unless the
+	 * batch size is set to 1. Otherwise the URIs are parsed concurrently by a 
+	 * {@link MetadataFetcher} in case the {@code parallelism} is greater than 1. URIs which are
+	 * contained in the {@code metadataCache} aren't parsed again. URIs without metadata are 
+	 * skipped in all cases unless {@code failFast} is set.
+	 * 
+	 * @param metadata - the {@code MetadataResult} the parsed metadata is added to.
+	 * @throws MetadataNotFoundException - in case {@code failFast} is set and an URI has no 
+	 * 	metadata which could be parsed from the source.
+	 * @throws ProcessingUriException - in case the metadata couldn't be parsed from the source.
+	 */
+	private void parseMetadata(MetadataResult metadata) throws MetadataNotFoundException, 
+			ProcessingUriException {
+		metadata.setMetadataCache(metadataCache);
+		if (sourceType == MetadataSourceType.XML_STREAM 
+				|| (sourceType == MetadataSourceType.VIRTUOSO && virtuosoBatchSize > 1)) {
+			try {
+				if (sourceType == MetadataSourceType.XML_STREAM) {
+					metadata.parseStreamingXMLMetadata(uris, failFast);
+					logger.info("--> Successfully parsed metadata for " + uris.size() 
+							+ " URIs from xml file in a single pass!" );
+				} else {
+					VirtuosoBatchQuery batchQuery = new VirtuosoBatchQuery(virtuosoBatchSize);
+					batchQuery.setParallelism(parallelism);
+					batchQuery.setTimeout(fetchTimeoutMillis);
+					metadata.parseVirtuosoMetadata(uris, batchQuery, failFast);
+					logger.info("--> Successfully parsed metadata for " + uris.size() 
+							+ " URIs from virtuoso triple store in batches of " + virtuosoBatchSize 
+							+ " with up to " + parallelism + " concurrent queries!" );
+				}
+			} catch (MetadataNotFoundException e) {
+				logger.error("No metadata information found for URI: " + e.getMessage());
+				throw e;
+			} catch (ProcessingUriException e){
+				logger.error("Error while processing URI: " + e.getMessage());
+				throw e;
+			}
+			return;
+		}
+		
+		if (parallelism > 1 && uris.size() > 1) {
+			try {
+				MetadataFetcher fetcher = new MetadataFetcher(sourceType, parallelism, fetchTimeoutMillis, 
+						failFast);
+				fetcher.setMetadataCache(metadataCache);
+				fetcher.fetch(uris, metadata);
+			} catch (MetadataNotFoundException e) {
+				logger.error("No metadata information found for URI: " + e.getMessage());
+				throw e;
+			} catch (ProcessingUriException e){
+				logger.error("Error while processing URI: " + e.getMessage());
+				throw e;
+			}
+			return;
+		}
+		
 		for (String metadataUri : uris) {
 			try {
 				switch (sourceType) {
@@ -111,6 +323,11 @@ public class MetadataConnector {
 						logger.info("--> Successfully parsed metadata for '" 
 								+ metadataUri + "' from virtuoso triple store!" );
 						break;
+				case TDB:
+						metadata.parseTDBMetadata(metadataUri);
+						logger.info("--> Successfully parsed metadata for '" 
+								+ metadataUri + "' from TDB dataset!" );
+						break;
 				default: //XML
 						metadata.parseXMLMetadata(metadataUri);
 						logger.info("--> Successfully parsed metadata for '" 
@@ -118,6 +335,10 @@ public class MetadataConnector {
 						break;
 				}
 			} catch (MetadataNotFoundException e) {
+				if (!failFast) {
+					logger.warn("Skipped URI without metadata: " + e.getMessage());
+					continue;
+				}
 				logger.error("No metadata information found for URI: " + e.getMessage());
 				throw e;
 			} catch (ProcessingUriException e){
@@ -125,8 +346,6 @@ public class MetadataConnector {
 				throw e;
 			}
 		}
-		metadata.createRdfModel();
-		return metadata.toRdfXml();
 	}
 
 }
@@ -0,0 +1,251 @@
+package de.fuberlin.panda.metadata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+
+import de.fuberlin.panda.metadata.config.MetadataSourceType;
+import de.fuberlin.panda.metadata.exceptions.MetadataNotFoundException;
+import de.fuberlin.panda.metadata.exceptions.ProcessingUriException;
+import de.fuberlin.panda.metadata.parsedMetadata.ParsedMetadata;
+import de.fuberlin.panda.metadata.parsedMetadata.ParsedMetadataCache;
+import de.fuberlin.panda.metadata.parsedMetadata.TDBMetadata;
+import de.fuberlin.panda.metadata.parsedMetadata.VirtuosoMetadata;
+import de.fuberlin.panda.metadata.parsedMetadata.XMLMetadata;
+import de.fuberlin.panda.metadata.result.MetadataResult;
+
+/**
+ * The {@code MetadataFetcher} parses the metadata of several URIs at the same time. Every
+ * URI is parsed by its own {@link ParsedMetadata} object on a dedicated thread pool with
+ * {@code parallelism} threads. The parsed metadata is handed to the {@link MetadataResult}
+ * in the order of the URIs, so the result doesn't depend on which query finishes first.
+ * <br>In case {@code failFast} is set, the first URI without metadata stops the processing
+ * like the sequential loop does, otherwise such URIs are skipped. A URI whose parsing takes
+ * longer than {@code timeoutMillis} causes a {@link ProcessingUriException}. In case a 
+ * {@link ParsedMetadataCache} is set, cached URIs aren't parsed again.
+ *
+ * @see #fetch(List, MetadataResult)
+ * @see #createParsedMetadata(String)
+ * @see #setMetadataCache(ParsedMetadataCache)
+ * @see #awaitParsedMetadata(String, Future, ParseTask)
+ *
+ * @since 18.10.2026
+ */
+public class MetadataFetcher {
+	private static Logger logger = Logger.getLogger(MetadataConnector.class.getName());
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+	public static final int DEFAULT_PARALLELISM = 8;
+	public static final long DEFAULT_TIMEOUT_MILLIS = 30000;
+
+	private MetadataSourceType sourceType;
+	private int parallelism;
+	private long timeoutMillis;
+	private boolean failFast;
+	private ParsedMetadataCache metadataCache = null;
+
+	/**
+	 * @param sourceType - the {@code MetadataSourceType} the metadata is parsed from.
+	 * @param parallelism - the maximum number of URIs which are parsed at the same time.
+	 * @param timeoutMillis - the maximum time in milliseconds the parsing of a single URI
+	 * 	may take.
+	 * @param failFast - {@code true} if the first URI without metadata should stop the
+	 * 	processing, {@code false} if it should be skipped.
+	 */
+	public MetadataFetcher(MetadataSourceType sourceType, int parallelism, long timeoutMillis,
+			boolean failFast) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("The parallelism has to be positive: " + parallelism);
+		}
+		if (timeoutMillis < 1) {
+			throw new IllegalArgumentException("The timeout has to be positive: " + timeoutMillis);
+		}
+		this.sourceType = sourceType;
+		this.parallelism = parallelism;
+		this.timeoutMillis = timeoutMillis;
+		this.failFast = failFast;
+	}
+
+	/**
+	 * This method submits a {@link ParseTask} for every URI to a new thread pool and waits
+	 * for the results in the order of the URIs. Every result is added to the given
+	 * {@code MetadataResult} as soon as it and all results in front of it are available.
+	 * The thread pool is shut down afterwards, remaining tasks are cancelled in case of an
+	 * exception.
+	 *
+	 * @param uris - the URIs which should be processed.
+	 * @param metadata - the {@code MetadataResult} the parsed metadata is added to.
+	 * @throws MetadataNotFoundException - in case {@code failFast} is set and an URI has no
+	 * 	metadata which could be parsed from the source.
+	 * @throws ProcessingUriException - in case the metadata couldn't be parsed from the source
+	 * 	or the parsing took longer than {@code timeoutMillis}.
+	 */
+	public void fetch(List<String> uris, MetadataResult metadata) throws MetadataNotFoundException,
+			ProcessingUriException {
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism,
+				uris.size())), new FetcherThreadFactory());
+		try {
+			List<ParseTask> tasks = new ArrayList<>(uris.size());
+			List<Future<ParsedMetadata>> futures = new ArrayList<>(uris.size());
+			for (String uri : uris) {
+				ParseTask task = new ParseTask(uri);
+				tasks.add(task);
+				futures.add(executor.submit(task));
+			}
+
+			for (int i = 0; i < uris.size(); i++) {
+				String uri = uris.get(i);
+				try {
+					metadata.addMetadataEntry(awaitParsedMetadata(uri, futures.get(i), tasks.get(i)));
+					logger.info("--> Successfully parsed metadata for '" + uri + "' from "
+							+ sourceType.toString() + "!" );
+				} catch (MetadataNotFoundException e) {
+					if (failFast) {
+						throw e;
+					}
+					logger.warn("Skipped URI without metadata: " + e.getMessage());
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * This method waits until the given task has parsed the metadata. The timeout starts
+	 * when the task starts, so the time a task waits for a free thread doesn't count.
+	 *
+	 * @param uri - the URI of the task.
+	 * @param future - the {@code Future} of the submitted task.
+	 * @param task - the {@link ParseTask} which tells when it has been started.
+	 * @return the parsed metadata.
+	 * @throws MetadataNotFoundException - in case the URI has no metadata.
+	 * @throws ProcessingUriException - in case the parsing failed, timed out or was interrupted.
+	 */
+	private ParsedMetadata awaitParsedMetadata(String uri, Future<ParsedMetadata> future, ParseTask task)
+			throws MetadataNotFoundException, ProcessingUriException {
+		long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		try {
+			while (true) {
+				long startTime = task.getStartTime();
+				long waitNanos = timeoutNanos;
+				if (startTime != 0) {
+					waitNanos = startTime + timeoutNanos - System.nanoTime();
+				}
+
+				try {
+					if (waitNanos > 0) {
+						return future.get(waitNanos, TimeUnit.NANOSECONDS);
+					}
+				} catch (TimeoutException e) {
+					if (task.getStartTime() == 0) {
+						continue;
+					}
+				}
+
+				if (task.getStartTime() != 0 && System.nanoTime() - task.getStartTime() >= timeoutNanos) {
+					future.cancel(true);
+					throw new ProcessingUriException(uri + ", parsing timed out after " + timeoutMillis + " ms");
+				}
+			}
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof MetadataNotFoundException) {
+				throw (MetadataNotFoundException) cause;
+			} else if (cause instanceof ProcessingUriException) {
+				throw (ProcessingUriException) cause;
+			}
+			throw new ProcessingUriException(uri + ", " + cause.toString());
+		} catch (CancellationException e) {
+			throw new ProcessingUriException(uri + ", parsing was cancelled");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ProcessingUriException(uri + ", parsing was interrupted");
+		}
+	}
+
+	/**
+	 * This method sets the cache the parsed metadata is taken from and added to.
+	 * 
+	 * @param metadataCache - the {@link ParsedMetadataCache} or {@code null} to parse every 
+	 * 	URI again.
+	 */
+	public void setMetadataCache(ParsedMetadataCache metadataCache) {
+		this.metadataCache = metadataCache;
+	}
+
+	/**
+	 * This method creates the {@link ParsedMetadata} object matching the {@code sourceType}.
+	 *
+	 * @param uri - the URI the metadata is searched for.
+	 * @return a new {@code ParsedMetadata} object for the URI.
+	 */
+	protected ParsedMetadata createParsedMetadata(String uri) {
+		ParsedMetadata singleMetadata;
+		switch (sourceType) {
+		case VIRTUOSO:
+			singleMetadata = new VirtuosoMetadata();
+			break;
+		case TDB:
+			singleMetadata = new TDBMetadata();
+			break;
+		default: //XML
+			singleMetadata = new XMLMetadata();
+			break;
+		}
+		singleMetadata.setUri(uri);
+		return singleMetadata;
+	}
+
+	/**
+	 * {@code Callable} which parses the metadata of a single URI and remembers when it
+	 * has been started.
+	 */
+	private class ParseTask implements Callable<ParsedMetadata> {
+		private final String uri;
+		private volatile long startTime = 0;
+
+		private ParseTask(String uri) {
+			this.uri = uri;
+		}
+
+		@Override
+		public ParsedMetadata call() throws MetadataNotFoundException, ProcessingUriException {
+			startTime = System.nanoTime();
+			ParsedMetadata singleMetadata = createParsedMetadata(uri);
+			if (metadataCache != null) {
+				return metadataCache.parse(sourceType, singleMetadata);
+			}
+			singleMetadata.parseMetadata();
+			return singleMetadata;
+		}
+
+		private long getStartTime() {
+			return startTime;
+		}
+	}
+
+	/**
+	 * {@code ThreadFactory} for named daemon threads, so a hanging query doesn't keep the
+	 * JVM alive.
+	 */
+	private static class FetcherThreadFactory implements ThreadFactory {
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "MetadataFetcher-" + THREAD_COUNTER.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
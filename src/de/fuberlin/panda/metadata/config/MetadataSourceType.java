@@ -10,7 +10,9 @@ package de.fuberlin.panda.metadata.config;
 public enum MetadataSourceType {
 	XML_TEST("XMLTest"),
 	XML("XML"),
-	VIRTUOSO("Virtuoso");
+	XML_STREAM("XMLStream"),
+	VIRTUOSO("Virtuoso"),
+	TDB("TDB");
 	
 	private final String text;
 	
@@ -0,0 +1,128 @@
+package de.fuberlin.panda.metadata.config;
+
+import java.util.StringTokenizer;
+
+import org.apache.jena.riot.RDFFormat;
+
+/**
+ * Enum for the RDF serializations the metadata output can be written in. Each
+ * format has a short name (used by the {@code format} request parameter), the
+ * media type (used for content negotiation with the {@code Accept} header) and
+ * the Jena {@code RDFFormat} which does the actual writing. Only
+ * {@link #RDF_XML_ABBREV} analyzes the whole model before writing, all other
+ * writers emit the triples block by block.
+ *
+ * @see #fromParameter(String)
+ * @see #fromAcceptHeader(String)
+ *
+ * @since 18.10.2026
+ */
+public enum OutputFormat {
+	RDF_XML_ABBREV("rdfxml-abbrev", "application/xml", RDFFormat.RDFXML_ABBREV),
+	RDF_XML("rdfxml", "application/rdf+xml", RDFFormat.RDFXML_PLAIN),
+	N_TRIPLES("ntriples", "application/n-triples", RDFFormat.NTRIPLES),
+	TURTLE("turtle", "text/turtle", RDFFormat.TURTLE_BLOCKS),
+	RDF_JSON("rdfjson", "application/rdf+json", RDFFormat.RDFJSON);
+
+	private final String text;
+	private final String mediaType;
+	private final RDFFormat rdfFormat;
+
+	private OutputFormat(final String text, final String mediaType, final RDFFormat rdfFormat) {
+		this.text = text;
+		this.mediaType = mediaType;
+		this.rdfFormat = rdfFormat;
+	}
+
+	public String getMediaType() {
+		return mediaType;
+	}
+
+	public String getContentType() {
+		return mediaType + ";charset=UTF-8";
+	}
+
+	public RDFFormat getRdfFormat() {
+		return rdfFormat;
+	}
+
+	public boolean isXml() {
+		return (this == RDF_XML_ABBREV) || (this == RDF_XML);
+	}
+	
+	/**
+	 * This method returns whether the format can be written triple by triple without 
+	 * building a model first (see {@code StreamingListResult}).
+	 * 
+	 * @return {@code true} for {@link #N_TRIPLES} and {@link #TURTLE}.
+	 */
+	public boolean isStreamable() {
+		return (this == N_TRIPLES) || (this == TURTLE);
+	}
+
+	/**
+	 * This method returns the {@code OutputFormat} with the given short name or
+	 * {@code null} in case there is none.
+	 *
+	 * @param parameter - a {@code String} value like "turtle" or "ntriples".
+	 * @return the matching {@code OutputFormat} or {@code null}.
+	 */
+	public static OutputFormat fromParameter(String parameter) {
+		if (parameter != null) {
+			for (OutputFormat format : values()) {
+				if (format.text.equalsIgnoreCase(parameter.trim())) {
+					return format;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * This method selects the {@code OutputFormat} with the highest quality value from the
+	 * given {@code Accept} header. Media ranges like {@code *}{@code /*} are ignored, so a
+	 * browser request keeps the default format. In case two formats have the same quality
+	 * the first one listed in the header wins.
+	 *
+	 * @param acceptHeader - the value of the {@code Accept} header, may be {@code null}.
+	 * @return the best matching {@code OutputFormat} or {@code null} if none matches.
+	 */
+	public static OutputFormat fromAcceptHeader(String acceptHeader) {
+		OutputFormat bestFormat = null;
+		double bestQuality = 0;
+
+		if (acceptHeader == null) {
+			return null;
+		}
+
+		StringTokenizer st = new StringTokenizer(acceptHeader, ",");
+		while (st.hasMoreTokens()) {
+			String[] mediaRange = st.nextToken().split(";");
+			String mediaType = mediaRange[0].trim();
+			double quality = 1;
+			for (int i = 1; i < mediaRange.length; i++) {
+				String parameter = mediaRange[i].trim();
+				if (parameter.startsWith("q=")) {
+					try {
+						quality = Double.parseDouble(parameter.substring(2));
+					} catch (NumberFormatException e) {
+						quality = 0;
+					}
+				}
+			}
+
+			for (OutputFormat format : values()) {
+				if (format.mediaType.equalsIgnoreCase(mediaType) && (quality > bestQuality)) {
+					bestFormat = format;
+					bestQuality = quality;
+				}
+			}
+		}
+		return bestFormat;
+	}
+
+	@Override
+	public String toString() {
+		return text;
+	}
+}
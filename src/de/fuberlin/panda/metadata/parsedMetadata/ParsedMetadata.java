@@ -1,5 +1,7 @@
 package de.fuberlin.panda.metadata.parsedMetadata;
 
+import java.io.File;
+
 import de.fuberlin.panda.metadata.descriptive.AdministrativeScope;
 import de.fuberlin.panda.metadata.descriptive.ArealScope;
 import de.fuberlin.panda.metadata.descriptive.TemporalScope;
@@ -69,6 +71,18 @@ public abstract class ParsedMetadata {
 		return type;
 	}
 	
+	/**
+	 * This method returns the file the metadata is parsed from, so the
+	 * {@link ParsedMetadataCache} can remove the cached metadata once the file 
+	 * has been modified.
+	 * 
+	 * @return the source file or {@code null} in case the metadata isn't read 
+	 * 	from a file.
+	 */
+	public File getSourceFile() {
+		return null;
+	}
+	
 	/**
 	 * Abstract method for parsing metadata into the systems data classes.
 	 * 
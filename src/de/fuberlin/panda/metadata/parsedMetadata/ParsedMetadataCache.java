@@ -0,0 +1,365 @@
+package de.fuberlin.panda.metadata.parsedMetadata;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+import de.fuberlin.panda.metadata.MetadataConnector;
+import de.fuberlin.panda.metadata.config.MetadataSourceType;
+import de.fuberlin.panda.metadata.exceptions.MetadataNotFoundException;
+import de.fuberlin.panda.metadata.exceptions.ProcessingUriException;
+
+/**
+ * This class caches parsed {@link ParsedMetadata} objects by their {@link MetadataSourceType}
+ * and URI, so the metadata of URIs which are requested again and again isn't retrieved and
+ * parsed every time. An entry expires {@code timeToLiveMillis} after it has been parsed. In
+ * case the cache holds more than {@code maxSize} entries, the least recently used entry is
+ * evicted. URIs without metadata are cached as negative entries with their own, usually
+ * shorter, {@code negativeTimeToLiveMillis}, a {@link ProcessingUriException} is never
+ * cached.<br>
+ * Metadata which is read from a file, e.g. the XML metadata file, is removed as soon as the
+ * modification time or the length of the file has changed since the entry has been added,
+ * so edits of the file aren't hidden until the entry expires. The file is checked on every
+ * lookup of such an entry.<br>
+ * The cached objects are shared by all requests, so they must not be modified after they
+ * have been parsed. All methods are thread safe, the parsing itself is done outside of the
+ * lock.
+ *
+ * @see #getInstance()
+ * @see #parse(MetadataSourceType, ParsedMetadata)
+ * @see #getIfPresent(MetadataSourceType, String)
+ * @see #put(MetadataSourceType, ParsedMetadata)
+ * @see #putNotFound(MetadataSourceType, String)
+ * @see #putNotFound(MetadataSourceType, String, File)
+ *
+ * @since 18.10.2026
+ */
+public class ParsedMetadataCache {
+	private static Logger logger = Logger.getLogger(ParsedMetadataCache.class.getName());
+
+	public static final int DEFAULT_MAX_SIZE = 10000;
+	public static final long DEFAULT_TIME_TO_LIVE_MILLIS = 10 * 60 * 1000;
+	public static final long DEFAULT_NEGATIVE_TIME_TO_LIVE_MILLIS = 60 * 1000;
+
+	private static final ParsedMetadataCache INSTANCE = new ParsedMetadataCache();
+
+	private final int maxSize;
+	private final long timeToLiveNanos;
+	private final long negativeTimeToLiveNanos;
+	private final Map<String, CacheEntry> entries;
+
+	private long hitCount = 0;
+	private long negativeHitCount = 0;
+	private long missCount = 0;
+	private long evictionCount = 0;
+
+	public ParsedMetadataCache() {
+		this(DEFAULT_MAX_SIZE, DEFAULT_TIME_TO_LIVE_MILLIS, DEFAULT_NEGATIVE_TIME_TO_LIVE_MILLIS);
+	}
+
+	/**
+	 * @param maxSize - the maximum number of cached entries.
+	 * @param timeToLiveMillis - the time in milliseconds a parsed metadata object is cached.
+	 * @param negativeTimeToLiveMillis - the time in milliseconds a URI without metadata is
+	 * 	cached.
+	 */
+	public ParsedMetadataCache(int maxSize, long timeToLiveMillis, long negativeTimeToLiveMillis) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("The cache size has to be positive: " + maxSize);
+		}
+		if (timeToLiveMillis < 1) {
+			throw new IllegalArgumentException("The time to live has to be positive: " + timeToLiveMillis);
+		}
+		if (negativeTimeToLiveMillis < 0) {
+			throw new IllegalArgumentException("The negative time to live must not be negative: "
+					+ negativeTimeToLiveMillis);
+		}
+		this.maxSize = maxSize;
+		this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis);
+		this.negativeTimeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(negativeTimeToLiveMillis);
+		this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+				if (size() > ParsedMetadataCache.this.maxSize) {
+					evictionCount++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * This method returns the cache which is shared by all {@link MetadataConnector} objects.
+	 *
+	 * @return the process wide {@code ParsedMetadataCache}.
+	 */
+	public static ParsedMetadataCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * This method returns the cached metadata of the URI of the given {@link ParsedMetadata}
+	 * object. In case there is no valid entry, the given object is parsed and cached. A
+	 * {@link MetadataNotFoundException} is cached as negative entry and thrown again for
+	 * following requests of the URI until the entry expires. The state of the source file of
+	 * the metadata object is taken before parsing, so a file which is modified meanwhile
+	 * outdates the entry.
+	 *
+	 * @param sourceType - the {@code MetadataSourceType} the metadata is parsed from.
+	 * @param singleMetadata - the not yet parsed metadata object with the URI set.
+	 * @return the cached respectively the freshly parsed metadata object.
+	 * @throws MetadataNotFoundException if there is no metadata for the URI.
+	 * @throws ProcessingUriException if there was a problem while parsing the metadata.
+	 */
+	public ParsedMetadata parse(MetadataSourceType sourceType, ParsedMetadata singleMetadata)
+			throws MetadataNotFoundException, ProcessingUriException {
+		ParsedMetadata cachedMetadata = getIfPresent(sourceType, singleMetadata.getUri());
+		if (cachedMetadata != null) {
+			return cachedMetadata;
+		}
+
+		SourceFileState sourceFileState = SourceFileState.of(singleMetadata.getSourceFile());
+		try {
+			singleMetadata.parseMetadata();
+		} catch (MetadataNotFoundException e) {
+			putNotFound(sourceType, singleMetadata.getUri(), sourceFileState);
+			throw e;
+		}
+		put(sourceType, singleMetadata, sourceFileState);
+		return singleMetadata;
+	}
+
+	/**
+	 * This method returns the cached metadata of the given URI. Every call is counted as hit,
+	 * negative hit or miss.
+	 *
+	 * @param sourceType - the {@code MetadataSourceType} the metadata is parsed from.
+	 * @param uri - the URI the metadata is searched for.
+	 * @return the cached metadata or {@code null} in case there is no valid entry.
+	 * @throws MetadataNotFoundException if the URI is cached as URI without metadata.
+	 */
+	public synchronized ParsedMetadata getIfPresent(MetadataSourceType sourceType, String uri)
+			throws MetadataNotFoundException {
+		String key = createKey(sourceType, uri);
+		CacheEntry entry = entries.get(key);
+		if (entry != null && (entry.isExpired(currentTimeNanos()) || entry.isSourceFileModified())) {
+			entries.remove(key);
+			entry = null;
+		}
+
+		if (entry == null) {
+			missCount++;
+			return null;
+		}
+		if (entry.metadata == null) {
+			negativeHitCount++;
+			throw new MetadataNotFoundException(uri);
+		}
+		hitCount++;
+		return entry.metadata;
+	}
+
+	/**
+	 * This method caches the given parsed metadata object by its URI. In case the metadata
+	 * has been read from a file, the entry is valid as long as the file isn't modified.
+	 *
+	 * @param sourceType - the {@code MetadataSourceType} the metadata has been parsed from.
+	 * @param singleMetadata - the parsed metadata object.
+	 * @see ParsedMetadata#getSourceFile()
+	 */
+	public void put(MetadataSourceType sourceType, ParsedMetadata singleMetadata) {
+		put(sourceType, singleMetadata, SourceFileState.of(singleMetadata.getSourceFile()));
+	}
+
+	private synchronized void put(MetadataSourceType sourceType, ParsedMetadata singleMetadata,
+			SourceFileState sourceFileState) {
+		entries.put(createKey(sourceType, singleMetadata.getUri()),
+				new CacheEntry(singleMetadata, currentTimeNanos() + timeToLiveNanos, sourceFileState));
+	}
+
+	/**
+	 * This method caches the given URI as URI without metadata. A negative time to live of 0
+	 * disables the negative caching.
+	 *
+	 * @param sourceType - the {@code MetadataSourceType} the metadata has been searched in.
+	 * @param uri - the URI without metadata.
+	 */
+	public void putNotFound(MetadataSourceType sourceType, String uri) {
+		putNotFound(sourceType, uri, (SourceFileState) null);
+	}
+
+	/**
+	 * Version of {@link #putNotFound(MetadataSourceType, String)} for metadata which is read
+	 * from a file. The entry is valid as long as the file isn't modified.
+	 *
+	 * @param sourceType - the {@code MetadataSourceType} the metadata has been searched in.
+	 * @param uri - the URI without metadata.
+	 * @param sourceFile - the file the metadata has been searched in or {@code null}.
+	 */
+	public void putNotFound(MetadataSourceType sourceType, String uri, File sourceFile) {
+		putNotFound(sourceType, uri, SourceFileState.of(sourceFile));
+	}
+
+	private synchronized void putNotFound(MetadataSourceType sourceType, String uri,
+			SourceFileState sourceFileState) {
+		if (negativeTimeToLiveNanos > 0) {
+			entries.put(createKey(sourceType, uri),
+					new CacheEntry(null, currentTimeNanos() + negativeTimeToLiveNanos, sourceFileState));
+		}
+	}
+
+	/**
+	 * This method removes the entry of the given URI.
+	 *
+	 * @param sourceType - the {@code MetadataSourceType} of the entry.
+	 * @param uri - the URI of the entry.
+	 */
+	public synchronized void invalidate(MetadataSourceType sourceType, String uri) {
+		entries.remove(createKey(sourceType, uri));
+	}
+
+	/**
+	 * This method removes all expired entries and the entries whose source file has been
+	 * modified.
+	 */
+	public synchronized void removeExpired() {
+		long now = currentTimeNanos();
+		Iterator<CacheEntry> iterator = entries.values().iterator();
+		while (iterator.hasNext()) {
+			CacheEntry entry = iterator.next();
+			if (entry.isExpired(now) || entry.isSourceFileModified()) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * This method removes all entries and resets the statistics.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		hitCount = 0;
+		negativeHitCount = 0;
+		missCount = 0;
+		evictionCount = 0;
+		logger.debug("Cleared the parsed metadata cache");
+	}
+
+	private static String createKey(MetadataSourceType sourceType, String uri) {
+		return sourceType.name() + " " + uri;
+	}
+
+	/**
+	 * This method returns the current time for the expiration of the entries. It can be
+	 * overridden for testing.
+	 *
+	 * @return the current value of {@link System#nanoTime()}.
+	 */
+	protected long currentTimeNanos() {
+		return System.nanoTime();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	public synchronized long getNegativeHitCount() {
+		return negativeHitCount;
+	}
+
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * This method returns the share of the requests which have been answered by the cache,
+	 * negative hits included.
+	 *
+	 * @return the hit rate between 0 and 1.
+	 */
+	public synchronized double getHitRate() {
+		long requestCount = hitCount + negativeHitCount + missCount;
+		if (requestCount == 0) {
+			return 0;
+		}
+		return (double) (hitCount + negativeHitCount) / requestCount;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "ParsedMetadataCache [size=" + entries.size() + ", hits=" + hitCount
+				+ ", negativeHits=" + negativeHitCount + ", misses=" + missCount
+				+ ", evictions=" + evictionCount + "]";
+	}
+
+	/**
+	 * A cached metadata object respectively a negative entry with {@code metadata == null},
+	 * the time it expires and the state of its source file, {@code null} if the metadata
+	 * isn't read from a file.
+	 */
+	private static class CacheEntry {
+		private final ParsedMetadata metadata;
+		private final long expirationTime;
+		private final SourceFileState sourceFileState;
+
+		private CacheEntry(ParsedMetadata metadata, long expirationTime, SourceFileState sourceFileState) {
+			this.metadata = metadata;
+			this.expirationTime = expirationTime;
+			this.sourceFileState = sourceFileState;
+		}
+
+		private boolean isExpired(long now) {
+			return now - expirationTime >= 0;
+		}
+
+		private boolean isSourceFileModified() {
+			return sourceFileState != null && !sourceFileState.isUpToDate();
+		}
+	}
+
+	/**
+	 * The modification time and the length of a source file, like the
+	 * {@link XMLMetadataIndex} checks them.
+	 */
+	private static class SourceFileState {
+		private final File file;
+		private final long lastModified;
+		private final long length;
+
+		private SourceFileState(File file) {
+			this.file = file;
+			this.lastModified = file.lastModified();
+			this.length = file.length();
+		}
+
+		/**
+		 * @return the current state of the file or {@code null} if there is no file.
+		 */
+		private static SourceFileState of(File file) {
+			return (file == null) ? null : new SourceFileState(file);
+		}
+
+		private boolean isUpToDate() {
+			return file.lastModified() == lastModified && file.length() == length;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package de.fuberlin.panda.metadata.parsedMetadata;
+
+import javax.management.modelmbean.XMLParseException;
+
+import de.fuberlin.panda.metadata.config.MetadataType;
+import de.fuberlin.panda.metadata.config.RDFInput;
+import de.fuberlin.panda.metadata.config.predicates.AdministrativePredicates;
+import de.fuberlin.panda.metadata.config.predicates.ArealPredicates;
+import de.fuberlin.panda.metadata.config.predicates.OperationalPredicates;
+import de.fuberlin.panda.metadata.config.predicates.TemporalPredicates;
+import de.fuberlin.panda.metadata.config.predicates.TypePredicates;
+import de.fuberlin.panda.metadata.descriptive.AdministrativeScope;
+import de.fuberlin.panda.metadata.descriptive.TemporalScope;
+import de.fuberlin.panda.metadata.descriptive.Type;
+import de.fuberlin.panda.metadata.exceptions.ProcessingUriException;
+import de.fuberlin.panda.metadata.operational.Operation;
+import de.fuberlin.panda.metadata.operational.Operations;
+
+/**
+ * This abstract class extends the abstract class {@link ParsedMetadata}. It parses single
+ * {@code panda:} predicates and their objects from a triple store into the systems data 
+ * classes. The subclasses are responsible to retrieve the triples of the given URI 
+ * (see {@link VirtuosoMetadata} and {@link TDBMetadata}).
+ * 
+ * @see #processPredicate(String, String)
+ * @see #processOperationalMetadata(String, String)
+ * @see #processAdministrativeMetadata(String, String)
+ * @see #processArealMetadata(String, String)
+ * @see #processTemporalMetadata(String, String)
+ * @see #processTypeMetadata(String, String)
+ * 
+ * @since 18.10.2026
+ */
+public abstract class RDFMetadata extends ParsedMetadata {
+	
+	/**
+	 * This method filters the {@link MetadataType} of the predicate and calls the 
+	 * a further process method according to its type. If the predicate isn't listed
+	 * in the {@link RDFInput}s predicate hash map, nothing is processed.
+	 * 
+	 * @param predicate - the predicate without panda prefix as a string
+	 * @param object - the object value as a string
+	 * @throws ProcessingUriException in case the object couldn't be parsed
+	 */
+	protected void processPredicate(String predicate, String object) throws ProcessingUriException {
+		MetadataType metadataType = RDFInput.getMetadataType(predicate);
+		
+		if(metadataType==null) {
+			return;
+		}
+		
+		try {
+			switch (metadataType) {
+			case OPERATIONAL:
+				processOperationalMetadata(predicate, object);
+				break;
+			case ADMINISTRATIVE_SCOPE:
+				processAdministrativeMetadata(predicate, object);
+				break;
+			case AREAL_SCOPE:
+				processArealMetadata(predicate, object);
+				break;
+			case TEMPORAL_SCOPE:
+				processTemporalMetadata(predicate, object);
+				break;
+			case TYPE:
+				processTypeMetadata(predicate, object);
+				break;
+			default:
+				break;
+			}
+		} catch(Exception e) {
+			throw new ProcessingUriException(uri + ", " + e.toString());
+		}
+	}
+
+	/**
+	 * This method is called if a operational metadata entry has been detected,
+	 * it adds the object's value as an {@link Operation} to the {@link Operations}
+	 * object of the current {@link ParsedMetadata} object. 
+	 * 
+	 * @param predicate - the predicate as a string
+	 * @param object - the object value as a string
+	 * @throws XMLParseException in case the operational timestamp has a wrong format
+	 */
+	protected void processOperationalMetadata(String predicate, String object) throws XMLParseException {
+		if(predicate.equals(OperationalPredicates.CREATION.toString())) {
+			operations.addOperation(OperationalPredicates.CREATION, object);
+		} else if(predicate.equals(OperationalPredicates.ACCESS.toString())) {
+			operations.addOperation(OperationalPredicates.ACCESS, object);
+		} else if(predicate.equals(OperationalPredicates.DELETING.toString())) {
+			operations.addOperation(OperationalPredicates.DELETING, object);
+		}
+	}
+
+	/**
+	 * This method is responsible for parsing the administrative scope information
+	 * into the {@link AdministrativeScope} object of the current {@link ParsedMetadata} 
+	 * object.
+	 * 
+	 * @param predicate - the predicate as a string
+	 * @param object - the object value as a string
+	 * @throws XMLParseException in case the URI has a wrong format and couldn't be parsed
+	 */
+	protected void processAdministrativeMetadata(String predicate, String object) throws XMLParseException {
+		if(predicate.equals(AdministrativePredicates.LICENSE.toString())) {
+			administrativeScope.setLicenseUri(object);
+		} else if(predicate.equals(AdministrativePredicates.RIGHTS.toString())) {
+			administrativeScope.setRightsUri(object);
+		} else if(predicate.equals(AdministrativePredicates.DUTIES.toString())) {
+			administrativeScope.setDutiesUri(object);
+		}
+	}
+
+	/**
+	 * This method parses the areal scope information into the
+	 * {@link AdministrativeScope} object of the current {@link ParsedMetadata} 
+	 * object. 
+	 * 
+	 * @param predicate - the predicate as a string
+	 * @param object - the object value as a string
+	 */
+	protected void processArealMetadata(String predicate, String object) {
+		if(predicate.endsWith(ArealPredicates.LATITUDE.toString())) {
+			arealScope.setLatitude(object);
+		} else if(predicate.endsWith(ArealPredicates.LONGITUDE.toString())) {
+			arealScope.setLongitude(object);
+		} else if(predicate.endsWith(ArealPredicates.LOCATION.toString())) {
+			arealScope.setLocation(object);
+		}
+	}
+	
+	/**
+	 * This method parses the temporal scope information into the
+	 * {@link TemporalScope} object of the current {@link ParsedMetadata} 
+	 * object. 
+	 * 
+	 * @param predicate - the predicate as a string
+	 * @param object - the object value as a string
+	 * @throws XMLParseException in case the timestamp couldn't be parsed
+	 */
+	protected void processTemporalMetadata(String predicate, String object) throws XMLParseException {
+		if(predicate.endsWith(TemporalPredicates.EXPIRATION_DATE.toString())) {
+			temporalScope.setExpirationDate(object);
+		} 
+	}
+
+	/**
+	 * This method parses the type information into the
+	 * {@link Type} object of the current {@link ParsedMetadata} 
+	 * object. 
+	 * 
+	 * @param predicate - the predicate as a string
+	 * @param object - the object value as a string
+	 */
+	protected void processTypeMetadata(String predicate, String object) throws XMLParseException {
+		if(predicate.endsWith(TypePredicates.FORMAT.toString())) {
+			type.setFormat(object);
+		} else if(predicate.endsWith(TypePredicates.LANGUAGE.toString())) {
+			type.setLanguage(object);
+		}
+	}
+}
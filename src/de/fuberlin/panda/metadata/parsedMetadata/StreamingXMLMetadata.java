@@ -0,0 +1,396 @@
+package de.fuberlin.panda.metadata.parsedMetadata;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.management.modelmbean.XMLParseException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import de.fuberlin.panda.metadata.config.MetadataType;
+import de.fuberlin.panda.metadata.config.predicates.AdministrativePredicates;
+import de.fuberlin.panda.metadata.config.predicates.ArealPredicates;
+import de.fuberlin.panda.metadata.config.predicates.OperationalPredicates;
+import de.fuberlin.panda.metadata.config.predicates.TemporalPredicates;
+import de.fuberlin.panda.metadata.config.predicates.TypePredicates;
+import de.fuberlin.panda.metadata.descriptive.AdministrativeScope;
+import de.fuberlin.panda.metadata.descriptive.ArealScope;
+import de.fuberlin.panda.metadata.descriptive.TemporalScope;
+import de.fuberlin.panda.metadata.descriptive.Type;
+import de.fuberlin.panda.metadata.exceptions.MetadataNotFoundException;
+import de.fuberlin.panda.metadata.exceptions.ProcessingUriException;
+import de.fuberlin.panda.metadata.operational.Operations;
+
+/**
+ * This class extends the abstract class {@link ParsedMetadata}. It reads the same XML
+ * files as {@link XMLMetadata}, but uses a StAX pull parser instead of building a DOM.
+ * The file is read in a single forward pass, only the {@code panda:Metadata} nodes of the
+ * requested URIs are processed and all other nodes are skipped. The reading stops as soon
+ * as all requested URIs have been found, so the memory usage doesn't depend on the size
+ * of the file.<br>
+ * Like {@link XMLMetadata} the URIs are taken from the leading {@code panda:Data} nodes
+ * of a {@code panda:Metadata} node and the following nodes are assigned to the sequence
+ * introduced by the last {@link MetadataType} comment.
+ *
+ * @see #parseMetadata()
+ * @see #parseMetadata(String, Collection)
+ * @see #processMetadataNode(XMLStreamReader, Map, Set)
+ * @see #processDataNodes(XMLStreamReader)
+ * @see #processSequenceNode(XMLStreamReader, MetadataType, List, boolean)
+ *
+ * @since 18.10.2026
+ */
+public class StreamingXMLMetadata extends ParsedMetadata {
+	private static final String RDF_NS = "http://www.w3.org/1999/02/22-rdf-syntax-ns#";
+
+	private String xmlFilePath = XMLMetadata.DEFAULT_XML_FILE_PATH;
+
+	/**
+	 * This overridden method reads the XML file which was set in the {@code xmlFilePath}
+	 * field by calling {@link #parseMetadata(String, Collection)} for the single URI and
+	 * takes over the parsed information.
+	 *
+	 * @throws MetadataNotFoundException in case there exists no metadata for the given uri
+	 * @throws ProcessingUriException in case the file couldn't be read or parsed
+	 */
+	@Override
+	public void parseMetadata() throws MetadataNotFoundException, ProcessingUriException {
+		StreamingXMLMetadata parsedMetadata = parseMetadata(xmlFilePath,
+				Collections.singleton(uri)).get(uri);
+		if (parsedMetadata == null) {
+			throw new MetadataNotFoundException(uri);
+		}
+		operations = parsedMetadata.operations;
+		administrativeScope = parsedMetadata.administrativeScope;
+		arealScope = parsedMetadata.arealScope;
+		temporalScope = parsedMetadata.temporalScope;
+		type = parsedMetadata.type;
+	}
+
+	/**
+	 * This method reads the given XML file once and creates a {@code StreamingXMLMetadata}
+	 * object for every requested URI which could be found. In case an URI occurs more than
+	 * once, the first {@code panda:Metadata} node is used.
+	 *
+	 * @param xmlFilePath - the path of the XML metadata file.
+	 * @param uris - the URIs the metadata is searched for.
+	 * @return a {@code Map} from the URIs to the parsed metadata. URIs without metadata
+	 * 	are not contained.
+	 * @throws ProcessingUriException in case the file couldn't be read or parsed
+	 */
+	public static Map<String, StreamingXMLMetadata> parseMetadata(String xmlFilePath,
+			Collection<String> uris) throws ProcessingUriException {
+		Map<String, StreamingXMLMetadata> parsedMetadata = new HashMap<>();
+		Set<String> missingUris = new HashSet<>(uris);
+
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+
+		try (InputStream in = new BufferedInputStream(new FileInputStream(xmlFilePath))) {
+			XMLStreamReader reader = factory.createXMLStreamReader(in);
+			try {
+				reader.nextTag();
+				while (!missingUris.isEmpty() && reader.hasNext()) {
+					if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+						if (getNodeName(reader).equals("panda:Metadata")) {
+							processMetadataNode(reader, parsedMetadata, missingUris);
+						} else {
+							skipNode(reader);
+						}
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (IOException | XMLStreamException | XMLParseException e) {
+			throw new ProcessingUriException(xmlFilePath + e.toString());
+		}
+		for (StreamingXMLMetadata singleMetadata : parsedMetadata.values()) {
+			singleMetadata.setXmlFilePath(xmlFilePath);
+		}
+		return parsedMetadata;
+	}
+
+	/**
+	 * This method processes a single {@code panda:Metadata} node. It calls
+	 * {@link #processDataNodes(XMLStreamReader)} to get the URIs of the node. In case none of
+	 * them is requested, the node is skipped. Otherwise a new {@code StreamingXMLMetadata}
+	 * object is created for each requested URI and the following nodes are parsed into them.
+	 *
+	 * @param reader - the {@code XMLStreamReader} positioned on the start of the node.
+	 * @param parsedMetadata - the {@code Map} the created objects are added to.
+	 * @param missingUris - the requested URIs which haven't been found yet.
+	 * @throws XMLStreamException in case the document couldn't be read
+	 * @throws XMLParseException in case a value has a wrong format
+	 */
+	private static void processMetadataNode(XMLStreamReader reader, Map<String, StreamingXMLMetadata>
+			parsedMetadata, Set<String> missingUris) throws XMLStreamException, XMLParseException {
+		List<StreamingXMLMetadata> targets = new ArrayList<>();
+		for (String dataUri : processDataNodes(reader)) {
+			if (missingUris.remove(dataUri)) {
+				StreamingXMLMetadata singleMetadata = new StreamingXMLMetadata();
+				singleMetadata.setUri(dataUri);
+				parsedMetadata.put(dataUri, singleMetadata);
+				targets.add(singleMetadata);
+			}
+		}
+
+		if (targets.isEmpty()) {
+			if (reader.getEventType() != XMLStreamConstants.END_ELEMENT) {
+				skipNode(reader, 1);
+			}
+			return;
+		}
+
+		MetadataType sequence = null;
+		boolean isNewSequence = false;
+		while (reader.getEventType() != XMLStreamConstants.END_ELEMENT) {
+			switch (reader.getEventType()) {
+			case XMLStreamConstants.COMMENT:
+				MetadataType commentType = getMetadataType(reader.getText().trim());
+				if (commentType != null) {
+					sequence = commentType;
+					isNewSequence = true;
+				}
+				break;
+			case XMLStreamConstants.START_ELEMENT:
+				if (sequence != null && reader.getPrefix() != null && reader.getPrefix().equals("panda")) {
+					processSequenceNode(reader, sequence, targets, isNewSequence);
+					isNewSequence = false;
+				} else {
+					skipNode(reader);
+				}
+				break;
+			default:
+				break;
+			}
+			reader.next();
+		}
+	}
+
+	/**
+	 * This method reads the URIs of the leading {@code panda:Data} nodes. Like
+	 * {@link XMLMetadata#checkForUri()} it skips all nodes in front of the first
+	 * {@code panda:Data} node and stops at the first node which isn't a {@code panda:Data}
+	 * node. Afterwards the reader is positioned on this node.
+	 *
+	 * @param reader - the {@code XMLStreamReader} positioned on the start of the
+	 * 	{@code panda:Metadata} node.
+	 * @return a {@code List} of the URIs.
+	 * @throws XMLStreamException in case the document couldn't be read
+	 */
+	private static List<String> processDataNodes(XMLStreamReader reader) throws XMLStreamException {
+		List<String> dataUris = new ArrayList<>();
+		reader.next();
+
+		while (!isDataNode(reader)) {
+			if (reader.getEventType() == XMLStreamConstants.END_ELEMENT) {
+				return dataUris;
+			} else if (reader.getEventType() == XMLStreamConstants.START_ELEMENT) {
+				skipNode(reader);
+			}
+			reader.next();
+		}
+
+		while (isDataNode(reader)) {
+			dataUris.add(reader.getAttributeValue(0));
+			skipNode(reader);
+			reader.next();
+		}
+		return dataUris;
+	}
+
+	/**
+	 * This method parses a single node of a metadata sequence into all {@code targets}.
+	 * Like in {@link XMLMetadata} the scope objects are renewed by the first node following
+	 * a comment. Afterwards the reader is positioned on the end of the node.
+	 *
+	 * @param reader - the {@code XMLStreamReader} positioned on the start of the node.
+	 * @param sequence - the {@code MetadataType} of the current sequence.
+	 * @param targets - the {@code StreamingXMLMetadata} objects of the requested URIs.
+	 * @param isNewSequence - {@code true} if this is the first node following the comment.
+	 * @throws XMLStreamException in case the document couldn't be read
+	 * @throws XMLParseException in case a value has a wrong format
+	 */
+	private static void processSequenceNode(XMLStreamReader reader, MetadataType sequence,
+			List<StreamingXMLMetadata> targets, boolean isNewSequence)
+			throws XMLStreamException, XMLParseException {
+		if (sequence == MetadataType.SEMANTIC) {
+			skipNode(reader);
+			return;
+		}
+
+		String nodeName = reader.getLocalName();
+		String attributeValue = reader.getAttributeValue(RDF_NS, "resource");
+		String nodeValue = getCharacterData(reader);
+
+		for (StreamingXMLMetadata target : targets) {
+			switch (sequence) {
+			case OPERATIONAL:
+				if (isNewSequence) {
+					target.operations = new Operations();
+				}
+				for (OperationalPredicates predicate : OperationalPredicates.values()) {
+					if (nodeName.endsWith(predicate.toString())) {
+						target.operations.addOperation(predicate, nodeValue);
+						break;
+					}
+				}
+				break;
+			case ADMINISTRATIVE_SCOPE:
+				if (isNewSequence) {
+					target.administrativeScope = new AdministrativeScope();
+				}
+				if (nodeName.endsWith(AdministrativePredicates.LICENSE.toString())) {
+					target.administrativeScope.setLicenseUri(attributeValue);
+				} else if (nodeName.endsWith(AdministrativePredicates.RIGHTS.toString())) {
+					target.administrativeScope.setRightsUri(attributeValue);
+				} else if (nodeName.endsWith(AdministrativePredicates.DUTIES.toString())) {
+					target.administrativeScope.setDutiesUri(attributeValue);
+				}
+				break;
+			case AREAL_SCOPE:
+				if (isNewSequence) {
+					target.arealScope = new ArealScope();
+				}
+				if (nodeName.endsWith(ArealPredicates.LATITUDE.toString())) {
+					target.arealScope.setLatitude(nodeValue);
+				} else if (nodeName.endsWith(ArealPredicates.LONGITUDE.toString())) {
+					target.arealScope.setLongitude(nodeValue);
+				} else if (nodeName.endsWith(ArealPredicates.LOCATION.toString())) {
+					target.arealScope.setLocation(nodeValue);
+				}
+				break;
+			case TEMPORAL_SCOPE:
+				if (isNewSequence) {
+					target.temporalScope = new TemporalScope();
+				}
+				if (nodeName.endsWith(TemporalPredicates.EXPIRATION_DATE.toString())) {
+					target.temporalScope.setExpirationDate(nodeValue);
+				}
+				break;
+			case TYPE:
+				if (isNewSequence) {
+					target.type = new Type();
+				}
+				if (nodeName.endsWith(TypePredicates.FORMAT.toString())) {
+					target.type.setFormat(nodeValue);
+				} else if (nodeName.endsWith(TypePredicates.LANGUAGE.toString())) {
+					target.type.setLanguage(nodeValue);
+				}
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
+	/**
+	 * This method returns the text which directly follows the start of the current node
+	 * and skips the rest of the node. Like {@link XMLMetadata#getCharacterData(org.w3c.dom.Node)}
+	 * it returns "?" if the node doesn't start with character data.
+	 *
+	 * @param reader - the {@code XMLStreamReader} positioned on the start of the node.
+	 * @return the character data of the node or "?".
+	 * @throws XMLStreamException in case the document couldn't be read
+	 */
+	private static String getCharacterData(XMLStreamReader reader) throws XMLStreamException {
+		int event = reader.next();
+		String characterData = "?";
+		if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+				|| event == XMLStreamConstants.SPACE) {
+			characterData = reader.getText();
+			event = reader.next();
+		}
+
+		if (event == XMLStreamConstants.START_ELEMENT) {
+			skipNode(reader);
+			skipNode(reader, 1);
+		} else if (event != XMLStreamConstants.END_ELEMENT) {
+			skipNode(reader, 1);
+		}
+		return characterData;
+	}
+
+	/**
+	 * This method skips the current node including all its children. Afterwards the reader
+	 * is positioned on the end of the node.
+	 *
+	 * @param reader - the {@code XMLStreamReader} positioned on the start of the node.
+	 * @throws XMLStreamException in case the document couldn't be read
+	 */
+	private static void skipNode(XMLStreamReader reader) throws XMLStreamException {
+		skipNode(reader, 0);
+	}
+
+	/**
+	 * This method reads until the end of the node which is {@code depth + 1} levels above
+	 * the current event.
+	 */
+	private static void skipNode(XMLStreamReader reader, int depth) throws XMLStreamException {
+		if (reader.getEventType() == XMLStreamConstants.START_ELEMENT) {
+			depth++;
+		}
+		while (depth > 0) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		}
+	}
+
+	private static boolean isDataNode(XMLStreamReader reader) {
+		return reader.getEventType() == XMLStreamConstants.START_ELEMENT
+				&& getNodeName(reader).equalsIgnoreCase("panda:Data");
+	}
+
+	private static String getNodeName(XMLStreamReader reader) {
+		String prefix = reader.getPrefix();
+		if (prefix == null || prefix.isEmpty()) {
+			return reader.getLocalName();
+		}
+		return prefix + ":" + reader.getLocalName();
+	}
+
+	/**
+	 * This method returns the {@link MetadataType} matching the given comment or
+	 * {@code null} if the comment isn't relevant for the processing.
+	 */
+	private static MetadataType getMetadataType(String comment) {
+		for (MetadataType type : MetadataType.values()) {
+			if (comment.equals(type.toString())) {
+				return type;
+			}
+		}
+		return null;
+	}
+
+	public String getXmlFilePath() {
+		return xmlFilePath;
+	}
+
+	@Override
+	public File getSourceFile() {
+		return new File(xmlFilePath);
+	}
+
+	public void setXmlFilePath(String xmlFilePath) {
+		this.xmlFilePath = xmlFilePath;
+	}
+}
@@ -0,0 +1,121 @@
+package de.fuberlin.panda.metadata.parsedMetadata;
+
+import com.hp.hpl.jena.graph.Graph;
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.NodeFactory;
+import com.hp.hpl.jena.graph.Triple;
+import com.hp.hpl.jena.query.Dataset;
+import com.hp.hpl.jena.query.ReadWrite;
+import com.hp.hpl.jena.tdb.TDBFactory;
+import com.hp.hpl.jena.util.iterator.ExtendedIterator;
+
+import de.fuberlin.panda.api.APIHelper;
+import de.fuberlin.panda.metadata.exceptions.MetadataNotFoundException;
+import de.fuberlin.panda.metadata.exceptions.ProcessingUriException;
+
+/**
+ * This class extends the abstract class {@link RDFMetadata}. It searches in a local
+ * Jena TDB dataset for a given URI and parses all relevant information concerning this 
+ * URI in the systems data classes. In contrast to {@link VirtuosoMetadata} no SPARQL 
+ * query is sent, the triples are read directly by pattern lookups on the indexes of the 
+ * default graph.
+ * 
+ * @see #parseMetadata()
+ * @see #processSubject(Graph, Node)
+ * @see #getObjectString(Node)
+ * 
+ * @since 18.10.2026
+ */
+public class TDBMetadata extends RDFMetadata {
+	public static final String DEFAULT_TDB_LOCATION = APIHelper.getWebContentDirPath() + "WEB-INF/tdb";
+	
+	private String pandaPrefix = "http://www.mi.fu-berlin.de/panda#";
+	private Node uriPredicate = NodeFactory.createURI(pandaPrefix + "Uri");
+	private String tdbLocation = DEFAULT_TDB_LOCATION;
+	
+	/**
+	 * This overridden method opens a read transaction on the TDB dataset at 
+	 * {@code tdbLocation}. It looks up all subjects with a {@code panda:Uri} of the given
+	 * URI and calls {@link #processSubject(Graph, Node)} for every of them. If no triple
+	 * has been found, a Exception is thrown.
+	 * 
+	 * @throws MetadataNotFoundException if there are no triples for the given URI
+	 * @throws ProcessingUriException if there was a problem while processing the single objects
+	 */
+	@Override
+	public void parseMetadata() throws MetadataNotFoundException, ProcessingUriException {
+		Dataset dataset = TDBFactory.createDataset(tdbLocation);
+		int tripleCount = 0;
+		
+		dataset.begin(ReadWrite.READ);
+		try {
+			Graph graph = dataset.asDatasetGraph().getDefaultGraph();
+			ExtendedIterator<Triple> subjects = graph.find(Node.ANY, uriPredicate, 
+					NodeFactory.createLiteral(uri));
+			try {
+				while (subjects.hasNext()) {
+					tripleCount += processSubject(graph, subjects.next().getSubject());
+				}
+			} finally {
+				subjects.close();
+			}
+		} finally {
+			dataset.end();
+		}
+		
+		if(tripleCount == 0) {
+			throw new MetadataNotFoundException(uri); 
+		}
+	}
+	
+	/**
+	 * This method reads all triples of the given subject and calls 
+	 * {@link #processPredicate(String, String)} for every {@code panda:} predicate.
+	 * 
+	 * @param graph - the default graph of the dataset.
+	 * @param subject - the {@code panda:Metadata} subject of the URI.
+	 * @return the number of triples of the subject.
+	 * @throws ProcessingUriException if there was a problem while processing the single objects
+	 */
+	private int processSubject(Graph graph, Node subject) throws ProcessingUriException {
+		int tripleCount = 0;
+		ExtendedIterator<Triple> triples = graph.find(subject, Node.ANY, Node.ANY);
+		try {
+			while (triples.hasNext()) {
+				Triple triple = triples.next();
+				tripleCount++;
+				String predicate = triple.getPredicate().getURI();
+				if (predicate.startsWith(pandaPrefix)) {
+					processPredicate(predicate.substring(pandaPrefix.length()), 
+							getObjectString(triple.getObject()));
+				}
+			}
+		} finally {
+			triples.close();
+		}
+		return tripleCount;
+	}
+	
+	/**
+	 * This method returns the lexical form of a literal respectively the URI of a resource.
+	 * 
+	 * @param object - the object {@code Node} of a triple.
+	 * @return the object value as a string
+	 */
+	private String getObjectString(Node object) {
+		if (object.isLiteral()) {
+			return object.getLiteralLexicalForm();
+		} else if (object.isURI()) {
+			return object.getURI();
+		}
+		return object.toString();
+	}
+	
+	public String getTdbLocation() {
+		return tdbLocation;
+	}
+	
+	public void setTdbLocation(String tdbLocation) {
+		this.tdbLocation = tdbLocation;
+	}
+}
@@ -0,0 +1,424 @@
+package de.fuberlin.panda.metadata.parsedMetadata;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.log4j.Logger;
+
+import com.hp.hpl.jena.graph.Graph;
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.NodeFactory;
+import com.hp.hpl.jena.graph.Triple;
+import com.hp.hpl.jena.query.Dataset;
+import com.hp.hpl.jena.query.ReadWrite;
+import com.hp.hpl.jena.tdb.TDBFactory;
+import com.hp.hpl.jena.vocabulary.RDF;
+
+import de.fuberlin.panda.metadata.MetadataConnector;
+
+/**
+ * The {@code TDBMetadataLoader} loads metadata files like {@code testdaten/pandaMD*.rdf}
+ * into the TDB dataset which is read by {@link TDBMetadata}. The files are parsed in
+ * parallel by the streaming RDF parser of Jena, every file on its own thread. The triples
+ * are normalised to the PANDA metadata model: every {@code panda:Metadata} subject is
+ * renamed to the panda prefix followed by its {@code panda:Uri}, a missing
+ * {@code panda:Uri} is derived from the subject and whitespace around literal values is
+ * removed. <br>
+ * TDB allows only one writer, so the parsed files are written by the calling thread into
+ * the default graph. A write transaction is committed every {@code commitSize} triples.
+ * Loading a file twice doesn't duplicate its metadata because a graph is a set of triples.
+ * <br><br>
+ * Usage as a tool: {@code TDBMetadataLoader <directory|file>... [-tdb location]
+ * [-threads n]}
+ *
+ * @see #load(List)
+ * @see #parseFile(File)
+ * @see MetadataSink#normalise()
+ * @see LoadStatistics
+ *
+ * @since 18.10.2026
+ */
+public class TDBMetadataLoader {
+	private static Logger logger = Logger.getLogger(MetadataConnector.class.getName());
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+	public static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+	public static final int DEFAULT_COMMIT_SIZE = 50000;
+
+	private String pandaPrefix = "http://www.mi.fu-berlin.de/panda#";
+	private Node metadataType = NodeFactory.createURI(pandaPrefix + "Metadata");
+	private Node uriPredicate = NodeFactory.createURI(pandaPrefix + "Uri");
+
+	private String tdbLocation;
+	private int parallelism;
+	private int commitSize;
+
+	public TDBMetadataLoader() {
+		this(TDBMetadata.DEFAULT_TDB_LOCATION);
+	}
+
+	/**
+	 * @param tdbLocation - the directory of the TDB dataset.
+	 */
+	public TDBMetadataLoader(String tdbLocation) {
+		this(tdbLocation, DEFAULT_PARALLELISM, DEFAULT_COMMIT_SIZE);
+	}
+
+	/**
+	 * @param tdbLocation - the directory of the TDB dataset.
+	 * @param parallelism - the maximum number of files which are parsed at the same time.
+	 * @param commitSize - the number of triples after which the write transaction is committed.
+	 */
+	public TDBMetadataLoader(String tdbLocation, int parallelism, int commitSize) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("The parallelism has to be positive: " + parallelism);
+		}
+		if (commitSize < 1) {
+			throw new IllegalArgumentException("The commit size has to be positive: " + commitSize);
+		}
+		this.tdbLocation = tdbLocation;
+		this.parallelism = parallelism;
+		this.commitSize = commitSize;
+	}
+
+	/**
+	 * This method parses the given files on a thread pool with {@code parallelism} threads
+	 * and writes the normalised triples of every parsed file into the default graph of the
+	 * TDB dataset. At most {@code 4 * parallelism} files are parsed ahead of the writer, so
+	 * the memory usage doesn't depend on the number of files. Files which can't be read or
+	 * parsed are skipped and counted as failed.
+	 *
+	 * @param files - the RDF/XML metadata files.
+	 * @return the {@link LoadStatistics} of the loading.
+	 */
+	public LoadStatistics load(List<File> files) {
+		long startTime = System.nanoTime();
+		LoadStatistics statistics = new LoadStatistics();
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism,
+				files.size())), new LoaderThreadFactory());
+		CompletionService<ParsedFile> completionService = new ExecutorCompletionService<>(executor);
+		Dataset dataset = TDBFactory.createDataset(tdbLocation);
+
+		try {
+			int submitted = 0;
+			int maxPending = 4 * parallelism;
+			for (; submitted < files.size() && submitted < maxPending; submitted++) {
+				completionService.submit(new ParseTask(files.get(submitted)));
+			}
+
+			int pendingTriples = 0;
+			dataset.begin(ReadWrite.WRITE);
+			try {
+				Graph graph = dataset.asDatasetGraph().getDefaultGraph();
+				for (int done = 0; done < files.size(); done++) {
+					ParsedFile parsedFile = takeParsedFile(completionService, statistics);
+					if (submitted < files.size()) {
+						completionService.submit(new ParseTask(files.get(submitted++)));
+					}
+					if (parsedFile == null) {
+						continue;
+					}
+
+					for (Triple triple : parsedFile.triples) {
+						graph.add(triple);
+					}
+					statistics.files++;
+					statistics.records += parsedFile.records;
+					statistics.triples += parsedFile.triples.size();
+					pendingTriples += parsedFile.triples.size();
+
+					if (pendingTriples >= commitSize) {
+						dataset.commit();
+						dataset.end();
+						pendingTriples = 0;
+						dataset.begin(ReadWrite.WRITE);
+						graph = dataset.asDatasetGraph().getDefaultGraph();
+					}
+				}
+				dataset.commit();
+			} finally {
+				dataset.end();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.warn("Loading of metadata into '" + tdbLocation + "' was interrupted.");
+		} finally {
+			executor.shutdownNow();
+		}
+
+		statistics.elapsedNanos = System.nanoTime() - startTime;
+		logger.info("Loaded metadata into '" + tdbLocation + "': " + statistics);
+		return statistics;
+	}
+
+	/**
+	 * This method waits for the next parsed file. In case the parsing failed the file is
+	 * counted as failed and {@code null} is returned.
+	 */
+	private ParsedFile takeParsedFile(CompletionService<ParsedFile> completionService,
+			LoadStatistics statistics) throws InterruptedException {
+		try {
+			return completionService.take().get();
+		} catch (ExecutionException e) {
+			statistics.failedFiles++;
+			logger.warn("Skipped metadata file: " + e.getCause().getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * This method parses a single RDF/XML file with {@link RDFDataMgr} into a
+	 * {@link MetadataSink} and returns the normalised triples.
+	 *
+	 * @param file - the RDF/XML metadata file.
+	 * @return the {@link ParsedFile} with the normalised triples.
+	 * @throws IOException in case the file couldn't be read or parsed.
+	 */
+	ParsedFile parseFile(File file) throws IOException {
+		MetadataSink sink = new MetadataSink();
+		try (InputStream in = new FileInputStream(file)) {
+			RDFDataMgr.parse(sink, in, file.toURI().toString(), Lang.RDFXML);
+		} catch (IOException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IOException(file.getPath() + ", " + e.getMessage(), e);
+		}
+		return sink.normalise();
+	}
+
+	/**
+	 * This method returns all {@code .rdf} files of the given directory sorted by their
+	 * names. A file is returned as it is.
+	 *
+	 * @param directory - the directory or a single file.
+	 * @return a {@code List} with the metadata files.
+	 */
+	public static List<File> findMetadataFiles(File directory) {
+		if (!directory.isDirectory()) {
+			return new ArrayList<>(Arrays.asList(directory));
+		}
+		File[] files = directory.listFiles(new FileFilter() {
+			@Override
+			public boolean accept(File file) {
+				return file.isFile() && file.getName().endsWith(".rdf");
+			}
+		});
+		if (files == null) {
+			return new ArrayList<>();
+		}
+		Arrays.sort(files);
+		return new ArrayList<>(Arrays.asList(files));
+	}
+
+	public static void main(String[] args) {
+		String tdbLocation = TDBMetadata.DEFAULT_TDB_LOCATION;
+		int parallelism = DEFAULT_PARALLELISM;
+		List<File> files = new ArrayList<>();
+
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-tdb") && i + 1 < args.length) {
+				tdbLocation = args[++i];
+			} else if (args[i].equals("-threads") && i + 1 < args.length) {
+				parallelism = Integer.parseInt(args[++i]);
+			} else {
+				files.addAll(findMetadataFiles(new File(args[i])));
+			}
+		}
+		if (files.isEmpty()) {
+			System.err.println("Usage: TDBMetadataLoader <directory|file>... [-tdb location] [-threads n]");
+			return;
+		}
+
+		new File(tdbLocation).mkdirs();
+		LoadStatistics statistics = new TDBMetadataLoader(tdbLocation, parallelism, DEFAULT_COMMIT_SIZE)
+				.load(files);
+		System.out.println(statistics);
+	}
+
+	/**
+	 * {@code StreamRDF} which collects the triples of a single file and remembers the
+	 * {@code panda:Metadata} subjects and their {@code panda:Uri}.
+	 */
+	private class MetadataSink extends StreamRDFBase {
+		private List<Triple> triples = new ArrayList<>();
+		private Set<Node> metadataSubjects = new LinkedHashSet<>();
+		private Map<Node, String> subjectUris = new HashMap<>();
+
+		@Override
+		public void triple(Triple triple) {
+			Node object = triple.getObject();
+			if (object.isLiteral() && object.getLiteralDatatypeURI() == null
+					&& object.getLiteralLanguage().isEmpty()) {
+				String value = object.getLiteralLexicalForm().trim();
+				if (!value.equals(object.getLiteralLexicalForm())) {
+					object = NodeFactory.createLiteral(value);
+					triple = new Triple(triple.getSubject(), triple.getPredicate(), object);
+				}
+			}
+
+			if (triple.getPredicate().equals(RDF.type.asNode()) && object.equals(metadataType)) {
+				metadataSubjects.add(triple.getSubject());
+			} else if (triple.getPredicate().equals(uriPredicate) && object.isLiteral()) {
+				metadataSubjects.add(triple.getSubject());
+				subjectUris.put(triple.getSubject(), object.getLiteralLexicalForm());
+			}
+			triples.add(triple);
+		}
+
+		/**
+		 * This method renames every {@code panda:Metadata} subject to the panda prefix
+		 * followed by its {@code panda:Uri} and adds missing {@code rdf:type} and
+		 * {@code panda:Uri} triples. A subject without {@code panda:Uri} which doesn't start
+		 * with the panda prefix can't be assigned to a URI and is dropped with its triples.
+		 *
+		 * @return the {@link ParsedFile} with the normalised triples.
+		 */
+		private ParsedFile normalise() {
+			Map<Node, Node> subjects = new HashMap<>();
+			List<Triple> normalised = new ArrayList<>(triples.size() + 2 * metadataSubjects.size());
+
+			for (Node subject : metadataSubjects) {
+				String uri = subjectUris.get(subject);
+				if (uri == null) {
+					if (!subject.isURI() || !subject.getURI().startsWith(pandaPrefix)) {
+						logger.warn("Dropped metadata without panda:Uri: " + subject);
+						continue;
+					}
+					uri = subject.getURI().substring(pandaPrefix.length());
+				}
+				Node newSubject = NodeFactory.createURI(pandaPrefix + uri);
+				subjects.put(subject, newSubject);
+				normalised.add(new Triple(newSubject, RDF.type.asNode(), metadataType));
+				normalised.add(new Triple(newSubject, uriPredicate, NodeFactory.createLiteral(uri)));
+			}
+
+			for (Triple triple : triples) {
+				Node newSubject = subjects.get(triple.getSubject());
+				if (newSubject == null) {
+					if (!metadataSubjects.contains(triple.getSubject())) {
+						normalised.add(triple);
+					}
+				} else if (!triple.getPredicate().equals(uriPredicate)
+						&& !triple.getPredicate().equals(RDF.type.asNode())) {
+					normalised.add(new Triple(newSubject, triple.getPredicate(), triple.getObject()));
+				}
+			}
+			return new ParsedFile(normalised, subjects.size());
+		}
+	}
+
+	/**
+	 * The normalised triples of a single file and the number of metadata records in it.
+	 */
+	static class ParsedFile {
+		private final List<Triple> triples;
+		private final int records;
+
+		private ParsedFile(List<Triple> triples, int records) {
+			this.triples = triples;
+			this.records = records;
+		}
+
+		List<Triple> getTriples() {
+			return triples;
+		}
+
+		int getRecords() {
+			return records;
+		}
+	}
+
+	/**
+	 * {@code Callable} which parses a single file.
+	 */
+	private class ParseTask implements Callable<ParsedFile> {
+		private final File file;
+
+		private ParseTask(File file) {
+			this.file = file;
+		}
+
+		@Override
+		public ParsedFile call() throws IOException {
+			return parseFile(file);
+		}
+	}
+
+	/**
+	 * {@code ThreadFactory} for named daemon threads.
+	 */
+	private static class LoaderThreadFactory implements ThreadFactory {
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "TDBMetadataLoader-" + THREAD_COUNTER.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+	/**
+	 * The number of loaded files, records and triples and the throughput of a loading.
+	 */
+	public static class LoadStatistics {
+		private int files = 0;
+		private int failedFiles = 0;
+		private long records = 0;
+		private long triples = 0;
+		private long elapsedNanos = 0;
+
+		public int getFiles() {
+			return files;
+		}
+
+		public int getFailedFiles() {
+			return failedFiles;
+		}
+
+		public long getRecords() {
+			return records;
+		}
+
+		public long getTriples() {
+			return triples;
+		}
+
+		public long getElapsedMillis() {
+			return elapsedNanos / 1000000;
+		}
+
+		public double getRecordsPerSecond() {
+			if (elapsedNanos == 0) {
+				return 0;
+			}
+			return records * 1e9 / elapsedNanos;
+		}
+
+		@Override
+		public String toString() {
+			return files + " files (" + failedFiles + " failed), " + records + " records, " + triples
+					+ " triples in " + getElapsedMillis() + " ms = "
+					+ String.format("%.1f", getRecordsPerSecond()) + " records/s";
+		}
+	}
+}
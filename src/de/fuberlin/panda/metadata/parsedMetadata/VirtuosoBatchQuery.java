@@ -0,0 +1,285 @@
+package de.fuberlin.panda.metadata.parsedMetadata;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+
+import com.hp.hpl.jena.query.Query;
+import com.hp.hpl.jena.query.QueryExecution;
+import com.hp.hpl.jena.query.QueryExecutionFactory;
+import com.hp.hpl.jena.query.QueryFactory;
+import com.hp.hpl.jena.query.QuerySolution;
+import com.hp.hpl.jena.query.ResultSet;
+import com.hp.hpl.jena.rdf.model.Model;
+
+import de.fuberlin.panda.metadata.MetadataConnector;
+import de.fuberlin.panda.metadata.exceptions.ProcessingUriException;
+
+/**
+ * This class retrieves the metadata of several URIs from the Virtuoso Triple Store with
+ * one query per batch instead of one query per URI. The URIs of a batch are bound by a
+ * {@code VALUES ?u { ... }} clause and the returned rows {@code ?u ?p ?o} are demultiplexed
+ * into one {@link VirtuosoMetadata} object per URI. The single rows are processed by
+ * {@link VirtuosoMetadata#processSolution(QuerySolution)}, so the results are the same as
+ * for {@link VirtuosoMetadata#parseMetadata()}.<br>
+ * In case the {@code parallelism} is greater than 1, up to {@code parallelism} batches are
+ * queried at the same time. A {@code timeoutMillis} limits the execution of every single
+ * query.<br>
+ * Instead of the Virtuoso server a local {@code Model} can be queried, e.g. for testing.
+ *
+ * @see #parseMetadata(Collection)
+ * @see #setParallelism(int)
+ * @see #setTimeout(long)
+ * @see #prepareQuery(List, VirtuosoMetadata)
+ * @see #executeBatch(List, Map)
+ *
+ * @since 18.10.2026
+ */
+public class VirtuosoBatchQuery {
+	private static Logger logger = Logger.getLogger(MetadataConnector.class.getName());
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+	public static final int DEFAULT_BATCH_SIZE = 100;
+
+	private int batchSize;
+	private Model localModel;
+	private int parallelism = 1;
+	private long timeoutMillis = 0;
+
+	public VirtuosoBatchQuery() {
+		this(DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * @param batchSize - the maximum number of URIs per query.
+	 */
+	public VirtuosoBatchQuery(int batchSize) {
+		this(batchSize, null);
+	}
+
+	/**
+	 * @param batchSize - the maximum number of URIs per query.
+	 * @param localModel - a {@code Model} which is queried instead of the Virtuoso server or
+	 * 	{@code null} to use the server.
+	 */
+	public VirtuosoBatchQuery(int batchSize, Model localModel) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("The batch size has to be positive: " + batchSize);
+		}
+		this.batchSize = batchSize;
+		this.localModel = localModel;
+	}
+
+	/**
+	 * This method sets the maximum number of batches which are queried at the same time.
+	 * 
+	 * @param parallelism - the maximum number of concurrent queries, 1 by default.
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("The parallelism has to be positive: " + parallelism);
+		}
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * This method sets the maximum time the execution of a single query may take.
+	 * 
+	 * @param timeoutMillis - the timeout in milliseconds or 0 for no timeout, the default.
+	 */
+	public void setTimeout(long timeoutMillis) {
+		if (timeoutMillis < 0) {
+			throw new IllegalArgumentException("The timeout must not be negative: " + timeoutMillis);
+		}
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	/**
+	 * This method splits the given URIs into batches of {@code batchSize} URIs and calls
+	 * {@link #executeBatch(List, Map)} for each of them. Duplicate URIs are only queried once.
+	 * Several batches are queried concurrently by a new thread pool in case the
+	 * {@code parallelism} is greater than 1.
+	 *
+	 * @param uris - the URIs the metadata is searched for.
+	 * @return a {@code Map} from the URIs to the parsed metadata. URIs without any results
+	 * 	are not contained.
+	 * @throws ProcessingUriException in case the query failed or a result couldn't be processed
+	 */
+	public Map<String, VirtuosoMetadata> parseMetadata(Collection<String> uris) throws ProcessingUriException {
+		List<List<String>> batches = new ArrayList<>();
+		List<String> batch = new ArrayList<>(batchSize);
+		for (String uri : new LinkedHashSet<>(uris)) {
+			batch.add(uri);
+			if (batch.size() == batchSize) {
+				batches.add(batch);
+				batch = new ArrayList<>(batchSize);
+			}
+		}
+		if (!batch.isEmpty()) {
+			batches.add(batch);
+		}
+
+		Map<String, VirtuosoMetadata> parsedMetadata = new HashMap<>();
+		if (parallelism == 1 || batches.size() < 2) {
+			for (List<String> currentBatch : batches) {
+				executeBatch(currentBatch, parsedMetadata);
+			}
+		} else {
+			executeBatches(batches, parsedMetadata);
+		}
+		return parsedMetadata;
+	}
+
+	/**
+	 * This method queries the batches on a new thread pool with up to {@code parallelism}
+	 * threads. The pool is shut down afterwards, remaining queries are cancelled in case of an
+	 * exception.
+	 *
+	 * @param batches - the batches of URIs.
+	 * @param parsedMetadata - the {@code Map} the created objects are added to.
+	 * @throws ProcessingUriException in case a query failed, a result couldn't be processed or
+	 * 	the waiting was interrupted
+	 */
+	private void executeBatches(List<List<String>> batches, Map<String, VirtuosoMetadata> parsedMetadata)
+			throws ProcessingUriException {
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, batches.size()),
+				new BatchThreadFactory());
+		try {
+			List<Future<Map<String, VirtuosoMetadata>>> futures = new ArrayList<>(batches.size());
+			for (final List<String> batch : batches) {
+				futures.add(executor.submit(new Callable<Map<String, VirtuosoMetadata>>() {
+					@Override
+					public Map<String, VirtuosoMetadata> call() throws ProcessingUriException {
+						Map<String, VirtuosoMetadata> batchMetadata = new HashMap<>();
+						executeBatch(batch, batchMetadata);
+						return batchMetadata;
+					}
+				}));
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				try {
+					parsedMetadata.putAll(futures.get(i).get());
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof ProcessingUriException) {
+						throw (ProcessingUriException) e.getCause();
+					}
+					throw new ProcessingUriException(batches.get(i).get(0) + " (batch of " 
+							+ batches.get(i).size() + " URIs), " + e.getCause().toString());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new ProcessingUriException(batches.get(i).get(0) + " (batch of " 
+							+ batches.get(i).size() + " URIs), parsing was interrupted");
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * This method executes the query for a single batch and hands every row to the
+	 * {@link VirtuosoMetadata} object of the URI bound to {@code ?u}. The object is
+	 * created with the first row of the URI.
+	 *
+	 * @param batch - the URIs of the batch.
+	 * @param parsedMetadata - the {@code Map} the created objects are added to.
+	 * @throws ProcessingUriException in case the query failed or a result couldn't be processed
+	 */
+	private void executeBatch(List<String> batch, Map<String, VirtuosoMetadata> parsedMetadata)
+			throws ProcessingUriException {
+		VirtuosoMetadata defaultMetadata = new VirtuosoMetadata();
+		String queryString = prepareQuery(batch, defaultMetadata);
+		Query query = QueryFactory.create(queryString);
+		QueryExecution qExe;
+		if (localModel != null) {
+			qExe = QueryExecutionFactory.create(query, localModel);
+		} else {
+			qExe = QueryExecutionFactory.sparqlService(defaultMetadata.getVirtuosoServerAdress() + "/sparql", query);
+		}
+		if (timeoutMillis > 0) {
+			qExe.setTimeout(timeoutMillis);
+		}
+
+		try {
+			ResultSet queryResults = qExe.execSelect();
+			while (queryResults.hasNext()) {
+				QuerySolution solution = queryResults.next();
+				String uri = solution.getLiteral("u").getLexicalForm();
+				VirtuosoMetadata singleMetadata = parsedMetadata.get(uri);
+				if (singleMetadata == null) {
+					singleMetadata = new VirtuosoMetadata();
+					singleMetadata.setUri(uri);
+					parsedMetadata.put(uri, singleMetadata);
+				}
+				singleMetadata.processSolution(solution);
+			}
+		} catch (ProcessingUriException e) {
+			throw e;
+		} catch (Exception e) {
+			logger.error("Unable to retrieve Metadata from Virtuoso Server on '"
+					+ defaultMetadata.getVirtuosoServerAdress() + "/sparql' with query: '" + queryString
+					+ "; " + e.getMessage());
+			throw new ProcessingUriException(batch.get(0) + " (batch of " + batch.size() + " URIs), "
+					+ e.toString());
+		} finally {
+			qExe.close();
+		}
+	}
+
+	/**
+	 * This method builds the query string which gets all RDF predicates and objects for the
+	 * URIs of the batch. The URIs are bound to {@code ?u} as plain literals.
+	 *
+	 * @param batch - the URIs of the batch.
+	 * @param defaultMetadata - a {@link VirtuosoMetadata} object which holds the graph name
+	 * 	and the panda prefix.
+	 * @return queryString
+	 */
+	String prepareQuery(List<String> batch, VirtuosoMetadata defaultMetadata) {
+		StringBuilder values = new StringBuilder();
+		for (String uri : batch) {
+			values.append(" \"").append(uri.replace("\\", "\\\\").replace("\"", "\\\"")).append("\"");
+		}
+
+		String queryString = "PREFIX panda: <" + defaultMetadata.getPandaPrefix() + "> "
+				+ " select ?u ?p ?o "
+				+ " from <" + defaultMetadata.getVirtuosoGraphName() + "> "
+				+ " where { VALUES ?u {" + values + " } "
+				+ 		 "?uri panda:Uri ?u ."
+				+ 		 "?uri ?p ?o }";
+		return queryString;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * {@code ThreadFactory} for named daemon threads, so a hanging query doesn't keep the
+	 * JVM alive.
+	 */
+	private static class BatchThreadFactory implements ThreadFactory {
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "VirtuosoBatchQuery-" + THREAD_COUNTER.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -5,12 +5,9 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 
 import javax.management.modelmbean.XMLParseException;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.w3c.dom.CharacterData;
-import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -38,6 +35,7 @@ import de.fuberlin.panda.metadata.operational.Operations;
  * classes.
  * 
  * @see #parseMetadata()
+ * @see XMLMetadataIndex
  * @see #parseMetadataNode(NodeList)
  * @see #checkForUri()
  * @see #checkNodeNameForDataNode(Node)
@@ -56,42 +54,31 @@ import de.fuberlin.panda.metadata.operational.Operations;
  * @author Sebastian Schulz
  */
 public class XMLMetadata extends ParsedMetadata {
-	private String xmlFilePath= "C:/Users/Sebastian Schulz/workspace/masterthesis/PANDA/WebContent/testData/MetadataExample2.xml";
+	public static final String DEFAULT_XML_FILE_PATH = "C:/Users/Sebastian Schulz/workspace/masterthesis/PANDA/WebContent/testData/MetadataExample2.xml";
+	private String xmlFilePath = DEFAULT_XML_FILE_PATH;
 	
 	private NodeList metadataNodeList;
 	private int metadataNodeIndex;
 	
 	/**
-	 * This overridden method creates a document builder on the XML file which was set in the 
-	 * {@code xmlFilePath} field. Afterwards it checks if a root node could be found and then
-	 * it calls the {@link #parseMetadataNode(NodeList)} method for every {@code panda:Metadata}
-	 * node which is included in the document. 
+	 * This overridden method gets the shared {@link XMLMetadataIndex} of the XML file which 
+	 * was set in the {@code xmlFilePath} field. The file is only parsed in case it wasn't 
+	 * indexed before or has been modified. Afterwards it calls the 
+	 * {@link #parseMetadataNode(NodeList)} method for the {@code panda:Metadata} node 
+	 * which contains the requested URI. 
 	 * 
-	 * @throws ParserConfigurationException if there was a problem while setting up the parser
-	 * @throws IOException if the file couldn't be opened
-	 * @throws SAXException if the document builded couldn't be set up
-	 * @throws XMLParseException if the document doesn't have a root element 
+	 * @throws MetadataNotFoundException in case there exists no metadata for the given uri
+	 * @throws ProcessingUriException in case the file couldn't be parsed (see 
+	 * 	{@link XMLMetadataIndex#getIndex(String)}) or the URI has a wrong format
 	 */
 	@Override
 	public void parseMetadata() throws MetadataNotFoundException, ProcessingUriException {
 		try {
-			DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-			DocumentBuilder db;
-			db = dbf.newDocumentBuilder();
-			Document doc = db.parse(new File(xmlFilePath));
-		
-			if(doc.getDocumentElement() == null) {
-				throw new XMLParseException("Wrong document structure. Couldn't find root element"
-						+ " while parsing the xml input file: " + xmlFilePath);
-			} else {
-				NodeList nodeList = doc.getDocumentElement().getChildNodes();
-				for (int i = 0; i < nodeList.getLength(); i++) {
-					Node tmpNode = nodeList.item(i);
-					if(tmpNode.getNodeName().equals("panda:Metadata")) {
-						parseMetadataNode(tmpNode.getChildNodes());
-					}
-				}
+			NodeList childNodeList = XMLMetadataIndex.getIndex(xmlFilePath).getMetadataNodes(uri);
+			if(childNodeList == null) {
+				throw new MetadataNotFoundException(uri);
 			}
+			parseMetadataNode(childNodeList);
 		} catch (ParserConfigurationException | SAXException | IOException | 
 				XMLParseException | URISyntaxException e) {
 			throw new ProcessingUriException(uri + e.toString());
@@ -448,5 +435,14 @@ public class XMLMetadata extends ParsedMetadata {
 	public String getXmlFilePath() {
 		return xmlFilePath;
 	}
+	
+	@Override
+	public File getSourceFile() {
+		return new File(xmlFilePath);
+	}
+	
+	public void setXmlFilePath(String xmlFilePath) {
+		this.xmlFilePath = xmlFilePath;
+	}
 
 }
@@ -0,0 +1,184 @@
+package de.fuberlin.panda.metadata.parsedMetadata;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.management.modelmbean.XMLParseException;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.log4j.Logger;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * This class holds the parsed DOM of a XML metadata file and maps every {@code panda:Data} 
+ * URI to the child nodes of its {@code panda:Metadata} node. The indexes are shared by all
+ * {@link XMLMetadata} objects, so a file is only parsed once as long as it isn't modified. 
+ * The modification time and the length of the file are checked on every call of 
+ * {@link #getIndex(String)}, a changed file is parsed again.
+ * 
+ * @see #getIndex(String)
+ * @see #getMetadataNodes(String)
+ * @see #createIndex()
+ * 
+ * @since 18.10.2026
+ */
+public class XMLMetadataIndex {
+	private static Logger logger = Logger.getLogger(XMLMetadataIndex.class.getName());
+	private static final Map<String, XMLMetadataIndex> INDEXES = new HashMap<>();
+	
+	private File xmlFile;
+	private long lastModified;
+	private long length;
+	private Map<String, NodeList> metadataNodes = new HashMap<>();
+	
+	private XMLMetadataIndex(File xmlFile) {
+		this.xmlFile = xmlFile;
+		this.lastModified = xmlFile.lastModified();
+		this.length = xmlFile.length();
+	}
+	
+	/**
+	 * This method returns the index of the given XML file. In case there is no index yet or 
+	 * the file has been modified since the index was created, the file is parsed and a new 
+	 * index is created.
+	 * 
+	 * @param xmlFilePath - the path of the XML metadata file.
+	 * @return the {@code XMLMetadataIndex} of the current file version.
+	 * @throws ParserConfigurationException if there was a problem while setting up the parser
+	 * @throws IOException if the file couldn't be opened
+	 * @throws SAXException if the document couldn't be parsed
+	 * @throws XMLParseException if the document doesn't have a root element 
+	 */
+	public static synchronized XMLMetadataIndex getIndex(String xmlFilePath) throws ParserConfigurationException, 
+			SAXException, IOException, XMLParseException {
+		XMLMetadataIndex index = INDEXES.get(xmlFilePath);
+		if (index == null || !index.isUpToDate()) {
+			index = new XMLMetadataIndex(new File(xmlFilePath));
+			index.createIndex();
+			INDEXES.put(xmlFilePath, index);
+		}
+		return index;
+	}
+	
+	/**
+	 * This method removes all indexes, the files are parsed again on the next request.
+	 */
+	public static synchronized void clear() {
+		INDEXES.clear();
+	}
+	
+	/**
+	 * This method parses the XML file and adds the child nodes of every {@code panda:Metadata}
+	 * node for each of its leading {@code panda:Data} nodes to the {@code metadataNodes}. In 
+	 * case an URI occurs more than once, the first node is used. The child nodes are copied to
+	 * an array, so the lists can be read by several threads at the same time.
+	 * 
+	 * @throws ParserConfigurationException if there was a problem while setting up the parser
+	 * @throws IOException if the file couldn't be opened
+	 * @throws SAXException if the document couldn't be parsed
+	 * @throws XMLParseException if the document doesn't have a root element 
+	 */
+	private void createIndex() throws ParserConfigurationException, SAXException, IOException, 
+			XMLParseException {
+		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+		dbf.setFeature("http://apache.org/xml/features/dom/defer-node-expansion", false);
+		DocumentBuilder db = dbf.newDocumentBuilder();
+		Document doc = db.parse(xmlFile);
+		
+		if(doc.getDocumentElement() == null) {
+			throw new XMLParseException("Wrong document structure. Couldn't find root element"
+					+ " while parsing the xml input file: " + xmlFile.getPath());
+		}
+		
+		NodeList nodeList = doc.getDocumentElement().getChildNodes();
+		for (int i = 0; i < nodeList.getLength(); i++) {
+			Node tmpNode = nodeList.item(i);
+			if(tmpNode.getNodeName().equals("panda:Metadata")) {
+				addMetadataNode(new NodeArray(tmpNode.getChildNodes()));
+			}
+		}
+		logger.debug("Indexed " + metadataNodes.size() + " URIs of the xml file: " + xmlFile.getPath());
+	}
+	
+	/**
+	 * This method adds the URIs of all leading {@code panda:Data} nodes of a single 
+	 * {@code panda:Metadata} node to the index. Like {@link XMLMetadata#checkForUri()} 
+	 * it skips the nodes in front of the first {@code panda:Data} node.
+	 * 
+	 * @param childNodeList - a list of all child nodes of {@code panda:Metadata}
+	 */
+	private void addMetadataNode(NodeList childNodeList) {
+		int index = 0;
+		while (index < childNodeList.getLength() && !isDataNode(childNodeList.item(index))) {
+			index++;
+		}
+		
+		while (index < childNodeList.getLength() && isDataNode(childNodeList.item(index))) {
+			String uri = childNodeList.item(index).getAttributes().item(0).getNodeValue();
+			if (!metadataNodes.containsKey(uri)) {
+				metadataNodes.put(uri, childNodeList);
+			}
+			index++;
+		}
+	}
+	
+	private boolean isDataNode(Node node) {
+		return node.getNodeName().equalsIgnoreCase("panda:Data");
+	}
+	
+	/**
+	 * This method checks whether the file has been modified since the index was created.
+	 * 
+	 * @return {@code true} if the modification time and the length are unchanged.
+	 */
+	private boolean isUpToDate() {
+		return xmlFile.lastModified() == lastModified && xmlFile.length() == length;
+	}
+	
+	/**
+	 * This method returns the child nodes of the {@code panda:Metadata} node which 
+	 * contains the given URI.
+	 * 
+	 * @param uri - the requested URI.
+	 * @return a {@code NodeList} of the child nodes or {@code null} in case the URI 
+	 * 	isn't contained in the file.
+	 */
+	public NodeList getMetadataNodes(String uri) {
+		return metadataNodes.get(uri);
+	}
+	
+	public int size() {
+		return metadataNodes.size();
+	}
+	
+	/**
+	 * Immutable copy of a {@code NodeList}.
+	 */
+	private static class NodeArray implements NodeList {
+		private final Node[] nodes;
+		
+		private NodeArray(NodeList nodeList) {
+			nodes = new Node[nodeList.getLength()];
+			for (int i = 0; i < nodes.length; i++) {
+				nodes[i] = nodeList.item(i);
+			}
+		}
+
+		@Override
+		public Node item(int index) {
+			return (index >= 0 && index < nodes.length) ? nodes[index] : null;
+		}
+
+		@Override
+		public int getLength() {
+			return nodes.length;
+		}
+	}
+}
@@ -1,9 +1,17 @@
 package de.fuberlin.panda.metadata.result;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.log4j.Logger;
 
 import com.hp.hpl.jena.rdf.model.Model;
 import com.hp.hpl.jena.rdf.model.ModelFactory;
@@ -12,9 +20,15 @@ import com.hp.hpl.jena.rdf.model.Resource;
 import com.hp.hpl.jena.rdf.model.ResourceFactory;
 
 import de.fuberlin.panda.api.APIHelper;
+import de.fuberlin.panda.metadata.config.MetadataSourceType;
+import de.fuberlin.panda.metadata.config.OutputFormat;
 import de.fuberlin.panda.metadata.exceptions.MetadataNotFoundException;
 import de.fuberlin.panda.metadata.exceptions.ProcessingUriException;
 import de.fuberlin.panda.metadata.parsedMetadata.ParsedMetadata;
+import de.fuberlin.panda.metadata.parsedMetadata.ParsedMetadataCache;
+import de.fuberlin.panda.metadata.parsedMetadata.StreamingXMLMetadata;
+import de.fuberlin.panda.metadata.parsedMetadata.TDBMetadata;
+import de.fuberlin.panda.metadata.parsedMetadata.VirtuosoBatchQuery;
 import de.fuberlin.panda.metadata.parsedMetadata.VirtuosoMetadata;
 import de.fuberlin.panda.metadata.parsedMetadata.XMLMetadata;
 
@@ -25,20 +39,32 @@ import de.fuberlin.panda.metadata.parsedMetadata.XMLMetadata;
  * {@code metadataEntries} list. Afterwards the RDF model is created and finally the 
  * {@code String} representation of the created model returned.<br> The actual building of the
  * model is done by the abstract {@link #createMetadataProperties()} method which has to be 
- * implemented by the subclasess.
+ * implemented by the subclasess.<br>
+ * In case a {@link ParsedMetadataCache} is set, the parsed metadata is taken from respectively
+ * added to the cache.
  * 
  * @see #parseXMLMetadata(String)
  * @see #parseVirtuosoMetadata(String)
+ * @see #parseVirtuosoMetadata(List, VirtuosoBatchQuery)
+ * @see #parseVirtuosoMetadata(List, VirtuosoBatchQuery, boolean)
+ * @see #parseTDBMetadata(String)
+ * @see #parseStreamingXMLMetadata(List)
+ * @see #parseStreamingXMLMetadata(List, boolean)
+ * @see #addMetadataEntry(ParsedMetadata)
+ * @see #setMetadataCache(ParsedMetadataCache)
  * @see #createRdfModel()
  * @see #createMetadataProperties()
  * @see #addDataProperty(ParsedMetadata)
  * @see #toRdfXml()
+ * @see #writeRdfXml(OutputStream)
+ * @see #writeRdf(OutputStream, OutputFormat)
  * 
  * @since 11.09.2013
  * @author Sebastian Schulz
  *
  */
 public abstract class MetadataResult {
+	private static Logger logger = Logger.getLogger(MetadataResult.class.getName());
 //	private final String CSS_PATH = APIHelper.getWebContentDirPath() + "WEB-INF\\style.css";
 	private final String XML_START_TAG = "<?xml version=\"1.0\"  encoding=\"UTF-8\"?>\r\n";
 //			+ "<?xml-stylesheet type=\"text/css\" href=\"style.css\" ?>";
@@ -51,6 +77,7 @@ public abstract class MetadataResult {
 	protected Model metadataModel;
 	protected Resource metadataResource;
 	protected List<ParsedMetadata> metadataEntries = new ArrayList<>();
+	protected ParsedMetadataCache metadataCache = null;
 	
 	/**
 	 * This method is responsible for parsing the metadata from a XML file and adding it to the
@@ -64,8 +91,7 @@ public abstract class MetadataResult {
 	public void parseXMLMetadata(String uri) throws MetadataNotFoundException, ProcessingUriException {
 		XMLMetadata singleMetadata = new XMLMetadata();
 		singleMetadata.setUri(uri);
-		singleMetadata.parseMetadata();
-		metadataEntries.add(singleMetadata);
+		addMetadataEntry(parse(MetadataSourceType.XML, singleMetadata));
 	}
 	
 	/**
@@ -80,7 +106,227 @@ public abstract class MetadataResult {
 	public void parseVirtuosoMetadata(String uri) throws MetadataNotFoundException, ProcessingUriException {
 		VirtuosoMetadata singleMetadata = new VirtuosoMetadata();
 		singleMetadata.setUri(uri);
-		singleMetadata.parseMetadata();
+		addMetadataEntry(parse(MetadataSourceType.VIRTUOSO, singleMetadata));
+	}
+
+	/**
+	 * This method is responsible for parsing the metadata from the local TDB dataset and adding it
+	 * to the list of {@code metadataEntries}. Therefore it creates a new {@link TDBMetadata} object.
+	 * 
+	 * @param uri - the corresponding metadata is searched for.
+	 * @throws MetadataNotFoundException in case there was no metadata found in the dataset for this given URI. 
+	 * @throws ProcessingUriException in case there went something wrong while creating the 
+	 * {@link TDBMetadata} object.
+	 */
+	public void parseTDBMetadata(String uri) throws MetadataNotFoundException, ProcessingUriException {
+		TDBMetadata singleMetadata = new TDBMetadata();
+		singleMetadata.setUri(uri);
+		addMetadataEntry(parse(MetadataSourceType.TDB, singleMetadata));
+	}
+	
+	/**
+	 * This method is responsible for parsing the metadata of all given URIs from the virtuoso 
+	 * triple store and adding it to the list of {@code metadataEntries} in the order of the 
+	 * {@code uris}. In contrast to {@link #parseVirtuosoMetadata(String)} the given 
+	 * {@link VirtuosoBatchQuery} sends one query per batch of URIs.
+	 * 
+	 * @param uris - the URIs the corresponding metadata is searched for.
+	 * @param batchQuery - the {@code VirtuosoBatchQuery} which retrieves the metadata.
+	 * @throws MetadataNotFoundException in case there was no metadata found for one of the 
+	 * 	given URIs. 
+	 * @throws ProcessingUriException in case a query failed or its results couldn't be processed.
+	 */
+	public void parseVirtuosoMetadata(List<String> uris, VirtuosoBatchQuery batchQuery) 
+			throws MetadataNotFoundException, ProcessingUriException {
+		parseVirtuosoMetadata(uris, batchQuery, true);
+	}
+	
+	/**
+	 * Version of {@link #parseVirtuosoMetadata(List, VirtuosoBatchQuery)} which skips URIs 
+	 * without metadata in case {@code failFast} isn't set.
+	 * 
+	 * @param uris - the URIs the corresponding metadata is searched for.
+	 * @param batchQuery - the {@code VirtuosoBatchQuery} which retrieves the metadata.
+	 * @param failFast - {@code true} if the first URI without metadata should stop the
+	 * 	processing, {@code false} if it should be skipped.
+	 * @throws MetadataNotFoundException in case {@code failFast} is set and there was no metadata
+	 * 	found for one of the given URIs. 
+	 * @throws ProcessingUriException in case a query failed or its results couldn't be processed.
+	 */
+	public void parseVirtuosoMetadata(List<String> uris, VirtuosoBatchQuery batchQuery, boolean failFast) 
+			throws MetadataNotFoundException, ProcessingUriException {
+		List<String> missingUris = new ArrayList<>();
+		Map<String, ParsedMetadata> parsedMetadata = getCachedMetadata(MetadataSourceType.VIRTUOSO, 
+				uris, missingUris);
+		if (!missingUris.isEmpty()) {
+			parsedMetadata.putAll(batchQuery.parseMetadata(missingUris));
+			cacheMetadata(MetadataSourceType.VIRTUOSO, missingUris, parsedMetadata, null);
+		}
+		addMetadataEntries(uris, parsedMetadata, failFast);
+	}
+	
+	/**
+	 * This method is responsible for parsing the metadata of all given URIs from a XML file in a 
+	 * single pass and adding it to the list of {@code metadataEntries} in the order of the 
+	 * {@code uris}. Therefore it calls {@link StreamingXMLMetadata#parseMetadata(String, Collection)}
+	 * which doesn't build a DOM of the file.
+	 * 
+	 * @param uris - the URIs the corresponding metadata is searched for.
+	 * @throws MetadataNotFoundException in case there was no metadata found in the XML file for one
+	 * 	of the given URIs. 
+	 * @throws ProcessingUriException in case the XML file couldn't be read.
+	 */
+	public void parseStreamingXMLMetadata(List<String> uris) throws MetadataNotFoundException, 
+			ProcessingUriException {
+		parseStreamingXMLMetadata(uris, true);
+	}
+	
+	/**
+	 * Version of {@link #parseStreamingXMLMetadata(List)} which skips URIs without metadata
+	 * in case {@code failFast} isn't set.
+	 * 
+	 * @param uris - the URIs the corresponding metadata is searched for.
+	 * @param failFast - {@code true} if the first URI without metadata should stop the
+	 * 	processing, {@code false} if it should be skipped.
+	 * @throws MetadataNotFoundException in case {@code failFast} is set and there was no metadata
+	 * 	found in the XML file for one of the given URIs. 
+	 * @throws ProcessingUriException in case the XML file couldn't be read.
+	 */
+	public void parseStreamingXMLMetadata(List<String> uris, boolean failFast) 
+			throws MetadataNotFoundException, ProcessingUriException {
+		List<String> missingUris = new ArrayList<>();
+		Map<String, ParsedMetadata> parsedMetadata = getCachedMetadata(MetadataSourceType.XML_STREAM, 
+				uris, missingUris);
+		if (!missingUris.isEmpty()) {
+			parsedMetadata.putAll(StreamingXMLMetadata.parseMetadata(XMLMetadata.DEFAULT_XML_FILE_PATH, 
+					missingUris));
+			cacheMetadata(MetadataSourceType.XML_STREAM, missingUris, parsedMetadata, 
+					new File(XMLMetadata.DEFAULT_XML_FILE_PATH));
+		}
+		addMetadataEntries(uris, parsedMetadata, failFast);
+	}
+	
+	/**
+	 * This method adds the parsed metadata to the {@code metadataEntries} in the order of the
+	 * {@code uris}.
+	 * 
+	 * @param uris - the URIs the metadata has been searched for.
+	 * @param parsedMetadata - the {@code Map} from the URIs to the parsed metadata, URIs without
+	 * 	metadata are missing or mapped to {@code null}.
+	 * @param failFast - {@code false} to skip URIs without metadata.
+	 * @throws MetadataNotFoundException in case {@code failFast} is set and an URI has no metadata.
+	 */
+	private void addMetadataEntries(List<String> uris, Map<String, ParsedMetadata> parsedMetadata, 
+			boolean failFast) throws MetadataNotFoundException {
+		for (String uri : uris) {
+			ParsedMetadata singleMetadata = parsedMetadata.get(uri);
+			if (singleMetadata != null) {
+				addMetadataEntry(singleMetadata);
+			} else if (failFast) {
+				throw new MetadataNotFoundException(uri);
+			} else {
+				logger.warn("Skipped URI without metadata: " + uri);
+			}
+		}
+	}
+	
+	/**
+	 * This method parses the given metadata object. In case a {@code metadataCache} is set, 
+	 * the cached object is returned instead if there is one.
+	 * 
+	 * @param sourceType - the {@code MetadataSourceType} the metadata is parsed from.
+	 * @param singleMetadata - the not yet parsed metadata object with the URI set.
+	 * @return the parsed metadata object.
+	 * @throws MetadataNotFoundException in case there was no metadata found for the URI. 
+	 * @throws ProcessingUriException in case the metadata couldn't be parsed.
+	 */
+	private ParsedMetadata parse(MetadataSourceType sourceType, ParsedMetadata singleMetadata) 
+			throws MetadataNotFoundException, ProcessingUriException {
+		if (metadataCache == null) {
+			singleMetadata.parseMetadata();
+			return singleMetadata;
+		}
+		return metadataCache.parse(sourceType, singleMetadata);
+	}
+	
+	/**
+	 * This method looks up the given URIs in the {@code metadataCache}. The URIs which aren't
+	 * cached are added to {@code missingUris}, all URIs in case no cache is set. URIs which are
+	 * cached as URIs without metadata are mapped to {@code null}.
+	 * 
+	 * @param sourceType - the {@code MetadataSourceType} the metadata is parsed from.
+	 * @param uris - the URIs the metadata is searched for.
+	 * @param missingUris - the {@code List} the URIs without cache entry are added to.
+	 * @return a {@code Map} from the URIs to the cached metadata.
+	 */
+	private Map<String, ParsedMetadata> getCachedMetadata(MetadataSourceType sourceType, 
+			List<String> uris, List<String> missingUris) {
+		Map<String, ParsedMetadata> cachedMetadata = new HashMap<>();
+		for (String uri : uris) {
+			if (cachedMetadata.containsKey(uri)) {
+				continue;
+			}
+			ParsedMetadata singleMetadata = null;
+			if (metadataCache != null) {
+				try {
+					singleMetadata = metadataCache.getIfPresent(sourceType, uri);
+				} catch (MetadataNotFoundException e) {
+					cachedMetadata.put(uri, null);
+					continue;
+				}
+			}
+			if (singleMetadata != null) {
+				cachedMetadata.put(uri, singleMetadata);
+			} else {
+				missingUris.add(uri);
+			}
+		}
+		return cachedMetadata;
+	}
+	
+	/**
+	 * This method adds the parsed metadata of the given URIs to the {@code metadataCache}. 
+	 * URIs without metadata are cached as negative entries, which are removed once the 
+	 * {@code sourceFile} has been modified.
+	 * 
+	 * @param sourceType - the {@code MetadataSourceType} the metadata has been parsed from.
+	 * @param parsedUris - the URIs which have been parsed.
+	 * @param parsedMetadata - the {@code Map} from the URIs to the parsed metadata.
+	 * @param sourceFile - the file the metadata has been parsed from or {@code null}.
+	 */
+	private void cacheMetadata(MetadataSourceType sourceType, List<String> parsedUris, 
+			Map<String, ParsedMetadata> parsedMetadata, File sourceFile) {
+		if (metadataCache == null) {
+			return;
+		}
+		for (String uri : parsedUris) {
+			ParsedMetadata singleMetadata = parsedMetadata.get(uri);
+			if (singleMetadata == null) {
+				metadataCache.putNotFound(sourceType, uri, sourceFile);
+			} else {
+				metadataCache.put(sourceType, singleMetadata);
+			}
+		}
+	}
+	
+	/**
+	 * This method sets the cache the parsed metadata is taken from and added to.
+	 * 
+	 * @param metadataCache - the {@link ParsedMetadataCache} or {@code null} to parse every 
+	 * 	URI again.
+	 */
+	public void setMetadataCache(ParsedMetadataCache metadataCache) {
+		this.metadataCache = metadataCache;
+	}
+	
+	/**
+	 * This method adds a parsed {@link ParsedMetadata} object to the list of 
+	 * {@code metadataEntries}. Subclasses which don't need the whole list (e.g. 
+	 * {@link StreamingListResult}) can process the entry right away instead.
+	 * 
+	 * @param singleMetadata - the {@link ParsedMetadata} object which has been parsed.
+	 */
+	public void addMetadataEntry(ParsedMetadata singleMetadata) {
 		metadataEntries.add(singleMetadata);
 	}
 
@@ -116,18 +362,55 @@ public abstract class MetadataResult {
 	}
 	
 	/**
-	 * This method creates the {@code metadataModel}s output. It writes the 
-	 * {@code XML_START_TAG} and the model as RDF/XML to an output stream.
+	 * This method creates the {@code metadataModel}s output. It calls 
+	 * {@link #writeRdfXml(OutputStream)} on an in memory stream and returns its content.
+	 * Notice that the whole document is buffered, so for large results
+	 * {@link #writeRdfXml(OutputStream)} should be used directly.
 	 * 
 	 * @return the RDF/XML as a String object.
 	 * @throws IOException in case something went wrong while openig or writing the stream.
 	 */
 	public String toRdfXml() throws IOException {
 		ByteArrayOutputStream rdfXmlStream = new ByteArrayOutputStream(); 
-		rdfXmlStream.write(XML_START_TAG.getBytes());
-		metadataModel.write(rdfXmlStream, "RDF/XML-ABBREV");
+		writeRdfXml(rdfXmlStream);
 		rdfXmlStream.close();
 		return rdfXmlStream.toString();
 	}
 	
+	/**
+	 * This method writes the {@code XML_START_TAG} and the {@code metadataModel} as 
+	 * RDF/XML directly to the given {@code OutputStream}. No copy of the document is 
+	 * held in memory, the stream is flushed but not closed.
+	 * 
+	 * @param out - the {@code OutputStream} the RDF/XML is written to (e.g. the servlets 
+	 * 	output stream).
+	 * @throws IOException in case something went wrong while writing the stream.
+	 */
+	public void writeRdfXml(OutputStream out) throws IOException {
+		writeRdf(out, OutputFormat.RDF_XML_ABBREV);
+	}
+	
+	/**
+	 * This method writes the {@code metadataModel} in the given {@link OutputFormat} directly 
+	 * to the {@code OutputStream}. The XML formats are introduced by the {@code XML_START_TAG}.
+	 * {@link OutputFormat#RDF_XML_ABBREV} uses the pretty printing RDF/XML writer, all other
+	 * formats are written by the faster non abbreviating writers of Jena.
+	 * 
+	 * @param out - the {@code OutputStream} the model is written to.
+	 * @param format - the {@code OutputFormat} of the serialization.
+	 * @throws IOException in case something went wrong while writing the stream.
+	 */
+	public void writeRdf(OutputStream out, OutputFormat format) throws IOException {
+		if (format.isXml()) {
+			out.write(XML_START_TAG.getBytes());
+		}
+		
+		if (format == OutputFormat.RDF_XML_ABBREV) {
+			metadataModel.write(out, "RDF/XML-ABBREV");
+		} else {
+			RDFDataMgr.write(out, metadataModel, format.getRdfFormat());
+		}
+		out.flush();
+	}
+	
 }
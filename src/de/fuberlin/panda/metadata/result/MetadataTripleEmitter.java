@@ -0,0 +1,147 @@
+package de.fuberlin.panda.metadata.result;
+
+import java.util.Collections;
+import java.util.Vector;
+
+import org.apache.jena.riot.system.StreamRDF;
+
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.NodeFactory;
+import com.hp.hpl.jena.graph.Triple;
+import com.hp.hpl.jena.vocabulary.RDF;
+
+import de.fuberlin.panda.metadata.operational.Operation;
+import de.fuberlin.panda.metadata.parsedMetadata.ParsedMetadata;
+
+/**
+ * This class converts a single {@link ParsedMetadata} object into triples and sends
+ * them to a {@code StreamRDF} sink. Every entry is independent of the others, so the
+ * sink can either be a graph (see {@link ListResult}) or a writer which directly
+ * serializes the triples (see {@link StreamingListResult}).
+ *
+ * @see #emit(ParsedMetadata)
+ * @see #emitOperations(Node, ParsedMetadata)
+ * @see #emitAdministrativeScope(Node, ParsedMetadata)
+ * @see #emitArealScope(Node, ParsedMetadata)
+ * @see #emitTemporalScope(Node, ParsedMetadata)
+ * @see #emitType(Node, ParsedMetadata)
+ *
+ * @since 18.10.2026
+ */
+public class MetadataTripleEmitter {
+	private static final Node METADATA_NODETYPE = NodeFactory.createURI(MetadataResult.METADATA_NS + "Metadata");
+	private static final Node DATA_PREDICATE = NodeFactory.createURI(MetadataResult.METADATA_NS + "Data");
+	private static final Node TEMPORAL_PREDICATE = NodeFactory.createURI(MetadataResult.METADATA_NS + "CreationDate");
+
+	private StreamRDF rdfStream;
+
+	public MetadataTripleEmitter(StreamRDF rdfStream) {
+		this.rdfStream = rdfStream;
+	}
+
+	/**
+	 * This method emits all triples of the given {@code ParsedMetadata} object. The subject
+	 * is a {@code panda:Metadata} node named by the URI of the metadata.
+	 *
+	 * @param singleMetadata - the {@link ParsedMetadata} object which should be emitted.
+	 */
+	public void emit(ParsedMetadata singleMetadata) {
+		Node subject = NodeFactory.createURI(MetadataResult.METADATA_NS + singleMetadata.getUri());
+		rdfStream.triple(new Triple(subject, RDF.type.asNode(), METADATA_NODETYPE));
+		rdfStream.triple(new Triple(subject, DATA_PREDICATE, NodeFactory.createLiteral(singleMetadata.getUri())));
+		emitOperations(subject, singleMetadata);
+		emitAdministrativeScope(subject, singleMetadata);
+		emitArealScope(subject, singleMetadata);
+		emitTemporalScope(subject, singleMetadata);
+		emitType(subject, singleMetadata);
+	}
+
+	/**
+	 * This method emits a triple for every operation which has been parsed.
+	 *
+	 * @param subject - the {@code Node} of the current {@code panda:Metadata} subject.
+	 * @param singleMetadata - the {@link ParsedMetadata} object from the object list
+	 */
+	private void emitOperations(Node subject, ParsedMetadata singleMetadata) {
+		Vector<Operation> operationVector = singleMetadata.getOperations().getAttributes();
+		Collections.reverse(operationVector);
+
+		for (Operation operation : operationVector) {
+			emitLiteral(subject, operation.getType().toString(), operation.getTimestampString());
+		}
+	}
+
+	/**
+	 * This method emits a triple with a resource object for every administrative scope
+	 * entry which has been parsed.
+	 *
+	 * @param subject - the {@code Node} of the current {@code panda:Metadata} subject.
+	 * @param singleMetadata - the {@link ParsedMetadata} object from the object list
+	 */
+	private void emitAdministrativeScope(Node subject, ParsedMetadata singleMetadata) {
+		Vector<String[]> administrativeScopeVector = singleMetadata.getAdministrativeScope().getAttributes();
+		Collections.reverse(administrativeScopeVector);
+
+		for (String[] asEntry : administrativeScopeVector) {
+			Node predicate = NodeFactory.createURI(MetadataResult.METADATA_NS + asEntry[0]);
+			rdfStream.triple(new Triple(subject, predicate, NodeFactory.createURI(asEntry[1])));
+		}
+	}
+
+	/**
+	 * This method emits a triple for every areal scope entry which has been parsed.
+	 *
+	 * @param subject - the {@code Node} of the current {@code panda:Metadata} subject.
+	 * @param singleMetadata - the {@link ParsedMetadata} object from the object list
+	 */
+	private void emitArealScope(Node subject, ParsedMetadata singleMetadata) {
+		Vector<String[]> arealScopeVector = singleMetadata.getArealScope().getAttributes();
+		Collections.reverse(arealScopeVector);
+
+		for (String[] asEntry : arealScopeVector) {
+			emitLiteral(subject, asEntry[0], asEntry[1]);
+		}
+	}
+
+	/**
+	 * This method emits a {@code panda:CreationDate} triple in case the expiration date
+	 * has been parsed.
+	 *
+	 * @param subject - the {@code Node} of the current {@code panda:Metadata} subject.
+	 * @param singleMetadata - the {@link ParsedMetadata} object from the object list
+	 */
+	private void emitTemporalScope(Node subject, ParsedMetadata singleMetadata) {
+		String expirationDateString = singleMetadata.getTemporalScope().getExpirationDateString();
+		if (expirationDateString != null) {
+			rdfStream.triple(new Triple(subject, TEMPORAL_PREDICATE,
+					NodeFactory.createLiteral(expirationDateString)));
+		}
+	}
+
+	/**
+	 * This method emits a triple for every type entry which has been parsed.
+	 *
+	 * @param subject - the {@code Node} of the current {@code panda:Metadata} subject.
+	 * @param singleMetadata - the {@link ParsedMetadata} object from the object list
+	 */
+	private void emitType(Node subject, ParsedMetadata singleMetadata) {
+		Vector<String[]> typeVector = singleMetadata.getType().getAttributes();
+		Collections.reverse(typeVector);
+
+		for (String[] typeEntry : typeVector) {
+			emitLiteral(subject, typeEntry[0], typeEntry[1]);
+		}
+	}
+
+	/**
+	 * This method emits a triple with a {@code panda} predicate and a plain literal object.
+	 *
+	 * @param subject - the {@code Node} of the current {@code panda:Metadata} subject.
+	 * @param predicateName - the local name of the {@code panda} predicate.
+	 * @param value - the {@code String} value of the literal.
+	 */
+	private void emitLiteral(Node subject, String predicateName, String value) {
+		Node predicate = NodeFactory.createURI(MetadataResult.METADATA_NS + predicateName);
+		rdfStream.triple(new Triple(subject, predicate, NodeFactory.createLiteral(value)));
+	}
+}
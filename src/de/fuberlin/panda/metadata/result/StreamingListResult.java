@@ -0,0 +1,127 @@
+package de.fuberlin.panda.metadata.result;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.riot.writer.WriterStreamRDFBlocks;
+
+import de.fuberlin.panda.metadata.config.OutputFormat;
+import de.fuberlin.panda.metadata.parsedMetadata.ParsedMetadata;
+
+/**
+ * This class extends the abstract {@link MetadataResult} class. In contrast to the 
+ * {@link ListResult} it neither collects the {@code metadataEntries} nor builds the 
+ * {@code metadataModel}. Every entry is written to the {@code OutputStream} by a 
+ * {@link MetadataTripleEmitter} as soon as it has been parsed, so the memory usage 
+ * doesn't depend on the number of requested URIs. Only the {@link OutputFormat}s which 
+ * can be written triple by triple are supported (see {@link OutputFormat#isStreamable()}).
+ * <br>Notice that parts of the output may already be written when an URI can't be 
+ * processed. The output is completed by {@link #finish()} respectively by 
+ * {@link #writeRdf(OutputStream, OutputFormat)} for the stream and format of the constructor.
+ * 
+ * @see #StreamingListResult(OutputStream, OutputFormat)
+ * @see #addMetadataEntry(ParsedMetadata)
+ * @see #finish()
+ * @see #writeRdf(OutputStream, OutputFormat)
+ * 
+ * @since 18.10.2026
+ */
+public class StreamingListResult extends MetadataResult {
+	private OutputStream out;
+	private OutputFormat format;
+	private StreamRDF rdfStream;
+	private MetadataTripleEmitter emitter;
+	private int entryCount = 0;
+	private boolean finished = false;
+	
+	/**
+	 * The constructor creates the {@code StreamRDF} writer for the given {@link OutputFormat} 
+	 * and writes the {@code panda} prefix.
+	 * 
+	 * @param out - the {@code OutputStream} the triples are written to.
+	 * @param format - the {@code OutputFormat} of the serialization.
+	 * @throws IllegalArgumentException in case the {@code format} can't be streamed.
+	 */
+	public StreamingListResult(OutputStream out, OutputFormat format) {
+		switch (format) {
+		case N_TRIPLES:
+			rdfStream = StreamRDFLib.writer(out);
+			break;
+		case TURTLE:
+			rdfStream = new WriterStreamRDFBlocks(out);
+			break;
+		default:
+			throw new IllegalArgumentException("The output format '" + format 
+					+ "' can't be streamed");
+		}
+		this.out = out;
+		this.format = format;
+		this.emitter = new MetadataTripleEmitter(rdfStream);
+		rdfStream.start();
+		rdfStream.prefix(METADATA_NS_NAME, METADATA_NS);
+	}
+	
+	/**
+	 * This method writes the triples of the given {@link ParsedMetadata} object 
+	 * directly to the {@code OutputStream} instead of adding it to the 
+	 * {@code metadataEntries}.
+	 * 
+	 * @param singleMetadata - the {@link ParsedMetadata} object which has been parsed.
+	 */
+	@Override
+	public void addMetadataEntry(ParsedMetadata singleMetadata) {
+		emitter.emit(singleMetadata);
+		entryCount++;
+	}
+	
+	/**
+	 * There is no {@code metadataModel} which has to be filled, all triples have 
+	 * already been written by {@link #addMetadataEntry(ParsedMetadata)}.
+	 */
+	@Override
+	protected void createMetadataProperties() {
+	}
+	
+	/**
+	 * This method finishes the {@code StreamRDF} writer and flushes the 
+	 * {@code OutputStream}. The stream is not closed. Further calls only flush the stream.
+	 * 
+	 * @throws IOException in case something went wrong while writing the stream.
+	 */
+	public void finish() throws IOException {
+		if (!finished) {
+			rdfStream.finish();
+			finished = true;
+		}
+		out.flush();
+	}
+	
+	/**
+	 * The triples have already been written to the {@code OutputStream} of the constructor 
+	 * while parsing, so this method completes the output by calling {@link #finish()}. 
+	 * Therefore only the stream and the format of the constructor can be given.
+	 * 
+	 * @param out - the {@code OutputStream} of the constructor.
+	 * @param format - the {@code OutputFormat} of the constructor.
+	 * @throws IOException in case something went wrong while writing the stream.
+	 * @throws IllegalArgumentException in case another stream or format is given.
+	 */
+	@Override
+	public void writeRdf(OutputStream out, OutputFormat format) throws IOException {
+		if (out != this.out || format != this.format) {
+			throw new IllegalArgumentException("The streaming result is written to the stream and in the "
+					+ "format of its constructor, not in '" + format + "'");
+		}
+		finish();
+	}
+	
+	public int getEntryCount() {
+		return entryCount;
+	}
+	
+	public OutputFormat getFormat() {
+		return format;
+	}
+}
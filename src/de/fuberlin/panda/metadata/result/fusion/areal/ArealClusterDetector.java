@@ -1,7 +1,9 @@
 package de.fuberlin.panda.metadata.result.fusion.areal;
 
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.PriorityQueue;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -11,14 +13,15 @@ import de.fuberlin.panda.metadata.MetadataConnector;
 import de.fuberlin.panda.metadata.result.fusion.clustering.ClusterDetector;
 import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringObject;
 import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringResult;
-import de.fuberlin.panda.metadata.result.fusion.clustering.NeighborsComparator;
+import de.fuberlin.panda.metadata.result.fusion.clustering.DuplicateGroups;
+import de.fuberlin.panda.metadata.result.fusion.clustering.PrimitiveOpticsEngine;
 
 /**
  * This class is a subclass of {@link ClusterDetector}. It extends the 
  * {@link ClusterDetector#detectClusters(Set)} method for eliminating all areal
  * outliers without a areal information before detecting the clusters. 
  * It also overrides the {@link #calculateNeighborhood(ClusteringObject, Set)}
- * method.
+ * method, which searches the neighbors with an {@link ArealSpatialIndex}.
  * 
  * @author Sebastian Schulz
  * @since 24.02.2014
@@ -26,6 +29,10 @@ import de.fuberlin.panda.metadata.result.fusion.clustering.NeighborsComparator;
 public class ArealClusterDetector extends ClusterDetector {
 	private static Logger logger = Logger.getLogger(MetadataConnector.class.getName());
 	
+	private ArealSpatialIndex spatialIndex = null;
+	private TreeSet<? extends ClusteringObject> indexedObjects = null;
+	private int indexedObjectsCount = 0;
+	
 	public ArealClusterDetector(double neighborhoodRadius, int minNeighbors) {
 		super(neighborhoodRadius, minNeighbors);
 	}
@@ -73,39 +80,133 @@ public class ArealClusterDetector extends ClusterDetector {
 	}
 	
 	/**
-	 * This method builds {@code SortedSet} of {@code ClusteringObjects} which represent the 
-	 * neighbors of a given {@code ClusteringObject}. It checks for each neighbor if its distance
-	 * to the given object is less or equal the {@code neighborhoodRadius} and adds it to the set.
-	 * The set is sorted by the {@code helpEpsilonDistance} which represents the distance from the 
-	 * given object to the neighbor. Because of that reason it is easier to calculate the core distance 
-	 * of a {@code ArealClusteringObject}.<br><br>
-	 * This method heavily influences the runtime of the OPTICS algorithm!
+	 * This method builds the index of the {@code clusteringObjects} before the neighborhoods are
+	 * calculated, so it is only read while they are calculated in parallel.
+	 */
+	@Override
+	protected void prepareNeighborhoods(TreeSet<? extends ClusteringObject> clusteringObjects) {
+		getSpatialIndex(clusteringObjects);
+	}
+	
+	/**
+	 * This method keeps the {@code minNeighbors} nearest objects of the neighborhood returned by
+	 * {@link #findNeighbors(ClusteringObject, TreeSet)} as neighbors of the given 
+	 * {@code ClusteringObject}. They are sorted by their distance to the given object, so the 
+	 * core distance is the distance of the last one. The farther neighbors aren't needed for the 
+	 * core distance and the outlier factor, so the memory doesn't grow with the density.<br><br>
+	 * This method heavily influences the runtime of the OPTICS algorithm! Therefore the neighbors
+	 * are searched by the {@link ArealSpatialIndex} of the {@code clusteringObjects} in O(log n) 
+	 * instead of comparing the object with every other object.
 	 */
 	@Override
 	protected void calculateNeighborhood(ClusteringObject clusteringObject,
 			TreeSet<? extends ClusteringObject> clusteringObjects) {
-		PriorityQueue<ClusteringObject> distancedNeighbors = 
-				new PriorityQueue<>(clusteringObjects.size(), new NeighborsComparator());
+		clusteringObject.setMaxNeighbors(minNeighbors);
+		for (ClusteringObject neighbor : findNeighbors(clusteringObject, clusteringObjects)) {
+			clusteringObject.addNeighbor(neighbor, clusteringObject.getDistance(neighbor));
+		}
+		logger.debug("--> Successfully calculated neighborhood for clustering object with metadata index '"
+				+ clusteringObject.getMetadataIndex() + "'");
+	}
+	
+	/**
+	 * This method returns all objects whose distance to the given object is less or equal the 
+	 * {@code neighborhoodRadius} or the {@code minNeighbors} nearest objects if these are less. 
+	 * The objects are searched by the {@link ArealSpatialIndex} of the {@code clusteringObjects}.
+	 */
+	@Override
+	protected List<ArealClusteringObject> findNeighbors(ClusteringObject clusteringObject,
+			TreeSet<? extends ClusteringObject> clusteringObjects) {
+		ArealClusteringObject arealObject = (ArealClusteringObject) clusteringObject;
+		ArealSpatialIndex index = getSpatialIndex(clusteringObjects);
 		
-		//FIXME Set O(n^2) -> Tree O(n *log n) (treebased approach)
-		for (ClusteringObject neighbor : clusteringObjects) {
-			if (!neighbor.equals(clusteringObject)) {
-				ArealClusteringObject arealNeighbor = (ArealClusteringObject) neighbor;
-				double distance = clusteringObject.getDistance(arealNeighbor);
-				neighbor.setHelpEpsilonDistance(distance);
-				if (distance <= neighborhoodRadius) {
-					clusteringObject.addNeighbor(neighbor);
-				} else {
-					distancedNeighbors.add(neighbor);
-				}
+		List<ArealClusteringObject> neighbors = index.rangeQuery(arealObject, neighborhoodRadius);
+		if (neighbors.size() < minNeighbors) {
+			neighbors = index.nearestNeighbors(arealObject, minNeighbors);
+		}
+		return neighbors;
+	}
+	
+	/**
+	 * This method creates an {@link ArealPrimitiveOpticsEngine} of the coordinates in the
+	 * order of the set, which calculates the same distances as the objects. If an object has
+	 * only one coordinate the objects are clustered themselves.
+	 */
+	@Override
+	protected PrimitiveOpticsEngine createPrimitiveEngine(TreeSet<? extends ClusteringObject> clusteringObjects) {
+		List<ArealClusteringObject> arealObjects = new ArrayList<>(clusteringObjects.size());
+		for (ClusteringObject clusteringObject : clusteringObjects) {
+			ArealClusteringObject arealObject = (ArealClusteringObject) clusteringObject;
+			if (arealObject.getLongitude() == null || arealObject.getLatitude() == null) {
+				return null;
 			}
+			arealObjects.add(arealObject);
 		}
-		
-		while (clusteringObject.getNeighbors().size() < minNeighbors) {
-			clusteringObject.addNeighbor(distancedNeighbors.poll());
+
+		DuplicateGroups duplicateGroups = createDuplicateGroups(arealObjects);
+		int size = (duplicateGroups == null) ? arealObjects.size() : duplicateGroups.size();
+		double[] longitudes = new double[size];
+		double[] latitudes = new double[size];
+		double[] halfLatitudeCosines = new double[size];
+		double[] halfLatitudeSines = new double[size];
+		int[] metadataIndices = new int[size];
+		for (int id = 0; id < size; id++) {
+			ArealClusteringObject arealObject =
+					arealObjects.get((duplicateGroups == null) ? id : duplicateGroups.getFirstPosition(id));
+			longitudes[id] = arealObject.getLongitude();
+			latitudes[id] = arealObject.getLatitude();
+			halfLatitudeCosines[id] = arealObject.getHalfLatitudeCos();
+			halfLatitudeSines[id] = arealObject.getHalfLatitudeSin();
+			metadataIndices[id] = arealObject.getMetadataIndex();
 		}
-		logger.debug("--> Successfully calculated neighborhood for clustering object with metadata index '"
-				+ clusteringObject.getMetadataIndex() + "'");
+		PrimitiveOpticsEngine engine = new ArealPrimitiveOpticsEngine(longitudes, latitudes, halfLatitudeCosines,
+				halfLatitudeSines, metadataIndices, neighborhoodRadius, minNeighbors, maxOutlierFactor);
+		engine.setDuplicateGroups(duplicateGroups);
+		return engine;
+	}
+
+	/**
+	 * This method groups the given objects by their geographical coordinates if 
+	 * {@link #setCollapseDuplicates(boolean)} is set.
+	 * 
+	 * @param arealObjects - the {@code ArealClusteringObject}s with both coordinates in the 
+	 * 	order of the analyzed set.
+	 * @return the {@code DuplicateGroups} or {@code null} if the objects aren't collapsed.
+	 */
+	protected DuplicateGroups createDuplicateGroups(List<ArealClusteringObject> arealObjects) {
+		if (!collapseDuplicates) {
+			return null;
+		}
+		Object[] coordinates = new Object[arealObjects.size()];
+		int[] metadataIndices = new int[coordinates.length];
+		for (int i = 0; i < coordinates.length; i++) {
+			ArealClusteringObject arealObject = arealObjects.get(i);
+			coordinates[i] = new Point2D.Double(arealObject.getLongitude(), arealObject.getLatitude());
+			metadataIndices[i] = arealObject.getMetadataIndex();
+		}
+		DuplicateGroups duplicateGroups = DuplicateGroups.create(coordinates, metadataIndices);
+		logger.debug("Collapsed " + coordinates.length + " areal clustering objects into " 
+				+ duplicateGroups.size() + " points");
+		return duplicateGroups;
+	}
+	
+	/**
+	 * This method returns the {@link ArealSpatialIndex} of the given {@code clusteringObjects}. 
+	 * The index is built on the first call and reused as long as the same unchanged set is passed.
+	 * 
+	 * @param clusteringObjects - a {@code Set} of {@code ClusteringObject}s which should be 
+	 * 	analyzed.
+	 * @return the {@code ArealSpatialIndex} of the set.
+	 */
+	private ArealSpatialIndex getSpatialIndex(TreeSet<? extends ClusteringObject> clusteringObjects) {
+		if (spatialIndex == null || indexedObjects != clusteringObjects 
+				|| indexedObjectsCount != clusteringObjects.size()) {
+			spatialIndex = new ArealSpatialIndex(clusteringObjects);
+			indexedObjects = clusteringObjects;
+			indexedObjectsCount = clusteringObjects.size();
+			logger.debug("Created spatial index for " + spatialIndex.size() + " clustering objects");
+		}
+		return spatialIndex;
 	}
 
 }
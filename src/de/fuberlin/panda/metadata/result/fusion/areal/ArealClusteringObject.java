@@ -3,16 +3,18 @@ package de.fuberlin.panda.metadata.result.fusion.areal;
 import java.util.TreeSet;
 
 import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringObject;
-import de.fuberlin.panda.metadata.result.fusion.helper.MetadataTreeSet;
+import de.fuberlin.panda.metadata.result.fusion.clustering.DistanceKernel;
 
 /**
  * This class is a subclass of {@link ClusteringObject}. It overrides the 
  * methods to calculate a distance to another {@code ClusteringObject} and the 
- * core distance.
+ * core distance. The distance is planar by default, the geodesic distance is chosen by
+ * {@link #setDistanceMetric(ArealDistanceMetric)}.
  * 
  * @see #ArealClusteringObject(int, long)
  * @see #setCoreDistance(int)
  * @see #getDistance(ClusteringObject)
+ * @see #setDistanceMetric(ArealDistanceMetric)
  * 
  * @author Sebastian Schulz
  * @since 24.02.2014
@@ -20,6 +22,9 @@ import de.fuberlin.panda.metadata.result.fusion.helper.MetadataTreeSet;
 public class ArealClusteringObject extends ClusteringObject {
 	private Double latitude = null;
 	private Double longitude = null;
+	//cosine and sine of the half latitude, 1 and 0 for planar distances
+	private double halfLatitudeCos = 1;
+	private double halfLatitudeSin = 0;
 	
 	public ArealClusteringObject(int metadataIndex, Double longitude, Double latitude) {
 		super(metadataIndex);
@@ -27,6 +32,32 @@ public class ArealClusteringObject extends ClusteringObject {
 		this.latitude = latitude;
 	}
 	
+	/**
+	 * This method chooses the distance which is returned by {@link #getDistance(ClusteringObject)}.
+	 * For the {@code GEODESIC} metric the cosine and sine of the half latitude are calculated
+	 * once, so the cosine of the mean latitude of two objects is a product of them.
+	 * 
+	 * @param distanceMetric - the {@code ArealDistanceMetric} of the clustering.
+	 */
+	public void setDistanceMetric(ArealDistanceMetric distanceMetric) {
+		if (distanceMetric == ArealDistanceMetric.GEODESIC && latitude != null) {
+			double halfLatitude = Math.toRadians(latitude) / 2;
+			halfLatitudeCos = Math.cos(halfLatitude);
+			halfLatitudeSin = Math.sin(halfLatitude);
+		} else {
+			halfLatitudeCos = 1;
+			halfLatitudeSin = 0;
+		}
+	}
+	
+	public double getHalfLatitudeCos() {
+		return halfLatitudeCos;
+	}
+	
+	public double getHalfLatitudeSin() {
+		return halfLatitudeSin;
+	}
+	
 	public Double getLatitude() {
 		return latitude;
 	}
@@ -42,8 +73,7 @@ public class ArealClusteringObject extends ClusteringObject {
 	@Override
 	public void setCoreDistance(int minNeighbors) {
 		if (neighbors.size() >= minNeighbors) {
-			MetadataTreeSet<ClusteringObject> tmpNeighbors = new MetadataTreeSet<>(neighbors);
-			ClusteringObject minCoreObject = tmpNeighbors.get(minNeighbors-1);
+			ClusteringObject minCoreObject = neighbors.get(minNeighbors-1);
 			coreDistance = getDistance(minCoreObject);
 		} else {
 			coreDistance = null;
@@ -53,15 +83,50 @@ public class ArealClusteringObject extends ClusteringObject {
 
 	/**
 	 * This method overrides the {@link ClusteringObject#getDistance(ClusteringObject)} method. And returns 
-	 * the euclidean distance between the geographic coordinates of both objects.
+	 * the euclidean distance between the geographic coordinates of both objects, for the
+	 * {@code GEODESIC} metric with the longitudes scaled by the cosine of the mean latitude.
 	 */
 	@Override
 	public double getDistance(ClusteringObject destinationObject) {
 		ArealClusteringObject arealDestination = (ArealClusteringObject) destinationObject;
+		return getDistance(longitude, latitude, halfLatitudeCos, halfLatitudeSin,
+				arealDestination.getLongitude(), arealDestination.getLatitude(),
+				arealDestination.getHalfLatitudeCos(), arealDestination.getHalfLatitudeSin());
+	}
+
+	/**
+	 * This method returns the euclidean distance between two geographic coordinates. It is used
+	 * by {@link #getDistance(ClusteringObject)} and the {@link ArealSpatialIndex}. The squares
+	 * are calculated in the same order as by the {@link DistanceKernel}, so all of them
+	 * calculate exactly the same distances.
+	 */
+	public static double getDistance(double longitude, double latitude, double destinationLongitude,
+			double destinationLatitude) {
+		double latitudeDifference = latitude - destinationLatitude;
+		double longitudeDifference = longitude - destinationLongitude;
 		double euclideanDistance = Math.sqrt(
-				Math.pow(latitude - arealDestination.getLatitude(),2) +
-				Math.pow(longitude - arealDestination.getLongitude(), 2));
+				latitudeDifference * latitudeDifference +
+				longitudeDifference * longitudeDifference);
 		return euclideanDistance;
 	}
 
+	/**
+	 * This method returns the distance between two geographic coordinates whose longitude
+	 * difference is scaled by the cosine of the mean latitude. The cosine is calculated by the
+	 * addition theorem {@code cos(a + b) = cos(a) cos(b) - sin(a) sin(b)} of the half latitudes.
+	 * For the planar values 1 and 0 of cosine and sine the distance is exactly the same as
+	 * {@link #getDistance(double, double, double, double)} returns.
+	 */
+	public static double getDistance(double longitude, double latitude, double halfLatitudeCos,
+			double halfLatitudeSin, double destinationLongitude, double destinationLatitude,
+			double destinationHalfLatitudeCos, double destinationHalfLatitudeSin) {
+		double latitudeDifference = latitude - destinationLatitude;
+		double longitudeDifference = (longitude - destinationLongitude)
+				* (halfLatitudeCos * destinationHalfLatitudeCos - halfLatitudeSin * destinationHalfLatitudeSin);
+		double distance = Math.sqrt(
+				latitudeDifference * latitudeDifference +
+				longitudeDifference * longitudeDifference);
+		return distance;
+	}
+
 }
@@ -0,0 +1,43 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+/**
+ * This enum defines how the distance between two geographic coordinates is calculated for the
+ * areal clustering.
+ *
+ * @see ArealFusion#setDistanceMetric(ArealDistanceMetric)
+ * @see ArealClusteringObject#setDistanceMetric(ArealDistanceMetric)
+ *
+ * @since 18.10.2026
+ */
+public enum ArealDistanceMetric {
+	/**
+	 * The euclidean distance of longitude and latitude as planar coordinates. A degree of
+	 * longitude has the same length as a degree of latitude, so distances in east-west
+	 * direction are too long away from the equator, about 60% at German latitudes.
+	 */
+	PLANAR,
+
+	/**
+	 * The equirectangular approximation of the great-circle distance: the difference of the
+	 * longitudes is scaled by the cosine of the mean latitude of both coordinates. The
+	 * distance is measured in degrees of latitude (about 111.2 km) and differs less than 0.1%
+	 * from the haversine distance for neighbors which are less than 100 km apart. The sine and
+	 * cosine of the half latitudes are calculated once per coordinate, so the distance only
+	 * costs a few multiplications more than the planar one.
+	 */
+	GEODESIC;
+
+	/**
+	 * This method returns the length of a degree of longitude in degrees of latitude at the
+	 * given latitude.
+	 *
+	 * @param latitude - the latitude in degrees.
+	 * @return 1 for {@code PLANAR}, the cosine of the latitude for {@code GEODESIC}.
+	 */
+	public double getLongitudeScale(double latitude) {
+		if (this == GEODESIC) {
+			return Math.cos(Math.toRadians(latitude));
+		}
+		return 1;
+	}
+}
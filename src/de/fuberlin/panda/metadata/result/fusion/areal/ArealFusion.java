@@ -5,8 +5,10 @@ import java.awt.geom.Rectangle2D;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.TreeSet;
 
 import org.apache.log4j.Logger;
@@ -22,6 +24,7 @@ import de.fuberlin.panda.metadata.parsedMetadata.ParsedMetadata;
 import de.fuberlin.panda.metadata.result.MetadataResult;
 import de.fuberlin.panda.metadata.result.fusion.FusionResult;
 import de.fuberlin.panda.metadata.result.fusion.areal.geocoding.Geocoder;
+import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringMethod;
 import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringResult;
 import de.fuberlin.panda.metadata.result.fusion.helper.MatchingHelper;
 import de.fuberlin.panda.metadata.result.fusion.helper.MetadataTreeSet;
@@ -35,9 +38,16 @@ import de.fuberlin.panda.metadata.result.fusion.helper.NoMetadataObject;
  * to generate a clustering. At the end the 
  * {@link #createArealProperty(ClusteringResult, HashMap)} method builds the 
  * {@code arealScopeResource} which contains the fused areal metadata information 
- * to add them to the {@code metadataModel} later.
+ * to add them to the {@code metadataModel} later. The distances of the clustering are planar
+ * unless another metric is chosen by {@link #setDistanceMetric(ArealDistanceMetric)}, the
+ * clustering method is chosen by {@link #setClusteringMethod(ClusteringMethod)}. The boundaries
+ * of the polygons are written with the resolution chosen by 
+ * {@link #setBoundaryResolution(PolygonResolution)}.
  * 
  * @see #ArealFusion(Model, String)
+ * @see #setDistanceMetric(ArealDistanceMetric)
+ * @see #setClusteringMethod(ClusteringMethod)
+ * @see #setBoundaryResolution(PolygonResolution)
  * @see #add(int, ParsedMetadata)
  * @see #mergePolygonList(GeoArea)
  * @see #addArealClusterObject(int, Double[])
@@ -61,12 +71,17 @@ public class ArealFusion {
 	
 	//areal fusion
 	private MetadataTreeSet<ArealClusteringObject> metadata;
-	private List<GeoArea> polygonList = new ArrayList<GeoArea>();
+	//the polygons indexed by their bounding boxes, iterated in the order they were added
+	private GeoAreaTree polygonTree = new GeoAreaTree();
 	private int noGeoCoordsCount = 0;
+	private ArealDistanceMetric distanceMetric = ArealDistanceMetric.PLANAR;
+	private ClusteringMethod clusteringMethod = ClusteringMethod.OPTICS;
+	private PolygonResolution boundaryResolution = PolygonResolution.MEDIUM;
 	
 	//resource building
 	private final Resource AREAL_NODETYPE = ResourceFactory.createResource(MetadataResult.METADATA_NS + "Areal");
 	private final Property AREA_PROPERTY = ResourceFactory.createProperty(MetadataResult.METADATA_NS, "Area");
+	private final Property BOUNDARY_PROPERTY = ResourceFactory.createProperty(MetadataResult.METADATA_NS, "Boundary");
 	private Model metadataModel;
 	private Resource scopeResource;
 	
@@ -89,7 +104,7 @@ public class ArealFusion {
 	 * This method is responsible for analyzing the priority of the areal scope definition
 	 * of the given {@code ParsedMetadata} object. First the {@code ArealScope} is parsed. If
 	 * it has an location attribute a new {@code Geocoder} is initialized. In case the geocoding
-	 * result is an polygon this polygon is added to the {@code polygonList}. Otherwise if the 
+	 * result is an polygon this polygon is added to the {@code polygonTree}. Otherwise if the 
 	 * {@code arealScope} has no geographical coordinates but the location could be transformed to
 	 * coordinates this coordinates are used for further processing. <br><br>
 	 * If no polygon could be builded by geocoding or the {@code arealScope} has no location 
@@ -126,11 +141,12 @@ public class ArealFusion {
 	}
 
 	/**
-	 * This method merges a given {@code GeoArea} object with the {@code polygonList}. It
-	 * iterates over the list and check if the given polygon contains a part of the current
-	 * polygon from the list or other way around. In this case a {@code mergedPolygon} is 
-	 * created and the polygons to be removed are saved in a several list. Finally all of 
-	 * them are removed from the {@code polygonList} and the newly merged Polygon is added. 
+	 * This method merges a given {@code GeoArea} object with the {@code polygonTree}. It
+	 * queries the stored polygons whose bounding box intersects the one of the given polygon
+	 * and checks if the given polygon contains a part of the current candidate or other way 
+	 * around. In this case a {@code mergedPolygon} is created and the polygons to be removed
+	 * are saved in a several list. Finally all of them are removed from the {@code polygonTree}
+	 * and the newly merged Polygon is added. 
 	 * 
 	 * @param currentPolygon - a {@code GeoArea} object.
 	 */
@@ -139,7 +155,7 @@ public class ArealFusion {
 		GeoArea mergedPolygon = new GeoArea();
 		ArrayList<GeoArea> polygonsToRemove = new ArrayList<>();
 		
-		Iterator<GeoArea> polygonIterator = polygonList.iterator();
+		Iterator<GeoArea> polygonIterator = polygonTree.findIntersecting(currentPolygon).iterator();
 		while (polygonIterator.hasNext()) {
 			GeoArea storedPolygon = polygonIterator.next();
 			boolean doPolygonsIntersect = storedPolygon.containsPartOf(currentPolygon)
@@ -156,12 +172,14 @@ public class ArealFusion {
 			}
 		}
 		
-		polygonList.removeAll(polygonsToRemove);
+		for (GeoArea polygon : polygonsToRemove) {
+			polygonTree.remove(polygon);
+		}
 		
 		if (!isMerged) {
-			polygonList.add(currentPolygon);
+			polygonTree.add(currentPolygon);
 		} else {
-			polygonList.add(mergedPolygon);
+			polygonTree.add(mergedPolygon);
 		}
 		logger.debug("Polygons were merged");
 	}
@@ -193,30 +211,42 @@ public class ArealFusion {
 	 * {@code ClusteringResult} is passed to the 
 	 * {@link #createArealProperty(ClusteringResult, HashMap)} method after processing the found
 	 * clusters with the methods {@link #updatePolygons(ClusteringResult)} and 
-	 * {@link #mergePolygonListWithOutliers(ClusteringResult)}. 
+	 * {@link #mergePolygonListWithOutliers(ClusteringResult)}. Objects with equal coordinates
+	 * are clustered as one weighted point, see 
+	 * {@link ArealClusterDetector#setCollapseDuplicates(boolean)}.
 	 * 
 	 * @param metadataMap - a {@code HashMap} which matches a metadata index to it's corresponding
 	 * 	{@link ParsedMetadata} object.
 	 */
 	public void fuse(HashMap<Integer, ParsedMetadata> metadataMap) {
 		if (metadata.size() > 0) {
+			for (ArealClusteringObject arealClusteringObject : metadata) {
+				arealClusteringObject.setDistanceMetric(distanceMetric);
+			}
 			double neighborhoodRadius = calculateNeighborhoodRadius();
 			int minNeighbors = calculateMinNeighbors();
 			int maxOutlierFactor = 5;
 			
-			logger.debug("Starting areal OPTICS algorihm (nR:'" + neighborhoodRadius 
-					+ "'; mN:'" + minNeighbors + "'; mOF:'" + maxOutlierFactor + "')");
-			ArealClusterDetector arealClusterDetector = new ArealClusterDetector(neighborhoodRadius, 
-					minNeighbors, maxOutlierFactor);
+			logger.debug("Starting areal " + clusteringMethod + " algorihm (nR:'" + neighborhoodRadius 
+					+ "'; mN:'" + minNeighbors + "'; mOF:'" + maxOutlierFactor + "'; metric:'" 
+					+ distanceMetric + "')");
+			ArealClusterDetector arealClusterDetector;
+			if (clusteringMethod == ClusteringMethod.GRID) {
+				arealClusterDetector = new ArealGridClusterDetector(neighborhoodRadius, minNeighbors);
+			} else {
+				arealClusterDetector = new ArealClusterDetector(neighborhoodRadius, minNeighbors, maxOutlierFactor);
+				arealClusterDetector.setPrimitiveEngine(true);
+			}
+			arealClusterDetector.setCollapseDuplicates(true);
 			ClusteringResult clusteringResult = arealClusterDetector.detectClusters(metadata);
-			logger.debug("--> Successfully performed areal OPTICS clustering!");
+			logger.debug("--> Successfully performed areal " + clusteringMethod + " clustering!");
 			
 			updatePolygons(clusteringResult);
 			mergePolygonListWithOutliers(clusteringResult);
 			
 			createArealProperty(clusteringResult, metadataMap);
 		} else {
-			for (GeoArea polygon : polygonList) {
+			for (GeoArea polygon : polygonTree.getGeoAreas()) {
 				addPolygonProperty(polygon);
 			}
 		}
@@ -227,7 +257,7 @@ public class ArealFusion {
 	/**
 	 * This method iterates over the cluster list of the given {@code ClusteringResult}
 	 * and calls the {@link #getConvexPolygon(ArrayList)} method to retrieve the polygon.
-	 * Afterwards it is check if this polygon is already stored in the {@code polygonList}
+	 * Afterwards it is check if this polygon is already stored in the {@code polygonTree}
 	 * by calling {@link #mergePolygonList(GeoArea)}.
 	 * 
 	 * @param clusteringResult - a {@code ClusteringResult} object which represents the result
@@ -276,11 +306,11 @@ public class ArealFusion {
 	
 	/**
 	 * This methods checks if an outlier computed by the OPTICS OF algorithm is contained
-	 * in one of the polygons from the {@code polygonList}. It iterates over the 
+	 * in one of the polygons from the {@code polygonTree}. It iterates over the 
 	 * {@code metadata} and checks if the current object is contained in the outlier list
-	 * of the given {@code ClusteringResult}. In this case the test if it is contained in
-	 * one of the polygons takes place. If necessary the outlier is deleted from the outlier
-	 * list. 
+	 * of the given {@code ClusteringResult}. In this case the polygons whose bounding box
+	 * contains the outlier are queried and tested. If necessary the outlier is deleted from
+	 * the outlier list. 
 	 * 
 	 * @param clusteringResult - the {@code ClusteringResult} object created by the OPTICS OF 
 	 * 	algorithm containing the lists of  {@code noMetadata}, {@code outliers} and
@@ -288,22 +318,18 @@ public class ArealFusion {
 	 */
 	private void mergePolygonListWithOutliers(ClusteringResult clusteringResult) {
 		List<Integer> outlierIndices = clusteringResult.getOutliers();
+		Set<Integer> remainingOutliers = new HashSet<Integer>(outlierIndices);
 		List<Integer> outlierIndicesToRemove = new ArrayList<Integer>();
-		int outliersToStay = 0;
 		
 		for (ArealClusteringObject arealClusteringObject : metadata) {
 			int currentIndex = arealClusteringObject.getMetadataIndex();
-			if(outlierIndices.size() == (outliersToStay + outlierIndicesToRemove.size())) {
+			if (remainingOutliers.isEmpty() || polygonTree.isEmpty()) {
 				break;
-			} else if (outlierIndices.contains(currentIndex)) {
+			} else if (remainingOutliers.remove(currentIndex)) {
 				Point2D.Double outlier = new Point2D.Double(arealClusteringObject.getLongitude(), 
 						arealClusteringObject.getLatitude());
-				for (GeoArea polygon : polygonList) {
-					if (polygon.contains(outlier.x, outlier.y)) {
-						outlierIndicesToRemove.add(currentIndex);
-					} else {
-						outliersToStay++;
-					}
+				if (!polygonTree.findContaining(outlier.x, outlier.y).isEmpty()) {
+					outlierIndicesToRemove.add(currentIndex);
 				}
 			}
 		}
@@ -314,11 +340,12 @@ public class ArealFusion {
 
 	/**
 	 * This method is responsible for calculating the neighborhood radius. This value represents the
-	 * distance in which the OPTICS-OF algorithm searches for neighbors later.
+	 * distance in which the OPTICS-OF algorithm searches for neighbors later. It is the diagonal
+	 * of the bounding box of all coordinates divided by the number of objects with coordinates.
 	 * 
 	 * @return the neighborhood radius - a {@code double} value.
 	 */
-	private double calculateNeighborhoodRadius() {
+	double calculateNeighborhoodRadius() {
 		ArrayList<ArealClusteringObject> convexHullList = new ArrayList<>();
 		
 		for (ArealClusteringObject arealClusteringObject : metadata) {
@@ -341,19 +368,22 @@ public class ArealFusion {
 	
 	/**
 	 * This method calculates the distance from the lower left point of the bounding
-	 * box of the given {@code GeoArea} to its upper right point.
+	 * box of the given {@code GeoArea} to its upper right point. For the {@code GEODESIC}
+	 * metric the longitude difference is scaled to the center latitude of the box, so the
+	 * distance has the unit of the clustering distances.
 	 * 
 	 * @param hullPolygon - a {@code GeoArea} object.
 	 * @return a {@code double} value which represents the distance.
 	 */
 	private double calculateReferenceDistance(GeoArea hullPolygon) {
-		Rectangle2D hullBounds = hullPolygon.getAreaObject().getBounds2D();
+		Rectangle2D hullBounds = hullPolygon.getBounds2D();
 		Point2D.Double maxPoint = new Point2D.Double(hullBounds.getMaxX(), hullBounds.getMaxY());
 		Point2D.Double minPoint = new Point2D.Double(hullBounds.getMinX(), hullBounds.getMinY());
 		
+		double longitudeScale = distanceMetric.getLongitudeScale((minPoint.y + maxPoint.y) / 2);
 		double distance = Math.sqrt(
-				Math.pow(minPoint.x - maxPoint.x,2) +
-				Math.pow(minPoint.y - minPoint.y, 2));
+				Math.pow((minPoint.x - maxPoint.x) * longitudeScale, 2) +
+				Math.pow(maxPoint.y - minPoint.y, 2));
 		
 		return distance; 
 	}
@@ -407,7 +437,7 @@ public class ArealFusion {
 			}
 		}
 		
-		for (GeoArea polygon : polygonList) {
+		for (GeoArea polygon : polygonTree.getGeoAreas()) {
 			addPolygonProperty(polygon);
 		}
 	}
@@ -496,34 +526,74 @@ public class ArealFusion {
 	}
 	
 	/**
-	 * This method creates and adds a polygon property. Therefore the polygons name is added. 
-	 * (Since the old code which is commented out represents a polygon by all its boundary points.
-	 * This method is very verbose, so there is more writing overhead addicted to the complexity 
-	 * of the polygon.)
+	 * This method creates and adds a polygon property. Therefore the polygons name is added
+	 * together with its boundary. Writing every boundary point as its own resource was very
+	 * verbose, so the boundary is simplified to the {@code boundaryResolution} and every ring
+	 * is added as a literal in the {@link EncodedPolyline} format. Outer rings are 
+	 * counterclockwise and holes clockwise.
 	 * 
 	 * @param polygon - a {@code GeoArea} object which represents the polygon.
 	 */
 	private void addPolygonProperty(GeoArea polygon) {
 		Resource polygonResource = metadataModel.createResource(MetadataResult.METADATA_NS + 
 				"Polygon_" + polygon.getName());
-//		Property boundaryProperty = ResourceFactory.createProperty(MetadataResult.METADATA_NS, "boundaryPoint");
-//		Property longitudeProperty = ResourceFactory.createProperty(MetadataResult.METADATA_NS, "Longitude");
-//		Property latitudeProperty = ResourceFactory.createProperty(MetadataResult.METADATA_NS, "Latitude");
-//		
-//		ArrayList<Point2D.Double> boundaryPoints = polygon.getBoundaryPoints();
-//		int i = 1;
-//		for (Point2D.Double point : boundaryPoints) {
-//			Resource arealResource = metadataModel.createResource(MetadataResult.METADATA_NS + 
-//						"ts_" + fusionId + "_id_" + i);
-//			arealResource.addProperty(longitudeProperty, String.valueOf(point.x));
-//			arealResource.addProperty(latitudeProperty, String.valueOf(point.y));
-//			polygonResource.addProperty(boundaryProperty, arealResource);
-//			i++;
-//		}
-
+		if (boundaryResolution != null) {
+			for (String encodedRing : polygon.getSimplified(boundaryResolution).toEncodedPolylines()) {
+				polygonResource.addProperty(BOUNDARY_PROPERTY, encodedRing);
+			}
+		}
 		scopeResource.addProperty(AREA_PROPERTY, polygonResource);
 	}
 	
+	/**
+	 * This method chooses the distance of the areal clustering. It has to be set before
+	 * {@link #fuse(HashMap)} is called.
+	 * 
+	 * @param distanceMetric - the {@code ArealDistanceMetric}, {@code PLANAR} by default.
+	 */
+	public void setDistanceMetric(ArealDistanceMetric distanceMetric) {
+		if (distanceMetric == null) {
+			throw new IllegalArgumentException("The distance metric must not be null");
+		}
+		this.distanceMetric = distanceMetric;
+	}
+	
+	public ArealDistanceMetric getDistanceMetric() {
+		return distanceMetric;
+	}
+	
+	/**
+	 * This method chooses the {@code ClusterDetector} of the areal clustering. It has to be set 
+	 * before {@link #fuse(HashMap)} is called.
+	 * 
+	 * @param clusteringMethod - the {@code ClusteringMethod}, {@code OPTICS} by default.
+	 */
+	public void setClusteringMethod(ClusteringMethod clusteringMethod) {
+		if (clusteringMethod == null) {
+			throw new IllegalArgumentException("The clustering method must not be null");
+		}
+		this.clusteringMethod = clusteringMethod;
+	}
+	
+	public ClusteringMethod getClusteringMethod() {
+		return clusteringMethod;
+	}
+	
+	/**
+	 * This method chooses the resolution of the boundaries which are added to the polygon
+	 * properties. It has to be set before {@link #fuse(HashMap)} is called.
+	 * 
+	 * @param boundaryResolution - the {@code PolygonResolution}, {@code MEDIUM} by default, or
+	 * 	{@code null} to add only the names of the polygons.
+	 */
+	public void setBoundaryResolution(PolygonResolution boundaryResolution) {
+		this.boundaryResolution = boundaryResolution;
+	}
+	
+	public PolygonResolution getBoundaryResolution() {
+		return boundaryResolution;
+	}
+	
 	public Resource getResource() {
 		return scopeResource;
 	}
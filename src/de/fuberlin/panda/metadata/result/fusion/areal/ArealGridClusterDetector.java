@@ -0,0 +1,86 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.apache.log4j.Logger;
+
+import de.fuberlin.panda.metadata.MetadataConnector;
+import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringMethod;
+import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringObject;
+import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringResult;
+import de.fuberlin.panda.metadata.result.fusion.clustering.DuplicateGroups;
+import de.fuberlin.panda.metadata.result.fusion.clustering.GridDensityEngine;
+
+/**
+ * This class is a subclass of {@link ArealClusterDetector} which detects the clusters with an
+ * {@link ArealGridDensityEngine} instead of the OPTICS-OF algorithm. The objects without
+ * geographical coordinates are removed the same way and the {@code ClusteringResult} has the
+ * same structure, but the clusters are the density connected objects of a uniform grid and
+ * the outliers are the objects which aren't in the radius of a core object. The
+ * {@code maxOutlierFactor} isn't used.
+ *
+ * @see ClusteringMethod#GRID
+ * @see GridDensityEngine
+ *
+ * @since 18.10.2026
+ */
+public class ArealGridClusterDetector extends ArealClusterDetector {
+	private static Logger logger = Logger.getLogger(MetadataConnector.class.getName());
+
+	public ArealGridClusterDetector(double neighborhoodRadius, int minNeighbors) {
+		super(neighborhoodRadius, minNeighbors);
+	}
+
+	/**
+	 * This method calls {@link #eliminateOutliersWithoutGeocoords(TreeSet)} and clusters the
+	 * remaining objects in a grid. Objects with only one coordinate are outliers.
+	 *
+	 * @return ClusteringResult - a {@code ClusteringResult} object which holds the outlier indices
+	 * 	as well as lists of indices of cluster members.
+	 */
+	@Override
+	public ClusteringResult detectClusters(TreeSet<? extends ClusteringObject> clusteringObjects) {
+		eliminateOutliersWithoutGeocoords(clusteringObjects);
+
+		List<ArealClusteringObject> gridObjects = new ArrayList<>(clusteringObjects.size());
+		List<Integer> incompleteIndices = new ArrayList<>();
+		for (ClusteringObject clusteringObject : clusteringObjects) {
+			ArealClusteringObject arealObject = (ArealClusteringObject) clusteringObject;
+			if (arealObject.getLongitude() == null || arealObject.getLatitude() == null) {
+				incompleteIndices.add(arealObject.getMetadataIndex());
+			} else {
+				gridObjects.add(arealObject);
+			}
+		}
+
+		DuplicateGroups duplicateGroups = createDuplicateGroups(gridObjects);
+		int size = (duplicateGroups == null) ? gridObjects.size() : duplicateGroups.size();
+		double[] longitudes = new double[size];
+		double[] latitudes = new double[size];
+		double[] halfLatitudeCosines = new double[size];
+		double[] halfLatitudeSines = new double[size];
+		int[] metadataIndices = new int[size];
+		for (int id = 0; id < size; id++) {
+			ArealClusteringObject arealObject =
+					gridObjects.get((duplicateGroups == null) ? id : duplicateGroups.getFirstPosition(id));
+			longitudes[id] = arealObject.getLongitude();
+			latitudes[id] = arealObject.getLatitude();
+			halfLatitudeCosines[id] = arealObject.getHalfLatitudeCos();
+			halfLatitudeSines[id] = arealObject.getHalfLatitudeSin();
+			metadataIndices[id] = arealObject.getMetadataIndex();
+		}
+		GridDensityEngine engine = new ArealGridDensityEngine(longitudes, latitudes, halfLatitudeCosines,
+				halfLatitudeSines, metadataIndices, neighborhoodRadius, minNeighbors);
+		engine.setParallelThreshold(parallelThreshold);
+		engine.setDuplicateGroups(duplicateGroups);
+		logger.debug("Grid: clustering " + engine.size() + " areal clustering objects");
+
+		ClusteringResult clusteringResult = engine.detectClusters(getNoMetadataIndices());
+		for (Integer metadataIndex : incompleteIndices) {
+			clusteringResult.addOutlier(metadataIndex);
+		}
+		return clusteringResult;
+	}
+}
@@ -0,0 +1,105 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+import de.fuberlin.panda.metadata.result.fusion.clustering.DistanceKernel;
+import de.fuberlin.panda.metadata.result.fusion.clustering.GridDensityEngine;
+
+/**
+ * This class is the {@link GridDensityEngine} for geographical coordinates. The grid has a
+ * longitude and a latitude dimension. A latitude cell is as high as the neighborhood radius.
+ * For the geodesic distance a longitude difference is scaled by the cosine of the mean
+ * latitude, so a longitude cell is as wide as the radius divided by the smallest cosine of
+ * the latitudes. The distances of a cell are calculated by the {@link DistanceKernel}.
+ *
+ * @see ArealGridClusterDetector
+ *
+ * @since 18.10.2026
+ */
+public class ArealGridDensityEngine extends GridDensityEngine {
+	//cells are a bit larger than the radius, so rounding errors don't lose neighbors
+	private static final double CELL_SIZE_FACTOR = 1 + 1e-6;
+	private static final double MIN_CELL_SIZE = 1e-7;
+
+	private double[] longitudes;
+	private double[] latitudes;
+	private double[] halfLatitudeCosines;
+	private double[] halfLatitudeSines;
+	private boolean planar = true;
+	private double longitudeCellSize;
+	private double latitudeCellSize;
+
+	/**
+	 * @param longitudes - the longitudes by id.
+	 * @param latitudes - the latitudes by id.
+	 * @param halfLatitudeCosines - the cosines of the half latitudes by id.
+	 * @param halfLatitudeSines - the sines of the half latitudes by id.
+	 * @param metadataIndices - the metadata indices by id.
+	 *
+	 * @see ArealClusteringObject#setDistanceMetric(ArealDistanceMetric)
+	 */
+	public ArealGridDensityEngine(double[] longitudes, double[] latitudes, double[] halfLatitudeCosines,
+			double[] halfLatitudeSines, int[] metadataIndices, double neighborhoodRadius, int minNeighbors) {
+		super(metadataIndices, neighborhoodRadius, minNeighbors);
+		this.longitudes = longitudes;
+		this.latitudes = latitudes;
+		this.halfLatitudeCosines = halfLatitudeCosines;
+		this.halfLatitudeSines = halfLatitudeSines;
+
+		double minLongitudeScale = 1;
+		for (int id = 0; id < longitudes.length; id++) {
+			if (halfLatitudeCosines[id] != 1 || halfLatitudeSines[id] != 0) {
+				planar = false;
+			}
+			double longitudeScale = halfLatitudeCosines[id] * halfLatitudeCosines[id]
+					- halfLatitudeSines[id] * halfLatitudeSines[id];
+			minLongitudeScale = Math.min(minLongitudeScale, longitudeScale);
+		}
+		latitudeCellSize = Math.max(MIN_CELL_SIZE, neighborhoodRadius * CELL_SIZE_FACTOR);
+		if (minLongitudeScale > 0) {
+			longitudeCellSize = Math.max(MIN_CELL_SIZE, neighborhoodRadius * CELL_SIZE_FACTOR / minLongitudeScale);
+		} else {
+			//a pole is in the set, all longitudes are neighbors
+			longitudeCellSize = Double.POSITIVE_INFINITY;
+		}
+	}
+
+	@Override
+	protected int getDimensions() {
+		return 2;
+	}
+
+	@Override
+	protected long getCell(int id, int dimension) {
+		if (dimension == 0) {
+			return (long) Math.floor(longitudes[id] / longitudeCellSize);
+		}
+		return (long) Math.floor(latitudes[id] / latitudeCellSize);
+	}
+
+	@Override
+	protected void reorder(int[] order) {
+		longitudes = reorder(longitudes, order);
+		latitudes = reorder(latitudes, order);
+		halfLatitudeCosines = reorder(halfLatitudeCosines, order);
+		halfLatitudeSines = reorder(halfLatitudeSines, order);
+	}
+
+	private static double[] reorder(double[] values, int[] order) {
+		double[] orderedValues = new double[order.length];
+		for (int position = 0; position < order.length; position++) {
+			orderedValues[position] = values[order[position]];
+		}
+		return orderedValues;
+	}
+
+	@Override
+	protected void getDistances(int position, int from, int to, double[] distances) {
+		if (planar) {
+			DistanceKernel.euclideanDistances(longitudes[position], latitudes[position], longitudes, latitudes,
+					from, to, distances);
+		} else {
+			DistanceKernel.scaledDistances(longitudes[position], latitudes[position], halfLatitudeCosines[position],
+					halfLatitudeSines[position], longitudes, latitudes, halfLatitudeCosines, halfLatitudeSines,
+					from, to, distances);
+		}
+	}
+}
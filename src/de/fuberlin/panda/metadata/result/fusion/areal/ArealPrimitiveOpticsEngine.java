@@ -0,0 +1,78 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+import java.util.Arrays;
+
+import de.fuberlin.panda.metadata.result.fusion.clustering.NeighborList;
+import de.fuberlin.panda.metadata.result.fusion.clustering.PrimitiveOpticsEngine;
+
+/**
+ * This class is the {@link PrimitiveOpticsEngine} for geographical coordinates. The
+ * coordinates are kept in two {@code double} arrays and the neighborhoods are searched by an
+ * {@link ArealSpatialIndex} of these arrays. For the geodesic distance the cosines and sines
+ * of the half latitudes are kept as well.
+ *
+ * @see ArealClusterDetector#setPrimitiveEngine(boolean)
+ *
+ * @since 18.10.2026
+ */
+public class ArealPrimitiveOpticsEngine extends PrimitiveOpticsEngine {
+	private double[] longitudes;
+	private double[] latitudes;
+	private double[] halfLatitudeCosines;
+	private double[] halfLatitudeSines;
+	private ArealSpatialIndex spatialIndex;
+
+	/**
+	 * Constructor for planar distances.
+	 *
+	 * @param longitudes - the longitudes by id.
+	 * @param latitudes - the latitudes by id.
+	 * @param metadataIndices - the metadata indices by id.
+	 */
+	public ArealPrimitiveOpticsEngine(double[] longitudes, double[] latitudes, int[] metadataIndices,
+			double neighborhoodRadius, int minNeighbors, double maxOutlierFactor) {
+		this(longitudes, latitudes, createFilledArray(longitudes.length, 1), new double[longitudes.length],
+				metadataIndices, neighborhoodRadius, minNeighbors, maxOutlierFactor);
+	}
+
+	/**
+	 * Constructor for geodesic distances.
+	 *
+	 * @param longitudes - the longitudes by id.
+	 * @param latitudes - the latitudes by id.
+	 * @param halfLatitudeCosines - the cosines of the half latitudes by id.
+	 * @param halfLatitudeSines - the sines of the half latitudes by id.
+	 * @param metadataIndices - the metadata indices by id.
+	 *
+	 * @see ArealClusteringObject#setDistanceMetric(ArealDistanceMetric)
+	 */
+	public ArealPrimitiveOpticsEngine(double[] longitudes, double[] latitudes, double[] halfLatitudeCosines,
+			double[] halfLatitudeSines, int[] metadataIndices, double neighborhoodRadius, int minNeighbors,
+			double maxOutlierFactor) {
+		super(metadataIndices, neighborhoodRadius, minNeighbors, maxOutlierFactor);
+		this.longitudes = longitudes;
+		this.latitudes = latitudes;
+		this.halfLatitudeCosines = halfLatitudeCosines;
+		this.halfLatitudeSines = halfLatitudeSines;
+		spatialIndex = new ArealSpatialIndex(longitudes, latitudes, halfLatitudeCosines, halfLatitudeSines,
+				metadataIndices);
+	}
+
+	private static double[] createFilledArray(int length, double value) {
+		double[] array = new double[length];
+		Arrays.fill(array, value);
+		return array;
+	}
+
+	@Override
+	protected void rangeQuery(int id, double radius, NeighborList neighbors) {
+		spatialIndex.rangeQuery(longitudes[id], latitudes[id], halfLatitudeCosines[id], halfLatitudeSines[id],
+				radius, neighbors);
+	}
+
+	@Override
+	protected void nearestNeighbors(int id, int k, NeighborList neighbors) {
+		spatialIndex.nearestNeighbors(longitudes[id], latitudes[id], halfLatitudeCosines[id],
+				halfLatitudeSines[id], k, neighbors);
+	}
+}
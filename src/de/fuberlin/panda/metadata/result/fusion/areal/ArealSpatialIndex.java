@@ -0,0 +1,533 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringObject;
+import de.fuberlin.panda.metadata.result.fusion.clustering.DistanceKernel;
+import de.fuberlin.panda.metadata.result.fusion.clustering.NeighborList;
+
+/**
+ * This class is a static two dimensional k-d tree over the geographical coordinates of
+ * {@link ArealClusteringObject}s. It is used by the {@link ArealClusterDetector} to determine
+ * the neighborhood of an object in O(log n) instead of comparing it with every other object.
+ * <br><br>
+ * The tree is stored implicitly in arrays: the ids of the objects, which are their positions
+ * in the indexed collection, are reordered so that the median of every range {@code [lo, hi)}
+ * is at position {@code (lo + hi) / 2}, the smaller objects are left and the bigger ones right
+ * of it. The split dimension alternates between longitude and latitude with the depth. Ranges
+ * of at most {@code LEAF_SIZE} objects aren't split any more, these leaves are scanned as a
+ * block by the {@link DistanceKernel}. The distances are the same as
+ * {@link ArealClusteringObject#getDistance(double, double, double, double)} returns, so the
+ * results are exactly the same as for a comparison with every object.<br>
+ * For the geodesic distance the cosine and sine of the half latitudes are indexed as well.
+ * A longitude difference is at least scaled by the smallest cosine of the latitudes, which
+ * is used as bound to prune the subtrees.<br>
+ * The index can also be built from primitive coordinate arrays for the
+ * {@link ArealPrimitiveOpticsEngine}, which queries the ids instead of the objects.
+ *
+ * @see #ArealSpatialIndex(Collection)
+ * @see #ArealSpatialIndex(double[], double[], int[])
+ * @see #ArealSpatialIndex(double[], double[], double[], double[], int[])
+ * @see #rangeQuery(ArealClusteringObject, double)
+ * @see #nearestNeighbors(ArealClusteringObject, int)
+ * @see #rangeQuery(double, double, double, NeighborList)
+ * @see #nearestNeighbors(double, double, int, NeighborList)
+ * @see #rangeQuery(double, double, double, double, double, NeighborList)
+ * @see #nearestNeighbors(double, double, double, double, int, NeighborList)
+ *
+ * @since 18.10.2026
+ */
+public class ArealSpatialIndex {
+	private static final int LEAF_SIZE = 32;
+
+	//objects and metadata indices by id, the objects are null for an index of coordinates
+	private ArealClusteringObject[] objects = null;
+	private int[] metadataIndices;
+	//ids and coordinates in the order of the tree: longitudes, latitudes and the cosines and
+	//sines of the half latitudes
+	private int[] ids;
+	private double[][] coordinates;
+	//all cosines are 1 and all sines 0 for planar distances
+	private boolean planar = true;
+	//the smallest cosine of the latitudes, a lower bound of the longitude scale
+	private double minLongitudeScale = 1;
+
+	/**
+	 * Public constructor which builds the tree. Objects without geographical coordinates are
+	 * not indexed.
+	 *
+	 * @param clusteringObjects - the {@code ArealClusteringObject}s which should be indexed.
+	 */
+	public ArealSpatialIndex(Collection<? extends ClusteringObject> clusteringObjects) {
+		List<ArealClusteringObject> indexedObjects = new ArrayList<>(clusteringObjects.size());
+		for (ClusteringObject clusteringObject : clusteringObjects) {
+			ArealClusteringObject arealObject = (ArealClusteringObject) clusteringObject;
+			if (arealObject.getLongitude() != null && arealObject.getLatitude() != null) {
+				indexedObjects.add(arealObject);
+			}
+		}
+
+		objects = indexedObjects.toArray(new ArealClusteringObject[indexedObjects.size()]);
+		metadataIndices = new int[objects.length];
+		double[] longitudes = new double[objects.length];
+		double[] latitudes = new double[objects.length];
+		double[] halfLatitudeCosines = new double[objects.length];
+		double[] halfLatitudeSines = new double[objects.length];
+		for (int id = 0; id < objects.length; id++) {
+			metadataIndices[id] = objects[id].getMetadataIndex();
+			longitudes[id] = objects[id].getLongitude();
+			latitudes[id] = objects[id].getLatitude();
+			halfLatitudeCosines[id] = objects[id].getHalfLatitudeCos();
+			halfLatitudeSines[id] = objects[id].getHalfLatitudeSin();
+		}
+		build(longitudes, latitudes, halfLatitudeCosines, halfLatitudeSines);
+	}
+
+	/**
+	 * Public constructor which builds the tree of primitive coordinates. The id of every
+	 * coordinate is its position in the arrays, the arrays themselves aren't changed.
+	 *
+	 * @param longitudes - the longitudes by id.
+	 * @param latitudes - the latitudes by id.
+	 * @param metadataIndices - the metadata indices by id, which order equal distances.
+	 */
+	public ArealSpatialIndex(double[] longitudes, double[] latitudes, int[] metadataIndices) {
+		this.metadataIndices = metadataIndices;
+		double[] halfLatitudeCosines = new double[longitudes.length];
+		Arrays.fill(halfLatitudeCosines, 1);
+		build(longitudes.clone(), latitudes.clone(), halfLatitudeCosines, new double[longitudes.length]);
+	}
+
+	/**
+	 * Public constructor which builds the tree of primitive coordinates for the geodesic
+	 * distance. The id of every coordinate is its position in the arrays, the arrays
+	 * themselves aren't changed.
+	 *
+	 * @param longitudes - the longitudes by id.
+	 * @param latitudes - the latitudes by id.
+	 * @param halfLatitudeCosines - the cosines of the half latitudes by id.
+	 * @param halfLatitudeSines - the sines of the half latitudes by id.
+	 * @param metadataIndices - the metadata indices by id, which order equal distances.
+	 *
+	 * @see ArealClusteringObject#setDistanceMetric(ArealDistanceMetric)
+	 */
+	public ArealSpatialIndex(double[] longitudes, double[] latitudes, double[] halfLatitudeCosines,
+			double[] halfLatitudeSines, int[] metadataIndices) {
+		this.metadataIndices = metadataIndices;
+		build(longitudes.clone(), latitudes.clone(), halfLatitudeCosines.clone(), halfLatitudeSines.clone());
+	}
+
+	private void build(double[] longitudes, double[] latitudes, double[] halfLatitudeCosines,
+			double[] halfLatitudeSines) {
+		coordinates = new double[][] {longitudes, latitudes, halfLatitudeCosines, halfLatitudeSines};
+		ids = new int[longitudes.length];
+		for (int id = 0; id < ids.length; id++) {
+			ids[id] = id;
+			if (halfLatitudeCosines[id] != 1 || halfLatitudeSines[id] != 0) {
+				planar = false;
+			}
+			minLongitudeScale = Math.min(minLongitudeScale, getLongitudeScale(halfLatitudeCosines[id],
+					halfLatitudeSines[id]));
+		}
+		build(0, ids.length, 0);
+	}
+
+	/**
+	 * This method returns a lower bound of the cosine of the latitude with the given cosine
+	 * and sine of the half latitude. It is a bit smaller than the cosine, so rounding errors
+	 * of the distances don't prune neighbors.
+	 */
+	private static double getLongitudeScale(double halfLatitudeCos, double halfLatitudeSin) {
+		double longitudeScale = halfLatitudeCos * halfLatitudeCos - halfLatitudeSin * halfLatitudeSin;
+		if (longitudeScale < 1) {
+			longitudeScale = Math.max(0, longitudeScale - 1e-9);
+		}
+		return longitudeScale;
+	}
+
+	/**
+	 * This method arranges the range {@code [lo, hi)} as subtree. The median regarding the
+	 * split dimension of the {@code depth} is moved to the middle of the range, afterwards
+	 * both halves are arranged the same way. Leaves are kept in any order.
+	 */
+	private void build(int lo, int hi, int depth) {
+		if (hi - lo <= LEAF_SIZE) {
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		select(lo, hi - 1, mid, coordinates[depth & 1]);
+		build(lo, mid, depth + 1);
+		build(mid + 1, hi, depth + 1);
+	}
+
+	/**
+	 * This method is a quickselect which moves the {@code k}-th smallest value of the range
+	 * {@code [left, right]} to position {@code k}. The smaller values are moved in front of it,
+	 * the bigger ones behind it.
+	 */
+	private void select(int left, int right, int k, double[] values) {
+		while (right > left) {
+			int mid = (left + right) >>> 1;
+			//median of three as pivot
+			if (values[mid] < values[left]) {
+				swap(mid, left);
+			}
+			if (values[right] < values[left]) {
+				swap(right, left);
+			}
+			if (values[right] < values[mid]) {
+				swap(right, mid);
+			}
+			double pivot = values[mid];
+
+			int i = left;
+			int j = right;
+			while (i <= j) {
+				while (values[i] < pivot) {
+					i++;
+				}
+				while (values[j] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					swap(i, j);
+					i++;
+					j--;
+				}
+			}
+
+			if (k <= j) {
+				right = j;
+			} else if (k >= i) {
+				left = i;
+			} else {
+				return;
+			}
+		}
+	}
+
+	private void swap(int i, int j) {
+		int tmpId = ids[i];
+		ids[i] = ids[j];
+		ids[j] = tmpId;
+		for (double[] values : coordinates) {
+			double tmpValue = values[i];
+			values[i] = values[j];
+			values[j] = tmpValue;
+		}
+	}
+
+	/**
+	 * This method returns all indexed objects whose distance to the given center object is
+	 * less or equal the {@code radius}. The center object itself isn't returned.
+	 *
+	 * @param center - the {@code ArealClusteringObject} in the center of the range.
+	 * @param radius - the maximum distance.
+	 * @return a {@code List} with the objects in the range in no particular order.
+	 */
+	public List<ArealClusteringObject> rangeQuery(ArealClusteringObject center, double radius) {
+		NeighborList neighbors = new NeighborList(16);
+		rangeQuery(center.getLongitude(), center.getLatitude(), center.getHalfLatitudeCos(),
+				center.getHalfLatitudeSin(), radius, neighbors);
+		List<ArealClusteringObject> result = new ArrayList<>(neighbors.size());
+		for (int i = 0; i < neighbors.size(); i++) {
+			if (objects[neighbors.getId(i)] != center) {
+				result.add(objects[neighbors.getId(i)]);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * This method adds the ids and distances of all indexed coordinates whose distance to the
+	 * given coordinate is less or equal the {@code radius} in no particular order.
+	 *
+	 * @param longitude - the longitude of the center of the range.
+	 * @param latitude - the latitude of the center of the range.
+	 * @param radius - the maximum distance.
+	 * @param neighbors - the {@code NeighborList} the ids are added to.
+	 */
+	public void rangeQuery(double longitude, double latitude, double radius, NeighborList neighbors) {
+		rangeQuery(longitude, latitude, 1, 0, radius, neighbors);
+	}
+
+	/**
+	 * This method adds the ids and distances of all indexed coordinates whose geodesic distance
+	 * to the given coordinate is less or equal the {@code radius} in no particular order.
+	 *
+	 * @param longitude - the longitude of the center of the range.
+	 * @param latitude - the latitude of the center of the range.
+	 * @param halfLatitudeCos - the cosine of the half latitude of the center.
+	 * @param halfLatitudeSin - the sine of the half latitude of the center.
+	 * @param radius - the maximum distance.
+	 * @param neighbors - the {@code NeighborList} the ids are added to.
+	 */
+	public void rangeQuery(double longitude, double latitude, double halfLatitudeCos, double halfLatitudeSin,
+			double radius, NeighborList neighbors) {
+		double[] query = createQuery(longitude, latitude, halfLatitudeCos, halfLatitudeSin);
+		rangeQuery(0, ids.length, 0, query, radius, neighbors, new double[LEAF_SIZE]);
+	}
+
+	/**
+	 * This method returns the coordinates of a query followed by the lower bounds of the scales
+	 * of the longitude and latitude differences.
+	 */
+	private double[] createQuery(double longitude, double latitude, double halfLatitudeCos, double halfLatitudeSin) {
+		double longitudeScale = Math.min(minLongitudeScale, getLongitudeScale(halfLatitudeCos, halfLatitudeSin));
+		return new double[] {longitude, latitude, halfLatitudeCos, halfLatitudeSin, longitudeScale, 1};
+	}
+
+	private double getDistance(double[] query, int i) {
+		return ArealClusteringObject.getDistance(query[0], query[1], query[2], query[3],
+				coordinates[0][i], coordinates[1][i], coordinates[2][i], coordinates[3][i]);
+	}
+
+	/**
+	 * This method calculates the distances of the leaf {@code [lo, hi)} by the {@link DistanceKernel}.
+	 */
+	private void getLeafDistances(double[] query, int lo, int hi, double[] leafDistances) {
+		if (planar && query[2] == 1 && query[3] == 0) {
+			DistanceKernel.euclideanDistances(query[0], query[1], coordinates[0], coordinates[1],
+					lo, hi, leafDistances);
+		} else {
+			DistanceKernel.scaledDistances(query[0], query[1], query[2], query[3], coordinates[0],
+					coordinates[1], coordinates[2], coordinates[3], lo, hi, leafDistances);
+		}
+	}
+
+	private void rangeQuery(int lo, int hi, int depth, double[] query, double radius, NeighborList neighbors,
+			double[] leafDistances) {
+		while (lo < hi) {
+			if (hi - lo <= LEAF_SIZE) {
+				getLeafDistances(query, lo, hi, leafDistances);
+				for (int i = lo; i < hi; i++) {
+					if (leafDistances[i - lo] <= radius) {
+						neighbors.add(ids[i], leafDistances[i - lo]);
+					}
+				}
+				return;
+			}
+
+			int mid = (lo + hi) >>> 1;
+			double distance = getDistance(query, mid);
+			if (distance <= radius) {
+				neighbors.add(ids[mid], distance);
+			}
+
+			int dimension = depth & 1;
+			double difference = (query[dimension] - coordinates[dimension][mid]) * query[4 + dimension];
+			depth++;
+			boolean visitLeft = difference <= radius;
+			boolean visitRight = -difference <= radius;
+			if (visitLeft && visitRight) {
+				rangeQuery(lo, mid, depth, query, radius, neighbors, leafDistances);
+				lo = mid + 1;
+			} else if (visitLeft) {
+				hi = mid;
+			} else {
+				lo = mid + 1;
+			}
+		}
+	}
+
+	/**
+	 * This method returns the {@code k} indexed objects which are nearest to the given center
+	 * object. Objects with the same distance are ordered by their metadata index like the
+	 * {@code NeighborsComparator} does. The center object itself isn't returned.
+	 *
+	 * @param center - the {@code ArealClusteringObject} the neighbors are searched for.
+	 * @param k - the number of neighbors.
+	 * @return a {@code List} with at most {@code k} objects ordered by their distance.
+	 */
+	public List<ArealClusteringObject> nearestNeighbors(ArealClusteringObject center, int k) {
+		List<ArealClusteringObject> result = new ArrayList<>(Math.max(0, k));
+		if (k > 0) {
+			//the center object may be one of the k + 1 nearest objects
+			NeighborList neighbors = new NeighborList(k + 1);
+			nearestNeighbors(center.getLongitude(), center.getLatitude(), center.getHalfLatitudeCos(),
+					center.getHalfLatitudeSin(), k + 1, neighbors);
+			for (int i = 0; i < neighbors.size() && result.size() < k; i++) {
+				if (objects[neighbors.getId(i)] != center) {
+					result.add(objects[neighbors.getId(i)]);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * This method adds the ids and distances of the {@code k} indexed coordinates which are
+	 * nearest to the given coordinate, ordered by distance and metadata index like the
+	 * {@code NeighborsComparator} does.
+	 *
+	 * @param longitude - the longitude the neighbors are searched for.
+	 * @param latitude - the latitude the neighbors are searched for.
+	 * @param k - the number of neighbors.
+	 * @param neighbors - the {@code NeighborList} the ids are added to.
+	 */
+	public void nearestNeighbors(double longitude, double latitude, int k, NeighborList neighbors) {
+		nearestNeighbors(longitude, latitude, 1, 0, k, neighbors);
+	}
+
+	/**
+	 * This method adds the ids and distances of the {@code k} indexed coordinates which are
+	 * nearest to the given coordinate regarding the geodesic distance, ordered by distance and
+	 * metadata index like the {@code NeighborsComparator} does.
+	 *
+	 * @param longitude - the longitude the neighbors are searched for.
+	 * @param latitude - the latitude the neighbors are searched for.
+	 * @param halfLatitudeCos - the cosine of the half latitude.
+	 * @param halfLatitudeSin - the sine of the half latitude.
+	 * @param k - the number of neighbors.
+	 * @param neighbors - the {@code NeighborList} the ids are added to.
+	 */
+	public void nearestNeighbors(double longitude, double latitude, double halfLatitudeCos,
+			double halfLatitudeSin, int k, NeighborList neighbors) {
+		if (k > 0) {
+			NeighborHeap heap = new NeighborHeap(k, metadataIndices);
+			double[] query = createQuery(longitude, latitude, halfLatitudeCos, halfLatitudeSin);
+			nearestNeighbors(0, ids.length, 0, query, heap, new double[LEAF_SIZE]);
+			heap.addSorted(neighbors);
+		}
+	}
+
+	private void nearestNeighbors(int lo, int hi, int depth, double[] query, NeighborHeap heap,
+			double[] leafDistances) {
+		if (lo >= hi) {
+			return;
+		}
+		if (hi - lo <= LEAF_SIZE) {
+			getLeafDistances(query, lo, hi, leafDistances);
+			for (int i = lo; i < hi; i++) {
+				heap.offer(ids[i], leafDistances[i - lo]);
+			}
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		heap.offer(ids[mid], getDistance(query, mid));
+
+		int dimension = depth & 1;
+		double difference = (query[dimension] - coordinates[dimension][mid]) * query[4 + dimension];
+		//search the side of the query point first to shrink the search radius fast
+		if (difference <= 0) {
+			nearestNeighbors(lo, mid, depth + 1, query, heap, leafDistances);
+			if (!heap.isFull() || -difference <= heap.getMaxDistance()) {
+				nearestNeighbors(mid + 1, hi, depth + 1, query, heap, leafDistances);
+			}
+		} else {
+			nearestNeighbors(mid + 1, hi, depth + 1, query, heap, leafDistances);
+			if (!heap.isFull() || difference <= heap.getMaxDistance()) {
+				nearestNeighbors(lo, mid, depth + 1, query, heap, leafDistances);
+			}
+		}
+	}
+
+	public int size() {
+		return ids.length;
+	}
+
+	/**
+	 * Bounded max heap which keeps the ids of the {@code capacity} nearest objects. The root
+	 * is the farthest object, for the same distance the one with the bigger metadata index.
+	 */
+	private static class NeighborHeap {
+		private int[] heapIds;
+		private double[] distances;
+		private int[] metadataIndices;
+		private int size = 0;
+
+		private NeighborHeap(int capacity, int[] metadataIndices) {
+			heapIds = new int[capacity];
+			distances = new double[capacity];
+			this.metadataIndices = metadataIndices;
+		}
+
+		private boolean isFull() {
+			return size == heapIds.length;
+		}
+
+		private double getMaxDistance() {
+			return distances[0];
+		}
+
+		private void offer(int id, double distance) {
+			if (!isFull()) {
+				heapIds[size] = id;
+				distances[size] = distance;
+				siftUp(size++);
+			} else if (isFarther(0, id, distance)) {
+				heapIds[0] = id;
+				distances[0] = distance;
+				siftDown(0);
+			}
+		}
+
+		/**
+		 * @return {@code true} if the object at position {@code i} is farther than the given one.
+		 */
+		private boolean isFarther(int i, int id, double distance) {
+			if (distances[i] != distance) {
+				return distances[i] > distance;
+			}
+			return metadataIndices[heapIds[i]] > metadataIndices[id];
+		}
+
+		private void siftUp(int i) {
+			while (i > 0) {
+				int parent = (i - 1) / 2;
+				if (!isFarther(i, heapIds[parent], distances[parent])) {
+					return;
+				}
+				swap(i, parent);
+				i = parent;
+			}
+		}
+
+		private void siftDown(int i) {
+			while (true) {
+				int farthest = i;
+				for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+					if (isFarther(child, heapIds[farthest], distances[farthest])) {
+						farthest = child;
+					}
+				}
+				if (farthest == i) {
+					return;
+				}
+				swap(i, farthest);
+				i = farthest;
+			}
+		}
+
+		private void swap(int i, int j) {
+			int tmpId = heapIds[i];
+			heapIds[i] = heapIds[j];
+			heapIds[j] = tmpId;
+			double tmpDistance = distances[i];
+			distances[i] = distances[j];
+			distances[j] = tmpDistance;
+		}
+
+		/**
+		 * This method empties the heap and adds its objects ordered by distance.
+		 */
+		private void addSorted(NeighborList neighbors) {
+			int count = size;
+			int[] sortedIds = new int[count];
+			double[] sortedDistances = new double[count];
+			while (size > 0) {
+				sortedIds[size - 1] = heapIds[0];
+				sortedDistances[size - 1] = distances[0];
+				size--;
+				swap(0, size);
+				siftDown(0);
+			}
+			for (int i = 0; i < count; i++) {
+				neighbors.add(sortedIds[i], sortedDistances[i]);
+			}
+		}
+	}
+}
@@ -0,0 +1,243 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+/**
+ * This class buckets the edges of polygon rings into horizontal slabs of equal height, so
+ * the winding number of a point only has to be computed from the edges of the slab which
+ * contains it. Every edge is stored in all slabs its latitude range overlaps. The winding
+ * number is determined by a ray in positive x direction: upward edges right of the point count
+ * +1, downward edges -1. In case the coordinates are swapped, the ray points in positive y
+ * direction.<br>
+ * The objects are immutable and thread safe.
+ *
+ * @see #winding(double, double, int[])
+ * @see #isOnBoundary(double, double)
+ * @see #isNear(double, double, double)
+ *
+ * @since 18.10.2026
+ */
+class EdgeBuckets {
+	private static final int MAX_SLAB_COUNT = 4096;
+
+	private final double[] x1;
+	private final double[] y1;
+	private final double[] x2;
+	private final double[] y2;
+	private final boolean swapped;
+	private final double minY;
+	private final double maxY;
+	private final double slabHeight;
+	private final int slabCount;
+	//the edges of slab s are slabEdges[slabStarts[s]] to slabEdges[slabStarts[s + 1] - 1]
+	private final int[] slabStarts;
+	private final int[] slabEdges;
+
+	/**
+	 * @param x1 - the x coordinates of the edge starts.
+	 * @param y1 - the y coordinates of the edge starts.
+	 * @param x2 - the x coordinates of the edge ends.
+	 * @param y2 - the y coordinates of the edge ends.
+	 * @param swapped - {@code true} if x and y are swapped, i.e. the given x coordinates are
+	 * 	the latitudes.
+	 */
+	EdgeBuckets(double[] x1, double[] y1, double[] x2, double[] y2, boolean swapped) {
+		this(x1, y1, x2, y2, swapped, 0);
+	}
+
+	/**
+	 * Version of {@link #EdgeBuckets(double[], double[], double[], double[], boolean)} which
+	 * uses more slabs if they would be higher than {@code maxSlabHeight}. Low slabs keep
+	 * {@link #isNear(double, double, double)} cheap for few long edges.
+	 *
+	 * @param maxSlabHeight - the maximal height of a slab or 0 for no limit.
+	 */
+	EdgeBuckets(double[] x1, double[] y1, double[] x2, double[] y2, boolean swapped, double maxSlabHeight) {
+		this.x1 = x1;
+		this.y1 = y1;
+		this.x2 = x2;
+		this.y2 = y2;
+		this.swapped = swapped;
+		int edgeCount = x1.length;
+		double lowest = Double.POSITIVE_INFINITY;
+		double highest = Double.NEGATIVE_INFINITY;
+		for (int edge = 0; edge < edgeCount; edge++) {
+			lowest = Math.min(lowest, Math.min(y1[edge], y2[edge]));
+			highest = Math.max(highest, Math.max(y1[edge], y2[edge]));
+		}
+		minY = lowest;
+		maxY = highest;
+		int count = (edgeCount == 0 || highest <= lowest) ? 1 : Math.max(1, Math.min(MAX_SLAB_COUNT, edgeCount / 2));
+		if (maxSlabHeight > 0 && highest > lowest) {
+			count = (int) Math.max(count, Math.min(MAX_SLAB_COUNT, Math.ceil((highest - lowest) / maxSlabHeight)));
+		}
+		slabCount = count;
+		slabHeight = (highest > lowest) ? (highest - lowest) / slabCount : 1;
+
+		slabStarts = new int[slabCount + 1];
+		for (int edge = 0; edge < edgeCount; edge++) {
+			for (int slab = getSlab(Math.min(y1[edge], y2[edge])); slab <= getSlab(Math.max(y1[edge], y2[edge])); slab++) {
+				slabStarts[slab + 1]++;
+			}
+		}
+		for (int slab = 0; slab < slabCount; slab++) {
+			slabStarts[slab + 1] += slabStarts[slab];
+		}
+		slabEdges = new int[slabStarts[slabCount]];
+		int[] nextPositions = new int[slabCount];
+		System.arraycopy(slabStarts, 0, nextPositions, 0, slabCount);
+		for (int edge = 0; edge < edgeCount; edge++) {
+			for (int slab = getSlab(Math.min(y1[edge], y2[edge])); slab <= getSlab(Math.max(y1[edge], y2[edge])); slab++) {
+				slabEdges[nextPositions[slab]++] = edge;
+			}
+		}
+	}
+
+	/**
+	 * This method creates the buckets of the edges of the given rings.
+	 *
+	 * @param rings - the rings, the coordinates of their vertices one after another.
+	 * @param swapped - {@code true} to swap x and y.
+	 * @return the {@code EdgeBuckets}.
+	 */
+	static EdgeBuckets create(double[][] rings, boolean swapped) {
+		return create(rings, swapped, 0);
+	}
+
+	/**
+	 * @param maxSlabHeight - the maximal height of a slab or 0 for no limit.
+	 * @see #create(double[][], boolean)
+	 */
+	static EdgeBuckets create(double[][] rings, boolean swapped, double maxSlabHeight) {
+		int edgeCount = 0;
+		for (double[] ring : rings) {
+			edgeCount += ring.length / 2;
+		}
+		double[] x1 = new double[edgeCount];
+		double[] y1 = new double[edgeCount];
+		double[] x2 = new double[edgeCount];
+		double[] y2 = new double[edgeCount];
+		int edge = 0;
+		int xOffset = swapped ? 1 : 0;
+		int yOffset = swapped ? 0 : 1;
+		for (double[] ring : rings) {
+			int vertexCount = ring.length / 2;
+			for (int vertex = 0; vertex < vertexCount; vertex++) {
+				int next = (vertex + 1) % vertexCount;
+				x1[edge] = ring[2 * vertex + xOffset];
+				y1[edge] = ring[2 * vertex + yOffset];
+				x2[edge] = ring[2 * next + xOffset];
+				y2[edge] = ring[2 * next + yOffset];
+				edge++;
+			}
+		}
+		return new EdgeBuckets(x1, y1, x2, y2, swapped, maxSlabHeight);
+	}
+
+	private int getSlab(double y) {
+		int slab = (int) ((y - minY) / slabHeight);
+		return Math.max(0, Math.min(slabCount - 1, slab));
+	}
+
+	/**
+	 * This method computes the winding number of the given point, the edges which contain the
+	 * point have to be excluded.
+	 *
+	 * @param x - the x coordinate, in swapped buckets the latitude.
+	 * @param y - the y coordinate, in swapped buckets the longitude.
+	 * @param excludedEdges - the edges which are ignored, may be {@code null}.
+	 * @return the winding number, positive for counterclockwise rings.
+	 */
+	int winding(double x, double y, int[] excludedEdges) {
+		if (y < minY || y > maxY) {
+			return 0;
+		}
+		int slab = getSlab(y);
+		int winding = 0;
+		for (int position = slabStarts[slab]; position < slabStarts[slab + 1]; position++) {
+			int edge = slabEdges[position];
+			if (excludedEdges != null && isExcluded(edge, excludedEdges)) {
+				continue;
+			}
+			if (y1[edge] <= y) {
+				if (y2[edge] > y && orientation(edge, x, y) > 0) {
+					winding++;
+				}
+			} else if (y2[edge] <= y && orientation(edge, x, y) < 0) {
+				winding--;
+			}
+		}
+		//mirroring the coordinates reverses the orientation of the rings
+		return swapped ? -winding : winding;
+	}
+
+	/**
+	 * @return {@code true} if the point lies exactly on one of the edges.
+	 */
+	boolean isOnBoundary(double x, double y) {
+		if (y < minY || y > maxY) {
+			return false;
+		}
+		int slab = getSlab(y);
+		for (int position = slabStarts[slab]; position < slabStarts[slab + 1]; position++) {
+			int edge = slabEdges[position];
+			if (orientation(edge, x, y) == 0
+					&& Math.min(x1[edge], x2[edge]) <= x && x <= Math.max(x1[edge], x2[edge])
+					&& Math.min(y1[edge], y2[edge]) <= y && y <= Math.max(y1[edge], y2[edge])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * This method checks if one of the edges is closer to the point than the given distance.
+	 * Only the slabs within the distance above and below the point are searched.
+	 *
+	 * @param distance - the distance in the units of the coordinates.
+	 * @return {@code true} if the distance of the point to an edge is at most {@code distance}.
+	 */
+	boolean isNear(double x, double y, double distance) {
+		if (y < minY - distance || y > maxY + distance) {
+			return false;
+		}
+		double squaredDistance = distance * distance;
+		int lastSlab = getSlab(y + distance);
+		for (int slab = getSlab(y - distance); slab <= lastSlab; slab++) {
+			for (int position = slabStarts[slab]; position < slabStarts[slab + 1]; position++) {
+				int edge = slabEdges[position];
+				if (Math.min(x1[edge], x2[edge]) - distance <= x && x <= Math.max(x1[edge], x2[edge]) + distance
+						&& getSquaredDistance(edge, x, y) <= squaredDistance) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private double getSquaredDistance(int edge, double x, double y) {
+		double dx = x2[edge] - x1[edge];
+		double dy = y2[edge] - y1[edge];
+		double length = dx * dx + dy * dy;
+		double t = (length == 0) ? 0 : ((x - x1[edge]) * dx + (y - y1[edge]) * dy) / length;
+		t = Math.max(0, Math.min(1, t));
+		double distanceX = x - (x1[edge] + t * dx);
+		double distanceY = y - (y1[edge] + t * dy);
+		return distanceX * distanceX + distanceY * distanceY;
+	}
+
+	private static boolean isExcluded(int edge, int[] excludedEdges) {
+		for (int excludedEdge : excludedEdges) {
+			if (excludedEdge == edge) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return a positive value if the point lies left of the edge, a negative value if it
+	 * 	lies right of it and 0 if it lies on the line of the edge.
+	 */
+	private double orientation(int edge, double x, double y) {
+		return (x2[edge] - x1[edge]) * (y - y1[edge]) - (y2[edge] - y1[edge]) * (x - x1[edge]);
+	}
+}
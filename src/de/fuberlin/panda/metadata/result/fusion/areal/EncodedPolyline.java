@@ -0,0 +1,108 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+/**
+ * This class converts rings into the encoded polyline format of the Google Maps API. The
+ * coordinates are rounded to five decimal places, about 1 m, and every vertex is stored as the
+ * difference to its predecessor in latitude, longitude order. Every coordinate difference takes
+ * one to six printable ASCII characters, so a ring costs a few characters per vertex and can be
+ * written into a plain literal.<br>
+ * The ring is closed implicitly, the first vertex isn't repeated at the end. The orientation
+ * of the vertices is kept, so outer rings of a {@link GeoPolygon} are counterclockwise and
+ * holes clockwise.
+ *
+ * @see #encode(double[])
+ * @see #decode(String)
+ *
+ * @since 18.10.2026
+ */
+public final class EncodedPolyline {
+	private static final double PRECISION = 1e5;
+
+	private EncodedPolyline() {
+	}
+
+	/**
+	 * This method encodes the vertices of a ring.
+	 *
+	 * @param ring - the longitudes and latitudes of the vertices one after another.
+	 * @return the encoded polyline.
+	 */
+	public static String encode(double[] ring) {
+		if (ring.length % 2 != 0) {
+			throw new IllegalArgumentException("The ring must contain pairs of coordinates");
+		}
+		StringBuilder encoded = new StringBuilder(3 * ring.length);
+		long lastLatitude = 0;
+		long lastLongitude = 0;
+		for (int i = 0; i < ring.length; i += 2) {
+			long latitude = Math.round(ring[i + 1] * PRECISION);
+			long longitude = Math.round(ring[i] * PRECISION);
+			encodeValue(latitude - lastLatitude, encoded);
+			encodeValue(longitude - lastLongitude, encoded);
+			lastLatitude = latitude;
+			lastLongitude = longitude;
+		}
+		return encoded.toString();
+	}
+
+	private static void encodeValue(long value, StringBuilder encoded) {
+		//the sign is moved to the lowest bit
+		long bits = (value < 0) ? ~(value << 1) : value << 1;
+		while (bits >= 0x20) {
+			encoded.append((char) ((0x20 | (bits & 0x1f)) + 63));
+			bits >>= 5;
+		}
+		encoded.append((char) (bits + 63));
+	}
+
+	/**
+	 * This method decodes an encoded polyline.
+	 *
+	 * @param encoded - the encoded polyline.
+	 * @return the longitudes and latitudes of the vertices one after another.
+	 */
+	public static double[] decode(String encoded) {
+		double[] coordinates = new double[encoded.length()];
+		int count = 0;
+		long latitude = 0;
+		long longitude = 0;
+		int position = 0;
+		while (position < encoded.length()) {
+			long[] result = decodeValue(encoded, position);
+			latitude += result[0];
+			if (result[1] >= encoded.length()) {
+				throw new IllegalArgumentException("The polyline ends with a single coordinate: " + encoded);
+			}
+			result = decodeValue(encoded, (int) result[1]);
+			longitude += result[0];
+			position = (int) result[1];
+			coordinates[count++] = longitude / PRECISION;
+			coordinates[count++] = latitude / PRECISION;
+		}
+		double[] ring = new double[count];
+		System.arraycopy(coordinates, 0, ring, 0, count);
+		return ring;
+	}
+
+	/**
+	 * @return the decoded value and the position of the next value.
+	 */
+	private static long[] decodeValue(String encoded, int position) {
+		long bits = 0;
+		int shift = 0;
+		int chunk;
+		do {
+			if (position >= encoded.length()) {
+				throw new IllegalArgumentException("The polyline ends within a value: " + encoded);
+			}
+			chunk = encoded.charAt(position++) - 63;
+			if (chunk < 0 || chunk > 0x3f || shift > 60) {
+				throw new IllegalArgumentException("Invalid polyline: " + encoded);
+			}
+			bits |= (long) (chunk & 0x1f) << shift;
+			shift += 5;
+		} while (chunk >= 0x20);
+		long value = ((bits & 1) != 0) ? ~(bits >> 1) : bits >> 1;
+		return new long[] {value, position};
+	}
+}
@@ -1,19 +1,21 @@
 package de.fuberlin.panda.metadata.result.fusion.areal;
 
 import java.awt.geom.Area;
-import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
- * This class extends the {@code Area} class. It overrides the 
- * {@link #contains(double, double)} method and adds a 
- * {@link #containsPartOf(GeoArea)} method.
+ * This class represents a named polygon and its boundary points. The region is stored
+ * in an immutable {@link GeoPolygon}, so copies of a {@code GeoArea} can share it together
+ * with its simplified boundaries. It adds a {@link #containsPartOf(GeoArea)} method.
  * 
  * @see #GeoArea(ArrayList)
- * @see #setBoundaryPath()
  * @see #contains(double, double)
  * @see #containsPartOf(GeoArea)
+ * @see #getSimplified(PolygonResolution)
  * 
  * @author Sebastian Schulz
  * @since 25.02.2014
@@ -21,67 +23,75 @@ import java.util.ArrayList;
 public class GeoArea {
 	private String name = "";
 	private ArrayList<Point2D.Double> boundaryPoints = new ArrayList<Point2D.Double>();
-	private Area areaObject = null;
+	private GeoPolygon polygon = GeoPolygon.EMPTY;
+	//lookup of the boundaryPoints, created by the first containment check
+	private Set<Point2D.Double> boundaryPointSet = null;
 	
 	public GeoArea() {
-		areaObject = new Area();
 	}
 	
 	public GeoArea(GeoArea geoArea) {
 		boundaryPoints.addAll(geoArea.getBoundaryPoints());
 		name = geoArea.getName();
-		areaObject = geoArea.getAreaObject();
+		polygon = geoArea.getPolygon();
 	}
 	
 	/**
-	 * The constructor calls the super constructor to create an empty area. 
-	 * Afterwards it stores the given boundary points in a private field called
-	 * {@code boundaryPoints}. Subsequently they are transformed into a 
-	 * {@code Path2D.Double} object by calling {@link #setBoundaryPath()}. Finally
-	 * a new created area is added to the {@code GeoArea}. This is the actual creation
-	 * of the area.
+	 * The constructor stores the given boundary points in a private field called
+	 * {@code boundaryPoints}. Subsequently the region enclosed by them is created
+	 * by {@link GeoPolygon#create(java.util.List)}. The boundary is closed implicitly.
 	 * 
 	 * @param boundary - a {@code ArrayList} of {@code Point2D.Double} which represents
 	 * 	the boundary of the Area. 
 	 */
 	public GeoArea(ArrayList<Point2D.Double> boundary) {
 		boundaryPoints.addAll(boundary);
-		Path2D.Double boundaryPath = setBoundaryPath();
-		areaObject = new Area(boundaryPath);
+		polygon = GeoPolygon.create(boundary);
 	}
 	
 	/**
-	 * This method is called by the constructor. It converts the {@code boundaryPoints}
-	 * {@code ArrayList} set before into a {@code Path2D.Double} object.
+	 * Version of {@link #GeoArea(ArrayList)} which takes the coordinates of the boundary
+	 * points one after another, so the region is created from them without converting the
+	 * points first.
 	 * 
-	 * @return a {@code Path2D.Double} object.
+	 * @param ring - the longitudes and latitudes of the boundary points.
 	 */
-	private Path2D.Double setBoundaryPath() {
-		Path2D.Double boundaryPath = new Path2D.Double();
-		boundaryPath.moveTo(boundaryPoints.get(0).x, boundaryPoints.get(0).y);
-		
-		int lastBoundaryIndex = boundaryPoints.size() - 1;
-		for (int i = 1; i < boundaryPoints.size(); i++) {
-			boundaryPath.lineTo(boundaryPoints.get(i).x, boundaryPoints.get(i).y);
+	public GeoArea(double[] ring) {
+		if (ring.length % 2 != 0) {
+			throw new IllegalArgumentException("The ring must contain pairs of coordinates");
 		}
-		//close the circle
-		boundaryPath.lineTo(boundaryPoints.get(lastBoundaryIndex).x, boundaryPoints.get(lastBoundaryIndex).y);
-		return boundaryPath;
+		boundaryPoints.ensureCapacity(ring.length / 2);
+		for (int i = 0; i < ring.length; i += 2) {
+			boundaryPoints.add(new Point2D.Double(ring[i], ring[i + 1]));
+		}
+		polygon = GeoPolygon.create(ring);
 	}
 	
 	/**
-	 * This method overrides the {@code contains(double, double)} method because of the
-	 * insideness. In this case every point on the boundary is inside the polygon.
+	 * This method checks the insideness of a point. In this case every point on the 
+	 * boundary is inside the polygon, as well as every boundary point, even if the 
+	 * area has less than three of them.
 	 */
 	public boolean contains(double x, double y) {
-		boolean isBoundaryElement = false;
-		
-		if(boundaryPoints.contains(new Point2D.Double(x,y))) {
-			isBoundaryElement = true;
+		return isBoundaryPoint(x, y) || polygon.contains(x, y);
+	}
+	
+	private boolean isBoundaryPoint(double x, double y) {
+		if (boundaryPointSet == null) {
+			boundaryPointSet = new HashSet<Point2D.Double>();
+			for (Point2D.Double point : boundaryPoints) {
+				boundaryPointSet.add(createKey(point.x, point.y));
+			}
 		}
-		
-		boolean isInsideArea = areaObject.contains(x, y);
-		return (isBoundaryElement || isInsideArea);
+		return boundaryPointSet.contains(createKey(x, y));
+	}
+	
+	/**
+	 * @return a point for the lookup, negative zeros are replaced since they are equal
+	 * 	but have another hash code.
+	 */
+	private static Point2D.Double createKey(double x, double y) {
+		return new Point2D.Double(x + 0.0, y + 0.0);
 	}
 
 	/**
@@ -114,7 +124,8 @@ public class GeoArea {
 					boundaryPoints.add(point);
 				}
 			}
-			areaObject.add(geoArea.getAreaObject());
+			boundaryPointSet = null;
+			polygon = polygon.union(geoArea.getPolygon());
 			updateName(geoArea.getName());
 		}
 	}
@@ -146,7 +157,8 @@ public class GeoArea {
 		//are at whole contained in the outer area... How to update name in this case?
 		if(!geoArea.getBoundaryPoints().isEmpty()) {
 			boundaryPoints.addAll(geoArea.getBoundaryPoints());
-			areaObject.subtract(geoArea.getAreaObject());
+			boundaryPointSet = null;
+			polygon = polygon.difference(geoArea.getPolygon());
 		}
 	}
 	
@@ -162,7 +174,53 @@ public class GeoArea {
 		return name;
 	}
 
+	public GeoPolygon getPolygon() {
+		return polygon;
+	}
+	
+	/**
+	 * @return the bounding box of the area.
+	 */
+	public Rectangle2D getBounds2D() {
+		return polygon.getBounds2D();
+	}
+
+	/**
+	 * This method computes the bounding box of the boundary points. In contrast to
+	 * {@link #getBounds2D()} it contains every point {@link #contains(double, double)}
+	 * accepts, even for areas with less than three boundary points.
+	 *
+	 * @return the bounding box or {@code null} if the area has no boundary points.
+	 */
+	public Rectangle2D getBoundaryBounds() {
+		Rectangle2D.Double bounds = null;
+		for (Point2D.Double point : boundaryPoints) {
+			if (bounds == null) {
+				bounds = new Rectangle2D.Double(point.x, point.y, 0, 0);
+			} else {
+				bounds.add(point);
+			}
+		}
+		return bounds;
+	}
+
+	/**
+	 * @param resolution - the {@code PolygonResolution}.
+	 * @return the boundary of the polygon simplified with the tolerance of the resolution.
+	 * @see GeoPolygon#getSimplified(PolygonResolution)
+	 */
+	public SimplifiedPolygon getSimplified(PolygonResolution resolution) {
+		return polygon.getSimplified(resolution);
+	}
+
+	/**
+	 * This method converts the polygon into an {@code Area}. Changes of the returned object
+	 * don't affect the {@code GeoArea}.
+	 * 
+	 * @return a new {@code Area} object.
+	 * @see GeoPolygon#toArea()
+	 */
 	public Area getAreaObject() {
-		return areaObject;
+		return polygon.toArea();
 	}
 }
\ No newline at end of file
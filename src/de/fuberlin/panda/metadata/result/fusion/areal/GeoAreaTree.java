@@ -0,0 +1,427 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is a dynamic R-tree over {@link GeoArea}s, keyed by the bounding boxes of their
+ * boundary points. It is used by the {@link ArealFusion} to find the polygons which may
+ * intersect a new polygon or contain an outlier without comparing it with every stored
+ * polygon. Only the areas found by the index have to be checked exactly.
+ * <br><br>
+ * Every node holds at most {@code MAX_ENTRIES} entries. An overflowing node is split by the
+ * quadratic split of Guttman. Nodes with less than {@code MIN_ENTRIES} entries after a removal
+ * are dissolved and their areas inserted again. The areas are returned in the order they were
+ * added, so the results don't depend on the shape of the tree.<br>
+ * The bounding box of an area is determined when it is added, so an area must be removed
+ * before it is changed.
+ *
+ * @see #add(GeoArea)
+ * @see #remove(GeoArea)
+ * @see #findIntersecting(GeoArea)
+ * @see #findContaining(double, double)
+ * @see #getGeoAreas()
+ *
+ * @since 18.10.2026
+ */
+public class GeoAreaTree {
+	private static final int MAX_ENTRIES = 8;
+	private static final int MIN_ENTRIES = 3;
+	private static final Comparator<Entry> INSERTION_ORDER = new Comparator<Entry>() {
+		@Override
+		public int compare(Entry entry, Entry otherEntry) {
+			return Long.compare(entry.sequence, otherEntry.sequence);
+		}
+	};
+
+	private Node root = new Node(true);
+	//the leaf of every area, to remove it without searching
+	private final Map<GeoArea, Node> leaves = new IdentityHashMap<>();
+	private long nextSequence = 0;
+
+	/**
+	 * This method adds the area to the tree. Areas without boundary points are stored, but
+	 * never found by a query.
+	 *
+	 * @param geoArea - the {@code GeoArea}, which must not be contained already.
+	 */
+	public void add(GeoArea geoArea) {
+		if (leaves.containsKey(geoArea)) {
+			throw new IllegalArgumentException("The area is already contained in the tree.");
+		}
+		Rectangle2D bounds = geoArea.getBoundaryBounds();
+		Entry entry = (bounds == null) ? new Entry() : new Entry(bounds.getMinX(), bounds.getMinY(),
+				bounds.getMaxX(), bounds.getMaxY());
+		entry.geoArea = geoArea;
+		entry.sequence = nextSequence++;
+		insert(entry);
+	}
+
+	/**
+	 * @return {@code true} if the area was contained in the tree.
+	 */
+	public boolean remove(GeoArea geoArea) {
+		Node leaf = leaves.remove(geoArea);
+		if (leaf == null) {
+			return false;
+		}
+		for (int i = 0; i < leaf.entries.size(); i++) {
+			if (leaf.entries.get(i).geoArea == geoArea) {
+				leaf.entries.remove(i);
+				break;
+			}
+		}
+		condense(leaf);
+		return true;
+	}
+
+	public int size() {
+		return leaves.size();
+	}
+
+	public boolean isEmpty() {
+		return leaves.isEmpty();
+	}
+
+	/**
+	 * This method returns the stored areas whose bounding box intersects the one of the given
+	 * area. These are all areas which may contain a boundary point of the given area or whose
+	 * boundary points may be contained in it, see {@link GeoArea#containsPartOf(GeoArea)}.
+	 *
+	 * @param geoArea - a {@code GeoArea}, it is not returned itself.
+	 * @return the candidates in the order they were added.
+	 */
+	public List<GeoArea> findIntersecting(GeoArea geoArea) {
+		Rectangle2D bounds = geoArea.getBoundaryBounds();
+		if (bounds == null) {
+			return new ArrayList<>();
+		}
+		List<Entry> entries = new ArrayList<>();
+		search(root, bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY(), entries);
+		List<GeoArea> geoAreas = toGeoAreas(entries);
+		geoAreas.remove(geoArea);
+		return geoAreas;
+	}
+
+	/**
+	 * This method returns the stored areas which contain the given point. The exact check
+	 * {@link GeoArea#contains(double, double)} is only done for the areas whose bounding box
+	 * contains the point.
+	 *
+	 * @param x - the longitude.
+	 * @param y - the latitude.
+	 * @return the areas in the order they were added.
+	 */
+	public List<GeoArea> findContaining(double x, double y) {
+		List<Entry> entries = new ArrayList<>();
+		search(root, x, y, x, y, entries);
+		List<GeoArea> geoAreas = new ArrayList<>();
+		for (GeoArea geoArea : toGeoAreas(entries)) {
+			if (geoArea.contains(x, y)) {
+				geoAreas.add(geoArea);
+			}
+		}
+		return geoAreas;
+	}
+
+	/**
+	 * @return all areas in the order they were added.
+	 */
+	public List<GeoArea> getGeoAreas() {
+		List<Entry> entries = new ArrayList<>();
+		collectLeafEntries(root, entries);
+		return toGeoAreas(entries);
+	}
+
+	private static List<GeoArea> toGeoAreas(List<Entry> entries) {
+		Collections.sort(entries, INSERTION_ORDER);
+		List<GeoArea> geoAreas = new ArrayList<>(entries.size());
+		for (Entry entry : entries) {
+			geoAreas.add(entry.geoArea);
+		}
+		return geoAreas;
+	}
+
+	private static void search(Node node, double minX, double minY, double maxX, double maxY, List<Entry> result) {
+		for (Entry entry : node.entries) {
+			if (entry.intersects(minX, minY, maxX, maxY)) {
+				if (node.isLeaf) {
+					result.add(entry);
+				} else {
+					search(entry.child, minX, minY, maxX, maxY, result);
+				}
+			}
+		}
+	}
+
+	private static void collectLeafEntries(Node node, List<Entry> result) {
+		for (Entry entry : node.entries) {
+			if (node.isLeaf) {
+				result.add(entry);
+			} else {
+				collectLeafEntries(entry.child, result);
+			}
+		}
+	}
+
+	private void insert(Entry entry) {
+		Node leaf = root;
+		while (!leaf.isLeaf) {
+			leaf = chooseSubtree(leaf, entry).child;
+		}
+		leaf.entries.add(entry);
+		leaves.put(entry.geoArea, leaf);
+		adjust(leaf);
+	}
+
+	/**
+	 * @return the entry of the node whose bounding box needs the least enlargement to include
+	 * 	the new entry, in case of a tie the smaller one.
+	 */
+	private static Entry chooseSubtree(Node node, Entry newEntry) {
+		Entry bestEntry = null;
+		double bestEnlargement = Double.POSITIVE_INFINITY;
+		double bestArea = Double.POSITIVE_INFINITY;
+		for (Entry entry : node.entries) {
+			double area = entry.getArea();
+			double enlargement = entry.getAreaWith(newEntry) - area;
+			if (enlargement < bestEnlargement || (enlargement == bestEnlargement && area < bestArea)) {
+				bestEntry = entry;
+				bestEnlargement = enlargement;
+				bestArea = area;
+			}
+		}
+		return bestEntry;
+	}
+
+	/**
+	 * This method splits the node if it overflows and updates the bounding boxes up to the
+	 * root.
+	 */
+	private void adjust(Node node) {
+		while (node != null) {
+			Node sibling = (node.entries.size() > MAX_ENTRIES) ? split(node) : null;
+			if (node.parent == null) {
+				if (sibling != null) {
+					Node newRoot = new Node(false);
+					newRoot.addChild(node);
+					newRoot.addChild(sibling);
+					root = newRoot;
+				}
+				return;
+			}
+			node.parentEntry.updateBounds(node);
+			if (sibling != null) {
+				node.parent.addChild(sibling);
+			}
+			node = node.parent;
+		}
+	}
+
+	/**
+	 * This method moves the entries of the node into two groups by the quadratic split: the
+	 * two entries which would waste the most area in one box start the groups, and the other
+	 * entries are added to the group which needs the least enlargement.
+	 *
+	 * @return the new node with the second group.
+	 */
+	private Node split(Node node) {
+		List<Entry> entries = new ArrayList<>(node.entries);
+		int firstSeed = 0;
+		int secondSeed = 1;
+		double worstWaste = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < entries.size(); i++) {
+			for (int j = i + 1; j < entries.size(); j++) {
+				double waste = entries.get(i).getAreaWith(entries.get(j)) - entries.get(i).getArea()
+						- entries.get(j).getArea();
+				if (waste > worstWaste) {
+					worstWaste = waste;
+					firstSeed = i;
+					secondSeed = j;
+				}
+			}
+		}
+
+		Node sibling = new Node(node.isLeaf);
+		node.entries.clear();
+		Entry firstBounds = new Entry();
+		Entry secondBounds = new Entry();
+		addToGroup(node, firstBounds, entries.get(firstSeed));
+		addToGroup(sibling, secondBounds, entries.get(secondSeed));
+		entries.remove(secondSeed);
+		entries.remove(firstSeed);
+
+		while (!entries.isEmpty()) {
+			//the rest is needed to fill a group up to the minimal size
+			if (node.entries.size() + entries.size() == MIN_ENTRIES) {
+				for (Entry entry : entries) {
+					addToGroup(node, firstBounds, entry);
+				}
+				break;
+			} else if (sibling.entries.size() + entries.size() == MIN_ENTRIES) {
+				for (Entry entry : entries) {
+					addToGroup(sibling, secondBounds, entry);
+				}
+				break;
+			}
+
+			//the entry with the greatest preference for one group
+			int nextEntry = 0;
+			double greatestDifference = Double.NEGATIVE_INFINITY;
+			for (int i = 0; i < entries.size(); i++) {
+				double difference = Math.abs(getEnlargement(firstBounds, entries.get(i))
+						- getEnlargement(secondBounds, entries.get(i)));
+				if (difference > greatestDifference) {
+					greatestDifference = difference;
+					nextEntry = i;
+				}
+			}
+			Entry entry = entries.remove(nextEntry);
+			double firstEnlargement = getEnlargement(firstBounds, entry);
+			double secondEnlargement = getEnlargement(secondBounds, entry);
+			boolean toFirst = (firstEnlargement != secondEnlargement) ? firstEnlargement < secondEnlargement
+					: node.entries.size() <= sibling.entries.size();
+			if (toFirst) {
+				addToGroup(node, firstBounds, entry);
+			} else {
+				addToGroup(sibling, secondBounds, entry);
+			}
+		}
+		return sibling;
+	}
+
+	private void addToGroup(Node node, Entry bounds, Entry entry) {
+		node.entries.add(entry);
+		bounds.include(entry);
+		if (node.isLeaf) {
+			leaves.put(entry.geoArea, node);
+		} else {
+			entry.child.parent = node;
+			entry.child.parentEntry = entry;
+		}
+	}
+
+	private static double getEnlargement(Entry bounds, Entry entry) {
+		return bounds.getAreaWith(entry) - bounds.getArea();
+	}
+
+	/**
+	 * This method dissolves the underflowing nodes from the given leaf up to the root, inserts
+	 * their areas again and updates the bounding boxes.
+	 */
+	private void condense(Node leaf) {
+		List<Entry> orphans = new ArrayList<>();
+		Node node = leaf;
+		while (node.parent != null) {
+			Node parent = node.parent;
+			if (node.entries.size() < MIN_ENTRIES) {
+				parent.entries.remove(node.parentEntry);
+				collectLeafEntries(node, orphans);
+			} else {
+				node.parentEntry.updateBounds(node);
+			}
+			node = parent;
+		}
+		//a root with a single child is replaced by the child
+		while (!root.isLeaf && root.entries.size() == 1) {
+			root = root.entries.get(0).child;
+			root.parent = null;
+			root.parentEntry = null;
+		}
+		if (!root.isLeaf && root.entries.isEmpty()) {
+			root = new Node(true);
+		}
+		for (Entry orphan : orphans) {
+			insert(orphan);
+		}
+	}
+
+	private static class Node {
+		private final boolean isLeaf;
+		private final List<Entry> entries = new ArrayList<>(MAX_ENTRIES + 1);
+		private Node parent = null;
+		//the entry of the parent which points to this node
+		private Entry parentEntry = null;
+
+		private Node(boolean isLeaf) {
+			this.isLeaf = isLeaf;
+		}
+
+		private void addChild(Node child) {
+			Entry entry = new Entry();
+			entry.child = child;
+			entry.updateBounds(child);
+			entries.add(entry);
+			child.parent = this;
+			child.parentEntry = entry;
+		}
+	}
+
+	/**
+	 * A bounding box with either an area, in a leaf, or a child node. An empty box has
+	 * infinite bounds and doesn't intersect anything.
+	 */
+	private static class Entry {
+		private double minX = Double.POSITIVE_INFINITY;
+		private double minY = Double.POSITIVE_INFINITY;
+		private double maxX = Double.NEGATIVE_INFINITY;
+		private double maxY = Double.NEGATIVE_INFINITY;
+		private GeoArea geoArea = null;
+		private long sequence = 0;
+		private Node child = null;
+
+		private Entry() {
+		}
+
+		private Entry(double minX, double minY, double maxX, double maxY) {
+			this.minX = minX;
+			this.minY = minY;
+			this.maxX = maxX;
+			this.maxY = maxY;
+		}
+
+		private boolean isEmpty() {
+			return minX > maxX;
+		}
+
+		private boolean intersects(double otherMinX, double otherMinY, double otherMaxX, double otherMaxY) {
+			return minX <= otherMaxX && otherMinX <= maxX && minY <= otherMaxY && otherMinY <= maxY;
+		}
+
+		private double getArea() {
+			return isEmpty() ? 0 : (maxX - minX) * (maxY - minY);
+		}
+
+		private double getAreaWith(Entry other) {
+			if (isEmpty()) {
+				return other.getArea();
+			} else if (other.isEmpty()) {
+				return getArea();
+			}
+			return (Math.max(maxX, other.maxX) - Math.min(minX, other.minX))
+					* (Math.max(maxY, other.maxY) - Math.min(minY, other.minY));
+		}
+
+		private void include(Entry other) {
+			minX = Math.min(minX, other.minX);
+			minY = Math.min(minY, other.minY);
+			maxX = Math.max(maxX, other.maxX);
+			maxY = Math.max(maxY, other.maxY);
+		}
+
+		private void updateBounds(Node node) {
+			minX = Double.POSITIVE_INFINITY;
+			minY = Double.POSITIVE_INFINITY;
+			maxX = Double.NEGATIVE_INFINITY;
+			maxY = Double.NEGATIVE_INFINITY;
+			for (Entry entry : node.entries) {
+				include(entry);
+			}
+		}
+	}
+}
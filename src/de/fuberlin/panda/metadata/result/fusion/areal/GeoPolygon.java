@@ -0,0 +1,315 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+
+/**
+ * This class is the polygon engine behind the {@link GeoArea}. A polygon is a set of rings
+ * whose vertices are stored in primitive coordinate arrays. The rings are normalized: they
+ * neither cross nor overlap each other and the region lies on the left of every ring, so outer
+ * rings are counterclockwise and holes clockwise. In contrast to {@code java.awt.geom.Area}
+ * the objects are immutable, every operation creates a new polygon and a polygon can be
+ * shared.<br>
+ * {@link #contains(double, double)} checks the bounding box first and then only the edges of
+ * one slab of the {@link EdgeBuckets}. Since the number of slabs is limited, polygons with
+ * very many vertices are checked against a coarse {@link SimplifiedPolygon} before, only
+ * points near its boundary are checked against the slab. The simplified rings of all
+ * {@link PolygonResolution}s are computed once by {@link #getSimplified(PolygonResolution)}.
+ * {@link #union(GeoPolygon)} and {@link #difference(GeoPolygon)} are performed by the
+ * {@link PolygonOverlay}, which only processes the edges in the overlap of the bounding boxes.
+ *
+ * @see #create(List)
+ * @see #contains(double, double)
+ * @see #union(GeoPolygon)
+ * @see #difference(GeoPolygon)
+ * @see #getSimplified(PolygonResolution)
+ *
+ * @since 18.10.2026
+ */
+public final class GeoPolygon {
+	public static final GeoPolygon EMPTY = new GeoPolygon(new double[0][]);
+	//the slabs of polygons with less vertices contain so few edges that a check of the coarse
+	//rings costs more than it saves, see PolygonSimplificationBenchmark
+	private static final int MIN_FILTERED_VERTEX_COUNT = 32768;
+	//the coarse rings for the containment check must have less vertices by this factor
+	private static final int MIN_FILTER_REDUCTION = 4;
+	//the tolerance of the coarse rings is at most this fraction of the polygon size
+	private static final double MAX_FILTER_TOLERANCE = 1 / 32d;
+	private static final int FILTER_UNDETERMINED = -2;
+	private static final int NO_FILTER = -1;
+
+	//the longitudes and latitudes of the vertices of every ring one after another
+	private final double[][] rings;
+	private final double minX;
+	private final double minY;
+	private final double maxX;
+	private final double maxY;
+	//created by the first containment check, immutable
+	private volatile EdgeBuckets edgeBuckets;
+	//the simplified rings indexed by the ordinal of their resolution, created once
+	private volatile SimplifiedPolygon[] simplifications;
+	//the ordinal of the resolution used by the containment check
+	private volatile int filterResolution = FILTER_UNDETERMINED;
+
+	GeoPolygon(double[][] rings) {
+		this.rings = rings;
+		double lowestX = Double.POSITIVE_INFINITY;
+		double lowestY = Double.POSITIVE_INFINITY;
+		double highestX = Double.NEGATIVE_INFINITY;
+		double highestY = Double.NEGATIVE_INFINITY;
+		for (double[] ring : rings) {
+			for (int i = 0; i < ring.length; i += 2) {
+				lowestX = Math.min(lowestX, ring[i]);
+				lowestY = Math.min(lowestY, ring[i + 1]);
+				highestX = Math.max(highestX, ring[i]);
+				highestY = Math.max(highestY, ring[i + 1]);
+			}
+		}
+		minX = lowestX;
+		minY = lowestY;
+		maxX = highestX;
+		maxY = highestY;
+	}
+
+	/**
+	 * This method creates the polygon enclosed by the given boundary. The boundary is closed
+	 * implicitly and may intersect itself, the enclosed region is determined by the non zero
+	 * winding rule like for a {@code Path2D}. Boundaries with less than three distinct
+	 * points enclose nothing.
+	 *
+	 * @param boundary - the vertices of the boundary.
+	 * @return the normalized {@code GeoPolygon}.
+	 */
+	public static GeoPolygon create(List<Point2D.Double> boundary) {
+		double[] ring = new double[2 * boundary.size()];
+		for (int i = 0; i < boundary.size(); i++) {
+			ring[2 * i] = boundary.get(i).x;
+			ring[2 * i + 1] = boundary.get(i).y;
+		}
+		return create(ring);
+	}
+
+	/**
+	 * @param ring - the coordinates of the vertices of the boundary one after another.
+	 * @return the normalized {@code GeoPolygon}.
+	 * @see #create(List)
+	 */
+	public static GeoPolygon create(double[] ring) {
+		return new GeoPolygon(PolygonOverlay.normalize(ring));
+	}
+
+	/**
+	 * @return the union of both polygons.
+	 */
+	public GeoPolygon union(GeoPolygon other) {
+		if (other.isEmpty()) {
+			return this;
+		} else if (isEmpty()) {
+			return other;
+		}
+		return new GeoPolygon(PolygonOverlay.union(this, other));
+	}
+
+	/**
+	 * @return this polygon without the region of the other one.
+	 */
+	public GeoPolygon difference(GeoPolygon other) {
+		if (isEmpty() || other.isEmpty() || !intersectsBounds(other)) {
+			return this;
+		}
+		return new GeoPolygon(PolygonOverlay.difference(this, other));
+	}
+
+	/**
+	 * This method checks if the point lies inside the polygon or on its boundary.
+	 *
+	 * @param x - the longitude.
+	 * @param y - the latitude.
+	 * @return {@code true} if the polygon contains the point.
+	 */
+	public boolean contains(double x, double y) {
+		if (!containsBounds(x, y)) {
+			return false;
+		}
+		int resolution = getFilterResolution();
+		if (resolution != NO_FILTER) {
+			int location = getSimplifications()[resolution].locate(x, y);
+			if (location != SimplifiedPolygon.NEAR_BOUNDARY) {
+				return location == SimplifiedPolygon.INSIDE;
+			}
+		}
+		EdgeBuckets buckets = getEdgeBuckets();
+		return buckets.isOnBoundary(x, y) || buckets.winding(x, y, null) != 0;
+	}
+
+	/**
+	 * Version of {@link #contains(double, double)} for points which don't lie on the
+	 * boundary.
+	 */
+	boolean containsInterior(double x, double y) {
+		return containsBounds(x, y) && getEdgeBuckets().winding(x, y, null) != 0;
+	}
+
+	private boolean containsBounds(double x, double y) {
+		return minX <= x && x <= maxX && minY <= y && y <= maxY;
+	}
+
+	boolean intersectsBounds(GeoPolygon other) {
+		return minX <= other.maxX && other.minX <= maxX && minY <= other.maxY && other.minY <= maxY;
+	}
+
+	private EdgeBuckets getEdgeBuckets() {
+		EdgeBuckets buckets = edgeBuckets;
+		if (buckets == null) {
+			buckets = EdgeBuckets.create(rings, false);
+			edgeBuckets = buckets;
+		}
+		return buckets;
+	}
+
+	/**
+	 * This method returns the rings simplified with the tolerance of the given resolution.
+	 * The first call simplifies the rings for all resolutions, afterwards they are shared by
+	 * every {@link GeoArea} of this polygon.
+	 *
+	 * @param resolution - the {@code PolygonResolution}.
+	 * @return the {@code SimplifiedPolygon}.
+	 */
+	public SimplifiedPolygon getSimplified(PolygonResolution resolution) {
+		return getSimplifications()[resolution.ordinal()];
+	}
+
+	private SimplifiedPolygon[] getSimplifications() {
+		SimplifiedPolygon[] simplified = simplifications;
+		if (simplified == null) {
+			PolygonResolution[] resolutions = PolygonResolution.values();
+			simplified = new SimplifiedPolygon[resolutions.length];
+			for (int i = 0; i < resolutions.length; i++) {
+				simplified[i] = SimplifiedPolygon.create(rings, resolutions[i].getTolerance());
+			}
+			simplifications = simplified;
+		}
+		return simplified;
+	}
+
+	/**
+	 * This method chooses the coarsest resolution whose tolerance is small compared to the
+	 * size of the polygon and which removes most of the vertices, otherwise the check of the
+	 * simplified rings wouldn't save time.
+	 *
+	 * @return the ordinal of the resolution or {@code NO_FILTER}.
+	 */
+	private int getFilterResolution() {
+		int resolution = filterResolution;
+		if (resolution == FILTER_UNDETERMINED) {
+			resolution = NO_FILTER;
+			int vertexCount = 0;
+			for (double[] ring : rings) {
+				vertexCount += ring.length / 2;
+			}
+			if (vertexCount >= MIN_FILTERED_VERTEX_COUNT) {
+				double maxTolerance = MAX_FILTER_TOLERANCE * Math.max(maxX - minX, maxY - minY);
+				SimplifiedPolygon[] simplified = getSimplifications();
+				for (int i = 0; i < simplified.length; i++) {
+					if (simplified[i].getTolerance() <= maxTolerance
+							&& MIN_FILTER_REDUCTION * simplified[i].getVertexCount() <= vertexCount) {
+						resolution = i;
+					}
+				}
+			}
+			filterResolution = resolution;
+		}
+		return resolution;
+	}
+
+	public boolean isEmpty() {
+		return rings.length == 0;
+	}
+
+	public int getRingCount() {
+		return rings.length;
+	}
+
+	public int getVertexCount(int ring) {
+		return rings[ring].length / 2;
+	}
+
+	public double getX(int ring, int vertex) {
+		return rings[ring][2 * vertex];
+	}
+
+	public double getY(int ring, int vertex) {
+		return rings[ring][2 * vertex + 1];
+	}
+
+	double[][] getRings() {
+		return rings;
+	}
+
+	double getMinX() {
+		return minX;
+	}
+
+	double getMinY() {
+		return minY;
+	}
+
+	double getMaxX() {
+		return maxX;
+	}
+
+	double getMaxY() {
+		return maxY;
+	}
+
+	/**
+	 * @return the bounding box of the polygon, an empty rectangle at the origin for an empty
+	 * 	polygon like {@code Area#getBounds2D()}.
+	 */
+	public Rectangle2D.Double getBounds2D() {
+		if (isEmpty()) {
+			return new Rectangle2D.Double();
+		}
+		return new Rectangle2D.Double(minX, minY, maxX - minX, maxY - minY);
+	}
+
+	/**
+	 * @return the enclosed area in square degrees.
+	 */
+	public double getSurfaceArea() {
+		double surfaceArea = 0;
+		for (double[] ring : rings) {
+			surfaceArea += PolygonOverlay.signedArea(ring);
+		}
+		return surfaceArea;
+	}
+
+	/**
+	 * This method converts the polygon into a new {@code java.awt.geom.Area}.
+	 *
+	 * @return an {@code Area} which encloses the same region.
+	 */
+	public Area toArea() {
+		Path2D.Double path = new Path2D.Double(Path2D.WIND_NON_ZERO);
+		for (double[] ring : rings) {
+			path.moveTo(ring[0], ring[1]);
+			for (int i = 2; i < ring.length; i += 2) {
+				path.lineTo(ring[i], ring[i + 1]);
+			}
+			path.closePath();
+		}
+		return new Area(path);
+	}
+
+	@Override
+	public String toString() {
+		int vertexCount = 0;
+		for (double[] ring : rings) {
+			vertexCount += ring.length / 2;
+		}
+		return "GeoPolygon [rings=" + rings.length + ", vertices=" + vertexCount + ", bounds=" + getBounds2D() + "]";
+	}
+}
@@ -0,0 +1,774 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class computes the rings of the union or difference of two {@link GeoPolygon}s and
+ * normalizes single boundaries. The overlay works in four steps:
+ * <ol>
+ * <li>Only edges whose bounding box overlaps the intersection of the bounding boxes of both
+ * 	polygons can change. All other edges are kept or dropped as whole chains.</li>
+ * <li>A plane sweep over the edges sorted by their minimal longitude finds the crossings and
+ * 	touching points of these edges, and the edges are split there. Vertices and crossings
+ * 	closer than the {@link #TOLERANCE} are snapped together, so the rounded vertices of
+ * 	former results match.</li>
+ * <li>The split edges are grouped by their end points, so coincident edges of both polygons
+ * 	form one group. Since the input polygons are normalized, the side of an edge its
+ * 	polygon lies on is known, and only the other polygon has to be checked at the middle of
+ * 	the group. A group becomes part of the result boundary if the result contains exactly
+ * 	one of its sides.</li>
+ * <li>The result edges are linked into rings with the result on their left.</li>
+ * </ol>
+ * A single boundary, which may intersect itself, is normalized the same way, its sides are
+ * determined by the non zero winding rule.
+ *
+ * @see #union(GeoPolygon, GeoPolygon)
+ * @see #difference(GeoPolygon, GeoPolygon)
+ * @see #normalize(double[])
+ *
+ * @since 18.10.2026
+ */
+final class PolygonOverlay {
+	private enum Operation {
+		NORMALIZE, UNION, DIFFERENCE
+	}
+
+	private static final int OWNER_A = 0;
+	private static final int OWNER_B = 1;
+	//points closer to an edge are on its line, about a millimeter in degrees
+	private static final double TOLERANCE = 1e-8;
+
+	private final Operation operation;
+	private final GeoPolygon polygonA;
+	private final GeoPolygon polygonB;
+
+	//the edges which are split and classified
+	private int edgeCount = 0;
+	private double[] x1 = new double[16];
+	private double[] y1 = new double[16];
+	private double[] x2 = new double[16];
+	private double[] y2 = new double[16];
+	private int[] owners = new int[16];
+	//the coordinates of the split points of every edge one after another
+	private double[][] splitPoints = new double[16][];
+	private int[] splitLengths = new int[16];
+	private boolean isSplit = false;
+	//the processed vertices and crossing points in cells of the size of the tolerance
+	private final Map<Point2D.Double, double[]> snappedVertices = new HashMap<>();
+
+	private final Map<Group, Group> groups = new LinkedHashMap<>();
+	//result edges and kept chains, the coordinates from start to end
+	private final List<double[]> chains = new ArrayList<>();
+	private final List<double[]> rings = new ArrayList<>();
+
+	private PolygonOverlay(Operation operation, GeoPolygon polygonA, GeoPolygon polygonB) {
+		this.operation = operation;
+		this.polygonA = polygonA;
+		this.polygonB = polygonB;
+	}
+
+	/**
+	 * @return the rings of the union of both non empty polygons.
+	 */
+	static double[][] union(GeoPolygon polygonA, GeoPolygon polygonB) {
+		return new PolygonOverlay(Operation.UNION, polygonA, polygonB).overlay();
+	}
+
+	/**
+	 * @return the rings of polygon A without polygon B, both are non empty.
+	 */
+	static double[][] difference(GeoPolygon polygonA, GeoPolygon polygonB) {
+		return new PolygonOverlay(Operation.DIFFERENCE, polygonA, polygonB).overlay();
+	}
+
+	/**
+	 * This method determines the rings of the region enclosed by the given boundary by the
+	 * non zero winding rule. Simple boundaries are only oriented counterclockwise.
+	 *
+	 * @param boundary - the coordinates of the boundary vertices one after another.
+	 * @return the normalized rings.
+	 */
+	static double[][] normalize(double[] boundary) {
+		double[] ring = removeDuplicateVertices(boundary);
+		if (ring.length < 6) {
+			return new double[0][];
+		}
+		PolygonOverlay overlay = new PolygonOverlay(Operation.NORMALIZE, null, null);
+		int vertexCount = ring.length / 2;
+		Set<Point2D.Double> vertices = new HashSet<>();
+		boolean hasRepeatedVertex = false;
+		for (int vertex = 0; vertex < vertexCount; vertex++) {
+			int next = (vertex + 1) % vertexCount;
+			overlay.addEdge(ring[2 * vertex], ring[2 * vertex + 1], ring[2 * next], ring[2 * next + 1], OWNER_A);
+			hasRepeatedVertex |= !vertices.add(createPoint(ring[2 * vertex], ring[2 * vertex + 1]));
+		}
+		overlay.findIntersections();
+		overlay.createGroups();
+
+		if (!hasRepeatedVertex && !overlay.isSplit && overlay.groups.size() == vertexCount) {
+			//a simple ring
+			double signedArea = signedArea(ring);
+			if (signedArea == 0) {
+				return new double[0][];
+			}
+			return new double[][] {removeCollinearVertices((signedArea > 0) ? ring : reverse(ring))};
+		}
+		overlay.classifyGroups();
+		return overlay.linkRings();
+	}
+
+	private double[][] overlay() {
+		double minX = Math.max(polygonA.getMinX(), polygonB.getMinX());
+		double minY = Math.max(polygonA.getMinY(), polygonB.getMinY());
+		double maxX = Math.min(polygonA.getMaxX(), polygonB.getMaxX());
+		double maxY = Math.min(polygonA.getMaxY(), polygonB.getMaxY());
+		double[] overlap = {minX, minY, maxX, maxY};
+		//edges outside of the overlap are outside of the other polygon
+		addPolygon(polygonA, OWNER_A, true, overlap);
+		addPolygon(polygonB, OWNER_B, operation == Operation.UNION, overlap);
+		findIntersections();
+		createGroups();
+		classifyGroups();
+		return linkRings();
+	}
+
+	/**
+	 * This method adds the edges of the polygon which overlap the given box to the processed
+	 * edges. The other edges are added as chains if they are kept.
+	 */
+	private void addPolygon(GeoPolygon polygon, int owner, boolean keepOutside, double[] overlap) {
+		for (double[] ring : polygon.getRings()) {
+			int vertexCount = ring.length / 2;
+			boolean[] processed = new boolean[vertexCount];
+			int firstProcessed = -1;
+			for (int vertex = 0; vertex < vertexCount; vertex++) {
+				int next = (vertex + 1) % vertexCount;
+				processed[vertex] = Math.max(ring[2 * vertex], ring[2 * next]) >= overlap[0]
+						&& Math.min(ring[2 * vertex], ring[2 * next]) <= overlap[2]
+						&& Math.max(ring[2 * vertex + 1], ring[2 * next + 1]) >= overlap[1]
+						&& Math.min(ring[2 * vertex + 1], ring[2 * next + 1]) <= overlap[3];
+				if (processed[vertex] && firstProcessed < 0) {
+					firstProcessed = vertex;
+				}
+			}
+			if (firstProcessed < 0) {
+				if (keepOutside) {
+					rings.add(ring);
+				}
+				continue;
+			}
+
+			//start at a processed edge, so no chain wraps around
+			int step = 0;
+			while (step < vertexCount) {
+				int vertex = (firstProcessed + step) % vertexCount;
+				int next = (vertex + 1) % vertexCount;
+				if (processed[vertex]) {
+					addEdge(ring[2 * vertex], ring[2 * vertex + 1], ring[2 * next], ring[2 * next + 1], owner);
+					step++;
+					continue;
+				}
+				int chainLength = 0;
+				while (step + chainLength < vertexCount && !processed[(vertex + chainLength) % vertexCount]) {
+					chainLength++;
+				}
+				if (keepOutside) {
+					double[] chain = new double[2 * (chainLength + 1)];
+					for (int i = 0; i <= chainLength; i++) {
+						int chainVertex = (vertex + i) % vertexCount;
+						chain[2 * i] = ring[2 * chainVertex];
+						chain[2 * i + 1] = ring[2 * chainVertex + 1];
+					}
+					//the ends have to match the snapped ends of the processed edges
+					snap(chain, 0);
+					snap(chain, chain.length - 2);
+					chains.add(chain);
+				}
+				step += chainLength;
+			}
+		}
+	}
+
+	private void addEdge(double startX, double startY, double endX, double endY, int owner) {
+		double[] start = snapVertex(startX, startY);
+		double[] end = snapVertex(endX, endY);
+		if (start[0] == end[0] && start[1] == end[1]) {
+			return;
+		}
+		if (edgeCount == x1.length) {
+			int capacity = 2 * edgeCount;
+			x1 = Arrays.copyOf(x1, capacity);
+			y1 = Arrays.copyOf(y1, capacity);
+			x2 = Arrays.copyOf(x2, capacity);
+			y2 = Arrays.copyOf(y2, capacity);
+			owners = Arrays.copyOf(owners, capacity);
+			splitPoints = Arrays.copyOf(splitPoints, capacity);
+			splitLengths = Arrays.copyOf(splitLengths, capacity);
+		}
+		x1[edgeCount] = start[0];
+		y1[edgeCount] = start[1];
+		x2[edgeCount] = end[0];
+		y2[edgeCount] = end[1];
+		owners[edgeCount] = owner;
+		edgeCount++;
+	}
+
+	/**
+	 * This method replaces the vertex by the first processed vertex or crossing point within
+	 * the {@link #TOLERANCE}, since vertices created by former operations are rounded.
+	 *
+	 * @return the coordinates of the snapped vertex.
+	 */
+	private double[] snapVertex(double x, double y) {
+		double cellX = Math.floor(x / TOLERANCE);
+		double cellY = Math.floor(y / TOLERANCE);
+		for (int i = -1; i <= 1; i++) {
+			for (int j = -1; j <= 1; j++) {
+				double[] vertex = snappedVertices.get(createPoint(cellX + i, cellY + j));
+				if (vertex != null && Math.abs(vertex[0] - x) <= TOLERANCE && Math.abs(vertex[1] - y) <= TOLERANCE) {
+					return vertex;
+				}
+			}
+		}
+		//a cell contains one vertex at most, since they are snapped
+		double[] vertex = {x, y};
+		snappedVertices.put(createPoint(cellX, cellY), vertex);
+		return vertex;
+	}
+
+	private void snap(double[] coordinates, int index) {
+		double[] vertex = snapVertex(coordinates[index], coordinates[index + 1]);
+		coordinates[index] = vertex[0];
+		coordinates[index + 1] = vertex[1];
+	}
+
+	/**
+	 * This method sweeps over the edges sorted by their minimal longitude and compares every
+	 * edge with the following edges which start before it ends. Edges of the same polygon are
+	 * compared as well, since the rings of a normalized polygon may touch each other in the
+	 * middle of an edge.
+	 */
+	private void findIntersections() {
+		Integer[] order = new Integer[edgeCount];
+		final double[] minXs = new double[edgeCount];
+		for (int edge = 0; edge < edgeCount; edge++) {
+			order[edge] = edge;
+			minXs[edge] = Math.min(x1[edge], x2[edge]);
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer edge, Integer otherEdge) {
+				return Double.compare(minXs[edge], minXs[otherEdge]);
+			}
+		});
+
+		for (int i = 0; i < edgeCount; i++) {
+			int edge = order[i];
+			double maxX = Math.max(x1[edge], x2[edge]);
+			double minY = Math.min(y1[edge], y2[edge]);
+			double maxY = Math.max(y1[edge], y2[edge]);
+			for (int j = i + 1; j < edgeCount && minXs[order[j]] <= maxX; j++) {
+				int otherEdge = order[j];
+				if (Math.max(y1[otherEdge], y2[otherEdge]) < minY
+						|| Math.min(y1[otherEdge], y2[otherEdge]) > maxY) {
+					continue;
+				}
+				intersect(edge, otherEdge);
+			}
+		}
+	}
+
+	/**
+	 * This method splits both edges at their crossing point, at the end points of one edge
+	 * which lie inside of the other one and, if they are collinear, at the end points of
+	 * their overlap. End points within the {@link #TOLERANCE} of the other edge are treated
+	 * as lying on it, since the vertices created by former operations are rounded.
+	 */
+	private void intersect(int edge, int otherEdge) {
+		int o1 = side(edge, x1[otherEdge], y1[otherEdge]);
+		int o2 = side(edge, x2[otherEdge], y2[otherEdge]);
+		int o3 = side(otherEdge, x1[edge], y1[edge]);
+		int o4 = side(otherEdge, x2[edge], y2[edge]);
+
+		if (o1 * o2 < 0 && o3 * o4 < 0) {
+			double[] crossing = getCrossing(edge, otherEdge);
+			//collinear edges crossing the same edge have to be split at the same point
+			crossing = snapVertex(crossing[0], crossing[1]);
+			addSplitPoint(edge, crossing[0], crossing[1]);
+			addSplitPoint(otherEdge, crossing[0], crossing[1]);
+			return;
+		}
+		if (o1 == 0 && isInside(edge, x1[otherEdge], y1[otherEdge])) {
+			addSplitPoint(edge, x1[otherEdge], y1[otherEdge]);
+		}
+		if (o2 == 0 && isInside(edge, x2[otherEdge], y2[otherEdge])) {
+			addSplitPoint(edge, x2[otherEdge], y2[otherEdge]);
+		}
+		if (o3 == 0 && isInside(otherEdge, x1[edge], y1[edge])) {
+			addSplitPoint(otherEdge, x1[edge], y1[edge]);
+		}
+		if (o4 == 0 && isInside(otherEdge, x2[edge], y2[edge])) {
+			addSplitPoint(otherEdge, x2[edge], y2[edge]);
+		}
+	}
+
+	/**
+	 * This method computes the crossing point independent of the direction and the order of
+	 * the edges, so coincident edges are split at exactly the same points.
+	 */
+	private double[] getCrossing(int edge, int otherEdge) {
+		double[] first = getCanonicalEnds(edge);
+		double[] second = getCanonicalEnds(otherEdge);
+		if (compare(first, second) > 0) {
+			double[] swap = first;
+			first = second;
+			second = swap;
+		}
+		double directionX = first[2] - first[0];
+		double directionY = first[3] - first[1];
+		double otherDirectionX = second[2] - second[0];
+		double otherDirectionY = second[3] - second[1];
+		double t = ((second[0] - first[0]) * otherDirectionY - (second[1] - first[1]) * otherDirectionX)
+				/ (directionX * otherDirectionY - directionY * otherDirectionX);
+		return new double[] {first[0] + t * directionX, first[1] + t * directionY};
+	}
+
+	/**
+	 * @return the end points of the edge, the lower one first or, if horizontal, the left one.
+	 */
+	private double[] getCanonicalEnds(int edge) {
+		if (y1[edge] < y2[edge] || (y1[edge] == y2[edge] && x1[edge] < x2[edge])) {
+			return new double[] {x1[edge], y1[edge], x2[edge], y2[edge]};
+		}
+		return new double[] {x2[edge], y2[edge], x1[edge], y1[edge]};
+	}
+
+	private static int compare(double[] ends, double[] otherEnds) {
+		for (int i = 0; i < ends.length; i++) {
+			int comparison = Double.compare(ends[i], otherEnds[i]);
+			if (comparison != 0) {
+				return comparison;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * @return 1 if the point lies left of the edge, -1 if it lies right of it and 0 if it
+	 * 	lies on the line of the edge.
+	 */
+	private int side(int edge, double x, double y) {
+		double orientation = orientation(edge, x, y);
+		if (Math.abs(orientation) <= TOLERANCE * Math.hypot(x2[edge] - x1[edge], y2[edge] - y1[edge])) {
+			return 0;
+		}
+		return (orientation > 0) ? 1 : -1;
+	}
+
+	private double orientation(int edge, double x, double y) {
+		return (x2[edge] - x1[edge]) * (y - y1[edge]) - (y2[edge] - y1[edge]) * (x - x1[edge]);
+	}
+
+	/**
+	 * @return {@code true} if the point on the line of the edge lies between its end points.
+	 */
+	private boolean isInside(int edge, double x, double y) {
+		if (Math.abs(x2[edge] - x1[edge]) >= Math.abs(y2[edge] - y1[edge])) {
+			return Math.min(x1[edge], x2[edge]) < x && x < Math.max(x1[edge], x2[edge]);
+		}
+		return Math.min(y1[edge], y2[edge]) < y && y < Math.max(y1[edge], y2[edge]);
+	}
+
+	private void addSplitPoint(int edge, double x, double y) {
+		double[] points = splitPoints[edge];
+		if (points == null) {
+			points = new double[4];
+		} else if (splitLengths[edge] == points.length) {
+			points = Arrays.copyOf(points, 2 * points.length);
+		}
+		points[splitLengths[edge]++] = x;
+		points[splitLengths[edge]++] = y;
+		splitPoints[edge] = points;
+		isSplit = true;
+	}
+
+	/**
+	 * This method splits the edges at their split points in the order along the edge and
+	 * groups the parts by their end points.
+	 */
+	private void createGroups() {
+		for (int edge = 0; edge < edgeCount; edge++) {
+			if (splitLengths[edge] == 0) {
+				addToGroup(edge, x1[edge], y1[edge], x2[edge], y2[edge]);
+				continue;
+			}
+			final double[] points = splitPoints[edge];
+			final boolean alongX = Math.abs(x2[edge] - x1[edge]) >= Math.abs(y2[edge] - y1[edge]);
+			final double startX = x1[edge];
+			final double startY = y1[edge];
+			final double directionX = x2[edge] - x1[edge];
+			final double directionY = y2[edge] - y1[edge];
+			Integer[] order = new Integer[splitLengths[edge] / 2];
+			for (int i = 0; i < order.length; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer point, Integer otherPoint) {
+					return Double.compare(getParameter(point), getParameter(otherPoint));
+				}
+
+				private double getParameter(int point) {
+					return alongX ? (points[2 * point] - startX) / directionX
+							: (points[2 * point + 1] - startY) / directionY;
+				}
+			});
+
+			double previousX = x1[edge];
+			double previousY = y1[edge];
+			for (int point : order) {
+				double x = points[2 * point];
+				double y = points[2 * point + 1];
+				if ((x == previousX && y == previousY) || (x == x2[edge] && y == y2[edge])) {
+					continue;
+				}
+				addToGroup(edge, previousX, previousY, x, y);
+				previousX = x;
+				previousY = y;
+			}
+			addToGroup(edge, previousX, previousY, x2[edge], y2[edge]);
+		}
+	}
+
+	private void addToGroup(int edge, double startX, double startY, double endX, double endY) {
+		if (startX == endX && startY == endY) {
+			return;
+		}
+		//upward or, if horizontal, to the right
+		boolean isForward = (startY < endY) || (startY == endY && startX < endX);
+		Group group = isForward ? new Group(startX, startY, endX, endY) : new Group(endX, endY, startX, startY);
+		Group existingGroup = groups.get(group);
+		if (existingGroup == null) {
+			groups.put(group, group);
+		} else {
+			group = existingGroup;
+		}
+		if (owners[edge] == OWNER_A) {
+			group.countA += isForward ? 1 : -1;
+		} else {
+			group.countB += isForward ? 1 : -1;
+		}
+		group.addEdge(edge);
+	}
+
+	/**
+	 * This method adds every group whose sides aren't both inside or both outside of the
+	 * result to the result edges, oriented with the result on its left.
+	 */
+	private void classifyGroups() {
+		EdgeBuckets buckets = null;
+		EdgeBuckets swappedBuckets = null;
+		if (operation == Operation.NORMALIZE) {
+			double[] trimmedX1 = Arrays.copyOf(x1, edgeCount);
+			double[] trimmedY1 = Arrays.copyOf(y1, edgeCount);
+			double[] trimmedX2 = Arrays.copyOf(x2, edgeCount);
+			double[] trimmedY2 = Arrays.copyOf(y2, edgeCount);
+			buckets = new EdgeBuckets(trimmedX1, trimmedY1, trimmedX2, trimmedY2, false);
+			swappedBuckets = new EdgeBuckets(trimmedY1, trimmedX1, trimmedY2, trimmedX2, true);
+		}
+
+		for (Group group : groups.values()) {
+			double middleX = (group.startX + group.endX) / 2;
+			double middleY = (group.startY + group.endY) / 2;
+			boolean insideLeft;
+			boolean insideRight;
+			if (operation == Operation.NORMALIZE) {
+				int windingLeft;
+				int windingRight;
+				int[] excludedEdges = Arrays.copyOf(group.edges, group.edgeCount);
+				//the ray leaves the group steeply, so it doesn't run along the group into a vertex
+				if (group.endY - group.startY >= Math.abs(group.endX - group.startX)) {
+					//the ray in x direction starts on the right side of an upward edge
+					windingRight = buckets.winding(middleX, middleY, excludedEdges);
+					windingLeft = windingRight + group.countA;
+				} else if (group.endX > group.startX) {
+					//the ray in y direction starts on the left side of an edge to the right
+					windingLeft = swappedBuckets.winding(middleY, middleX, excludedEdges);
+					windingRight = windingLeft - group.countA;
+				} else {
+					windingRight = swappedBuckets.winding(middleY, middleX, excludedEdges);
+					windingLeft = windingRight + group.countA;
+				}
+				insideLeft = windingLeft != 0;
+				insideRight = windingRight != 0;
+			} else {
+				boolean leftA = isLeftInside(group.countA, polygonA, middleX, middleY);
+				boolean rightA = isRightInside(group.countA, leftA);
+				boolean leftB = isLeftInside(group.countB, polygonB, middleX, middleY);
+				boolean rightB = isRightInside(group.countB, leftB);
+				insideLeft = combine(leftA, leftB);
+				insideRight = combine(rightA, rightB);
+			}
+
+			if (insideLeft && !insideRight) {
+				chains.add(new double[] {group.startX, group.startY, group.endX, group.endY});
+			} else if (insideRight && !insideLeft) {
+				chains.add(new double[] {group.endX, group.endY, group.startX, group.startY});
+			}
+		}
+	}
+
+	/**
+	 * @return {@code true} if the normalized polygon contains the left side of the group. Its
+	 * 	own edges have the polygon on their left, otherwise the middle of the group is checked.
+	 */
+	private static boolean isLeftInside(int count, GeoPolygon polygon, double middleX, double middleY) {
+		if (count != 0) {
+			return count > 0;
+		}
+		return polygon.containsInterior(middleX, middleY);
+	}
+
+	private static boolean isRightInside(int count, boolean isLeftInside) {
+		return (count != 0) ? !isLeftInside : isLeftInside;
+	}
+
+	private boolean combine(boolean insideA, boolean insideB) {
+		if (operation == Operation.UNION) {
+			return insideA || insideB;
+		}
+		return insideA && !insideB;
+	}
+
+	/**
+	 * This method links the result edges and chains into rings. In case several chains start
+	 * at the end of the current one, the chain with the sharpest left turn is taken, so rings
+	 * which touch each other stay separated.
+	 */
+	private double[][] linkRings() {
+		Map<Point2D.Double, List<Integer>> chainStarts = new HashMap<>();
+		for (int chain = 0; chain < chains.size(); chain++) {
+			double[] coordinates = chains.get(chain);
+			Point2D.Double start = createPoint(coordinates[0], coordinates[1]);
+			List<Integer> startingChains = chainStarts.get(start);
+			if (startingChains == null) {
+				startingChains = new ArrayList<>(1);
+				chainStarts.put(start, startingChains);
+			}
+			startingChains.add(chain);
+		}
+
+		List<double[]> resultRings = new ArrayList<>(rings);
+		boolean[] used = new boolean[chains.size()];
+		for (int firstChain = 0; firstChain < chains.size(); firstChain++) {
+			if (used[firstChain]) {
+				continue;
+			}
+			used[firstChain] = true;
+			double[] first = chains.get(firstChain);
+			double[] ring = Arrays.copyOf(first, Math.max(16, first.length));
+			int length = first.length;
+			boolean isClosed = false;
+			while (!isClosed) {
+				double endX = ring[length - 2];
+				double endY = ring[length - 1];
+				if (endX == ring[0] && endY == ring[1]) {
+					isClosed = true;
+					break;
+				}
+				int nextChain = chooseNextChain(chainStarts.get(createPoint(endX, endY)), used,
+						endX - ring[length - 4], endY - ring[length - 3]);
+				if (nextChain < 0) {
+					break;
+				}
+				used[nextChain] = true;
+				double[] next = chains.get(nextChain);
+				if (length + next.length - 2 > ring.length) {
+					ring = Arrays.copyOf(ring, Math.max(2 * ring.length, length + next.length));
+				}
+				System.arraycopy(next, 2, ring, length, next.length - 2);
+				length += next.length - 2;
+			}
+			if (isClosed) {
+				double[] cleanedRing = removeCollinearVertices(Arrays.copyOf(ring, length - 2));
+				if (cleanedRing.length >= 6) {
+					resultRings.add(cleanedRing);
+				}
+			}
+		}
+		return resultRings.toArray(new double[resultRings.size()][]);
+	}
+
+	private int chooseNextChain(List<Integer> candidates, boolean[] used, double incomingX, double incomingY) {
+		if (candidates == null) {
+			return -1;
+		}
+		int bestChain = -1;
+		double bestAngle = Double.POSITIVE_INFINITY;
+		for (int chain : candidates) {
+			if (used[chain]) {
+				continue;
+			}
+			double[] coordinates = chains.get(chain);
+			double outgoingX = coordinates[2] - coordinates[0];
+			double outgoingY = coordinates[3] - coordinates[1];
+			//clockwise angle from the reversed incoming direction to the outgoing direction
+			double angle = -Math.atan2(-incomingX * outgoingY + incomingY * outgoingX,
+					-incomingX * outgoingX - incomingY * outgoingY);
+			if (angle <= 0) {
+				angle += 2 * Math.PI;
+			}
+			if (angle < bestAngle) {
+				bestAngle = angle;
+				bestChain = chain;
+			}
+		}
+		return bestChain;
+	}
+
+	/**
+	 * @return the signed area of the ring, positive for counterclockwise rings.
+	 */
+	static double signedArea(double[] ring) {
+		int vertexCount = ring.length / 2;
+		double doubleArea = 0;
+		for (int vertex = 0; vertex < vertexCount; vertex++) {
+			int next = (vertex + 1) % vertexCount;
+			doubleArea += ring[2 * vertex] * ring[2 * next + 1] - ring[2 * next] * ring[2 * vertex + 1];
+		}
+		return doubleArea / 2;
+	}
+
+	private static double[] reverse(double[] ring) {
+		double[] reversedRing = new double[ring.length];
+		for (int i = 0; i < ring.length; i += 2) {
+			reversedRing[ring.length - 2 - i] = ring[i];
+			reversedRing[ring.length - 1 - i] = ring[i + 1];
+		}
+		return reversedRing;
+	}
+
+	/**
+	 * @return the ring without vertices which equal their predecessor, the last vertex may
+	 * 	equal the first one like in {@code .poly} files.
+	 */
+	private static double[] removeDuplicateVertices(double[] ring) {
+		double[] cleanedRing = new double[ring.length];
+		int length = 0;
+		for (int i = 0; i < ring.length; i += 2) {
+			if (length == 0 || ring[i] != cleanedRing[length - 2] || ring[i + 1] != cleanedRing[length - 1]) {
+				cleanedRing[length++] = ring[i];
+				cleanedRing[length++] = ring[i + 1];
+			}
+		}
+		while (length > 2 && cleanedRing[length - 2] == cleanedRing[0] && cleanedRing[length - 1] == cleanedRing[1]) {
+			length -= 2;
+		}
+		return Arrays.copyOf(cleanedRing, length);
+	}
+
+	/**
+	 * @return the ring without vertices which lie on the straight line between their
+	 * 	neighbors.
+	 */
+	private static double[] removeCollinearVertices(double[] ring) {
+		double[] cleanedRing = new double[ring.length];
+		int length = 0;
+		for (int i = 0; i < ring.length; i += 2) {
+			cleanedRing[length++] = ring[i];
+			cleanedRing[length++] = ring[i + 1];
+			while (length >= 6 && isStraight(cleanedRing, length - 6, length - 4, length - 2)) {
+				cleanedRing[length - 4] = cleanedRing[length - 2];
+				cleanedRing[length - 3] = cleanedRing[length - 1];
+				length -= 2;
+			}
+		}
+		int start = 0;
+		boolean changed = true;
+		while (changed && length - start >= 6) {
+			changed = false;
+			if (isStraight(cleanedRing, length - 4, length - 2, start)) {
+				length -= 2;
+				changed = true;
+			} else if (isStraight(cleanedRing, length - 2, start, start + 2)) {
+				start += 2;
+				changed = true;
+			}
+		}
+		return Arrays.copyOfRange(cleanedRing, start, length);
+	}
+
+	private static boolean isStraight(double[] ring, int previous, int vertex, int next) {
+		double inX = ring[vertex] - ring[previous];
+		double inY = ring[vertex + 1] - ring[previous + 1];
+		double outX = ring[next] - ring[vertex];
+		double outY = ring[next + 1] - ring[vertex + 1];
+		return inX * outY - inY * outX == 0 && inX * outX + inY * outY > 0;
+	}
+
+	/**
+	 * @return a point which can be used as key, negative zeros are replaced.
+	 */
+	private static Point2D.Double createPoint(double x, double y) {
+		return new Point2D.Double(x + 0.0, y + 0.0);
+	}
+
+	/**
+	 * The coincident parts of the split edges, from the lower to the upper end point or, if
+	 * horizontal, from left to right. The counts are the number of parts of the polygons in
+	 * this direction minus the number of parts in the opposite direction.
+	 */
+	private static class Group {
+		private final double startX;
+		private final double startY;
+		private final double endX;
+		private final double endY;
+		private int countA = 0;
+		private int countB = 0;
+		//the split edges, needed to exclude them from the winding number
+		private int[] edges = new int[1];
+		private int edgeCount = 0;
+
+		private Group(double startX, double startY, double endX, double endY) {
+			this.startX = startX + 0.0;
+			this.startY = startY + 0.0;
+			this.endX = endX + 0.0;
+			this.endY = endY + 0.0;
+		}
+
+		private void addEdge(int edge) {
+			if (edgeCount == edges.length) {
+				edges = Arrays.copyOf(edges, 2 * edgeCount);
+			}
+			edges[edgeCount++] = edge;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Group)) {
+				return false;
+			}
+			Group otherGroup = (Group) other;
+			return startX == otherGroup.startX && startY == otherGroup.startY && endX == otherGroup.endX
+					&& endY == otherGroup.endY;
+		}
+
+		@Override
+		public int hashCode() {
+			long bits = Double.doubleToLongBits(startX);
+			bits = 31 * bits + Double.doubleToLongBits(startY);
+			bits = 31 * bits + Double.doubleToLongBits(endX);
+			bits = 31 * bits + Double.doubleToLongBits(endY);
+			return (int) (bits ^ (bits >>> 32));
+		}
+	}
+}
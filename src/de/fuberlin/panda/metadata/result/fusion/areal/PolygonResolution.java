@@ -0,0 +1,47 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+/**
+ * This enum defines the resolutions of the simplified boundaries of a {@link GeoPolygon}. The
+ * tolerance is the maximal distance in degrees between the original boundary and the
+ * simplified one.
+ *
+ * @see GeoPolygon#getSimplified(PolygonResolution)
+ * @see ArealFusion#setBoundaryResolution(PolygonResolution)
+ *
+ * @since 18.10.2026
+ */
+public enum PolygonResolution {
+	/**
+	 * The original boundary.
+	 */
+	FULL(0),
+
+	/**
+	 * A tolerance of 0.001 degrees, about 100 m.
+	 */
+	FINE(0.001),
+
+	/**
+	 * A tolerance of 0.01 degrees, about 1 km.
+	 */
+	MEDIUM(0.01),
+
+	/**
+	 * A tolerance of 0.1 degrees, about 10 km.
+	 */
+	COARSE(0.1);
+
+	private final double tolerance;
+
+	private PolygonResolution(double tolerance) {
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * @return the maximal distance between the original and the simplified boundary in
+	 * 	degrees.
+	 */
+	public double getTolerance() {
+		return tolerance;
+	}
+}
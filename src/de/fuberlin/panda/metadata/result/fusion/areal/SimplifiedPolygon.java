@@ -0,0 +1,218 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents the rings of a {@link GeoPolygon} simplified by the Douglas-Peucker
+ * algorithm. Every vertex which is removed lies within the {@code tolerance} of the segment
+ * that replaces it, so the original and the simplified boundary are never further apart than
+ * the tolerance. In contrast to the {@code GeoPolygon} the simplified rings may touch or cross
+ * each other and rings which are smaller than the tolerance may collapse to less than three
+ * vertices.<br>
+ * Since the region between a removed part of the boundary and its segment lies within the
+ * tolerance of the segment, every point which is further away from the simplified boundary
+ * is enclosed by the simplified rings exactly if it is enclosed by the original ones. This
+ * allows {@link #locate(double, double)} to decide the containment with the few edges of the
+ * simplified rings for all points except the ones near the boundary.
+ *
+ * @see #create(double[][], double)
+ * @see #toEncodedPolylines()
+ * @see #locate(double, double)
+ *
+ * @since 18.10.2026
+ */
+public final class SimplifiedPolygon {
+	static final int OUTSIDE = 0;
+	static final int INSIDE = 1;
+	static final int NEAR_BOUNDARY = 2;
+
+	//absorbs the rounding errors of the distance calculations
+	private static final double MARGIN = 1e-9;
+
+	private final double tolerance;
+	private final double[][] rings;
+	//created by the first location check, immutable
+	private volatile EdgeBuckets edgeBuckets;
+
+	private SimplifiedPolygon(double[][] rings, double tolerance) {
+		this.rings = rings;
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * This method simplifies every ring with the given tolerance. Rings which can't be
+	 * simplified are shared with the original polygon.
+	 *
+	 * @param rings - the rings, the coordinates of their vertices one after another.
+	 * @param tolerance - the maximal distance between the original and the simplified boundary.
+	 * @return the {@code SimplifiedPolygon}.
+	 */
+	static SimplifiedPolygon create(double[][] rings, double tolerance) {
+		double[][] simplifiedRings = new double[rings.length][];
+		for (int ring = 0; ring < rings.length; ring++) {
+			simplifiedRings[ring] = simplifyRing(rings[ring], tolerance);
+		}
+		return new SimplifiedPolygon(simplifiedRings, tolerance);
+	}
+
+	/**
+	 * This method simplifies a closed ring. The vertex which is farthest from the first one
+	 * is kept as well, afterwards both chains between them are simplified.
+	 */
+	private static double[] simplifyRing(double[] ring, double tolerance) {
+		int vertexCount = ring.length / 2;
+		if (tolerance <= 0 || vertexCount <= 3) {
+			return ring;
+		}
+		int farthest = 0;
+		double farthestDistance = -1;
+		for (int vertex = 1; vertex < vertexCount; vertex++) {
+			double dx = ring[2 * vertex] - ring[0];
+			double dy = ring[2 * vertex + 1] - ring[1];
+			if (dx * dx + dy * dy > farthestDistance) {
+				farthestDistance = dx * dx + dy * dy;
+				farthest = vertex;
+			}
+		}
+		boolean[] kept = new boolean[vertexCount];
+		kept[0] = true;
+		kept[farthest] = true;
+		//the chain back to the first vertex ends with the index vertexCount
+		int[] stack = new int[2 * vertexCount + 4];
+		int stackSize = 0;
+		stack[stackSize++] = 0;
+		stack[stackSize++] = farthest;
+		stack[stackSize++] = farthest;
+		stack[stackSize++] = vertexCount;
+		double squaredTolerance = tolerance * tolerance;
+		while (stackSize > 0) {
+			int last = stack[--stackSize];
+			int first = stack[--stackSize];
+			int split = -1;
+			double splitDistance = squaredTolerance;
+			for (int vertex = first + 1; vertex < last; vertex++) {
+				double distance = getSquaredDistance(ring, vertex, first, last % vertexCount);
+				if (distance > splitDistance) {
+					splitDistance = distance;
+					split = vertex;
+				}
+			}
+			if (split >= 0) {
+				kept[split] = true;
+				stack[stackSize++] = first;
+				stack[stackSize++] = split;
+				stack[stackSize++] = split;
+				stack[stackSize++] = last;
+			}
+		}
+
+		int keptCount = 0;
+		for (boolean keptVertex : kept) {
+			keptCount += keptVertex ? 1 : 0;
+		}
+		if (keptCount == vertexCount) {
+			return ring;
+		}
+		double[] simplifiedRing = new double[2 * keptCount];
+		int position = 0;
+		for (int vertex = 0; vertex < vertexCount; vertex++) {
+			if (kept[vertex]) {
+				simplifiedRing[position++] = ring[2 * vertex];
+				simplifiedRing[position++] = ring[2 * vertex + 1];
+			}
+		}
+		return simplifiedRing;
+	}
+
+	/**
+	 * @return the squared distance of the vertex to the segment between the start and the end
+	 * 	vertex.
+	 */
+	private static double getSquaredDistance(double[] ring, int vertex, int start, int end) {
+		double x = ring[2 * vertex];
+		double y = ring[2 * vertex + 1];
+		double startX = ring[2 * start];
+		double startY = ring[2 * start + 1];
+		double dx = ring[2 * end] - startX;
+		double dy = ring[2 * end + 1] - startY;
+		double length = dx * dx + dy * dy;
+		double t = (length == 0) ? 0 : ((x - startX) * dx + (y - startY) * dy) / length;
+		t = Math.max(0, Math.min(1, t));
+		double distanceX = x - (startX + t * dx);
+		double distanceY = y - (startY + t * dy);
+		return distanceX * distanceX + distanceY * distanceY;
+	}
+
+	/**
+	 * This method checks the location of a point relative to the simplified rings.
+	 *
+	 * @param x - the longitude.
+	 * @param y - the latitude.
+	 * @return {@code INSIDE} or {@code OUTSIDE} if the point is further away from the
+	 * 	simplified boundary than the tolerance, otherwise {@code NEAR_BOUNDARY}, in this case
+	 * 	the original polygon has to be checked.
+	 */
+	int locate(double x, double y) {
+		EdgeBuckets buckets = edgeBuckets;
+		if (buckets == null) {
+			buckets = EdgeBuckets.create(rings, false, 2 * tolerance);
+			edgeBuckets = buckets;
+		}
+		if (buckets.isNear(x, y, tolerance + MARGIN)) {
+			return NEAR_BOUNDARY;
+		}
+		return (buckets.winding(x, y, null) != 0) ? INSIDE : OUTSIDE;
+	}
+
+	/**
+	 * This method encodes every ring with at least three vertices by the
+	 * {@link EncodedPolyline}.
+	 *
+	 * @return a {@code List} of the encoded rings.
+	 */
+	public List<String> toEncodedPolylines() {
+		List<String> encodedRings = new ArrayList<String>();
+		for (double[] ring : rings) {
+			if (ring.length >= 6) {
+				encodedRings.add(EncodedPolyline.encode(ring));
+			}
+		}
+		return encodedRings;
+	}
+
+	/**
+	 * @return the maximal distance between the original and the simplified boundary in
+	 * 	degrees.
+	 */
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	public int getRingCount() {
+		return rings.length;
+	}
+
+	public int getVertexCount(int ring) {
+		return rings[ring].length / 2;
+	}
+
+	/**
+	 * @return the number of vertices of all rings.
+	 */
+	public int getVertexCount() {
+		int vertexCount = 0;
+		for (double[] ring : rings) {
+			vertexCount += ring.length / 2;
+		}
+		return vertexCount;
+	}
+
+	public double getX(int ring, int vertex) {
+		return rings[ring][2 * vertex];
+	}
+
+	public double getY(int ring, int vertex) {
+		return rings[ring][2 * vertex + 1];
+	}
+}
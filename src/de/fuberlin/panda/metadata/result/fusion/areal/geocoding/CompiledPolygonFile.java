@@ -0,0 +1,359 @@
+package de.fuberlin.panda.metadata.result.fusion.areal.geocoding;
+
+import java.awt.geom.Rectangle2D;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.CRC32;
+
+import de.fuberlin.panda.metadata.exceptions.PolygonReadingException;
+import de.fuberlin.panda.metadata.result.fusion.areal.GeoArea;
+
+/**
+ * This class provides the polygons of a binary file written by the {@link PolygonFileCompiler}.
+ * The file is memory mapped, so opening it only reads the names of the polygons, and the
+ * coordinates are read from the mapped file on demand without creating an object per vertex.
+ * The file consists of
+ * <ul>
+ * <li>a header: magic number, version, number of polygons, sections and vertices,</li>
+ * <li>a polygon table: length and CRC-32 checksum of the {@code .poly} file, first section,
+ * 	number of sections and bounding box of every polygon,</li>
+ * <li>a section table: flags (hole), first vertex, number of vertices and bounding box of every
+ * 	section,</li>
+ * <li>the longitudes and latitudes of all vertices and</li>
+ * <li>the names of the polygons, i.e. the names of their {@code .poly} files without extension.</li>
+ * </ul>
+ * All numbers are stored in big endian byte order. Sections and vertices are numbered across
+ * all polygons. The objects are immutable and thread safe.
+ *
+ * @see #open(File)
+ * @see #indexOf(String)
+ * @see #isUpToDate(int, File)
+ * @see #loadPolygon(int)
+ *
+ * @since 18.10.2026
+ */
+public class CompiledPolygonFile {
+	static final int MAGIC = 0x504f4c59;
+	static final int VERSION = 2;
+	static final int HEADER_SIZE = 20;
+	static final int POLYGON_ENTRY_SIZE = 56;
+	static final int SECTION_ENTRY_SIZE = 44;
+	static final int VERTEX_SIZE = 16;
+	static final int HOLE_FLAG = 1;
+
+	private final File file;
+	private final ByteBuffer buffer;
+	private final int polygonCount;
+	private final int sectionCount;
+	private final int vertexCount;
+	private final int sectionTableOffset;
+	private final int vertexOffset;
+	private final String[] names;
+	private final Map<String, Integer> polygonIndices;
+	//the result of the last checksum comparison of every polygon and the file state it belongs to
+	private final AtomicReferenceArray<CheckedFileState> checkedFileStates;
+
+	private CompiledPolygonFile(File file, ByteBuffer buffer) throws PolygonReadingException {
+		this.file = file;
+		this.buffer = buffer;
+		if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+			throw new PolygonReadingException("The file " + file + " is no compiled polygon file.");
+		}
+		if (buffer.getInt(4) != VERSION) {
+			throw new PolygonReadingException("Unsupported version " + buffer.getInt(4) + " of the compiled polygon file "
+					+ file + ".");
+		}
+		polygonCount = buffer.getInt(8);
+		sectionCount = buffer.getInt(12);
+		vertexCount = buffer.getInt(16);
+		if (polygonCount < 0 || sectionCount < 0 || vertexCount < 0) {
+			throw new PolygonReadingException("Invalid header of the compiled polygon file " + file + ".");
+		}
+		long namesOffset = HEADER_SIZE + (long) POLYGON_ENTRY_SIZE * polygonCount
+				+ (long) SECTION_ENTRY_SIZE * sectionCount + (long) VERTEX_SIZE * vertexCount;
+		if (namesOffset > buffer.capacity()) {
+			throw new PolygonReadingException("The compiled polygon file " + file + " is truncated.");
+		}
+		sectionTableOffset = HEADER_SIZE + POLYGON_ENTRY_SIZE * polygonCount;
+		vertexOffset = sectionTableOffset + SECTION_ENTRY_SIZE * sectionCount;
+		validateTables();
+
+		checkedFileStates = new AtomicReferenceArray<>(polygonCount);
+		names = new String[polygonCount];
+		polygonIndices = new HashMap<>();
+		ByteBuffer nameBuffer = buffer.duplicate();
+		nameBuffer.position((int) namesOffset);
+		try {
+			for (int polygon = 0; polygon < polygonCount; polygon++) {
+				byte[] name = new byte[nameBuffer.getShort() & 0xffff];
+				nameBuffer.get(name);
+				names[polygon] = new String(name, StandardCharsets.UTF_8);
+				polygonIndices.put(names[polygon], polygon);
+			}
+		} catch (BufferUnderflowException e) {
+			throw new PolygonReadingException("The compiled polygon file " + file + " is truncated.");
+		}
+	}
+
+	/**
+	 * This method checks that the sections and vertices referenced by the tables exist, so the
+	 * accessors don't need to.
+	 */
+	private void validateTables() throws PolygonReadingException {
+		for (int polygon = 0; polygon < polygonCount; polygon++) {
+			long end = (long) getFirstSection(polygon) + getSectionCount(polygon);
+			if (getFirstSection(polygon) < 0 || getSectionCount(polygon) < 0 || end > sectionCount) {
+				throw new PolygonReadingException("Invalid polygon " + polygon + " in the compiled polygon file " + file + ".");
+			}
+		}
+		for (int section = 0; section < sectionCount; section++) {
+			long end = (long) getFirstVertex(section) + getVertexCount(section);
+			if (getFirstVertex(section) < 0 || getVertexCount(section) < 0 || end > vertexCount) {
+				throw new PolygonReadingException("Invalid section " + section + " in the compiled polygon file " + file + ".");
+			}
+		}
+	}
+
+	/**
+	 * This method maps the given file into memory and reads the names of its polygons.
+	 *
+	 * @param file - a file written by the {@link PolygonFileCompiler}.
+	 * @return the {@code CompiledPolygonFile}.
+	 * @throws PolygonReadingException if the file can't be read or isn't a valid compiled
+	 * 	polygon file.
+	 */
+	public static CompiledPolygonFile open(File file) throws PolygonReadingException {
+		RandomAccessFile randomAccessFile = null;
+		try {
+			randomAccessFile = new RandomAccessFile(file, "r");
+			FileChannel channel = randomAccessFile.getChannel();
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new PolygonReadingException("The compiled polygon file " + file + " is too large.");
+			}
+			//the mapping stays valid after the channel has been closed
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new CompiledPolygonFile(file, buffer);
+		} catch (IOException e) {
+			throw new PolygonReadingException("Unable to read from compiled polygon file " + file + ". "
+					+ e.getMessage());
+		} finally {
+			if (randomAccessFile != null) {
+				try {
+					randomAccessFile.close();
+				} catch (IOException e) {
+					//nothing to do here
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param name - the name of the {@code .poly} file without extension.
+	 * @return the index of the polygon or -1, if the file doesn't contain it.
+	 */
+	public int indexOf(String name) {
+		Integer polygon = polygonIndices.get(name);
+		return (polygon == null) ? -1 : polygon;
+	}
+
+	/**
+	 * This method checks if the given {@code .poly} file has the same content as the file the
+	 * polygon has been compiled from, i.e. the same length and checksum. The modification
+	 * time is ignored, so copying or checking out the files doesn't outdate the polygons.
+	 * The checksum is only computed again if the modification time or the length of the file
+	 * has changed since the last check.
+	 *
+	 * @param polygon - the index of the polygon.
+	 * @param polygonFile - the current {@code .poly} file of the polygon.
+	 * @return {@code true} if the polygon can be used instead of parsing the file.
+	 */
+	public boolean isUpToDate(int polygon, File polygonFile) {
+		int entry = HEADER_SIZE + POLYGON_ENTRY_SIZE * polygon;
+		//taken before the checksum, so a file which changes meanwhile is checked again
+		long lastModified = polygonFile.lastModified();
+		long length = polygonFile.length();
+		if (length != buffer.getLong(entry)) {
+			return false;
+		}
+		CheckedFileState checkedState = checkedFileStates.get(polygon);
+		if (checkedState != null && checkedState.lastModified == lastModified && checkedState.length == length) {
+			return checkedState.upToDate;
+		}
+		boolean upToDate;
+		try {
+			upToDate = computeChecksum(polygonFile) == buffer.getLong(entry + 8);
+		} catch (IOException e) {
+			return false;
+		}
+		checkedFileStates.set(polygon, new CheckedFileState(lastModified, length, upToDate));
+		return upToDate;
+	}
+
+	/**
+	 * @param file - a file.
+	 * @return the CRC-32 checksum of the content of the file.
+	 * @throws IOException if the file can't be read.
+	 */
+	static long computeChecksum(File file) throws IOException {
+		CRC32 checksum = new CRC32();
+		InputStream in = new FileInputStream(file);
+		try {
+			byte[] bytes = new byte[8192];
+			int count;
+			while ((count = in.read(bytes)) > 0) {
+				checksum.update(bytes, 0, count);
+			}
+		} finally {
+			in.close();
+		}
+		return checksum.getValue();
+	}
+
+	/**
+	 * This method builds the area of a polygon the same way as
+	 * {@link PolygonFileReader#loadPolygon()} does: the sections are added to or, in case of
+	 * holes, subtracted from an empty area in the order of the file. The rings are read from
+	 * the mapped file directly into the coordinate arrays of the areas.
+	 *
+	 * @param polygon - the index of the polygon.
+	 * @return the {@code GeoArea} of the polygon.
+	 * @throws PolygonReadingException if a section has no vertices.
+	 */
+	public GeoArea loadPolygon(int polygon) throws PolygonReadingException {
+		GeoArea resultArea = new GeoArea();
+		int firstSection = getFirstSection(polygon);
+		for (int section = firstSection; section < firstSection + getSectionCount(polygon); section++) {
+			int sectionVertexCount = getVertexCount(section);
+			if (sectionVertexCount == 0) {
+				throw new PolygonReadingException("Section " + section + " of polygon " + names[polygon]
+						+ " has no vertices.");
+			}
+			if (isHole(section)) {
+				resultArea.subtract(new GeoArea(readRing(section)));
+			} else {
+				resultArea.add(new GeoArea(readRing(section)));
+			}
+		}
+		return resultArea;
+	}
+
+	/**
+	 * This method returns the coordinates of a location which is represented by a single
+	 * point, i.e. the first vertex of its first section.
+	 *
+	 * @param polygon - the index of the polygon.
+	 * @return the longitude and the latitude.
+	 * @throws PolygonReadingException if the polygon has no vertices.
+	 */
+	public double[] loadCoordinates(int polygon) throws PolygonReadingException {
+		int section = getFirstSection(polygon);
+		if (getSectionCount(polygon) == 0 || getVertexCount(section) == 0) {
+			throw new PolygonReadingException("Polygon " + names[polygon] + " has no coordinates.");
+		}
+		return new double[] {getX(section, 0), getY(section, 0)};
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	public int getPolygonCount() {
+		return polygonCount;
+	}
+
+	public String getName(int polygon) {
+		return names[polygon];
+	}
+
+	public int getFirstSection(int polygon) {
+		return buffer.getInt(HEADER_SIZE + POLYGON_ENTRY_SIZE * polygon + 16);
+	}
+
+	public int getSectionCount(int polygon) {
+		return buffer.getInt(HEADER_SIZE + POLYGON_ENTRY_SIZE * polygon + 20);
+	}
+
+	/**
+	 * @return the bounding box of all sections of the polygon.
+	 */
+	public Rectangle2D.Double getBounds(int polygon) {
+		return readBounds(HEADER_SIZE + POLYGON_ENTRY_SIZE * polygon + 24);
+	}
+
+	public boolean isHole(int section) {
+		return (buffer.getInt(sectionTableOffset + SECTION_ENTRY_SIZE * section) & HOLE_FLAG) != 0;
+	}
+
+	private int getFirstVertex(int section) {
+		return buffer.getInt(sectionTableOffset + SECTION_ENTRY_SIZE * section + 4);
+	}
+
+	public int getVertexCount(int section) {
+		return buffer.getInt(sectionTableOffset + SECTION_ENTRY_SIZE * section + 8);
+	}
+
+	public Rectangle2D.Double getSectionBounds(int section) {
+		return readBounds(sectionTableOffset + SECTION_ENTRY_SIZE * section + 12);
+	}
+
+	/**
+	 * @return the longitude of the given vertex of the section.
+	 */
+	public double getX(int section, int vertex) {
+		return buffer.getDouble(vertexOffset + VERTEX_SIZE * (getFirstVertex(section) + vertex));
+	}
+
+	/**
+	 * @return the latitude of the given vertex of the section.
+	 */
+	public double getY(int section, int vertex) {
+		return buffer.getDouble(vertexOffset + VERTEX_SIZE * (getFirstVertex(section) + vertex) + 8);
+	}
+
+	/**
+	 * @return the longitudes and latitudes of all vertices of the section one after another.
+	 */
+	public double[] readRing(int section) {
+		double[] ring = new double[2 * getVertexCount(section)];
+		//a duplicate uses big endian byte order as well
+		ByteBuffer vertices = buffer.duplicate();
+		vertices.position(vertexOffset + VERTEX_SIZE * getFirstVertex(section));
+		vertices.asDoubleBuffer().get(ring);
+		return ring;
+	}
+
+	private Rectangle2D.Double readBounds(int offset) {
+		double minX = buffer.getDouble(offset);
+		double minY = buffer.getDouble(offset + 8);
+		double maxX = buffer.getDouble(offset + 16);
+		double maxY = buffer.getDouble(offset + 24);
+		return new Rectangle2D.Double(minX, minY, maxX - minX, maxY - minY);
+	}
+
+	/**
+	 * The modification time and the length of a {@code .poly} file and whether its checksum
+	 * equals the compiled one.
+	 */
+	private static class CheckedFileState {
+		private final long lastModified;
+		private final long length;
+		private final boolean upToDate;
+
+		private CheckedFileState(long lastModified, long length, boolean upToDate) {
+			this.lastModified = lastModified;
+			this.length = length;
+			this.upToDate = upToDate;
+		}
+	}
+}
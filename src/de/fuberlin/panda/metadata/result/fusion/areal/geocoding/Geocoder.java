@@ -1,11 +1,7 @@
 package de.fuberlin.panda.metadata.result.fusion.areal.geocoding;
 
-import java.io.File;
-import java.util.StringTokenizer;
-
 import org.apache.log4j.Logger;
 
-import de.fuberlin.panda.api.APIHelper;
 import de.fuberlin.panda.metadata.MetadataConnector;
 import de.fuberlin.panda.metadata.exceptions.PolygonReadingException;
 import de.fuberlin.panda.metadata.result.fusion.areal.GeoArea;
@@ -28,8 +24,19 @@ public class Geocoder {
 	Double[] geoCoords = new Double[2];
 	
 	public Geocoder(String location) {
+		this(location, GeocodingCache.getInstance());
+	}
+
+	/**
+	 * Constructor which resolves the location by the given {@code GeocodingCache} instead of
+	 * the process wide one.
+	 * 
+	 * @param location - a {@code String} value wich rerpesents the location attribute.
+	 * @param geocodingCache - the {@code GeocodingCache} the location is resolved by.
+	 */
+	public Geocoder(String location, GeocodingCache geocodingCache) {
 		try {
-			resolveLocation(location);
+			resolveLocation(location, geocodingCache);
 			logger.debug("-->Successfully retrieve geographical data for '"
 					+ location + "'");
 		} catch (PolygonReadingException e) {
@@ -42,67 +49,29 @@ public class Geocoder {
 	 * Easy to access example method. This method would call the online
 	 * geocoding service. In this case the polygon files can be found in 
 	 * the Folder {@code ...\WebContent\prefs\geocoding} (Files from:
-	 * http://download.geofabrik.de/europe/germany/)
+	 * http://download.geofabrik.de/europe/germany/). The preference and polygon
+	 * files are parsed once and cached by the {@link GeocodingCache}. The cached
+	 * polygon is copied, so its name can be set, but its {@code GeoPolygon} is shared.
 	 * 
 	 * @param location - a {@code String} value wich rerpesents the location attribute.
+	 * @param geocodingCache - the {@code GeocodingCache} the location is resolved by.
 	 * @throws PolygonReadingException 
 	 */
-	private void resolveLocation(String location) throws PolygonReadingException {
- 		String trimmedLocation = location.replace(" ", "");
-		boolean isParsablePolygon = checkPolygonParsibility(trimmedLocation.toLowerCase());
-		boolean isParsableGeoCoord = checkGeoCoordParsibility(trimmedLocation.toLowerCase());
- 		if (isParsablePolygon) {
+	private void resolveLocation(String location, GeocodingCache geocodingCache) throws PolygonReadingException {
+		String trimmedLocation = location.replace(" ", "");
+		ResolvedLocation resolvedLocation = geocodingCache.resolve(location);
+		if (resolvedLocation.isPolygon()) {
 			isPolygon = true;
-			String fileName = APIHelper.getWebContentDirPath() + "\\prefs\\geocoding\\" + 
-					trimmedLocation.toLowerCase() + ".poly";
-			PolygonFileReader polygonReader = new PolygonFileReader(new File(fileName));
-			polygon = polygonReader.loadPolygon();
+			polygon = new GeoArea(resolvedLocation.getPolygon());
 			polygon.setName(trimmedLocation);
-		} else if (isParsableGeoCoord) {
+		} else if (resolvedLocation.isGeoCoord()) {
 			isGeoCoord  = true;
-			String fileName = APIHelper.getWebContentDirPath() + "\\prefs\\geocoding\\" + 
-					trimmedLocation.toLowerCase() + ".poly";
-			PolygonFileReader coordinatesReader = new PolygonFileReader(new File(fileName));
-			double[] parsedCoords = coordinatesReader.loadCoordinates();
+			double[] parsedCoords = resolvedLocation.getGeoCoords();
 			geoCoords[0] = parsedCoords[0];
 			geoCoords[1] = parsedCoords[1];
 		}
 	}
 	
-	/**
-	 * Parse the preference file which contains all possible polygons. Check if 
-	 * the given location is contained in this file.
-	 * 
-	 * @return a {@code boolean} value.
-	 */
-	private boolean checkPolygonParsibility(String location) {
-		String possiblePolygons = APIHelper.readFileContent("prefs\\geocoding", "geoPolyPref.txt");
-		StringTokenizer st = new StringTokenizer(possiblePolygons, "\r\n");
-		while (st.hasMoreElements()) {
-			if (st.nextToken().equals(location)) {
-				return true;
-			}
-		}
-		return false;
-	}
-
-	/**
-	 * Parse the preference file which contains all possible geo locations. Check if 
-	 * the given location is contained in this file.
-	 * 
-	 * @return a {@code boolean} value.
-	 */
-	private boolean checkGeoCoordParsibility(String location) {
-		String possibleGeoCoords = APIHelper.readFileContent("prefs\\geocoding", "geoPref.txt");
-		StringTokenizer st = new StringTokenizer(possibleGeoCoords, "\r\n");
-		while (st.hasMoreElements()) {
-			if (st.nextToken().equals(location)) {
-				return true;
-			}
-		}
-		return false;
-	}
-	
 	public boolean isResultPolygon() {
 		return isPolygon;
 	}
@@ -0,0 +1,429 @@
+package de.fuberlin.panda.metadata.result.fusion.areal.geocoding;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringTokenizer;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+import de.fuberlin.panda.api.APIHelper;
+import de.fuberlin.panda.metadata.MetadataConnector;
+import de.fuberlin.panda.metadata.exceptions.PolygonReadingException;
+import de.fuberlin.panda.metadata.result.fusion.areal.GeoArea;
+
+/**
+ * This class caches the resolved location attributes of the {@link Geocoder}, so the
+ * preference files aren't read and the polygon files aren't parsed for every URI. The
+ * locations which can be resolved are listed in the preference files {@code geoPolyPref.txt}
+ * (polygons) and {@code geoPref.txt} (coordinates) of the geocoding directory, the polygon
+ * or coordinates of a location are read from its {@code .poly} file. Unknown locations are
+ * cached as well.<br>
+ * In case the cache holds more than {@code maxSize} entries, the least recently used entry is
+ * evicted. The files are checked for changes by their modification time and length at most
+ * once per {@code checkIntervalMillis}: if a preference file has changed, all entries are
+ * removed, if the {@code .poly} file of an entry has changed, the entry is removed.<br>
+ * In case the directory contains a {@code polygons.bin} file written by the
+ * {@link PolygonFileCompiler}, the polygons and coordinates are read from it instead of parsing
+ * the {@code .poly} files, unless the content of a {@code .poly} file has changed since its
+ * compilation. The compiled file is only mapped, it has to be written by the build respectively
+ * the deployment of the polygon files.<br>
+ * The cached {@link ResolvedLocation}s are shared by all requests, so they must not be
+ * modified. All methods are thread safe, the files are parsed outside of the lock.
+ *
+ * @see #getInstance()
+ * @see #resolve(String)
+ * @see #clear()
+ *
+ * @since 18.10.2026
+ */
+public class GeocodingCache {
+	private static Logger logger = Logger.getLogger(MetadataConnector.class.getName());
+
+	public static final int DEFAULT_MAX_SIZE = 1000;
+	public static final long DEFAULT_CHECK_INTERVAL_MILLIS = 1000;
+	public static final String POLYGON_PREFERENCES = "geoPolyPref.txt";
+	public static final String GEO_COORD_PREFERENCES = "geoPref.txt";
+	public static final String COMPILED_POLYGONS = "polygons.bin";
+
+	private static final GeocodingCache INSTANCE = new GeocodingCache();
+
+	private final File directory;
+	private final int maxSize;
+	private final long checkIntervalNanos;
+	private final Map<String, CacheEntry> entries;
+
+	//the parsed preference files and their state when they were parsed
+	private Set<String> polygonLocations = null;
+	private Set<String> geoCoordLocations = null;
+	private FileState polygonPreferencesState;
+	private FileState geoCoordPreferencesState;
+	private long preferencesCheckTime;
+	//the mapped compiled polygons, null if there is no valid compiled file
+	private CompiledPolygonFile compiledPolygons = null;
+	private FileState compiledPolygonsState = null;
+	//increased whenever all entries are removed, so no outdated entry is added afterwards
+	private long generation = 0;
+
+	private long hitCount = 0;
+	private long missCount = 0;
+	private long evictionCount = 0;
+	private long invalidationCount = 0;
+
+	/**
+	 * Constructor for the geocoding directory {@code prefs\geocoding} of the WebContent folder.
+	 */
+	public GeocodingCache() {
+		this(new File(APIHelper.getWebContentDirPath() + "prefs\\geocoding"), DEFAULT_MAX_SIZE,
+				DEFAULT_CHECK_INTERVAL_MILLIS);
+	}
+
+	/**
+	 * @param directory - the directory of the preference and polygon files.
+	 * @param maxSize - the maximum number of cached locations.
+	 * @param checkIntervalMillis - the time in milliseconds after which the files are checked
+	 * 	for changes again, 0 to check them for every request.
+	 */
+	public GeocodingCache(File directory, int maxSize, long checkIntervalMillis) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("The cache size has to be positive: " + maxSize);
+		}
+		if (checkIntervalMillis < 0) {
+			throw new IllegalArgumentException("The check interval must not be negative: " + checkIntervalMillis);
+		}
+		this.directory = directory;
+		this.maxSize = maxSize;
+		this.checkIntervalNanos = TimeUnit.MILLISECONDS.toNanos(checkIntervalMillis);
+		this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+				if (size() > GeocodingCache.this.maxSize) {
+					evictionCount++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * This method returns the cache which is shared by all {@link Geocoder} objects.
+	 *
+	 * @return the process wide {@code GeocodingCache}.
+	 */
+	public static GeocodingCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * This method returns the cached result of the given location attribute. In case there is
+	 * no valid entry, the location is looked up in the preference files and its polygon file is
+	 * parsed. Spaces and the case of the location are ignored.
+	 *
+	 * @param location - a {@code String} value which represents the location attribute.
+	 * @return the {@code ResolvedLocation}.
+	 * @throws PolygonReadingException if the polygon file of the location can't be parsed, this
+	 * 	isn't cached.
+	 */
+	public ResolvedLocation resolve(String location) throws PolygonReadingException {
+		String key = location.replace(" ", "").toLowerCase();
+		boolean isPolygon;
+		boolean isGeoCoord;
+		long loadGeneration;
+		synchronized (this) {
+			long now = currentTimeNanos();
+			checkPreferences(now);
+			CacheEntry entry = entries.get(key);
+			if (entry != null && entry.isOutdated(now)) {
+				entries.remove(key);
+				invalidationCount++;
+				entry = null;
+			}
+			if (entry != null) {
+				hitCount++;
+				return entry.location;
+			}
+			missCount++;
+			isPolygon = polygonLocations.contains(key);
+			isGeoCoord = geoCoordLocations.contains(key);
+			loadGeneration = generation;
+		}
+
+		File polygonFile = getPolygonFile(key);
+		FileState polygonFileState = new FileState(polygonFile);
+		ResolvedLocation resolvedLocation;
+		if (isPolygon) {
+			resolvedLocation = new ResolvedLocation(loadPolygon(polygonFile), null);
+		} else if (isGeoCoord) {
+			resolvedLocation = new ResolvedLocation(null, loadGeoCoords(polygonFile));
+		} else {
+			resolvedLocation = ResolvedLocation.UNKNOWN;
+		}
+
+		synchronized (this) {
+			if (loadGeneration == generation) {
+				CacheEntry entry = new CacheEntry(resolvedLocation, polygonFile, polygonFileState);
+				entry.checkTime = currentTimeNanos();
+				entries.put(key, entry);
+			}
+		}
+		return resolvedLocation;
+	}
+
+	/**
+	 * This method parses the preference files if they haven't been parsed yet or if they have
+	 * changed since. In the latter case all entries are removed.
+	 */
+	private void checkPreferences(long now) {
+		if (polygonLocations != null && now - preferencesCheckTime < checkIntervalNanos) {
+			return;
+		}
+		preferencesCheckTime = now;
+		checkCompiledPolygons();
+		File polygonPreferences = new File(directory, POLYGON_PREFERENCES);
+		File geoCoordPreferences = new File(directory, GEO_COORD_PREFERENCES);
+		FileState currentPolygonState = new FileState(polygonPreferences);
+		FileState currentGeoCoordState = new FileState(geoCoordPreferences);
+		if (polygonLocations != null && currentPolygonState.equals(polygonPreferencesState)
+				&& currentGeoCoordState.equals(geoCoordPreferencesState)) {
+			return;
+		}
+
+		if (polygonLocations != null) {
+			invalidationCount += entries.size();
+			entries.clear();
+			generation++;
+			logger.debug("Geocoding preferences have changed, cleared the geocoding cache");
+		}
+		polygonLocations = readLocations(POLYGON_PREFERENCES);
+		geoCoordLocations = readLocations(GEO_COORD_PREFERENCES);
+		polygonPreferencesState = currentPolygonState;
+		geoCoordPreferencesState = currentGeoCoordState;
+	}
+
+	/**
+	 * This method maps the compiled polygon file again if it has changed. The cached entries
+	 * stay valid, since the compiled polygons equal the parsed ones. Mapping the file only
+	 * reads the names of the polygons.
+	 */
+	private void checkCompiledPolygons() {
+		File compiledFile = new File(directory, COMPILED_POLYGONS);
+		FileState currentCompiledState = new FileState(compiledFile);
+		if (currentCompiledState.equals(compiledPolygonsState)) {
+			return;
+		}
+		compiledPolygonsState = currentCompiledState;
+		compiledPolygons = openCompiledPolygons(compiledFile);
+	}
+
+	/**
+	 * @return the mapped compiled polygon file or {@code null}, if it doesn't exist or can't
+	 * 	be used.
+	 */
+	private CompiledPolygonFile openCompiledPolygons(File compiledFile) {
+		if (!compiledFile.isFile()) {
+			return null;
+		}
+		try {
+			CompiledPolygonFile compiled = CompiledPolygonFile.open(compiledFile);
+			logger.debug("Mapped " + compiled.getPolygonCount() + " compiled polygons of " + compiledFile);
+			return compiled;
+		} catch (PolygonReadingException e) {
+			logger.warn("Unable to use the compiled polygons, the polygon files are parsed instead: "
+					+ e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * @return the index of the up to date compiled polygon of the {@code .poly} file, -1 if
+	 * 	the file has to be parsed.
+	 */
+	private int indexOfCompiledPolygon(CompiledPolygonFile compiled, File polygonFile) {
+		if (compiled == null) {
+			return -1;
+		}
+		String fileName = polygonFile.getName();
+		int polygon = compiled.indexOf(fileName.substring(0, fileName.length() - ".poly".length()));
+		return (polygon >= 0 && compiled.isUpToDate(polygon, polygonFile)) ? polygon : -1;
+	}
+
+	private synchronized CompiledPolygonFile getCompiledPolygons() {
+		return compiledPolygons;
+	}
+
+	private Set<String> readLocations(String fileName) {
+		Set<String> locations = new HashSet<>();
+		String content = APIHelper.readFileContent(directory.getPath(), "", fileName);
+		StringTokenizer st = new StringTokenizer(content, "\r\n");
+		while (st.hasMoreElements()) {
+			locations.add(st.nextToken());
+		}
+		return locations;
+	}
+
+	/**
+	 * @param key - the location without spaces in lower case.
+	 * @return the {@code .poly} file of the location.
+	 */
+	protected File getPolygonFile(String key) {
+		return new File(directory, key + ".poly");
+	}
+
+	/**
+	 * This method reads the polygon of a location from the compiled polygons or parses it.
+	 *
+	 * @param polygonFile - the {@code .poly} file.
+	 * @return the parsed polygon.
+	 * @throws PolygonReadingException if the file can't be parsed.
+	 */
+	protected GeoArea loadPolygon(File polygonFile) throws PolygonReadingException {
+		CompiledPolygonFile compiled = getCompiledPolygons();
+		int polygon = indexOfCompiledPolygon(compiled, polygonFile);
+		if (polygon >= 0) {
+			return compiled.loadPolygon(polygon);
+		}
+		return new PolygonFileReader(polygonFile).loadPolygon();
+	}
+
+	/**
+	 * This method reads the coordinates of a location from the compiled polygons or parses them.
+	 *
+	 * @param polygonFile - the {@code .poly} file.
+	 * @return the longitude and the latitude.
+	 * @throws PolygonReadingException if the file can't be parsed.
+	 */
+	protected double[] loadGeoCoords(File polygonFile) throws PolygonReadingException {
+		CompiledPolygonFile compiled = getCompiledPolygons();
+		int polygon = indexOfCompiledPolygon(compiled, polygonFile);
+		if (polygon >= 0) {
+			return compiled.loadCoordinates(polygon);
+		}
+		return new PolygonFileReader(polygonFile).loadCoordinates();
+	}
+
+	/**
+	 * This method removes all entries and resets the statistics. The preference files are
+	 * parsed and the compiled polygons are mapped again for the next request.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		polygonLocations = null;
+		geoCoordLocations = null;
+		compiledPolygons = null;
+		compiledPolygonsState = null;
+		generation++;
+		hitCount = 0;
+		missCount = 0;
+		evictionCount = 0;
+		invalidationCount = 0;
+		logger.debug("Cleared the geocoding cache");
+	}
+
+	/**
+	 * This method returns the current time for the checks of the files. It can be overridden
+	 * for testing.
+	 *
+	 * @return the current value of {@link System#nanoTime()}.
+	 */
+	protected long currentTimeNanos() {
+		return System.nanoTime();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public File getDirectory() {
+		return directory;
+	}
+
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * @return the number of entries which have been removed because of changed files.
+	 */
+	public synchronized long getInvalidationCount() {
+		return invalidationCount;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "GeocodingCache [size=" + entries.size() + ", hits=" + hitCount + ", misses=" + missCount
+				+ ", evictions=" + evictionCount + ", invalidations=" + invalidationCount + "]";
+	}
+
+	/**
+	 * A cached location, the state of its polygon file when it was parsed and the time the
+	 * file has been checked last.
+	 */
+	private class CacheEntry {
+		private final ResolvedLocation location;
+		private final File polygonFile;
+		private final FileState polygonFileState;
+		private long checkTime;
+
+		private CacheEntry(ResolvedLocation location, File polygonFile, FileState polygonFileState) {
+			this.location = location;
+			this.polygonFile = polygonFile;
+			this.polygonFileState = polygonFileState;
+		}
+
+		/**
+		 * @return {@code true} if the polygon file of a resolved location has changed.
+		 */
+		private boolean isOutdated(long now) {
+			if (location == ResolvedLocation.UNKNOWN || now - checkTime < checkIntervalNanos) {
+				return false;
+			}
+			checkTime = now;
+			return !polygonFileState.equals(new FileState(polygonFile));
+		}
+	}
+
+	/**
+	 * The modification time and the length of a file, both 0 if the file doesn't exist.
+	 */
+	private static class FileState {
+		private final long lastModified;
+		private final long length;
+
+		private FileState(File file) {
+			lastModified = file.lastModified();
+			length = file.length();
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof FileState)) {
+				return false;
+			}
+			FileState otherState = (FileState) other;
+			return lastModified == otherState.lastModified && length == otherState.length;
+		}
+
+		@Override
+		public int hashCode() {
+			return (int) (lastModified ^ (lastModified >>> 32)) * 31 + (int) length;
+		}
+	}
+}
@@ -0,0 +1,187 @@
+package de.fuberlin.panda.metadata.result.fusion.areal.geocoding;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import de.fuberlin.panda.api.APIHelper;
+import de.fuberlin.panda.metadata.MetadataConnector;
+import de.fuberlin.panda.metadata.exceptions.PolygonReadingException;
+
+/**
+ * This class compiles the {@code .poly} files of a directory into one binary file, which is
+ * read by the {@link CompiledPolygonFile}. The {@link GeocodingCache} uses the compiled
+ * polygons instead of parsing the text files, as long as a {@code .poly} file has the same
+ * length and checksum as when it was compiled. The {@code GeocodingCache} only maps the
+ * compiled file, so the compiler has to be run by the build respectively whenever the polygon
+ * files are deployed, e.g. {@code PolygonFileCompiler WebContent/prefs/geocoding}.<br>
+ * Files which can't be parsed are skipped, they are parsed by the {@code GeocodingCache} as
+ * before.
+ *
+ * @see #compile(File, File)
+ * @see CompiledPolygonFile
+ *
+ * @since 18.10.2026
+ */
+public class PolygonFileCompiler {
+	private static Logger logger = Logger.getLogger(MetadataConnector.class.getName());
+
+	private static final String POLYGON_FILE_EXTENSION = ".poly";
+
+	/**
+	 * This method compiles all {@code .poly} files of the directory into the target file. The
+	 * target file is written to a temporary file first, so a {@link CompiledPolygonFile}
+	 * never reads a partially written file.
+	 *
+	 * @param directory - the directory of the {@code .poly} files.
+	 * @param target - the compiled file.
+	 * @return the number of compiled polygons.
+	 * @throws IOException if the target file can't be written, unreadable {@code .poly} files are
+	 * 	skipped.
+	 */
+	public static int compile(File directory, File target) throws IOException {
+		List<String> names = new ArrayList<>();
+		List<long[]> polygonFileChecksums = new ArrayList<>();
+		List<List<PolygonSection>> polygons = new ArrayList<>();
+		int sectionCount = 0;
+		int vertexCount = 0;
+		for (File polygonFile : findPolygonFiles(directory)) {
+			//the checksum is computed before and after parsing, so a file which changes meanwhile is skipped
+			long length = polygonFile.length();
+			try {
+				long checksum = CompiledPolygonFile.computeChecksum(polygonFile);
+				List<PolygonSection> sections = new PolygonFileReader(polygonFile).loadSections();
+				if (polygonFile.length() != length || CompiledPolygonFile.computeChecksum(polygonFile) != checksum) {
+					logger.warn("Skipped polygon file " + polygonFile + " because it has changed during compilation");
+					continue;
+				}
+				String fileName = polygonFile.getName();
+				names.add(fileName.substring(0, fileName.length() - POLYGON_FILE_EXTENSION.length()));
+				polygonFileChecksums.add(new long[] {length, checksum});
+				polygons.add(sections);
+				sectionCount += sections.size();
+				for (PolygonSection section : sections) {
+					vertexCount += section.getVertexCount();
+				}
+			} catch (PolygonReadingException | IOException e) {
+				logger.warn("Skipped polygon file " + polygonFile + ": " + e.getMessage());
+			}
+		}
+
+		File temporaryFile = new File(target.getPath() + ".tmp");
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)));
+		try {
+			out.writeInt(CompiledPolygonFile.MAGIC);
+			out.writeInt(CompiledPolygonFile.VERSION);
+			out.writeInt(polygons.size());
+			out.writeInt(sectionCount);
+			out.writeInt(vertexCount);
+
+			int firstSection = 0;
+			for (int polygon = 0; polygon < polygons.size(); polygon++) {
+				List<PolygonSection> sections = polygons.get(polygon);
+				out.writeLong(polygonFileChecksums.get(polygon)[0]);
+				out.writeLong(polygonFileChecksums.get(polygon)[1]);
+				out.writeInt(firstSection);
+				out.writeInt(sections.size());
+				writeBounds(out, sections.toArray(new PolygonSection[sections.size()]));
+				firstSection += sections.size();
+			}
+			int firstVertex = 0;
+			for (List<PolygonSection> sections : polygons) {
+				for (PolygonSection section : sections) {
+					out.writeInt(section.isHole() ? CompiledPolygonFile.HOLE_FLAG : 0);
+					out.writeInt(firstVertex);
+					out.writeInt(section.getVertexCount());
+					writeBounds(out, section);
+					firstVertex += section.getVertexCount();
+				}
+			}
+			for (List<PolygonSection> sections : polygons) {
+				for (PolygonSection section : sections) {
+					for (int vertex = 0; vertex < section.getVertexCount(); vertex++) {
+						out.writeDouble(section.getX(vertex));
+						out.writeDouble(section.getY(vertex));
+					}
+				}
+			}
+			for (String name : names) {
+				byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+				out.writeShort(bytes.length);
+				out.write(bytes);
+			}
+		} finally {
+			out.close();
+		}
+		Files.move(temporaryFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		logger.debug("Compiled " + polygons.size() + " polygon files into " + target);
+		return polygons.size();
+	}
+
+	/**
+	 * This method writes the bounding box of the given sections. The bounding box of no
+	 * vertices is written as {@code NaN}.
+	 */
+	private static void writeBounds(DataOutputStream out, PolygonSection... sections) throws IOException {
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (PolygonSection section : sections) {
+			for (int vertex = 0; vertex < section.getVertexCount(); vertex++) {
+				minX = Math.min(minX, section.getX(vertex));
+				minY = Math.min(minY, section.getY(vertex));
+				maxX = Math.max(maxX, section.getX(vertex));
+				maxY = Math.max(maxY, section.getY(vertex));
+			}
+		}
+		if (minX > maxX) {
+			minX = minY = maxX = maxY = Double.NaN;
+		}
+		out.writeDouble(minX);
+		out.writeDouble(minY);
+		out.writeDouble(maxX);
+		out.writeDouble(maxY);
+	}
+
+	/**
+	 * @return the {@code .poly} files of the directory sorted by their names.
+	 */
+	private static List<File> findPolygonFiles(File directory) {
+		File[] files = directory.listFiles(new FileFilter() {
+			@Override
+			public boolean accept(File file) {
+				return file.isFile() && file.getName().endsWith(POLYGON_FILE_EXTENSION);
+			}
+		});
+		if (files == null) {
+			return new ArrayList<>();
+		}
+		Arrays.sort(files);
+		return Arrays.asList(files);
+	}
+
+	public static void main(String[] args) throws IOException {
+		File directory = (args.length > 0) ? new File(args[0])
+				: new File(APIHelper.getWebContentDirPath() + "prefs\\geocoding");
+		File target = (args.length > 1) ? new File(args[1])
+				: new File(directory, GeocodingCache.COMPILED_POLYGONS);
+		if (!directory.isDirectory()) {
+			System.err.println("Usage: PolygonFileCompiler [directory] [target]");
+			return;
+		}
+		int polygonCount = compile(directory, target);
+		System.out.println("Compiled " + polygonCount + " polygon files into " + target);
+	}
+}
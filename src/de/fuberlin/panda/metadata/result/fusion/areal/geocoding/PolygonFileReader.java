@@ -7,6 +7,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import de.fuberlin.panda.metadata.exceptions.PolygonReadingException;
 import de.fuberlin.panda.metadata.result.fusion.areal.GeoArea;
@@ -190,6 +191,76 @@ public class PolygonFileReader {
 		}
 	}
 	
+	/**
+	 * Version of {@link #loadPolygon()} which returns the coordinates of the sections
+	 * instead of building an area. It is used by the {@link PolygonFileCompiler}.
+	 *
+	 * @return the sections in the order of the file.
+	 * @throws PolygonReadingException
+	 */
+	public ArrayList<PolygonSection> loadSections() throws PolygonReadingException {
+		try {
+			ArrayList<PolygonSection> sections = new ArrayList<PolygonSection>();
+			BufferedReader bufferedReader = new BufferedReader(fileReader);
+			myPolygonName = bufferedReader.readLine();
+			if (myPolygonName == null || myPolygonName.trim().length() == 0) {
+				throw new PolygonReadingException("The file must begin with a header naming the polygon file.");
+			}
+
+			while (true) {
+				String sectionHeader;
+				do {
+					sectionHeader = bufferedReader.readLine();
+					if (sectionHeader == null) {
+						throw new PolygonReadingException("File terminated prematurely without a section END record.");
+					}
+					sectionHeader = sectionHeader.trim();
+				} while (sectionHeader.length() == 0);
+
+				if ("END".equals(sectionHeader)) {
+					break;
+				}
+				sections.add(loadSection(bufferedReader, sectionHeader.charAt(0) == '!'));
+			}
+			return sections;
+
+		} catch (Exception e) {
+			throw new PolygonReadingException("Unable to read from polygon file " + polygonFile + ". " +
+					  e.getMessage());
+		} finally {
+			cleanup();
+		}
+	}
+
+	/**
+	 * Loads the coordinates of an individual section from the polygon file.
+	 */
+	private PolygonSection loadSection(BufferedReader bufferedReader, boolean hole) throws IOException, PolygonReadingException {
+		double[] coordinates = new double[16];
+		int length = 0;
+		while (true) {
+			String sectionLine;
+			do {
+				sectionLine = bufferedReader.readLine();
+				if (sectionLine == null) {
+					throw new PolygonReadingException("File terminated prematurely without a section END record.");
+				}
+				sectionLine = sectionLine.trim();
+			} while (sectionLine.length() == 0);
+
+			if ("END".equals(sectionLine)) {
+				break;
+			}
+			if (length == coordinates.length) {
+				coordinates = Arrays.copyOf(coordinates, 2 * length);
+			}
+			double[] point = parseCoordinates(sectionLine);
+			coordinates[length++] = point[0];
+			coordinates[length++] = point[1];
+		}
+		return new PolygonSection(hole, Arrays.copyOf(coordinates, length));
+	}
+
 	/**
 	 * Loads an individual polygon from the polygon file.
 	 * 
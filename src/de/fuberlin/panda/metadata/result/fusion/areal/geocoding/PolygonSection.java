@@ -0,0 +1,41 @@
+package de.fuberlin.panda.metadata.result.fusion.areal.geocoding;
+
+/**
+ * This class represents a single section of a {@code .poly} file: the coordinates of a
+ * polygon which is either added to or, in case of a hole, subtracted from the area of the
+ * file.
+ *
+ * @see PolygonFileReader#loadSections()
+ *
+ * @since 18.10.2026
+ */
+public class PolygonSection {
+	private final boolean hole;
+	//longitude and latitude of every vertex one after another
+	private final double[] coordinates;
+
+	public PolygonSection(boolean hole, double[] coordinates) {
+		this.hole = hole;
+		this.coordinates = coordinates;
+	}
+
+	/**
+	 * @return {@code true} if the section is subtracted from the area, i.e. its header
+	 * 	starts with a {@code !}.
+	 */
+	public boolean isHole() {
+		return hole;
+	}
+
+	public int getVertexCount() {
+		return coordinates.length / 2;
+	}
+
+	public double getX(int vertex) {
+		return coordinates[2 * vertex];
+	}
+
+	public double getY(int vertex) {
+		return coordinates[2 * vertex + 1];
+	}
+}
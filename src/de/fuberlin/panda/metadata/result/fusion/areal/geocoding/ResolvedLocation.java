@@ -0,0 +1,44 @@
+package de.fuberlin.panda.metadata.result.fusion.areal.geocoding;
+
+import de.fuberlin.panda.metadata.result.fusion.areal.GeoArea;
+
+/**
+ * This class is the result of resolving a location attribute by the {@link GeocodingCache}:
+ * either a polygon, a pair of geographical coordinates or nothing, in case the location is
+ * unknown. The objects are shared by all requests, so the polygon must not be
+ * modified.
+ *
+ * @see GeocodingCache#resolve(String)
+ *
+ * @since 18.10.2026
+ */
+public class ResolvedLocation {
+	static final ResolvedLocation UNKNOWN = new ResolvedLocation(null, null);
+
+	private final GeoArea polygon;
+	private final double[] geoCoords;
+
+	ResolvedLocation(GeoArea polygon, double[] geoCoords) {
+		this.polygon = polygon;
+		this.geoCoords = geoCoords;
+	}
+
+	public boolean isPolygon() {
+		return polygon != null;
+	}
+
+	public boolean isGeoCoord() {
+		return geoCoords != null;
+	}
+
+	public GeoArea getPolygon() {
+		return polygon;
+	}
+
+	/**
+	 * @return the longitude and the latitude.
+	 */
+	public double[] getGeoCoords() {
+		return geoCoords.clone();
+	}
+}
@@ -2,7 +2,6 @@ package de.fuberlin.panda.metadata.result.fusion.clustering;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.PriorityQueue;
 import java.util.TreeSet;
 
 import org.apache.log4j.Logger;
@@ -26,8 +25,12 @@ import de.fuberlin.panda.metadata.MetadataConnector;
  * @see #createClusterResult()
  * @see #isInClusterRange(ClusteringObject)
  * @see #calculateReachabilities(TreeSet, ClusteringObject)
- * @see #updateSeedQueue(TreeSet, ClusteringObject)
+ * @see #updateSeedQueue(ClusteringObject, TreeSet)
  * @see #calculateNeighborhood(ClusteringObject, TreeSet)
+ * @see #findNeighbors(ClusteringObject, TreeSet)
+ * @see #setPrimitiveEngine(boolean)
+ * @see #setParallelThreshold(int)
+ * @see #setCollapseDuplicates(boolean)
  * 
  * @author Sebastian Schulz
  * @since 27.01.2014
@@ -37,13 +40,17 @@ public abstract class ClusterDetector {
 	
 	public static final int NO_METADATA = -1;
 	public static final int OUTLIER = 0;
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 10000;
 	
 	protected List<ClusteringObject> augmentedClusteringObjectList = new ArrayList<>();
-	private PriorityQueue<ClusteringObject> orderedSeedQueue;	
+	private SeedQueue orderedSeedQueue;
 	
 	protected double neighborhoodRadius = 0;
 	protected int minNeighbors = 0;
 	protected double maxOutlierFactor = 1.5d;
+	protected boolean primitiveEngine = false;
+	protected int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+	protected boolean collapseDuplicates = false;
 	
 	/**
 	 * Public Constructor, which sets the neighborhood radius and the minimal neighbors which 
@@ -87,12 +94,114 @@ public abstract class ClusterDetector {
 	 * 	analyzed.
 	 * @return ClusteringResult - a {@code ClusteringResult} object which holds the outlier indices
 	 * 	as well as lists of indices of cluster members.
+	 * @throws IllegalStateException in case {@code collapseDuplicates} is set without the 
+	 * 	{@code primitiveEngine}.
 	 */
 	public ClusteringResult detectClusters(TreeSet<? extends ClusteringObject> clusteringObjects) {
+		if (primitiveEngine) {
+			PrimitiveOpticsEngine engine = createPrimitiveEngine(clusteringObjects);
+			if (engine != null) {
+				engine.setParallelThreshold(parallelThreshold);
+				logger.debug("OPTICS: using primitive engine for " + engine.size() + " clustering objects");
+				return engine.detectClusters(getNoMetadataIndices());
+			}
+			if (collapseDuplicates) {
+				logger.warn("OPTICS: the objects can't be clustered by the primitive engine, "
+						+ "objects with equal values are clustered one by one");
+			}
+		} else if (collapseDuplicates) {
+			throw new IllegalStateException("Objects with equal values can only be collapsed by the "
+					+ "primitive engine, see setPrimitiveEngine(boolean)");
+		}
 		createClusterOrdering(clusteringObjects);
 		return createClusterResult();
 	}
 
+	/**
+	 * This method returns the metadata indices of the objects without metadata, which the sub 
+	 * classes have added to the {@code augmentedClusteringObjectList} before the clustering.
+	 * 
+	 * @return a {@code List} of metadata indices.
+	 */
+	protected List<Integer> getNoMetadataIndices() {
+		List<Integer> noMetadataIndices = new ArrayList<>();
+		for (ClusteringObject clusteringObject : augmentedClusteringObjectList) {
+			noMetadataIndices.add(clusteringObject.getMetadataIndex());
+		}
+		return noMetadataIndices;
+	}
+
+	/**
+	 * This method decides whether the clustering is performed by a {@link PrimitiveOpticsEngine}
+	 * instead of the {@code ClusteringObject}s. The engine stores all values in primitive arrays
+	 * and returns the same {@code ClusteringResult}, but the {@code ClusteringObject}s aren't
+	 * updated. Sub classes which don't provide an engine always use the objects.
+	 *
+	 * @param primitiveEngine - {@code true} to use the {@code PrimitiveOpticsEngine}.
+	 */
+	public void setPrimitiveEngine(boolean primitiveEngine) {
+		this.primitiveEngine = primitiveEngine;
+	}
+
+	public boolean isPrimitiveEngine() {
+		return primitiveEngine;
+	}
+
+	/**
+	 * This method sets the minimal number of objects for which the core distances and the 
+	 * outlier factors are calculated in parallel. Every object is processed independently and 
+	 * only its own values are written, so the results are the same as for the serial calculation. 
+	 * The reachabilities are always calculated serial, because the ordering depends on the order
+	 * of the processed objects.
+	 * 
+	 * @param parallelThreshold - the minimal number of objects, {@code Integer.MAX_VALUE} to 
+	 * 	calculate everything serial.
+	 */
+	public void setParallelThreshold(int parallelThreshold) {
+		if (parallelThreshold < 0) {
+			throw new IllegalArgumentException("The parallel threshold must not be negative: " + parallelThreshold);
+		}
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+
+	/**
+	 * This method decides whether objects with equal values are clustered as one weighted 
+	 * point, see {@link DuplicateGroups}. The members of a point count towards the 
+	 * {@code minNeighbors} and are added to the result together. Only the 
+	 * {@link PrimitiveOpticsEngine} and the {@link GridDensityEngine} collapse the objects, so
+	 * the OPTICS detectors require {@link #setPrimitiveEngine(boolean)}, otherwise
+	 * {@link #detectClusters(TreeSet)} throws an {@code IllegalStateException}. In case the
+	 * primitive engine can't be created for the objects, they are clustered one by one and a
+	 * warning is logged.
+	 *
+	 * @param collapseDuplicates - {@code true} to collapse objects with equal values.
+	 */
+	public void setCollapseDuplicates(boolean collapseDuplicates) {
+		this.collapseDuplicates = collapseDuplicates;
+	}
+
+	public boolean isCollapseDuplicates() {
+		return collapseDuplicates;
+	}
+
+	/**
+	 * This method creates the {@link PrimitiveOpticsEngine} for the given objects. The id of
+	 * every object in the engine has to be its position in the {@code TreeSet}, so the objects
+	 * are processed in the same order. The default implementation returns {@code null}, which
+	 * means that the objects are clustered themselves.
+	 *
+	 * @param clusteringObjects - a {@code TreeSet} of {@code ClusteringObject}s which should be 
+	 * 	analyzed.
+	 * @return a {@code PrimitiveOpticsEngine} or {@code null}.
+	 */
+	protected PrimitiveOpticsEngine createPrimitiveEngine(TreeSet<? extends ClusteringObject> clusteringObjects) {
+		return null;
+	}
+
 	/**
 	 * This method is responsible for ordering the given {@code TreeSet} of {@code ClusteringObject}s
 	 * in an augmented form. The ordering is archieved in three steps: <br>
@@ -121,15 +230,24 @@ public abstract class ClusterDetector {
 	 * are in the {@code neighborhoodRadius} range (if the {@code clusteringObject} is a real core 
 	 * object) or {@code minNeighbors} objects (if the {@code clusteringObject} has less then 
 	 * {@code minNeighbors} objects in the range of {@code neighborhoodRadius}.
+	 * From {@code parallelThreshold} objects on the objects are processed in parallel, see
+	 * {@link #setParallelThreshold(int)}.
 	 * 
 	 * @param clusteringObjects - a {@code TreeSet} of {@code ClusteringObject}s which should be 
 	 * 	analyzed.
 	 */
-	protected void calculateCoreDistances(TreeSet<? extends ClusteringObject> clusteringObjects) {
-		for (ClusteringObject clusteringObject : clusteringObjects) {
-			calculateNeighborhood(clusteringObject, clusteringObjects);
-			clusteringObject.setCoreDistance(minNeighbors);
-		}
+	protected void calculateCoreDistances(final TreeSet<? extends ClusteringObject> clusteringObjects) {
+		prepareNeighborhoods(clusteringObjects);
+		final ClusteringObject[] objects = clusteringObjects.toArray(new ClusteringObject[clusteringObjects.size()]);
+		ParallelRange.forEach(objects.length, parallelThreshold, new ParallelRange.Body() {
+			@Override
+			public void run(int from, int to) {
+				for (int i = from; i < to; i++) {
+					calculateNeighborhood(objects[i], clusteringObjects);
+					objects[i].setCoreDistance(minNeighbors);
+				}
+			}
+		});
 	}
 	
 	/**
@@ -149,19 +267,19 @@ public abstract class ClusterDetector {
 	 * @param clusteringObject - the current {@code ClusteringObject}.
 	 */
 	protected void calculateReachabilities(TreeSet<? extends ClusteringObject> clusteringObjects) {
-		orderedSeedQueue = new PriorityQueue<>(clusteringObjects.size(), new ReachabilityComparator());
+		orderedSeedQueue = new SeedQueue(clusteringObjects.size());
 		for (ClusteringObject clusteringObject : clusteringObjects) {
 			if (!clusteringObject.isProcessed()) {
 				clusteringObject.setProcessed();
 				clusteringObject.setReachabilityDistance(ClusteringObject.REACHABLE_UNDEFINED);
 				augmentedClusteringObjectList.add(clusteringObject); 
 				
-				updateSeedQueue(clusteringObject);
+				updateSeedQueue(clusteringObject, clusteringObjects);
 				while (!orderedSeedQueue.isEmpty()) {
 					clusteringObject = orderedSeedQueue.poll();
 					clusteringObject.setProcessed();
 					augmentedClusteringObjectList.add(clusteringObject); 
-					updateSeedQueue(clusteringObject);
+					updateSeedQueue(clusteringObject, clusteringObjects);
 				}
 			}
 		}
@@ -173,8 +291,11 @@ public abstract class ClusterDetector {
 	 * reachability distance from the current {@code neighbor} to the {@code clusteringObject} can
 	 * be minimized. The call of the {@link #updateReachabilityDistance(ClusteringObject, double)} 
 	 * handles the update of the reachability distance and the placement in the {@code orderedSeedQueue}.
+	 * The {@code ClusteringObject} only keeps its {@code minNeighbors} nearest neighbors, so the whole 
+	 * neighborhood is searched again by {@link #findNeighbors(ClusteringObject, TreeSet)}. Every object 
+	 * is processed once, so this is done once per object as well.
 	 * <br><br>
-	 * If the current neighbor is one of the {@code minNeighbors} neighbors the reachability distance 
+	 * For each of the {@code minNeighbors} nearest neighbors the reachability distance 
 	 * from the {@code centerObject} to the {@code neighbor} is added up to the 
 	 * {@code neighborsReachabilitySum} which is needed for calculating the local reachability denisity of 
 	 * the {@code centerObject}. This value is set by calling 
@@ -183,27 +304,26 @@ public abstract class ClusterDetector {
 	 * Notice that the reachability distance in this case is the max{core distance of {@code neighbor}, 
 	 * distance of {@code centerObject} to {@code neighbor}}!
 	 * 
-	 * @param neighbors - a {@code Set} of {@code ClusteringObject}s which represent the neighbors of 
-	 * 	the given {@code ClusteringObject}.
-	 * @param clusteringObject - the current processed {@code ClusteringObject}.
+	 * @param centerObject - the current processed {@code ClusteringObject}.
+	 * @param clusteringObjects - a {@code TreeSet} of {@code ClusteringObject}s which should be 
+	 * 	analyzed.
 	 */
-	private void updateSeedQueue(ClusteringObject centerObject) {
+	private void updateSeedQueue(ClusteringObject centerObject, TreeSet<? extends ClusteringObject> clusteringObjects) {
 		double coreDistance = centerObject.getCoreDistance();
-		double neighborsReachabilitySum = 0;
-		
-		int neighborsCount = 0;
-		for (ClusteringObject neighbor : centerObject.getNeighbors()) {
-			double distance = centerObject.getDistance(neighbor);
-			
+		for (ClusteringObject neighbor : findNeighbors(centerObject, clusteringObjects)) {
 			if (!neighbor.isProcessed()) {
-				double newReachabilityDistance = Math.max(coreDistance, distance);
+				double newReachabilityDistance = Math.max(coreDistance, centerObject.getDistance(neighbor));
 				updateReachabilityDistance(neighbor, newReachabilityDistance);
 			}
-			
-			//sum of reachabinility distances from centerObject to neighbors
+		}
+		
+		//sum of reachabinility distances from centerObject to neighbors
+		double neighborsReachabilitySum = 0;
+		int neighborsCount = 0;
+		for (ClusteringObject neighbor : centerObject.getNeighbors()) {
 			if (neighborsCount < minNeighbors) {
 				double neighborsCoreDistance = neighbor.getCoreDistance();
-				double reachabilityDistance = Math.max(neighborsCoreDistance, distance); 
+				double reachabilityDistance = Math.max(neighborsCoreDistance, centerObject.getDistance(neighbor)); 
 				neighborsReachabilitySum += reachabilityDistance;
 				neighborsCount++;
 			}
@@ -217,7 +337,8 @@ public abstract class ClusterDetector {
 	 * neighbor. If the neighbor hasn't had a reachability distance the new calculated distance
 	 * is added as reachability distance and the neighbor is added to the {@code orderedSeedQueue}.
 	 * Otherwise the reachability distance is updated in case the new reachability distance is smaller
-	 * than the existing and the neighbor is moved in the {@code orderedSeedQueue}.
+	 * than the existing and the neighbor is moved in the {@code orderedSeedQueue}. The 
+	 * {@link SeedQueue} knows the position of the neighbor, so moving it takes O(log n).
 	 * 
 	 * @param neighbor - a {@code ClusteringObject}, the current neighbor the reachability distance
 	 *  should be updated for.
@@ -232,9 +353,7 @@ public abstract class ClusterDetector {
 		} else {
 			//update object in orderedSeedList 
 			if (newReachabilityDistance < neighbor.getReachabilityDistance()) {
-				orderedSeedQueue.remove(neighbor);
-				neighbor.setReachabilityDistance(newReachabilityDistance);
-				orderedSeedQueue.add(neighbor);
+				orderedSeedQueue.decreaseReachabilityDistance(neighbor, newReachabilityDistance);
 			}
 		}
 	}
@@ -242,15 +361,22 @@ public abstract class ClusterDetector {
 	/**
 	 * This method iterates over the given {@code TreeSet} of {@code ClusteringObjects} and calls the 
 	 * {@link ClusteringObject#setOutlierFactor(int)} for every entry to calculate the 
-	 * outlier factors.
+	 * outlier factors. From {@code parallelThreshold} objects on the objects are processed in 
+	 * parallel.
 	 * 
 	 * @param clusteringObjects - a {@code TreeSet} of {@code ClusteringObject}s which should be 
 	 * 	analyzed.
 	 */
 	protected void calculateOutlierFactors(TreeSet<? extends ClusteringObject> clusteringObjects) {
-		for (ClusteringObject clusteringObject : clusteringObjects) {
-			clusteringObject.setOutlierFactor(minNeighbors);
-		}
+		final ClusteringObject[] objects = clusteringObjects.toArray(new ClusteringObject[clusteringObjects.size()]);
+		ParallelRange.forEach(objects.length, parallelThreshold, new ParallelRange.Body() {
+			@Override
+			public void run(int from, int to) {
+				for (int i = from; i < to; i++) {
+					objects[i].setOutlierFactor(minNeighbors);
+				}
+			}
+		});
 	}
 	
 	/**
@@ -313,10 +439,36 @@ public abstract class ClusterDetector {
 		}
 	}
 
+	/**
+	 * This method is called before the neighborhoods of the given objects are calculated. Sub 
+	 * classes build their search structures here, because the neighborhoods may be calculated
+	 * by several threads which must only read them. The default implementation does nothing.
+	 * 
+	 * @param clusteringObjects - a {@code Set} of {@code ClusteringObject}s which should be 
+	 *  analyzed.
+	 */
+	protected void prepareNeighborhoods(TreeSet<? extends ClusteringObject> clusteringObjects) {
+	}
+
+	/**
+	 * This abstract method has to be implemented by every sub class. It returns the neighborhood of 
+	 * a given {@code ClusteringObject}: all objects whose distance is less or equal the
+	 * {@code neighborhoodRadius} or the {@code minNeighbors} nearest objects if these are less. The 
+	 * given object itself isn't part of its neighborhood.
+	 * 
+	 * @param clusteringObject - the current {@code ClusteringObject}, which is in the center of the 
+	 * 	{@code neighborhoodRadius}.
+	 * @param clusteringObjects - a {@code Set} of {@code ClusteringObject}s which should be 
+	 *  analyzed.
+	 * @return the neighbors in any order.
+	 */
+	protected abstract List<? extends ClusteringObject> findNeighbors(ClusteringObject clusteringObject, 
+			TreeSet<? extends ClusteringObject> clusteringObjects);
+
 	/**
 	 * This abstract method has to be implemented by every sub class. It determines the neighborhood
 	 * of a given {@code ClusteringObject} regarding the {@code neighborhoodRadius} and the 
-	 * {@code minNeighbors}. 
+	 * {@code minNeighbors} and keeps the {@code minNeighbors} nearest neighbors in the object. 
 	 * 
 	 * @param clusteringObject - the current {@code ClusteringObject}, which is in the center of the 
 	 * 	{@code neighborhoodRadius}.
@@ -0,0 +1,20 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+/**
+ * This enum defines which {@link ClusterDetector} the areal and temporal fusion use.
+ *
+ * @since 18.10.2026
+ */
+public enum ClusteringMethod {
+	/**
+	 * The OPTICS-OF algorithm of the {@link ClusterDetector}, performed by the
+	 * {@link PrimitiveOpticsEngine}. The outliers are determined by their outlier factors.
+	 */
+	OPTICS,
+
+	/**
+	 * The density based clustering of the {@link GridDensityEngine}, which only compares
+	 * objects of adjacent grid cells. It is meant for very large sets.
+	 */
+	GRID
+}
@@ -1,7 +1,6 @@
 package de.fuberlin.panda.metadata.result.fusion.clustering;
 
 import java.util.SortedSet;
-import java.util.TreeSet;
 
 /**
  * This abstract class is a simple data class for sorting data by
@@ -23,6 +22,7 @@ import java.util.TreeSet;
 public abstract class ClusteringObject {
 	protected static final double REACHABLE_UNDEFINED = Double.MAX_VALUE;
 	protected static final double UNDEFINED = -1d;
+	static final int NOT_QUEUED = -1;
 	
 	protected Double coreDistance = UNDEFINED;
 	private double reachabilityDistance = REACHABLE_UNDEFINED;
@@ -30,11 +30,13 @@ public abstract class ClusteringObject {
 	private double outlierFactor = UNDEFINED;
 	
 	private int metadataIndex;
-	protected TreeSet<ClusteringObject> neighbors = new TreeSet<>(new NeighborsComparator());
+	protected NearestNeighbors neighbors = new NearestNeighbors(NearestNeighbors.UNBOUNDED);
 	
 	//help distance to determine the order of neighbors
 	private Double helpEpsilonDistance = 0d;
 	private boolean isProcessed = false;
+	//position in the heap of the SeedQueue
+	private int seedQueuePosition = NOT_QUEUED;
 	
 	private boolean hasMetadata = true;
 	
@@ -128,13 +130,32 @@ public abstract class ClusteringObject {
 		return metadataIndex;
 	}
 	
+	/**
+	 * This method adds a neighbor which is ordered by its current {@code helpEpsilonDistance}.
+	 */
 	public void addNeighbor(ClusteringObject neighbor) {
-		neighbors.add(neighbor);
+		neighbors.add(neighbor, neighbor.getHelpEpsilonDistance());
+	}
+	
+	public void addNeighbor(ClusteringObject neighbor, double distance) {
+		neighbors.add(neighbor, distance);
 	}
 	
-	public TreeSet<ClusteringObject> getNeighbors() {
+	public NearestNeighbors getNeighbors() {
 		return neighbors;
 	}
+	
+	/**
+	 * This method limits the neighbors to the {@code maxNeighbors} nearest ones and removes 
+	 * all neighbors which were added before. The {@code ClusterDetector} keeps only the 
+	 * {@code minNeighbors} nearest neighbors, because OPTICS-OF doesn't need the others for the 
+	 * core distance, the local reachability density and the outlier factor.
+	 * 
+	 * @param maxNeighbors - the maximum number of neighbors or {@link NearestNeighbors#UNBOUNDED}.
+	 */
+	public void setMaxNeighbors(int maxNeighbors) {
+		neighbors = new NearestNeighbors(maxNeighbors);
+	}
 
 	public void setHelpEpsilonDistance(double distance) {
 		helpEpsilonDistance = distance;
@@ -152,6 +173,14 @@ public abstract class ClusteringObject {
 		return isProcessed;
 	}
 	
+	int getSeedQueuePosition() {
+		return seedQueuePosition;
+	}
+	
+	void setSeedQueuePosition(int seedQueuePosition) {
+		this.seedQueuePosition = seedQueuePosition;
+	}
+	
 	public void setNoMetadata() {
 		hasMetadata = false;
 	}
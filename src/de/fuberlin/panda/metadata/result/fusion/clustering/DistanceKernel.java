@@ -0,0 +1,93 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+/**
+ * This class calculates the distances from one query point to a block of candidate points
+ * which are stored contiguously in primitive arrays. The neighborhood indices scan their
+ * leaves and ranges with it instead of calculating one distance after another.<br><br>
+ * The loops are simple counted loops over arrays without branches or calls, so the JIT
+ * compiler unrolls them and uses the SIMD instructions of the processor for the
+ * subtractions, multiplications and square roots. The results are exactly the same as for
+ * the distance methods of the {@code ClusteringObject}s, because every single distance is
+ * calculated by the same operations.
+ *
+ * @see #euclideanDistances(double, double, double[], double[], int, int, double[])
+ * @see #scaledDistances(double, double, double, double, double[], double[], double[], double[], int, int, double[])
+ * @see #absoluteDistances(long, long[], int, int, double[])
+ *
+ * @since 18.10.2026
+ */
+public class DistanceKernel {
+
+	private DistanceKernel() {
+	}
+
+	/**
+	 * This method calculates the euclidean distances from the query point to the points
+	 * {@code [from, to)} of the given coordinate arrays. The distance of point {@code from + i}
+	 * is written to {@code distances[i]}.
+	 *
+	 * @param x - the first coordinate of the query point.
+	 * @param y - the second coordinate of the query point.
+	 * @param xs - the first coordinates of the candidate points.
+	 * @param ys - the second coordinates of the candidate points.
+	 * @param from - the first candidate point.
+	 * @param to - the position behind the last candidate point.
+	 * @param distances - the array the distances are written to, at least {@code to - from} long.
+	 */
+	public static void euclideanDistances(double x, double y, double[] xs, double[] ys, int from, int to,
+			double[] distances) {
+		int length = to - from;
+		for (int i = 0; i < length; i++) {
+			double xDifference = x - xs[from + i];
+			double yDifference = y - ys[from + i];
+			distances[i] = Math.sqrt(yDifference * yDifference + xDifference * xDifference);
+		}
+	}
+
+	/**
+	 * This method calculates the distances from the query point to the points {@code [from, to)}
+	 * of the given coordinate arrays whose first coordinate differences are scaled by
+	 * {@code cos * coss[i] - sin * sins[i]}. It is the geodesic distance of geographic
+	 * coordinates for the cosine and sine of the half latitudes. The distance of point
+	 * {@code from + i} is written to {@code distances[i]}.
+	 *
+	 * @param x - the first coordinate of the query point.
+	 * @param y - the second coordinate of the query point.
+	 * @param cos - the cosine of the query point.
+	 * @param sin - the sine of the query point.
+	 * @param xs - the first coordinates of the candidate points.
+	 * @param ys - the second coordinates of the candidate points.
+	 * @param coss - the cosines of the candidate points.
+	 * @param sins - the sines of the candidate points.
+	 * @param from - the first candidate point.
+	 * @param to - the position behind the last candidate point.
+	 * @param distances - the array the distances are written to, at least {@code to - from} long.
+	 */
+	public static void scaledDistances(double x, double y, double cos, double sin, double[] xs, double[] ys,
+			double[] coss, double[] sins, int from, int to, double[] distances) {
+		int length = to - from;
+		for (int i = 0; i < length; i++) {
+			double xDifference = (x - xs[from + i]) * (cos * coss[from + i] - sin * sins[from + i]);
+			double yDifference = y - ys[from + i];
+			distances[i] = Math.sqrt(yDifference * yDifference + xDifference * xDifference);
+		}
+	}
+
+	/**
+	 * This method calculates the absolute differences from the query value to the values
+	 * {@code [from, to)} of the given array as {@code double} distances. The distance of value
+	 * {@code from + i} is written to {@code distances[i]}.
+	 *
+	 * @param value - the query value.
+	 * @param values - the candidate values.
+	 * @param from - the first candidate value.
+	 * @param to - the position behind the last candidate value.
+	 * @param distances - the array the distances are written to, at least {@code to - from} long.
+	 */
+	public static void absoluteDistances(long value, long[] values, int from, int to, double[] distances) {
+		int length = to - from;
+		for (int i = 0; i < length; i++) {
+			distances[i] = (double) Math.abs(value - values[from + i]);
+		}
+	}
+}
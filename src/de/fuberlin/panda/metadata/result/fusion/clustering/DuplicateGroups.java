@@ -0,0 +1,109 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+import java.util.HashMap;
+
+/**
+ * This class groups clustering objects with equal values, e.g. equal geographical coordinates
+ * or equal timestamps. Every group is clustered as one point whose weight is the number of its
+ * members, so the cost of the clustering depends on the number of distinct values and not on
+ * the number of objects. The groups are numbered in the order of their first member and the
+ * members of a group keep their order, so the first member of a group is the object which
+ * represents it.
+ *
+ * @see #create(Object[], int[])
+ * @see ClusterDetector#setCollapseDuplicates(boolean)
+ *
+ * @since 18.10.2026
+ */
+public class DuplicateGroups {
+	//the members of group g are memberMetadataIndices[memberStarts[g]] to memberMetadataIndices[memberStarts[g + 1] - 1]
+	private int[] memberStarts;
+	private int[] memberMetadataIndices;
+	//the position of the first member of every group in the grouped arrays
+	private int[] firstPositions;
+
+	private DuplicateGroups(int[] memberStarts, int[] memberMetadataIndices, int[] firstPositions) {
+		this.memberStarts = memberStarts;
+		this.memberMetadataIndices = memberMetadataIndices;
+		this.firstPositions = firstPositions;
+	}
+
+	/**
+	 * This method groups the objects by their values. The values are compared by
+	 * {@code equals} and {@code hashCode}.
+	 *
+	 * @param values - the values of the objects, in the order of the analyzed set.
+	 * @param metadataIndices - the metadata indices of the objects in the same order.
+	 * @return the {@code DuplicateGroups} of the objects.
+	 */
+	public static DuplicateGroups create(Object[] values, int[] metadataIndices) {
+		HashMap<Object, Integer> groupIds = new HashMap<>();
+		int[] groupsByPosition = new int[values.length];
+		int[] firstPositions = new int[values.length];
+		int groupCount = 0;
+		for (int position = 0; position < values.length; position++) {
+			Integer groupId = groupIds.get(values[position]);
+			if (groupId == null) {
+				groupId = groupCount;
+				groupIds.put(values[position], groupId);
+				firstPositions[groupCount++] = position;
+			}
+			groupsByPosition[position] = groupId;
+		}
+
+		int[] memberStarts = new int[groupCount + 1];
+		for (int position = 0; position < values.length; position++) {
+			memberStarts[groupsByPosition[position] + 1]++;
+		}
+		for (int group = 0; group < groupCount; group++) {
+			memberStarts[group + 1] += memberStarts[group];
+		}
+		int[] nextMembers = new int[groupCount];
+		System.arraycopy(memberStarts, 0, nextMembers, 0, groupCount);
+		int[] memberMetadataIndices = new int[values.length];
+		for (int position = 0; position < values.length; position++) {
+			memberMetadataIndices[nextMembers[groupsByPosition[position]]++] = metadataIndices[position];
+		}
+
+		int[] trimmedFirstPositions = new int[groupCount];
+		System.arraycopy(firstPositions, 0, trimmedFirstPositions, 0, groupCount);
+		return new DuplicateGroups(memberStarts, memberMetadataIndices, trimmedFirstPositions);
+	}
+
+	/**
+	 * @return the number of groups.
+	 */
+	public int size() {
+		return firstPositions.length;
+	}
+
+	/**
+	 * @return the number of grouped objects.
+	 */
+	public int getMemberCount() {
+		return memberMetadataIndices.length;
+	}
+
+	/**
+	 * @return the number of members of the given group.
+	 */
+	public int getWeight(int group) {
+		return memberStarts[group + 1] - memberStarts[group];
+	}
+
+	/**
+	 * @return the position of the first member of the given group in the grouped arrays.
+	 */
+	public int getFirstPosition(int group) {
+		return firstPositions[group];
+	}
+
+	/**
+	 * @param group - the group.
+	 * @param member - the member, starting with 0.
+	 * @return the metadata index of the member.
+	 */
+	public int getMetadataIndex(int group, int member) {
+		return memberMetadataIndices[memberStarts[group] + member];
+	}
+}
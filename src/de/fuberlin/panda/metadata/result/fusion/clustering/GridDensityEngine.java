@@ -0,0 +1,463 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import de.fuberlin.panda.metadata.MetadataConnector;
+
+/**
+ * This class detects density based clusters in a uniform grid instead of ordering the objects
+ * like the OPTICS-OF algorithm of the {@link ClusterDetector} does. It is meant for very
+ * large sets, where the augmented ordering and the outlier factors are more than needed.
+ * <br><br>
+ * Every object is represented by an id, which is its position in the analyzed set. Sub classes
+ * put the objects into cells whose size is at least the {@code neighborhoodRadius} in every
+ * dimension, so all objects in the radius of an object are in its own or an adjacent cell.
+ * The objects are sorted by their cells, so the objects of a cell are stored contiguously and
+ * their distances are calculated as a block.<br>
+ * An object with at least {@code minNeighbors} other objects in the {@code neighborhoodRadius}
+ * is a core object. A cluster is grown from a core object by adding all objects in the radius
+ * of its core objects, only checking the adjacent cells. The clusters are started from the
+ * objects in the order of their ids and grown breadth first, so the result is deterministic.
+ * Objects which are in no radius of a core object are outliers.<br><br>
+ * The core objects are determined in parallel from {@code parallelThreshold} objects on. If
+ * {@link DuplicateGroups} are set, every id represents a group of objects with equal values,
+ * which counts as often as it has members and whose members are added to the result together.
+ *
+ * @see #detectClusters(List)
+ * @see #setDuplicateGroups(DuplicateGroups)
+ * @see #getCell(int, int)
+ * @see #getDistances(int, int, int, double[])
+ *
+ * @since 18.10.2026
+ */
+public abstract class GridDensityEngine {
+	private static Logger logger = Logger.getLogger(MetadataConnector.class.getName());
+
+	private static final int NO_CLUSTER = 0;
+
+	protected int[] metadataIndices;
+	protected double neighborhoodRadius;
+	protected int minNeighbors;
+	protected int parallelThreshold = ClusterDetector.DEFAULT_PARALLEL_THRESHOLD;
+	private DuplicateGroups duplicateGroups;
+
+	//ids by position and positions by id, the positions are ordered by cell
+	private int[] order;
+	private int[] positions;
+	//the sorted cell keys and the first position of every cell
+	private long[] cellKeys;
+	private int[] cellStarts;
+	//the adjacent cells of cell c are adjacentCells[adjacentStarts[c]] to adjacentCells[adjacentStarts[c + 1] - 1]
+	private int[] adjacentStarts;
+	private int[] adjacentCells;
+	private int maxCellSize = 0;
+
+	private boolean[] coreObjects;
+
+	/**
+	 * @param metadataIndices - the metadata indices of the objects by id.
+	 * @param neighborhoodRadius - the radius in which {@code minNeighbors} objects has to be
+	 * 	to detect a cluster.
+	 * @param minNeighbors - the minimal count of neighbors in the {@code neighborhoodRadius}.
+	 */
+	protected GridDensityEngine(int[] metadataIndices, double neighborhoodRadius, int minNeighbors) {
+		this.metadataIndices = metadataIndices;
+		this.neighborhoodRadius = neighborhoodRadius;
+		this.minNeighbors = minNeighbors;
+	}
+
+	/**
+	 * This method sets the minimal number of objects for which the core objects are determined
+	 * in parallel, see {@link ClusterDetector#setParallelThreshold(int)}.
+	 */
+	public void setParallelThreshold(int parallelThreshold) {
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * This method sets the groups of objects with equal values which the ids represent, see
+	 * {@link PrimitiveOpticsEngine#setDuplicateGroups(DuplicateGroups)}.
+	 *
+	 * @param duplicateGroups - the {@code DuplicateGroups} or {@code null} if every id is one
+	 * 	object.
+	 */
+	public void setDuplicateGroups(DuplicateGroups duplicateGroups) {
+		this.duplicateGroups = duplicateGroups;
+	}
+
+	/**
+	 * This method performs the clustering.
+	 *
+	 * @param noMetadataIndices - the metadata indices of the objects without metadata, which
+	 * 	are added to the result first.
+	 * @return ClusteringResult - a {@code ClusteringResult} object which holds the outlier indices
+	 * 	as well as lists of indices of cluster members.
+	 */
+	public ClusteringResult detectClusters(List<Integer> noMetadataIndices) {
+		createGrid();
+		logger.debug("Grid: put " + order.length + " objects into " + cellKeys.length + " cells");
+		findCoreObjects();
+		logger.debug("Grid: determined all core objects");
+		return createClusterResult(noMetadataIndices);
+	}
+
+	/**
+	 * This method sorts the objects by their cells and determines the adjacent cells of every
+	 * cell. The cell coordinates of the sub class are shifted to 0 and packed into one
+	 * {@code long} key. If the key would overflow, the cells are merged in the dimension with
+	 * the most cells. Two objects in adjacent cells are in the same or in adjacent merged
+	 * cells as well, so the neighborhoods are still complete.
+	 */
+	private void createGrid() {
+		int size = metadataIndices.length;
+		int dimensions = getDimensions();
+		long[][] cells = new long[dimensions][size];
+		long[] minCells = new long[dimensions];
+		//unsigned differences of the biggest and smallest cell
+		long[] cellRanges = new long[dimensions];
+		long[] strides = new long[dimensions];
+		for (int dimension = 0; dimension < dimensions; dimension++) {
+			long minCell = Long.MAX_VALUE;
+			long maxCell = Long.MIN_VALUE;
+			for (int id = 0; id < size; id++) {
+				cells[dimension][id] = getCell(id, dimension);
+				minCell = Math.min(minCell, cells[dimension][id]);
+				maxCell = Math.max(maxCell, cells[dimension][id]);
+			}
+			minCells[dimension] = (size == 0) ? 0 : minCell;
+			cellRanges[dimension] = (size == 0) ? 0 : maxCell - minCell;
+		}
+
+		int[] mergeShifts = new int[dimensions];
+		long[] cellCounts = new long[dimensions];
+		while (true) {
+			double keyCount = 1;
+			int widestDimension = 0;
+			for (int dimension = 0; dimension < dimensions; dimension++) {
+				double cellCount = toUnsignedDouble(cellRanges[dimension] >>> mergeShifts[dimension]) + 1;
+				keyCount *= cellCount;
+				if (cellCount > toUnsignedDouble(cellRanges[widestDimension] >>> mergeShifts[widestDimension]) + 1) {
+					widestDimension = dimension;
+				}
+			}
+			if (keyCount < (1L << 62)) {
+				break;
+			}
+			mergeShifts[widestDimension]++;
+		}
+		long stride = 1;
+		for (int dimension = dimensions - 1; dimension >= 0; dimension--) {
+			cellCounts[dimension] = (cellRanges[dimension] >>> mergeShifts[dimension]) + 1;
+			strides[dimension] = stride;
+			stride *= cellCounts[dimension];
+		}
+
+		long[] keys = new long[size];
+		order = new int[size];
+		for (int id = 0; id < size; id++) {
+			for (int dimension = 0; dimension < dimensions; dimension++) {
+				keys[id] += ((cells[dimension][id] - minCells[dimension]) >>> mergeShifts[dimension])
+						* strides[dimension];
+			}
+			order[id] = id;
+		}
+		cells = null;
+		sort(keys, 0, size - 1);
+
+		positions = new int[size];
+		int cellCount = 0;
+		for (int position = 0; position < size; position++) {
+			positions[order[position]] = position;
+			if (position == 0 || keys[position] != keys[position - 1]) {
+				cellCount++;
+			}
+		}
+		cellKeys = new long[cellCount];
+		cellStarts = new int[cellCount + 1];
+		int cell = -1;
+		for (int position = 0; position < size; position++) {
+			if (position == 0 || keys[position] != keys[position - 1]) {
+				cell++;
+				cellKeys[cell] = keys[position];
+				cellStarts[cell] = position;
+			}
+		}
+		cellStarts[cellCount] = size;
+		for (cell = 0; cell < cellCount; cell++) {
+			maxCellSize = Math.max(maxCellSize, cellStarts[cell + 1] - cellStarts[cell]);
+		}
+
+		findAdjacentCells(dimensions, strides, cellCounts);
+		reorder(order);
+	}
+
+	private static double toUnsignedDouble(long value) {
+		return (value >= 0) ? value : (value >>> 1) * 2d;
+	}
+
+	/**
+	 * This method searches the existing cells of the 3^dimensions cells around every cell,
+	 * the cell itself included.
+	 */
+	private void findAdjacentCells(int dimensions, long[] strides, long[] cellCounts) {
+		int cellCount = cellKeys.length;
+		int offsetCount = 1;
+		for (int dimension = 0; dimension < dimensions; dimension++) {
+			offsetCount *= 3;
+		}
+		adjacentStarts = new int[cellCount + 1];
+		int[] adjacent = new int[cellCount * offsetCount];
+		int adjacentCount = 0;
+		for (int cell = 0; cell < cellCount; cell++) {
+			adjacentStarts[cell] = adjacentCount;
+			for (int offset = 0; offset < offsetCount; offset++) {
+				long key = cellKeys[cell];
+				boolean isInGrid = true;
+				int remainingOffset = offset;
+				for (int dimension = 0; dimension < dimensions && isInGrid; dimension++) {
+					int difference = remainingOffset % 3 - 1;
+					remainingOffset /= 3;
+					long coordinate = (cellKeys[cell] / strides[dimension]) % cellCounts[dimension];
+					long adjacentCoordinate = coordinate + difference;
+					if (adjacentCoordinate < 0 || adjacentCoordinate >= cellCounts[dimension]) {
+						isInGrid = false;
+					}
+					key += difference * strides[dimension];
+				}
+				if (isInGrid) {
+					int adjacentCell = Arrays.binarySearch(cellKeys, key);
+					if (adjacentCell >= 0) {
+						adjacent[adjacentCount++] = adjacentCell;
+					}
+				}
+			}
+		}
+		adjacentStarts[cellCount] = adjacentCount;
+		adjacentCells = Arrays.copyOf(adjacent, adjacentCount);
+	}
+
+	/**
+	 * This method sorts the keys and the ids in {@code order} by key and for equal keys by id.
+	 */
+	private void sort(long[] keys, int left, int right) {
+		while (right - left >= 16) {
+			int mid = (left + right) >>> 1;
+			long pivotKey = keys[mid];
+			int pivotId = order[mid];
+			int i = left;
+			int j = right;
+			while (i <= j) {
+				while (keys[i] < pivotKey || (keys[i] == pivotKey && order[i] < pivotId)) {
+					i++;
+				}
+				while (pivotKey < keys[j] || (keys[j] == pivotKey && pivotId < order[j])) {
+					j--;
+				}
+				if (i <= j) {
+					swap(keys, i++, j--);
+				}
+			}
+			//recursion on the smaller part keeps the stack small
+			if (j - left < right - i) {
+				sort(keys, left, j);
+				left = i;
+			} else {
+				sort(keys, i, right);
+				right = j;
+			}
+		}
+
+		for (int i = left + 1; i <= right; i++) {
+			long key = keys[i];
+			int id = order[i];
+			int j = i - 1;
+			while (j >= left && (key < keys[j] || (key == keys[j] && id < order[j]))) {
+				keys[j + 1] = keys[j];
+				order[j + 1] = order[j];
+				j--;
+			}
+			keys[j + 1] = key;
+			order[j + 1] = id;
+		}
+	}
+
+	private void swap(long[] keys, int i, int j) {
+		long tmpKey = keys[i];
+		keys[i] = keys[j];
+		keys[j] = tmpKey;
+		int tmpId = order[i];
+		order[i] = order[j];
+		order[j] = tmpId;
+	}
+
+	/**
+	 * This method marks every object with at least {@code minNeighbors} other objects in the
+	 * {@code neighborhoodRadius} as core object. The counting stops at {@code minNeighbors}.
+	 */
+	private void findCoreObjects() {
+		coreObjects = new boolean[order.length];
+		ParallelRange.forEach(order.length, parallelThreshold, new ParallelRange.Body() {
+			@Override
+			public void run(int from, int to) {
+				double[] distances = new double[maxCellSize];
+				for (int position = from; position < to; position++) {
+					coreObjects[position] = countNeighbors(position, distances) >= minNeighbors;
+				}
+			}
+		});
+	}
+
+	private int countNeighbors(int position, double[] distances) {
+		//the other members of the group are neighbors at distance 0
+		int count = getWeight(order[position]) - 1;
+		int cell = getCellOf(position);
+		for (int i = adjacentStarts[cell]; i < adjacentStarts[cell + 1] && count < minNeighbors; i++) {
+			int from = cellStarts[adjacentCells[i]];
+			int to = cellStarts[adjacentCells[i] + 1];
+			getDistances(position, from, to, distances);
+			for (int neighbor = from; neighbor < to; neighbor++) {
+				if (neighbor != position && distances[neighbor - from] <= neighborhoodRadius) {
+					count += getWeight(order[neighbor]);
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return the cell of the object at the given position.
+	 */
+	private int getCellOf(int position) {
+		int lo = 0;
+		int hi = cellKeys.length - 1;
+		while (lo < hi) {
+			int mid = (lo + hi + 1) >>> 1;
+			if (cellStarts[mid] <= position) {
+				lo = mid;
+			} else {
+				hi = mid - 1;
+			}
+		}
+		return lo;
+	}
+
+	/**
+	 * This method grows the clusters from the core objects in the order of their ids and adds
+	 * the remaining objects as outliers.
+	 */
+	private ClusteringResult createClusterResult(List<Integer> noMetadataIndices) {
+		ClusteringResult clusteringResult = new ClusteringResult();
+		for (Integer metadataIndex : noMetadataIndices) {
+			clusteringResult.addNoMetadata(metadataIndex);
+		}
+
+		int[] clusters = new int[order.length];
+		int[] queue = new int[order.length];
+		double[] distances = new double[maxCellSize];
+		int clusterId = NO_CLUSTER;
+		for (int id = 0; id < order.length; id++) {
+			int seed = positions[id];
+			if (clusters[seed] != NO_CLUSTER || !coreObjects[seed]) {
+				continue;
+			}
+			clusterId++;
+			clusters[seed] = clusterId;
+			clusteringResult.addToNewCluster(getMetadataIndex(id, 0));
+			addToExistingCluster(clusteringResult, id, 1);
+			int queueStart = 0;
+			int queueEnd = 0;
+			queue[queueEnd++] = seed;
+			while (queueStart < queueEnd) {
+				int position = queue[queueStart++];
+				int cell = getCellOf(position);
+				for (int i = adjacentStarts[cell]; i < adjacentStarts[cell + 1]; i++) {
+					int from = cellStarts[adjacentCells[i]];
+					int to = cellStarts[adjacentCells[i] + 1];
+					getDistances(position, from, to, distances);
+					for (int neighbor = from; neighbor < to; neighbor++) {
+						if (clusters[neighbor] == NO_CLUSTER && distances[neighbor - from] <= neighborhoodRadius) {
+							clusters[neighbor] = clusterId;
+							addToExistingCluster(clusteringResult, order[neighbor], 0);
+							if (coreObjects[neighbor]) {
+								queue[queueEnd++] = neighbor;
+							}
+						}
+					}
+				}
+			}
+		}
+		logger.debug("Grid: grew " + clusterId + " clusters");
+
+		for (int id = 0; id < order.length; id++) {
+			if (clusters[positions[id]] == NO_CLUSTER) {
+				for (int member = 0; member < getWeight(id); member++) {
+					clusteringResult.addOutlier(getMetadataIndex(id, member));
+				}
+			}
+		}
+		return clusteringResult;
+	}
+
+	/**
+	 * This method adds the members of the given id to the current cluster, starting with the
+	 * given member.
+	 */
+	private void addToExistingCluster(ClusteringResult clusteringResult, int id, int firstMember) {
+		for (int member = firstMember; member < getWeight(id); member++) {
+			clusteringResult.addToExistingCluster(getMetadataIndex(id, member));
+		}
+	}
+
+	private int getWeight(int id) {
+		return (duplicateGroups == null) ? 1 : duplicateGroups.getWeight(id);
+	}
+
+	private int getMetadataIndex(int id, int member) {
+		return (duplicateGroups == null) ? metadataIndices[id] : duplicateGroups.getMetadataIndex(id, member);
+	}
+
+	public int size() {
+		return metadataIndices.length;
+	}
+
+	/**
+	 * @return the number of dimensions of the grid.
+	 */
+	protected abstract int getDimensions();
+
+	/**
+	 * This method returns the cell coordinate of an object in the given dimension. The cells
+	 * must be at least as large as the {@code neighborhoodRadius}, so the coordinates of two
+	 * objects in the radius differ at most by one in every dimension. It is called before
+	 * {@link #reorder(int[])}.
+	 *
+	 * @param id - the id of the object.
+	 * @param dimension - the dimension, starting with 0.
+	 * @return the cell coordinate.
+	 */
+	protected abstract long getCell(int id, int dimension);
+
+	/**
+	 * This method rearranges the coordinates of the sub class, so the coordinates at position
+	 * {@code i} are the ones of the object {@code order[i]}. The objects of a cell are stored
+	 * contiguously afterwards.
+	 *
+	 * @param order - the ids by position.
+	 */
+	protected abstract void reorder(int[] order);
+
+	/**
+	 * This method calculates the distances from the object at the given position to the
+	 * objects at the positions {@code [from, to)}. The distance of position {@code from + i}
+	 * is written to {@code distances[i]}. It is called by several threads concurrently.
+	 *
+	 * @param position - the position of the center object.
+	 * @param from - the first position.
+	 * @param to - the position behind the last position.
+	 * @param distances - the array the distances are written to.
+	 */
+	protected abstract void getDistances(int position, int from, int to, double[] distances);
+}
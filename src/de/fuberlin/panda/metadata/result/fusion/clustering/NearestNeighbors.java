@@ -0,0 +1,160 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class keeps the nearest neighbors of a {@link ClusteringObject} in two arrays ordered
+ * like the {@link NeighborsComparator} does, by distance and for equal distances by metadata
+ * index. It holds at most {@code capacity} neighbors: a farther neighbor which is added to a
+ * full list is dropped, a nearer one replaces the farthest. OPTICS-OF only uses the
+ * {@code minNeighbors} nearest neighbors for the core distance, the local reachability
+ * density and the outlier factor, so the memory of a {@code ClusteringObject} doesn't grow
+ * with the density of its neighborhood.<br><br>
+ * The distances are stored when a neighbor is added, so the order doesn't change when the
+ * {@code helpEpsilonDistance} of a neighbor is set again for another center object. The
+ * {@code k}-th neighbor and distance are accessed in O(1).
+ *
+ * @see #add(ClusteringObject, double)
+ * @see #get(int)
+ * @see #getDistance(int)
+ *
+ * @since 18.10.2026
+ */
+public class NearestNeighbors implements Iterable<ClusteringObject> {
+	public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+	private ClusteringObject[] neighbors;
+	private double[] distances;
+	private int size = 0;
+	private int capacity;
+
+	/**
+	 * @param capacity - the maximum number of neighbors or {@link #UNBOUNDED}.
+	 */
+	public NearestNeighbors(int capacity) {
+		this.capacity = Math.max(0, capacity);
+		neighbors = new ClusteringObject[Math.min(this.capacity, 4)];
+		distances = new double[neighbors.length];
+	}
+
+	/**
+	 * This method inserts a neighbor at the position of its distance. If the list is full
+	 * the farthest neighbor is dropped.
+	 *
+	 * @param neighbor - the {@code ClusteringObject} which is a neighbor.
+	 * @param distance - the distance from the center object to the neighbor.
+	 * @return {@code true} if the neighbor is one of the nearest neighbors.
+	 */
+	public boolean add(ClusteringObject neighbor, double distance) {
+		int position = size;
+		while (position > 0 && isLess(neighbor, distance, position - 1)) {
+			position--;
+		}
+		if (position > 0 && distances[position - 1] == distance
+				&& neighbors[position - 1].getMetadataIndex() == neighbor.getMetadataIndex()) {
+			//already added like a TreeSet with the NeighborsComparator does
+			return false;
+		}
+		if (position == capacity) {
+			return false;
+		}
+
+		if (size == capacity) {
+			//drop the farthest neighbor
+			size--;
+		} else if (size == neighbors.length) {
+			int newLength = (int) Math.min(capacity, 2L * size);
+			neighbors = Arrays.copyOf(neighbors, newLength);
+			distances = Arrays.copyOf(distances, newLength);
+		}
+		System.arraycopy(neighbors, position, neighbors, position + 1, size - position);
+		System.arraycopy(distances, position, distances, position + 1, size - position);
+		neighbors[position] = neighbor;
+		distances[position] = distance;
+		size++;
+		return true;
+	}
+
+	/**
+	 * @return {@code true} if the given neighbor is nearer than the neighbor at position {@code i}.
+	 */
+	private boolean isLess(ClusteringObject neighbor, double distance, int i) {
+		if (distance != distances[i]) {
+			return distance < distances[i];
+		}
+		return neighbor.getMetadataIndex() < neighbors[i].getMetadataIndex();
+	}
+
+	/**
+	 * @return the {@code i}-th nearest neighbor, starting with 0.
+	 */
+	public ClusteringObject get(int i) {
+		if (i < 0 || i >= size) {
+			throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+		}
+		return neighbors[i];
+	}
+
+	/**
+	 * @return the distance of the {@code i}-th nearest neighbor, starting with 0.
+	 */
+	public double getDistance(int i) {
+		if (i < 0 || i >= size) {
+			throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+		}
+		return distances[i];
+	}
+
+	public ClusteringObject first() {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		return neighbors[0];
+	}
+
+	public ClusteringObject last() {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		return neighbors[size - 1];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	@Override
+	public Iterator<ClusteringObject> iterator() {
+		return new Iterator<ClusteringObject>() {
+			private int position = 0;
+
+			@Override
+			public boolean hasNext() {
+				return position < size;
+			}
+
+			@Override
+			public ClusteringObject next() {
+				if (position >= size) {
+					throw new NoSuchElementException();
+				}
+				return neighbors[position++];
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+}
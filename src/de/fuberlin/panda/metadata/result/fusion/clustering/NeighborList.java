@@ -0,0 +1,160 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+import java.util.Arrays;
+
+/**
+ * This class is a growable list of neighbors which stores the ids of the neighbors and their
+ * distances in two primitive arrays. It is filled by the neighborhood queries of the
+ * {@link PrimitiveOpticsEngine}, so no objects are created for the neighbors.
+ *
+ * @see #add(int, double)
+ * @see #sort(int[])
+ *
+ * @since 18.10.2026
+ */
+public class NeighborList {
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	private int[] ids;
+	private double[] distances;
+	private int size = 0;
+
+	public NeighborList(int initialCapacity) {
+		ids = new int[Math.max(1, initialCapacity)];
+		distances = new double[ids.length];
+	}
+
+	public void add(int id, double distance) {
+		if (size == ids.length) {
+			ids = Arrays.copyOf(ids, 2 * size);
+			distances = Arrays.copyOf(distances, 2 * size);
+		}
+		ids[size] = id;
+		distances[size] = distance;
+		size++;
+	}
+
+	/**
+	 * This method adds the ids {@code [from, to)} of the given array with the distances
+	 * {@code [0, to - from)} of the other array, as calculated by the {@link DistanceKernel}.
+	 */
+	public void addAll(int[] neighborIds, int from, int to, double[] neighborDistances) {
+		int length = to - from;
+		if (size + length > ids.length) {
+			int newLength = Math.max(2 * ids.length, size + length);
+			ids = Arrays.copyOf(ids, newLength);
+			distances = Arrays.copyOf(distances, newLength);
+		}
+		System.arraycopy(neighborIds, from, ids, size, length);
+		System.arraycopy(neighborDistances, 0, distances, size, length);
+		size += length;
+	}
+
+	public int getId(int i) {
+		return ids[i];
+	}
+
+	public double getDistance(int i) {
+		return distances[i];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * This method removes the first entry with the given id and keeps the order of the others.
+	 *
+	 * @return {@code true} if the id was in the list.
+	 */
+	public boolean remove(int id) {
+		for (int i = 0; i < size; i++) {
+			if (ids[i] == id) {
+				System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+				System.arraycopy(distances, i + 1, distances, i, size - i - 1);
+				size--;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * This method removes all entries behind the first {@code newSize} entries.
+	 */
+	public void truncate(int newSize) {
+		size = Math.min(size, Math.max(0, newSize));
+	}
+
+	/**
+	 * This method sorts the entries like the {@link NeighborsComparator} does, by distance and
+	 * for equal distances by the metadata index of the neighbor.
+	 *
+	 * @param metadataIndices - the metadata indices of all objects by id.
+	 */
+	public void sort(int[] metadataIndices) {
+		sort(0, size - 1, metadataIndices);
+	}
+
+	private void sort(int left, int right, int[] metadataIndices) {
+		while (right - left >= INSERTION_SORT_THRESHOLD) {
+			int mid = (left + right) >>> 1;
+			int pivotId = ids[mid];
+			double pivotDistance = distances[mid];
+			int i = left;
+			int j = right;
+			while (i <= j) {
+				while (isLess(ids[i], distances[i], pivotId, pivotDistance, metadataIndices)) {
+					i++;
+				}
+				while (isLess(pivotId, pivotDistance, ids[j], distances[j], metadataIndices)) {
+					j--;
+				}
+				if (i <= j) {
+					swap(i++, j--);
+				}
+			}
+			//recursion on the smaller part keeps the stack small
+			if (j - left < right - i) {
+				sort(left, j, metadataIndices);
+				left = i;
+			} else {
+				sort(i, right, metadataIndices);
+				right = j;
+			}
+		}
+
+		for (int i = left + 1; i <= right; i++) {
+			int id = ids[i];
+			double distance = distances[i];
+			int j = i - 1;
+			while (j >= left && isLess(id, distance, ids[j], distances[j], metadataIndices)) {
+				ids[j + 1] = ids[j];
+				distances[j + 1] = distances[j];
+				j--;
+			}
+			ids[j + 1] = id;
+			distances[j + 1] = distance;
+		}
+	}
+
+	private static boolean isLess(int xId, double xDistance, int yId, double yDistance, int[] metadataIndices) {
+		if (xDistance != yDistance) {
+			return xDistance < yDistance;
+		}
+		return metadataIndices[xId] < metadataIndices[yId];
+	}
+
+	private void swap(int i, int j) {
+		int tmpId = ids[i];
+		ids[i] = ids[j];
+		ids[j] = tmpId;
+		double tmpDistance = distances[i];
+		distances[i] = distances[j];
+		distances[j] = tmpDistance;
+	}
+}
@@ -0,0 +1,78 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class runs a loop over the index range {@code [0, size)} either serial in the calling
+ * thread or parallel in a fork-join pool. The range is split into partitions which are
+ * processed by the {@link Body}. Every index is processed exactly once, so a body which only
+ * writes the values of its own indices gives the same results in both modes.
+ *
+ * @see #forEach(int, int, Body)
+ *
+ * @since 18.10.2026
+ */
+class ParallelRange {
+	//the worker threads of a ForkJoinPool are daemon threads
+	private static final ForkJoinPool POOL = new ForkJoinPool();
+	private static final int MIN_PARTITION_SIZE = 256;
+
+	/**
+	 * The work which is done for a partition {@code [from, to)} of the range.
+	 */
+	interface Body {
+		void run(int from, int to);
+	}
+
+	private ParallelRange() {
+	}
+
+	/**
+	 * This method processes the range {@code [0, size)} by the given body. The range is
+	 * processed in parallel if {@code size} is at least {@code parallelThreshold}, otherwise
+	 * the body is called once for the whole range.
+	 *
+	 * @param size - the size of the range.
+	 * @param parallelThreshold - the minimal size for a parallel execution.
+	 * @param body - the {@code Body} which processes the partitions.
+	 */
+	static void forEach(int size, int parallelThreshold, Body body) {
+		if (size <= 0) {
+			return;
+		}
+		if (size < parallelThreshold) {
+			body.run(0, size);
+		} else {
+			int partitionSize = Math.max(MIN_PARTITION_SIZE, size / (8 * POOL.getParallelism()));
+			POOL.invoke(new RangeAction(body, 0, size, partitionSize));
+		}
+	}
+
+	private static class RangeAction extends RecursiveAction {
+		private static final long serialVersionUID = 6520914387203462541L;
+
+		private Body body;
+		private int from;
+		private int to;
+		private int partitionSize;
+
+		private RangeAction(Body body, int from, int to, int partitionSize) {
+			this.body = body;
+			this.from = from;
+			this.to = to;
+			this.partitionSize = partitionSize;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= partitionSize) {
+				body.run(from, to);
+			} else {
+				int mid = (from + to) >>> 1;
+				invokeAll(new RangeAction(body, from, mid, partitionSize),
+						new RangeAction(body, mid, to, partitionSize));
+			}
+		}
+	}
+}
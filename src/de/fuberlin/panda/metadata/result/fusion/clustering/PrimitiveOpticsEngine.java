@@ -0,0 +1,468 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import de.fuberlin.panda.metadata.MetadataConnector;
+
+/**
+ * This class performs the same OPTICS-OF algorithm as the {@link ClusterDetector}, but it
+ * doesn't work on {@link ClusteringObject}s. Every object is represented by an id, which is
+ * its position in the analyzed set. The core distances, reachability distances, local
+ * reachability densities and outlier factors are stored in parallel {@code double} arrays.
+ * Like the {@link NearestNeighbors} of a {@code ClusteringObject} only the {@code minNeighbors}
+ * nearest neighbors of every object are kept, ordered by distance and metadata index like the
+ * {@link NeighborsComparator} does: the neighbors of the object {@code id} are
+ * {@code neighborIds[id * minNeighbors]} to {@code neighborIds[(id + 1) * minNeighbors - 1]}.
+ * So the memory per object doesn't grow with the density and the core distance is accessed in
+ * O(1). The whole neighborhood is only needed to update the seed list, it is searched again
+ * when an object is processed.<br><br>
+ * The objects are processed in the same order as the {@code ClusterDetector} processes
+ * them, so the returned {@link ClusteringResult} is exactly the same. Sub classes only
+ * provide the neighborhood queries on their primitive coordinates.<br><br>
+ * If {@link DuplicateGroups} are set, every id represents a group of objects with equal values
+ * and the members count as neighbors: a group of {@code w} members has {@code w - 1} neighbors
+ * at distance 0 and counts {@code w} times as neighbor of the other objects. A neighbor which
+ * only counts partly for the {@code minNeighbors} nearest neighbors is stored with the number
+ * of members which count, neighbors with equal distances are chosen by the metadata index of
+ * their first member. The own members have the same local reachability density, so they add 1
+ * to the outlier factor even if the density is infinite. The group is assigned as a whole: its
+ * members are added to the result together with the first member.
+ *
+ * @see #detectClusters(List)
+ * @see #setDuplicateGroups(DuplicateGroups)
+ * @see #rangeQuery(int, double, NeighborList)
+ * @see #nearestNeighbors(int, int, NeighborList)
+ *
+ * @since 18.10.2026
+ */
+public abstract class PrimitiveOpticsEngine {
+	private static Logger logger = Logger.getLogger(MetadataConnector.class.getName());
+
+	private static final int NOT_QUEUED = -1;
+
+	protected int[] metadataIndices;
+	protected double neighborhoodRadius;
+	protected int minNeighbors;
+	protected double maxOutlierFactor;
+	protected int parallelThreshold = ClusterDetector.DEFAULT_PARALLEL_THRESHOLD;
+	private DuplicateGroups duplicateGroups;
+
+	//the minNeighbors nearest neighbors of every object, neighborCount entries are reserved per object
+	private int neighborCount;
+	private int[] neighborIds;
+	private double[] neighborDistances;
+	//the used entries and, for duplicate groups, the number of members which count per entry
+	private int[] neighborSizes;
+	private int[] neighborWeights;
+	//the number of neighbors an object counts for the core distance
+	private int countedNeighbors;
+	private NeighborList rangeNeighbors;
+
+	private double[] coreDistances;
+	private double[] reachabilityDistances;
+	private double[] localReachabilityDensities;
+	private double[] outlierFactors;
+	private boolean[] processed;
+
+	private int[] ordering;
+	private int orderingSize = 0;
+
+	private int[] seedHeap;
+	private int[] seedQueuePositions;
+	private int seedHeapSize = 0;
+
+	/**
+	 * @param metadataIndices - the metadata indices of the objects by id.
+	 * @param neighborhoodRadius - the radius in which {@code minNeighbors} objects has to be
+	 * 	to detect a cluster.
+	 * @param minNeighbors - the minimal count of neighbors in the {@code neighborhoodRadius}.
+	 * @param maxOutlierFactor - the maximum outlier factor for which an object still belongs
+	 * 	to a cluster.
+	 */
+	protected PrimitiveOpticsEngine(int[] metadataIndices, double neighborhoodRadius, int minNeighbors,
+			double maxOutlierFactor) {
+		this.metadataIndices = metadataIndices;
+		this.neighborhoodRadius = neighborhoodRadius;
+		this.minNeighbors = minNeighbors;
+		this.maxOutlierFactor = maxOutlierFactor;
+	}
+
+	/**
+	 * This method sets the minimal number of objects for which the neighborhoods and the outlier
+	 * factors are calculated in parallel, see {@link ClusterDetector#setParallelThreshold(int)}.
+	 */
+	public void setParallelThreshold(int parallelThreshold) {
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * This method sets the groups of objects with equal values which the ids represent. The
+	 * metadata index of an id has to be the one of the first member of its group.
+	 *
+	 * @param duplicateGroups - the {@code DuplicateGroups} or {@code null} if every id is one
+	 * 	object.
+	 */
+	public void setDuplicateGroups(DuplicateGroups duplicateGroups) {
+		this.duplicateGroups = duplicateGroups;
+	}
+
+	/**
+	 * This method performs the clustering like {@link ClusterDetector#detectClusters(java.util.TreeSet)}
+	 * does.
+	 *
+	 * @param noMetadataIndices - the metadata indices of the objects without metadata, which
+	 * 	are added to the result first.
+	 * @return ClusteringResult - a {@code ClusteringResult} object which holds the outlier indices
+	 * 	as well as lists of indices of cluster members.
+	 */
+	public ClusteringResult detectClusters(List<Integer> noMetadataIndices) {
+		int size = metadataIndices.length;
+		coreDistances = new double[size];
+		reachabilityDistances = new double[size];
+		localReachabilityDensities = new double[size];
+		outlierFactors = new double[size];
+		processed = new boolean[size];
+
+		calculateNeighborhoods();
+		logger.debug("OPTICS: calculated all core distances");
+		calculateReachabilities();
+		logger.debug("OPTICS: calculated all reachability distances");
+		calculateOutlierFactors();
+		logger.debug("OPTICS: calculated all outlier factor");
+		return createClusterResult(noMetadataIndices);
+	}
+
+	/**
+	 * This method calculates the {@code minNeighbors} nearest neighbors of every object. These
+	 * are the first {@code minNeighbors} objects of the neighborhood which the
+	 * {@link ClusterDetector#calculateNeighborhood(ClusteringObject, java.util.TreeSet)}
+	 * implementations determine, no matter whether the neighborhood is the range of the
+	 * {@code neighborhoodRadius} or the nearest objects. The core distance is the distance to
+	 * the {@code minNeighbors}-th neighbor, or {@code Double.MAX_VALUE} if there are less
+	 * objects. Every object only writes its own entries, so they are calculated in parallel
+	 * from {@code parallelThreshold} objects on.
+	 */
+	private void calculateNeighborhoods() {
+		int size = metadataIndices.length;
+		long objectCount = (duplicateGroups == null) ? size : duplicateGroups.getMemberCount();
+		countedNeighbors = (int) Math.max(0, Math.min(minNeighbors, objectCount - 1));
+		neighborCount = Math.max(0, Math.min(minNeighbors, size - 1));
+		neighborIds = new int[size * neighborCount];
+		neighborDistances = new double[neighborIds.length];
+		neighborSizes = new int[size];
+		neighborWeights = (duplicateGroups == null) ? null : new int[neighborIds.length];
+		rangeNeighbors = new NeighborList(4 * minNeighbors);
+
+		ParallelRange.forEach(size, parallelThreshold, new ParallelRange.Body() {
+			@Override
+			public void run(int from, int to) {
+				calculateNeighborhoods(from, to);
+			}
+		});
+	}
+
+	private void calculateNeighborhoods(int from, int to) {
+		NeighborList neighbors = new NeighborList(minNeighbors + 1);
+		for (int id = from; id < to; id++) {
+			//every other member of the own group is a neighbor at distance 0
+			int missingNeighbors = countedNeighbors - getDuplicateCount(id);
+			//the object itself may be one of the missingNeighbors + 1 nearest objects
+			neighbors.clear();
+			nearestNeighbors(id, missingNeighbors + 1, neighbors);
+			if (!neighbors.remove(id)) {
+				neighbors.truncate(missingNeighbors);
+			}
+			neighbors.sort(metadataIndices);
+
+			int offset = id * neighborCount;
+			int size = 0;
+			double lastDistance = 0;
+			for (int i = 0; i < neighbors.size() && missingNeighbors > 0; i++) {
+				neighborIds[offset + size] = neighbors.getId(i);
+				neighborDistances[offset + size] = neighbors.getDistance(i);
+				if (neighborWeights != null) {
+					neighborWeights[offset + size] = Math.min(missingNeighbors, getWeight(neighbors.getId(i)));
+					missingNeighbors -= neighborWeights[offset + size];
+				} else {
+					missingNeighbors--;
+				}
+				lastDistance = neighbors.getDistance(i);
+				size++;
+			}
+			neighborSizes[id] = size;
+
+			if (minNeighbors > 0 && countedNeighbors == minNeighbors) {
+				coreDistances[id] = lastDistance;
+			} else {
+				coreDistances[id] = Double.MAX_VALUE;
+			}
+		}
+	}
+
+	private int getWeight(int id) {
+		return (duplicateGroups == null) ? 1 : duplicateGroups.getWeight(id);
+	}
+
+	/**
+	 * @return the number of the other members of the group which count as neighbors.
+	 */
+	private int getDuplicateCount(int id) {
+		return Math.min(countedNeighbors, getWeight(id) - 1);
+	}
+
+	/**
+	 * @return the number of members of the neighbor entry which count as neighbors.
+	 */
+	private int getNeighborWeight(int i) {
+		return (neighborWeights == null) ? 1 : neighborWeights[i];
+	}
+
+	/**
+	 * This method creates the augmented cluster ordering like
+	 * {@link ClusterDetector#calculateReachabilities(java.util.TreeSet)} does.
+	 */
+	private void calculateReachabilities() {
+		int size = metadataIndices.length;
+		Arrays.fill(reachabilityDistances, ClusteringObject.REACHABLE_UNDEFINED);
+		Arrays.fill(localReachabilityDensities, ClusteringObject.UNDEFINED);
+		ordering = new int[Math.max(1, size)];
+		seedHeap = new int[Math.max(1, size)];
+		seedQueuePositions = new int[size];
+		Arrays.fill(seedQueuePositions, NOT_QUEUED);
+
+		for (int id = 0; id < size; id++) {
+			if (!processed[id]) {
+				processed[id] = true;
+				reachabilityDistances[id] = ClusteringObject.REACHABLE_UNDEFINED;
+				addToOrdering(id);
+
+				updateSeedQueue(id);
+				while (seedHeapSize > 0) {
+					int seedId = pollSeed();
+					processed[seedId] = true;
+					addToOrdering(seedId);
+					updateSeedQueue(seedId);
+				}
+			}
+		}
+	}
+
+	/**
+	 * This method updates the reachability distances of the unprocessed neighbors of the given
+	 * object and calculates its local reachability density, see
+	 * {@link ClusterDetector#updateSeedQueue(ClusteringObject, java.util.TreeSet)}.
+	 */
+	private void updateSeedQueue(int centerId) {
+		double coreDistance = coreDistances[centerId];
+		int offset = centerId * neighborCount;
+		int end = offset + neighborSizes[centerId];
+
+		//the neighborhood is the range if there are at least minNeighbors objects in it
+		if (countedNeighbors == minNeighbors && (minNeighbors == 0 || coreDistance <= neighborhoodRadius)) {
+			rangeNeighbors.clear();
+			rangeQuery(centerId, neighborhoodRadius, rangeNeighbors);
+			for (int i = 0; i < rangeNeighbors.size(); i++) {
+				if (rangeNeighbors.getId(i) != centerId) {
+					updateReachabilityDistance(rangeNeighbors.getId(i), coreDistance, rangeNeighbors.getDistance(i));
+				}
+			}
+		} else {
+			for (int i = offset; i < end; i++) {
+				updateReachabilityDistance(neighborIds[i], coreDistance, neighborDistances[i]);
+			}
+		}
+
+		//the reachability distance of the other members of the group is the own core distance
+		double neighborsReachabilitySum = 0;
+		if (getDuplicateCount(centerId) > 0) {
+			neighborsReachabilitySum = getDuplicateCount(centerId) * coreDistance;
+		}
+		for (int i = offset; i < end; i++) {
+			neighborsReachabilitySum +=
+					getNeighborWeight(i) * Math.max(coreDistances[neighborIds[i]], neighborDistances[i]);
+		}
+		localReachabilityDensities[centerId] = 1 / (neighborsReachabilitySum / minNeighbors);
+	}
+
+	private void updateReachabilityDistance(int neighborId, double coreDistance, double distance) {
+		if (!processed[neighborId]) {
+			double newReachabilityDistance = Math.max(coreDistance, distance);
+			if (reachabilityDistances[neighborId] == ClusteringObject.REACHABLE_UNDEFINED) {
+				reachabilityDistances[neighborId] = newReachabilityDistance;
+				addSeed(neighborId);
+			} else if (newReachabilityDistance < reachabilityDistances[neighborId]) {
+				reachabilityDistances[neighborId] = newReachabilityDistance;
+				decreaseSeed(neighborId);
+			}
+		}
+	}
+
+	/**
+	 * This method calculates the outlier factor of every object like
+	 * {@link ClusteringObject#setOutlierFactor(int)} does.
+	 */
+	private void calculateOutlierFactors() {
+		ParallelRange.forEach(metadataIndices.length, parallelThreshold, new ParallelRange.Body() {
+			@Override
+			public void run(int from, int to) {
+				calculateOutlierFactors(from, to);
+			}
+		});
+	}
+
+	private void calculateOutlierFactors(int from, int to) {
+		for (int id = from; id < to; id++) {
+			//the other members of the group have the same density, even if it is infinite
+			double localReachabilityDensityRatio = getDuplicateCount(id);
+			for (int i = id * neighborCount; i < id * neighborCount + neighborSizes[id]; i++) {
+				localReachabilityDensityRatio += getNeighborWeight(i)
+						* (localReachabilityDensities[neighborIds[i]] / localReachabilityDensities[id]);
+			}
+			outlierFactors[id] = localReachabilityDensityRatio / minNeighbors;
+		}
+	}
+
+	/**
+	 * This method creates the {@code ClusteringResult} from the ordering like
+	 * {@link ClusterDetector#createClusterResult()} does.
+	 */
+	private ClusteringResult createClusterResult(List<Integer> noMetadataIndices) {
+		boolean wasPreviousObjectOutlier = false;
+		ClusteringResult clusteringResult = new ClusteringResult();
+		for (Integer metadataIndex : noMetadataIndices) {
+			clusteringResult.addNoMetadata(metadataIndex);
+		}
+
+		for (int i = 0; i < orderingSize; i++) {
+			int id = ordering[i];
+			boolean hasReachabilityDistance =
+					reachabilityDistances[id] != ClusteringObject.REACHABLE_UNDEFINED;
+			if (!hasReachabilityDistance || outlierFactors[id] > maxOutlierFactor) {
+				if (outlierFactors[id] <= maxOutlierFactor) {
+					clusteringResult.addToNewCluster(metadataIndices[id]);
+					wasPreviousObjectOutlier = false;
+				} else {
+					clusteringResult.addOutlier(metadataIndices[id]);
+					wasPreviousObjectOutlier = true;
+				}
+			} else if (wasPreviousObjectOutlier) {
+				clusteringResult.addToNewCluster(metadataIndices[id]);
+				wasPreviousObjectOutlier = false;
+			} else {
+				clusteringResult.addToExistingCluster(metadataIndices[id]);
+			}
+
+			//the other members of a group get the same assignment as the first one
+			for (int member = 1; member < getWeight(id); member++) {
+				if (wasPreviousObjectOutlier) {
+					clusteringResult.addOutlier(duplicateGroups.getMetadataIndex(id, member));
+				} else {
+					clusteringResult.addToExistingCluster(duplicateGroups.getMetadataIndex(id, member));
+				}
+			}
+		}
+		return clusteringResult;
+	}
+
+	private void addToOrdering(int id) {
+		if (orderingSize == ordering.length) {
+			ordering = Arrays.copyOf(ordering, 2 * orderingSize);
+		}
+		ordering[orderingSize++] = id;
+	}
+
+	/**
+	 * The seed queue is an addressable binary min-heap of ids like the {@link SeedQueue}.
+	 */
+	private void addSeed(int id) {
+		if (seedHeapSize == seedHeap.length) {
+			seedHeap = Arrays.copyOf(seedHeap, 2 * seedHeapSize);
+		}
+		seedHeap[seedHeapSize] = id;
+		seedQueuePositions[id] = seedHeapSize;
+		siftUp(seedHeapSize++);
+	}
+
+	private int pollSeed() {
+		int first = seedHeap[0];
+		seedHeapSize--;
+		if (seedHeapSize > 0) {
+			moveSeed(seedHeap[seedHeapSize], 0);
+			siftDown(0);
+		}
+		seedQueuePositions[first] = NOT_QUEUED;
+		return first;
+	}
+
+	private void decreaseSeed(int id) {
+		int position = seedQueuePositions[id];
+		if (position >= 0 && position < seedHeapSize && seedHeap[position] == id) {
+			siftUp(position);
+		} else {
+			addSeed(id);
+		}
+	}
+
+	private void siftUp(int position) {
+		int id = seedHeap[position];
+		while (position > 0) {
+			int parent = (position - 1) >>> 1;
+			if (!isLess(id, seedHeap[parent])) {
+				break;
+			}
+			moveSeed(seedHeap[parent], position);
+			position = parent;
+		}
+		moveSeed(id, position);
+	}
+
+	private void siftDown(int position) {
+		int id = seedHeap[position];
+		int half = seedHeapSize >>> 1;
+		while (position < half) {
+			int child = 2 * position + 1;
+			if (child + 1 < seedHeapSize && isLess(seedHeap[child + 1], seedHeap[child])) {
+				child++;
+			}
+			if (!isLess(seedHeap[child], id)) {
+				break;
+			}
+			moveSeed(seedHeap[child], position);
+			position = child;
+		}
+		moveSeed(id, position);
+	}
+
+	private void moveSeed(int id, int position) {
+		seedHeap[position] = id;
+		seedQueuePositions[id] = position;
+	}
+
+	private boolean isLess(int x, int y) {
+		if (reachabilityDistances[x] != reachabilityDistances[y]) {
+			return reachabilityDistances[x] < reachabilityDistances[y];
+		}
+		return metadataIndices[x] < metadataIndices[y];
+	}
+
+	/**
+	 * This method adds all objects whose distance to the object {@code id} is less or equal
+	 * the {@code radius} in any order. The object itself may be added as well.
+	 */
+	protected abstract void rangeQuery(int id, double radius, NeighborList neighbors);
+
+	/**
+	 * This method adds the {@code k} objects which are nearest to the object {@code id}.
+	 * Objects with the same distance are chosen by their metadata index like the
+	 * {@code NeighborsComparator} does. The object itself may be one of them. This method is
+	 * called by several threads at the same time if the objects are processed in parallel.
+	 */
+	protected abstract void nearestNeighbors(int id, int k, NeighborList neighbors);
+
+	public int size() {
+		return metadataIndices.length;
+	}
+}
@@ -0,0 +1,144 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+import java.util.Arrays;
+
+/**
+ * This class is the ordered seed list of the OPTICS algorithm. It is an addressable binary
+ * min-heap of {@link ClusteringObject}s ordered like the {@link ReachabilityComparator}
+ * does, by reachability distance and for equal distances by metadata index. Every object
+ * knows its position in the heap, so its reachability distance can be decreased in O(log n)
+ * by {@link #decreaseReachabilityDistance(ClusteringObject, double)} instead of removing it
+ * with a linear search and adding it again.
+ *
+ * @see #add(ClusteringObject)
+ * @see #poll()
+ * @see #decreaseReachabilityDistance(ClusteringObject, double)
+ *
+ * @since 18.10.2026
+ */
+public class SeedQueue {
+	private ClusteringObject[] heap;
+	private int size = 0;
+
+	/**
+	 * @param initialCapacity - the expected maximum number of objects in the queue.
+	 */
+	public SeedQueue(int initialCapacity) {
+		heap = new ClusteringObject[Math.max(1, initialCapacity)];
+	}
+
+	/**
+	 * This method adds the given object with its current reachability distance.
+	 *
+	 * @param clusteringObject - a {@code ClusteringObject} which isn't in the queue yet.
+	 */
+	public void add(ClusteringObject clusteringObject) {
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, 2 * heap.length);
+		}
+		heap[size] = clusteringObject;
+		clusteringObject.setSeedQueuePosition(size);
+		siftUp(size++);
+	}
+
+	/**
+	 * This method removes and returns the object with the smallest reachability distance.
+	 *
+	 * @return the first {@code ClusteringObject} or {@code null} if the queue is empty.
+	 */
+	public ClusteringObject poll() {
+		if (size == 0) {
+			return null;
+		}
+		ClusteringObject first = heap[0];
+		size--;
+		if (size > 0) {
+			move(heap[size], 0);
+			siftDown(0);
+		}
+		heap[size] = null;
+		first.setSeedQueuePosition(ClusteringObject.NOT_QUEUED);
+		return first;
+	}
+
+	/**
+	 * This method sets the smaller reachability distance of an object in the queue and moves
+	 * the object to its new position. An object which isn't in the queue yet is added.
+	 *
+	 * @param clusteringObject - the {@code ClusteringObject} whose distance decreases.
+	 * @param reachabilityDistance - the new reachability distance, which must not be greater
+	 * 	than the current one.
+	 */
+	public void decreaseReachabilityDistance(ClusteringObject clusteringObject, double reachabilityDistance) {
+		clusteringObject.setReachabilityDistance(reachabilityDistance);
+		if (contains(clusteringObject)) {
+			siftUp(clusteringObject.getSeedQueuePosition());
+		} else {
+			add(clusteringObject);
+		}
+	}
+
+	/**
+	 * @return {@code true} if the given object is in this queue.
+	 */
+	public boolean contains(ClusteringObject clusteringObject) {
+		int position = clusteringObject.getSeedQueuePosition();
+		return position >= 0 && position < size && heap[position] == clusteringObject;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	private void siftUp(int position) {
+		ClusteringObject clusteringObject = heap[position];
+		while (position > 0) {
+			int parent = (position - 1) >>> 1;
+			if (!isLess(clusteringObject, heap[parent])) {
+				break;
+			}
+			move(heap[parent], position);
+			position = parent;
+		}
+		move(clusteringObject, position);
+	}
+
+	private void siftDown(int position) {
+		ClusteringObject clusteringObject = heap[position];
+		int half = size >>> 1;
+		while (position < half) {
+			int child = 2 * position + 1;
+			if (child + 1 < size && isLess(heap[child + 1], heap[child])) {
+				child++;
+			}
+			if (!isLess(heap[child], clusteringObject)) {
+				break;
+			}
+			move(heap[child], position);
+			position = child;
+		}
+		move(clusteringObject, position);
+	}
+
+	private void move(ClusteringObject clusteringObject, int position) {
+		heap[position] = clusteringObject;
+		clusteringObject.setSeedQueuePosition(position);
+	}
+
+	/**
+	 * @return {@code true} if {@code x} is in front of {@code y} regarding the
+	 * 	{@link ReachabilityComparator}.
+	 */
+	private static boolean isLess(ClusteringObject x, ClusteringObject y) {
+		double xDistance = x.getReachabilityDistance();
+		double yDistance = y.getReachabilityDistance();
+		if (xDistance != yDistance) {
+			return xDistance < yDistance;
+		}
+		return x.getMetadataIndex() < y.getMetadataIndex();
+	}
+}
@@ -1,7 +1,8 @@
 package de.fuberlin.panda.metadata.result.fusion.temporal;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.PriorityQueue;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -11,13 +12,14 @@ import de.fuberlin.panda.metadata.MetadataConnector;
 import de.fuberlin.panda.metadata.result.fusion.clustering.ClusterDetector;
 import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringObject;
 import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringResult;
-import de.fuberlin.panda.metadata.result.fusion.clustering.NeighborsComparator;
+import de.fuberlin.panda.metadata.result.fusion.clustering.DuplicateGroups;
+import de.fuberlin.panda.metadata.result.fusion.clustering.PrimitiveOpticsEngine;
 
 /**
  * This class is a subclass of {@link ClusterDetector}. It extends the 
  * {@link ClusterDetector#detectClusters(Set)} method for eliminating all temporal
  * outliers without a timestamp. It also overrides the {@link #calculateNeighborhood(ClusteringObject, Set)}
- * method.
+ * method, which searches the neighbors with a {@link TemporalNeighborhoodIndex}.
  * 
  * @see #TemporalClusterDetector(double, int)
  * @see #detectClusters(Set)
@@ -30,6 +32,10 @@ import de.fuberlin.panda.metadata.result.fusion.clustering.NeighborsComparator;
 public class TemporalClusterDetector extends ClusterDetector {
 	private static Logger logger = Logger.getLogger(MetadataConnector.class.getName());
 	
+	private TemporalNeighborhoodIndex neighborhoodIndex = null;
+	private TreeSet<? extends ClusteringObject> indexedObjects = null;
+	private int indexedObjectsCount = 0;
+	
 	public TemporalClusterDetector(double neighborhoodRadius, int minNeighbors) {
 		super(neighborhoodRadius, minNeighbors);
 	}
@@ -76,40 +82,122 @@ public class TemporalClusterDetector extends ClusterDetector {
 	}
 	
 	/**
-	 * This method builds {@code SortedSet} of {@code ClusteringObjects} which represent the 
-	 * neighbors of a given {@code ClusteringObject}. It checks for each neighbor if its distance
-	 * to the given object is less or equal the {@code neighborhoodRadius} and adds it to the set.
-	 * The set is sorted by the {@code helpEpsilonDistance} which represents the distance from the 
-	 * given object to the neighbor. Because of that reason it is easier to calculate the core distance 
-	 * of a {@code TemporaltClusteringObject}.<br><br>
-	 * This method heavily influences the runtime of the OPTICS algorithm!
+	 * This method builds the index of the {@code clusteringObjects} before the neighborhoods are
+	 * calculated, so it is only read while they are calculated in parallel.
+	 */
+	@Override
+	protected void prepareNeighborhoods(TreeSet<? extends ClusteringObject> clusteringObjects) {
+		getNeighborhoodIndex(clusteringObjects);
+	}
+	
+	/**
+	 * This method keeps the {@code minNeighbors} nearest objects of the neighborhood returned by
+	 * {@link #findNeighbors(ClusteringObject, TreeSet)} as neighbors of the given 
+	 * {@code ClusteringObject}. They are sorted by their distance to the given object, so the 
+	 * core distance is the distance of the last one. The farther neighbors aren't needed for the 
+	 * core distance and the outlier factor, so the memory doesn't grow with the density.<br><br>
+	 * This method heavily influences the runtime of the OPTICS algorithm! Therefore the neighbors
+	 * are searched by the {@link TemporalNeighborhoodIndex} of the {@code clusteringObjects} in O(log n) 
+	 * instead of comparing the object with every other object.
 	 */
 	@Override
 	protected void calculateNeighborhood(ClusteringObject clusteringObject,
 			TreeSet<? extends ClusteringObject> clusteringObjects) {
-		PriorityQueue<ClusteringObject> distancedNeighbors = 
-				new PriorityQueue<>(clusteringObjects.size(), new NeighborsComparator());
-		
-		//FIXME Set O(n^2) -> Tree O(n *log n) (treebased approach)
-		for (ClusteringObject neighbor : clusteringObjects) {
-			if (!neighbor.equals(clusteringObject)) {
-				TemporalClusteringObject temporalNeighbor = (TemporalClusteringObject) neighbor;
-				double distance = clusteringObject.getDistance(temporalNeighbor);
-				neighbor.setHelpEpsilonDistance(distance);
-				if (distance <= neighborhoodRadius) {
-					clusteringObject.addNeighbor(neighbor);
-				} else {
-					distancedNeighbors.add(neighbor);
-				}
-			}
-		}
-		
-		while (clusteringObject.getNeighbors().size() < minNeighbors) {
-			clusteringObject.addNeighbor(distancedNeighbors.poll());
+		clusteringObject.setMaxNeighbors(minNeighbors);
+		for (ClusteringObject neighbor : findNeighbors(clusteringObject, clusteringObjects)) {
+			clusteringObject.addNeighbor(neighbor, clusteringObject.getDistance(neighbor));
 		}
 		logger.debug("--> Successfully calculated neighborhood for clustering object with metadata index '"
 				+ clusteringObject.getMetadataIndex() + "'");
-			
+	}
+	
+	/**
+	 * This method returns all objects whose distance to the given object is less or equal the 
+	 * {@code neighborhoodRadius} or the {@code minNeighbors} nearest objects if these are less. 
+	 * The objects are searched by the {@link TemporalNeighborhoodIndex} of the {@code clusteringObjects}.
+	 */
+	@Override
+	protected List<TemporalClusteringObject> findNeighbors(ClusteringObject clusteringObject,
+			TreeSet<? extends ClusteringObject> clusteringObjects) {
+		TemporalClusteringObject temporalObject = (TemporalClusteringObject) clusteringObject;
+		TemporalNeighborhoodIndex index = getNeighborhoodIndex(clusteringObjects);
+		
+		List<TemporalClusteringObject> neighbors = index.rangeQuery(temporalObject, neighborhoodRadius);
+		if (neighbors.size() < minNeighbors) {
+			neighbors = index.nearestNeighbors(temporalObject, minNeighbors);
+		}
+		return neighbors;
+	}
+	
+	/**
+	 * This method creates a {@link TemporalPrimitiveOpticsEngine} of the timestamps in the
+	 * order of the set.
+	 */
+	@Override
+	protected PrimitiveOpticsEngine createPrimitiveEngine(TreeSet<? extends ClusteringObject> clusteringObjects) {
+		List<TemporalClusteringObject> temporalObjects = new ArrayList<>(clusteringObjects.size());
+		for (ClusteringObject clusteringObject : clusteringObjects) {
+			temporalObjects.add((TemporalClusteringObject) clusteringObject);
+		}
+
+		DuplicateGroups duplicateGroups = createDuplicateGroups(temporalObjects);
+		int size = (duplicateGroups == null) ? temporalObjects.size() : duplicateGroups.size();
+		long[] timestamps = new long[size];
+		int[] metadataIndices = new int[size];
+		for (int id = 0; id < size; id++) {
+			TemporalClusteringObject temporalObject = 
+					temporalObjects.get((duplicateGroups == null) ? id : duplicateGroups.getFirstPosition(id));
+			timestamps[id] = temporalObject.getTimestamp();
+			metadataIndices[id] = temporalObject.getMetadataIndex();
+		}
+		PrimitiveOpticsEngine engine = new TemporalPrimitiveOpticsEngine(timestamps, metadataIndices, 
+				neighborhoodRadius, minNeighbors, maxOutlierFactor);
+		engine.setDuplicateGroups(duplicateGroups);
+		return engine;
+	}
+
+	/**
+	 * This method groups the given objects by their timestamps if 
+	 * {@link #setCollapseDuplicates(boolean)} is set.
+	 * 
+	 * @param temporalObjects - the {@code TemporalClusteringObject}s with timestamp in the order
+	 * 	of the analyzed set.
+	 * @return the {@code DuplicateGroups} or {@code null} if the objects aren't collapsed.
+	 */
+	protected DuplicateGroups createDuplicateGroups(List<TemporalClusteringObject> temporalObjects) {
+		if (!collapseDuplicates) {
+			return null;
+		}
+		Object[] timestamps = new Object[temporalObjects.size()];
+		int[] metadataIndices = new int[timestamps.length];
+		for (int i = 0; i < timestamps.length; i++) {
+			timestamps[i] = temporalObjects.get(i).getTimestamp();
+			metadataIndices[i] = temporalObjects.get(i).getMetadataIndex();
+		}
+		DuplicateGroups duplicateGroups = DuplicateGroups.create(timestamps, metadataIndices);
+		logger.debug("Collapsed " + timestamps.length + " temporal clustering objects into " 
+				+ duplicateGroups.size() + " points");
+		return duplicateGroups;
+	}
+	
+	/**
+	 * This method returns the {@link TemporalNeighborhoodIndex} of the given 
+	 * {@code clusteringObjects}. The index is built on the first call and reused as long as the 
+	 * same unchanged set is passed.
+	 * 
+	 * @param clusteringObjects - a {@code Set} of {@code ClusteringObject}s which should be 
+	 * 	analyzed.
+	 * @return the {@code TemporalNeighborhoodIndex} of the set.
+	 */
+	private TemporalNeighborhoodIndex getNeighborhoodIndex(TreeSet<? extends ClusteringObject> clusteringObjects) {
+		if (neighborhoodIndex == null || indexedObjects != clusteringObjects 
+				|| indexedObjectsCount != clusteringObjects.size()) {
+			neighborhoodIndex = new TemporalNeighborhoodIndex(clusteringObjects);
+			indexedObjects = clusteringObjects;
+			indexedObjectsCount = clusteringObjects.size();
+			logger.debug("Created neighborhood index for " + neighborhoodIndex.size() + " clustering objects");
+		}
+		return neighborhoodIndex;
 	}
 
 }
\ No newline at end of file
@@ -4,7 +4,6 @@ package de.fuberlin.panda.metadata.result.fusion.temporal;
 import java.util.TreeSet;
 
 import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringObject;
-import de.fuberlin.panda.metadata.result.fusion.helper.MetadataTreeSet;
 
 /**
  * This class is a subclass of {@link ClusteringObject}. It overrides the 
@@ -45,8 +44,7 @@ public class TemporalClusteringObject extends ClusteringObject {
 	@Override
 	public void setCoreDistance(int minNeighbors) {
 		if (neighbors.size() >= minNeighbors) {
-			MetadataTreeSet<ClusteringObject> tmpNeighbors = new MetadataTreeSet<>(neighbors);
-			ClusteringObject minCoreObject = tmpNeighbors.get(minNeighbors-1);
+			ClusteringObject minCoreObject = neighbors.get(minNeighbors-1);
 			coreDistance = getDistance(minCoreObject);
 		} else {
 			coreDistance = null;
@@ -19,6 +19,7 @@ import de.fuberlin.panda.metadata.descriptive.TemporalScope;
 import de.fuberlin.panda.metadata.parsedMetadata.ParsedMetadata;
 import de.fuberlin.panda.metadata.result.MetadataResult;
 import de.fuberlin.panda.metadata.result.fusion.FusionResult;
+import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringMethod;
 import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringResult;
 import de.fuberlin.panda.metadata.result.fusion.helper.MatchingHelper;
 import de.fuberlin.panda.metadata.result.fusion.helper.MetadataTreeSet;
@@ -32,9 +33,11 @@ import de.fuberlin.panda.metadata.result.fusion.helper.NoMetadataObject;
  * to generate a clustering. At the end the 
  * {@link #createTemporalProperty(ClusteringResult, HashMap)} method builds the 
  * {@code scopeResource} which contains the fused temporal metadata information 
- * to add them to the {@code metadataModel} later.
+ * to add them to the {@code metadataModel} later. The clustering method is chosen by
+ * {@link #setClusteringMethod(ClusteringMethod)}.
  * 
  * @see #TemporalFusion(Model, String)
+ * @see #setClusteringMethod(ClusteringMethod)
  * @see #add(int, ParsedMetadata)
  * @see #getTemporalTimestamp(ParsedMetadata)
  * @see #setBoundaries(long)
@@ -58,6 +61,7 @@ public class TemporalFusion {
 	//temporal fusion
 	private MetadataTreeSet<TemporalClusteringObject> metadata;
 	private int noTimestampCount = 0;
+	private ClusteringMethod clusteringMethod = ClusteringMethod.OPTICS;
 	private long minTimestamp = Long.MAX_VALUE;
 	private long maxTimestamp = Long.MIN_VALUE;
 	
@@ -146,7 +150,9 @@ public class TemporalFusion {
 	 * for the {@code TemporalClusterDetector} which performs the OPTICS OF algorithm. The calling
 	 * of {@link TemporalClusterDetector#detectClusters(TreeSet)} does the clustering and the 
 	 * {@code ClusteringResult} is passed to the 
-	 * {@link #createTemporalProperty(ClusteringResult, HashMap)} method finally. 
+	 * {@link #createTemporalProperty(ClusteringResult, HashMap)} method finally. Objects with
+	 * equal timestamps are clustered as one weighted point, see 
+	 * {@link TemporalClusterDetector#setCollapseDuplicates(boolean)}.
 	 * 
 	 * @param metadataMap - a {@code HashMap} which matches a metadata index to it's corresponding
 	 * 	{@link ParsedMetadata} object.
@@ -156,12 +162,18 @@ public class TemporalFusion {
 		int minNeighbors = calculateMinNeighbors();
 		int maxOutlierFactor = 5;
 		
-		logger.debug("Starting temporal OPTICS algorihm (nR:'" + neighborhoodRadius 
+		logger.debug("Starting temporal " + clusteringMethod + " algorihm (nR:'" + neighborhoodRadius 
 				+ "'; mN:'" + minNeighbors + "'; mOF:'" + maxOutlierFactor + "')");
-		TemporalClusterDetector temporalClusterDetector = new TemporalClusterDetector(neighborhoodRadius, 
-				minNeighbors, 5);
+		TemporalClusterDetector temporalClusterDetector;
+		if (clusteringMethod == ClusteringMethod.GRID) {
+			temporalClusterDetector = new TemporalGridClusterDetector(neighborhoodRadius, minNeighbors);
+		} else {
+			temporalClusterDetector = new TemporalClusterDetector(neighborhoodRadius, minNeighbors, 5);
+			temporalClusterDetector.setPrimitiveEngine(true);
+		}
+		temporalClusterDetector.setCollapseDuplicates(true);
 		ClusteringResult clusteringResult = temporalClusterDetector.detectClusters(metadata);
-		logger.debug("--> Successfully performed temporal OPTICS clustering!");
+		logger.debug("--> Successfully performed temporal " + clusteringMethod + " clustering!");
 		
 		createTemporalProperty(clusteringResult, metadataMap);
 		logger.info("--> Successfully created Temporal Fusion Resource!");
@@ -402,6 +414,23 @@ public class TemporalFusion {
 		clusterMaxTimestamp = Long.MIN_VALUE;
 	}
 	
+	/**
+	 * This method chooses the {@code ClusterDetector} of the temporal clustering. It has to be 
+	 * set before {@link #fuse(HashMap)} is called.
+	 * 
+	 * @param clusteringMethod - the {@code ClusteringMethod}, {@code OPTICS} by default.
+	 */
+	public void setClusteringMethod(ClusteringMethod clusteringMethod) {
+		if (clusteringMethod == null) {
+			throw new IllegalArgumentException("The clustering method must not be null");
+		}
+		this.clusteringMethod = clusteringMethod;
+	}
+	
+	public ClusteringMethod getClusteringMethod() {
+		return clusteringMethod;
+	}
+	
 	public Resource getResource() {
 		return scopeResource;
 	}
@@ -0,0 +1,69 @@
+package de.fuberlin.panda.metadata.result.fusion.temporal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.apache.log4j.Logger;
+
+import de.fuberlin.panda.metadata.MetadataConnector;
+import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringMethod;
+import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringObject;
+import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringResult;
+import de.fuberlin.panda.metadata.result.fusion.clustering.DuplicateGroups;
+import de.fuberlin.panda.metadata.result.fusion.clustering.GridDensityEngine;
+
+/**
+ * This class is a subclass of {@link TemporalClusterDetector} which detects the clusters with a
+ * {@link TemporalGridDensityEngine} instead of the OPTICS-OF algorithm. The objects without
+ * timestamp are removed the same way and the {@code ClusteringResult} has the same structure,
+ * but the clusters are the density connected objects of a uniform grid and the outliers are
+ * the objects which aren't in the radius of a core object. The {@code maxOutlierFactor} isn't
+ * used.
+ *
+ * @see ClusteringMethod#GRID
+ * @see GridDensityEngine
+ *
+ * @since 18.10.2026
+ */
+public class TemporalGridClusterDetector extends TemporalClusterDetector {
+	private static Logger logger = Logger.getLogger(MetadataConnector.class.getName());
+
+	public TemporalGridClusterDetector(double neighborhoodRadius, int minNeighbors) {
+		super(neighborhoodRadius, minNeighbors);
+	}
+
+	/**
+	 * This method calls {@link #eliminateOutliersWithoutTimestamp(TreeSet)} and clusters the
+	 * remaining objects in a grid.
+	 *
+	 * @return ClusteringResult - a {@code ClusteringResult} object which holds the outlier indices
+	 * 	as well as lists of indices of cluster members.
+	 */
+	@Override
+	public ClusteringResult detectClusters(TreeSet<? extends ClusteringObject> clusteringObjects) {
+		eliminateOutliersWithoutTimestamp(clusteringObjects);
+
+		List<TemporalClusteringObject> gridObjects = new ArrayList<>(clusteringObjects.size());
+		for (ClusteringObject clusteringObject : clusteringObjects) {
+			gridObjects.add((TemporalClusteringObject) clusteringObject);
+		}
+
+		DuplicateGroups duplicateGroups = createDuplicateGroups(gridObjects);
+		int size = (duplicateGroups == null) ? gridObjects.size() : duplicateGroups.size();
+		long[] timestamps = new long[size];
+		int[] metadataIndices = new int[size];
+		for (int id = 0; id < size; id++) {
+			TemporalClusteringObject temporalObject =
+					gridObjects.get((duplicateGroups == null) ? id : duplicateGroups.getFirstPosition(id));
+			timestamps[id] = temporalObject.getTimestamp();
+			metadataIndices[id] = temporalObject.getMetadataIndex();
+		}
+		GridDensityEngine engine = new TemporalGridDensityEngine(timestamps, metadataIndices,
+				neighborhoodRadius, minNeighbors);
+		engine.setParallelThreshold(parallelThreshold);
+		engine.setDuplicateGroups(duplicateGroups);
+		logger.debug("Grid: clustering " + engine.size() + " temporal clustering objects");
+		return engine.detectClusters(getNoMetadataIndices());
+	}
+}
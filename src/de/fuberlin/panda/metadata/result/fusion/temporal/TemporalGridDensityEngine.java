@@ -0,0 +1,58 @@
+package de.fuberlin.panda.metadata.result.fusion.temporal;
+
+import de.fuberlin.panda.metadata.result.fusion.clustering.DistanceKernel;
+import de.fuberlin.panda.metadata.result.fusion.clustering.GridDensityEngine;
+
+/**
+ * This class is the {@link GridDensityEngine} for timestamps. The grid has one dimension,
+ * whose cells are the neighborhood radius rounded up to whole milliseconds. The cells are
+ * calculated by integer divisions, so no neighbor is lost by rounding errors. The distances
+ * of a cell are calculated by the {@link DistanceKernel}.
+ *
+ * @see TemporalGridClusterDetector
+ *
+ * @since 18.10.2026
+ */
+public class TemporalGridDensityEngine extends GridDensityEngine {
+	private long[] timestamps;
+	private long cellSize;
+
+	/**
+	 * @param timestamps - the timestamps by id.
+	 * @param metadataIndices - the metadata indices by id.
+	 */
+	public TemporalGridDensityEngine(long[] timestamps, int[] metadataIndices, double neighborhoodRadius,
+			int minNeighbors) {
+		super(metadataIndices, neighborhoodRadius, minNeighbors);
+		this.timestamps = timestamps;
+		cellSize = Math.max(1, (long) Math.ceil(neighborhoodRadius));
+	}
+
+	@Override
+	protected int getDimensions() {
+		return 1;
+	}
+
+	@Override
+	protected long getCell(int id, int dimension) {
+		long cell = timestamps[id] / cellSize;
+		if (timestamps[id] % cellSize < 0) {
+			cell--;
+		}
+		return cell;
+	}
+
+	@Override
+	protected void reorder(int[] order) {
+		long[] orderedTimestamps = new long[order.length];
+		for (int position = 0; position < order.length; position++) {
+			orderedTimestamps[position] = timestamps[order[position]];
+		}
+		timestamps = orderedTimestamps;
+	}
+
+	@Override
+	protected void getDistances(int position, int from, int to, double[] distances) {
+		DistanceKernel.absoluteDistances(timestamps[position], timestamps, from, to, distances);
+	}
+}
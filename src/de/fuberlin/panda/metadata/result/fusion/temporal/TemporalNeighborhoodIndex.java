@@ -0,0 +1,275 @@
+package de.fuberlin.panda.metadata.result.fusion.temporal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringObject;
+import de.fuberlin.panda.metadata.result.fusion.clustering.DistanceKernel;
+import de.fuberlin.panda.metadata.result.fusion.clustering.NeighborList;
+
+/**
+ * This class sorts the timestamps of {@link TemporalClusteringObject}s once into a primitive
+ * {@code long} array. It is used by the {@link TemporalClusterDetector} to determine the
+ * neighborhood of an object in O(log n) instead of comparing it with every other object.
+ * The objects in the range of a radius are found by two binary searches, the k nearest
+ * objects by expanding a left and a right pointer from the position of the center object.
+ * The distances of a range are calculated as a block by the {@link DistanceKernel}.
+ * <br><br>
+ * The objects are sorted like the {@link TimestampComparator} does, by timestamp and for
+ * equal timestamps by metadata index. The distances are the same as
+ * {@link TemporalClusteringObject#getDistance(ClusteringObject)} returns.<br>
+ * The index can also be built from a primitive timestamp array for the
+ * {@link TemporalPrimitiveOpticsEngine}, which queries the ids, the positions in the array,
+ * instead of the objects.
+ *
+ * @see #TemporalNeighborhoodIndex(Collection)
+ * @see #TemporalNeighborhoodIndex(long[], int[])
+ * @see #rangeQuery(TemporalClusteringObject, double)
+ * @see #nearestNeighbors(TemporalClusteringObject, int)
+ * @see #rangeQuery(long, double, NeighborList)
+ * @see #nearestNeighbors(long, int, NeighborList)
+ *
+ * @since 18.10.2026
+ */
+public class TemporalNeighborhoodIndex {
+	//objects and metadata indices by id, the objects are null for an index of timestamps
+	private TemporalClusteringObject[] objects = null;
+	private int[] metadataIndices;
+	//ids and timestamps in sorted order
+	private int[] ids;
+	private long[] timestamps;
+
+	/**
+	 * Public constructor which sorts the given objects by their timestamps.
+	 *
+	 * @param clusteringObjects - the {@code TemporalClusteringObject}s which should be indexed.
+	 */
+	public TemporalNeighborhoodIndex(Collection<? extends ClusteringObject> clusteringObjects) {
+		objects = new TemporalClusteringObject[clusteringObjects.size()];
+		metadataIndices = new int[objects.length];
+		long[] objectTimestamps = new long[objects.length];
+		int id = 0;
+		for (ClusteringObject clusteringObject : clusteringObjects) {
+			objects[id] = (TemporalClusteringObject) clusteringObject;
+			metadataIndices[id] = clusteringObject.getMetadataIndex();
+			objectTimestamps[id] = objects[id].getTimestamp();
+			id++;
+		}
+		sort(objectTimestamps);
+	}
+
+	/**
+	 * Public constructor which sorts primitive timestamps. The id of every timestamp is its
+	 * position in the array, the arrays themselves aren't changed.
+	 *
+	 * @param timestamps - the timestamps by id.
+	 * @param metadataIndices - the metadata indices by id, which order equal timestamps.
+	 */
+	public TemporalNeighborhoodIndex(long[] timestamps, int[] metadataIndices) {
+		this.metadataIndices = metadataIndices;
+		sort(timestamps);
+	}
+
+	/**
+	 * This method sorts the ids like the {@link TimestampComparator} does. Sets which are
+	 * ordered by the {@code TimestampComparator} are already sorted and kept as they are.
+	 */
+	private void sort(final long[] unsortedTimestamps) {
+		ids = new int[unsortedTimestamps.length];
+		boolean isSorted = true;
+		for (int id = 0; id < ids.length; id++) {
+			ids[id] = id;
+			if (id > 0 && compare(id - 1, id, unsortedTimestamps) > 0) {
+				isSorted = false;
+			}
+		}
+
+		if (!isSorted) {
+			Integer[] sortedIds = new Integer[ids.length];
+			for (int id = 0; id < ids.length; id++) {
+				sortedIds[id] = id;
+			}
+			Arrays.sort(sortedIds, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer x, Integer y) {
+					return TemporalNeighborhoodIndex.this.compare(x, y, unsortedTimestamps);
+				}
+			});
+			for (int i = 0; i < ids.length; i++) {
+				ids[i] = sortedIds[i];
+			}
+		}
+
+		timestamps = new long[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			timestamps[i] = unsortedTimestamps[ids[i]];
+		}
+	}
+
+	private int compare(int x, int y, long[] unsortedTimestamps) {
+		if (unsortedTimestamps[x] != unsortedTimestamps[y]) {
+			return (unsortedTimestamps[x] < unsortedTimestamps[y]) ? -1 : 1;
+		}
+		return Integer.compare(metadataIndices[x], metadataIndices[y]);
+	}
+
+	/**
+	 * This method returns all indexed objects whose distance to the given center object is
+	 * less or equal the {@code radius}. The center object itself isn't returned.
+	 *
+	 * @param center - the {@code TemporalClusteringObject} in the center of the range.
+	 * @param radius - the maximum distance.
+	 * @return a {@code List} with the objects in the range ordered by their timestamps.
+	 */
+	public List<TemporalClusteringObject> rangeQuery(TemporalClusteringObject center, double radius) {
+		NeighborList neighbors = new NeighborList(16);
+		rangeQuery(center.getTimestamp(), radius, neighbors);
+		List<TemporalClusteringObject> result = new ArrayList<>(neighbors.size());
+		for (int i = 0; i < neighbors.size(); i++) {
+			if (objects[neighbors.getId(i)] != center) {
+				result.add(objects[neighbors.getId(i)]);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * This method adds the ids and distances of all indexed timestamps whose distance to the
+	 * given timestamp is less or equal the {@code radius} ordered by timestamp.
+	 *
+	 * @param timestamp - the timestamp in the center of the range.
+	 * @param radius - the maximum distance.
+	 * @param neighbors - the {@code NeighborList} the ids are added to.
+	 */
+	public void rangeQuery(long timestamp, double radius, NeighborList neighbors) {
+		//first object which is not left of the range
+		int lo = 0;
+		int hi = timestamps.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (timestamps[mid] >= timestamp || (double) (timestamp - timestamps[mid]) <= radius) {
+				hi = mid;
+			} else {
+				lo = mid + 1;
+			}
+		}
+		int first = lo;
+
+		//first object which is right of the range
+		hi = timestamps.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (timestamps[mid] > timestamp && (double) (timestamps[mid] - timestamp) > radius) {
+				hi = mid;
+			} else {
+				lo = mid + 1;
+			}
+		}
+
+		if (lo > first) {
+			double[] distances = new double[lo - first];
+			DistanceKernel.absoluteDistances(timestamp, timestamps, first, lo, distances);
+			neighbors.addAll(ids, first, lo, distances);
+		}
+	}
+
+	/**
+	 * This method returns the {@code k} indexed objects which are nearest to the given center
+	 * object. Objects with the same distance are ordered by their metadata index like the
+	 * {@code NeighborsComparator} does. The center object itself isn't returned.
+	 *
+	 * @param center - the {@code TemporalClusteringObject} the neighbors are searched for.
+	 * @param k - the number of neighbors.
+	 * @return a {@code List} with at most {@code k} objects ordered by their distance.
+	 */
+	public List<TemporalClusteringObject> nearestNeighbors(TemporalClusteringObject center, int k) {
+		List<TemporalClusteringObject> result = new ArrayList<>(Math.max(0, k));
+		if (k > 0) {
+			//the center object may be one of the k + 1 nearest objects
+			NeighborList neighbors = new NeighborList(k + 1);
+			nearestNeighbors(center.getTimestamp(), k + 1, neighbors);
+			for (int i = 0; i < neighbors.size() && result.size() < k; i++) {
+				if (objects[neighbors.getId(i)] != center) {
+					result.add(objects[neighbors.getId(i)]);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * This method adds the ids and distances of the {@code k} indexed timestamps which are
+	 * nearest to the given timestamp, ordered by distance and metadata index like the
+	 * {@code NeighborsComparator} does.<br>
+	 * The right pointer visits the objects with the same timestamp in the order of their
+	 * metadata indices anyway. On the left side every group of equal timestamps is visited
+	 * from its first object on, so the smaller metadata indices are returned first as well.
+	 *
+	 * @param timestamp - the timestamp the neighbors are searched for.
+	 * @param k - the number of neighbors.
+	 * @param neighbors - the {@code NeighborList} the ids are added to.
+	 */
+	public void nearestNeighbors(long timestamp, int k, NeighborList neighbors) {
+		int right = lowerBound(timestamp, timestamps.length);
+		int leftEnd = right;
+		int left = 0;
+		int leftGroupEnd = 0;
+
+		for (int count = 0; count < k; count++) {
+			if (left == leftGroupEnd && leftEnd > 0) {
+				//next group of equal timestamps on the left side
+				left = lowerBound(timestamps[leftEnd - 1], leftEnd);
+				leftGroupEnd = leftEnd;
+				leftEnd = left;
+			}
+			boolean hasLeft = left < leftGroupEnd;
+			boolean hasRight = right < timestamps.length;
+			if (!hasLeft && !hasRight) {
+				break;
+			}
+
+			boolean takeLeft;
+			double leftDistance = hasLeft ? (double) (timestamp - timestamps[left]) : 0;
+			double rightDistance = hasRight ? (double) (timestamps[right] - timestamp) : 0;
+			if (!hasRight) {
+				takeLeft = true;
+			} else if (!hasLeft) {
+				takeLeft = false;
+			} else {
+				takeLeft = leftDistance < rightDistance || (leftDistance == rightDistance
+						&& metadataIndices[ids[left]] < metadataIndices[ids[right]]);
+			}
+
+			if (takeLeft) {
+				neighbors.add(ids[left++], leftDistance);
+			} else {
+				neighbors.add(ids[right++], rightDistance);
+			}
+		}
+	}
+
+	/**
+	 * This method returns the position of the first timestamp in {@code [0, end)} which is
+	 * greater or equal the given timestamp.
+	 */
+	private int lowerBound(long timestamp, int end) {
+		int lo = 0;
+		int hi = end;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (timestamps[mid] < timestamp) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	public int size() {
+		return ids.length;
+	}
+}
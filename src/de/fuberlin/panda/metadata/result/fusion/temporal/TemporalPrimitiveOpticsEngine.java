@@ -0,0 +1,39 @@
+package de.fuberlin.panda.metadata.result.fusion.temporal;
+
+import de.fuberlin.panda.metadata.result.fusion.clustering.NeighborList;
+import de.fuberlin.panda.metadata.result.fusion.clustering.PrimitiveOpticsEngine;
+
+/**
+ * This class is the {@link PrimitiveOpticsEngine} for timestamps. The timestamps are kept in
+ * a {@code long} array and the neighborhoods are searched by a {@link TemporalNeighborhoodIndex}
+ * of this array.
+ *
+ * @see TemporalClusterDetector#setPrimitiveEngine(boolean)
+ *
+ * @since 18.10.2026
+ */
+public class TemporalPrimitiveOpticsEngine extends PrimitiveOpticsEngine {
+	private long[] timestamps;
+	private TemporalNeighborhoodIndex neighborhoodIndex;
+
+	/**
+	 * @param timestamps - the timestamps by id.
+	 * @param metadataIndices - the metadata indices by id.
+	 */
+	public TemporalPrimitiveOpticsEngine(long[] timestamps, int[] metadataIndices, double neighborhoodRadius,
+			int minNeighbors, double maxOutlierFactor) {
+		super(metadataIndices, neighborhoodRadius, minNeighbors, maxOutlierFactor);
+		this.timestamps = timestamps;
+		neighborhoodIndex = new TemporalNeighborhoodIndex(timestamps, metadataIndices);
+	}
+
+	@Override
+	protected void rangeQuery(int id, double radius, NeighborList neighbors) {
+		neighborhoodIndex.rangeQuery(timestamps[id], radius, neighbors);
+	}
+
+	@Override
+	protected void nearestNeighbors(int id, int k, NeighborList neighbors) {
+		neighborhoodIndex.nearestNeighbors(timestamps[id], k, neighbors);
+	}
+}
@@ -0,0 +1,112 @@
+package de.fuberlin.panda.metadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import de.fuberlin.panda.metadata.config.MetadataSourceType;
+import de.fuberlin.panda.metadata.exceptions.MetadataNotFoundException;
+import de.fuberlin.panda.metadata.exceptions.ProcessingUriException;
+import de.fuberlin.panda.metadata.parsedMetadata.ParsedMetadata;
+import de.fuberlin.panda.metadata.result.MetadataResult;
+
+public class MetadataFetcherTest {
+	private AtomicInteger runningTasks = new AtomicInteger();
+	private AtomicInteger maxRunningTasks = new AtomicInteger();
+	
+	/**
+	 * {@code MetadataResult} which only records the URIs in the order they are added.
+	 */
+	private static class RecordingResult extends MetadataResult {
+		private List<String> uris = new ArrayList<>();
+		
+		@Override
+		public void addMetadataEntry(ParsedMetadata singleMetadata) {
+			uris.add(singleMetadata.getUri());
+		}
+		
+		@Override
+		protected void createMetadataProperties() {
+		}
+	}
+	
+	/**
+	 * Creates a {@code MetadataFetcher} whose metadata sleeps for the number of milliseconds
+	 * given in the URI. URIs starting with "missing" have no metadata.
+	 */
+	private MetadataFetcher createFetcher(int parallelism, long timeoutMillis, boolean failFast) {
+		return new MetadataFetcher(MetadataSourceType.XML, parallelism, timeoutMillis, failFast) {
+			@Override
+			protected ParsedMetadata createParsedMetadata(final String uri) {
+				ParsedMetadata singleMetadata = new ParsedMetadata() {
+					@Override
+					public void parseMetadata() throws MetadataNotFoundException, ProcessingUriException {
+						int running = runningTasks.incrementAndGet();
+						synchronized (maxRunningTasks) {
+							maxRunningTasks.set(Math.max(maxRunningTasks.get(), running));
+						}
+						try {
+							if (uri.startsWith("missing")) {
+								throw new MetadataNotFoundException(uri);
+							}
+							Thread.sleep(Long.parseLong(uri.substring(uri.lastIndexOf('/') + 1)));
+						} catch (InterruptedException e) {
+							throw new ProcessingUriException(uri + " interrupted");
+						} finally {
+							runningTasks.decrementAndGet();
+						}
+					}
+				};
+				singleMetadata.setUri(uri);
+				return singleMetadata;
+			}
+		};
+	}
+
+	@Test
+	public void testFetchKeepsOrder() throws Exception {
+		List<String> uris = Arrays.asList("/a/120", "/b/10", "/c/60", "/d/5", "/e/90", "/f/1");
+		RecordingResult result = new RecordingResult();
+		createFetcher(3, 5000, true).fetch(uris, result);
+		assertEquals("Order of the URIs changed", uris, result.uris);
+		assertTrue("More tasks than allowed ran at the same time", maxRunningTasks.get() <= 3);
+		assertTrue("Tasks didn't run concurrently", maxRunningTasks.get() > 1);
+	}
+	
+	@Test
+	public void testFailFast() throws Exception {
+		RecordingResult result = new RecordingResult();
+		try {
+			createFetcher(2, 5000, true).fetch(Arrays.asList("/a/1", "missing/1", "/c/1"), result);
+			fail("Missing metadata wasn't reported");
+		} catch (MetadataNotFoundException e) {
+			assertEquals("Wrong URI reported", "missing/1", e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testSkipMissingMetadata() throws Exception {
+		RecordingResult result = new RecordingResult();
+		createFetcher(2, 5000, false).fetch(Arrays.asList("/a/1", "missing/1", "/c/1"), result);
+		assertEquals("Wrong URIs added", Arrays.asList("/a/1", "/c/1"), result.uris);
+	}
+	
+	@Test(expected = ProcessingUriException.class)
+	public void testTimeout() throws Exception {
+		createFetcher(2, 100, true).fetch(Arrays.asList("/a/1", "/b/5000"), new RecordingResult());
+	}
+	
+	@Test
+	public void testQueuedTasksDontTimeOut() throws Exception {
+		RecordingResult result = new RecordingResult();
+		createFetcher(1, 200, true).fetch(Arrays.asList("/a/120", "/b/120", "/c/120"), result);
+		assertEquals("Wrong URIs added", 3, result.uris.size());
+	}
+}
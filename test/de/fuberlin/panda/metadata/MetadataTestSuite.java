@@ -6,6 +6,12 @@ import org.junit.runners.Suite.SuiteClasses;
 
 import de.fuberlin.panda.metadata.descriptive.DescriptiveMetadataTestSuite;
 import de.fuberlin.panda.metadata.operational.OperationalMetadataTestSuite;
+import de.fuberlin.panda.metadata.parsedMetadata.ParsedMetadataCacheTest;
+import de.fuberlin.panda.metadata.parsedMetadata.StreamingXMLMetadataTest;
+import de.fuberlin.panda.metadata.parsedMetadata.TDBMetadataLoaderTest;
+import de.fuberlin.panda.metadata.parsedMetadata.TDBMetadataTest;
+import de.fuberlin.panda.metadata.parsedMetadata.VirtuosoBatchQueryTest;
+import de.fuberlin.panda.metadata.parsedMetadata.XMLMetadataIndexTest;
 import de.fuberlin.panda.metadata.parsedMetadata.XMLMetadataTest;
 import de.fuberlin.panda.metadata.result.MetadataResultTest;
 import de.fuberlin.panda.metadata.result.fusion.administrative.AdministrativeFusionTestSuite;
@@ -24,6 +30,13 @@ import de.fuberlin.panda.properties.PropertiesTestSuite;
 	MetadataResultTest.class,
 	FusionHelperTestSuite.class,
 	XMLMetadataTest.class,
+	MetadataFetcherTest.class,
+	XMLMetadataIndexTest.class,
+	StreamingXMLMetadataTest.class,
+	VirtuosoBatchQueryTest.class,
+	TDBMetadataTest.class,
+	TDBMetadataLoaderTest.class,
+	ParsedMetadataCacheTest.class,
 	ArealFusionTestSuite.class,
 	ClusteringTestSuite.class,
 	TemporalFusionTestSuite.class,
@@ -0,0 +1,47 @@
+package de.fuberlin.panda.metadata.parsedMetadata;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+
+import de.fuberlin.panda.metadata.config.predicates.OperationalPredicates;
+
+/**
+ * This class extends {@link ParsedMetadata} with generated metadata information. 
+ * It is used by tests and benchmarks which need a lot of metadata entries without
+ * a running metadata source.
+ * 
+ * @since 18.10.2026
+ */
+public class GeneratedMetadata extends ParsedMetadata {
+	private static final ArrayList<String> FORMATS = new ArrayList<>(Arrays.asList("int"));
+	private static final ArrayList<String> LANGUAGES = new ArrayList<>(Arrays.asList("java"));
+	
+	/**
+	 * The constructor fills all scopes with values derived from the given index. 
+	 * 
+	 * @param index - an {@code int} value which is used to create the URI and the values.
+	 */
+	public GeneratedMetadata(int index) {
+		try {
+			uri = "/Data/TestData/" + index;
+			SimpleDateFormat sdf = new SimpleDateFormat("dd.MM.yyyy HH:mm:ss.SSS");
+			String date = sdf.format(new Date(1370000000000L + index * 3600000L));
+			operations.addOperation(OperationalPredicates.CREATION, date);
+			administrativeScope.setLicenseUri("http://www.fuberlin.de/panda/licenses/PDDL");
+			arealScope.setLongitude(Double.toString(13.0 + (index % 100) / 100d));
+			arealScope.setLatitude(Double.toString(52.0 + (index % 37) / 100d));
+			temporalScope.setExpirationDate(date);
+			type.setFormat("int", FORMATS);
+			type.setLanguage("Java", LANGUAGES);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public void parseMetadata() {
+		//nothing to do, all values are generated
+	}
+}
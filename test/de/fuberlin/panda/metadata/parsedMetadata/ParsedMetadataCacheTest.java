@@ -0,0 +1,260 @@
+package de.fuberlin.panda.metadata.parsedMetadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.hp.hpl.jena.rdf.model.Model;
+import com.hp.hpl.jena.rdf.model.ModelFactory;
+import com.hp.hpl.jena.rdf.model.Resource;
+
+import de.fuberlin.panda.metadata.config.MetadataSourceType;
+import de.fuberlin.panda.metadata.config.RDFInput;
+import de.fuberlin.panda.metadata.exceptions.MetadataNotFoundException;
+import de.fuberlin.panda.metadata.exceptions.ProcessingUriException;
+import de.fuberlin.panda.metadata.result.ListResult;
+
+public class ParsedMetadataCacheTest {
+	private static final String PANDA_NS = "http://www.mi.fu-berlin.de/panda#";
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	private ManualClockCache cache;
+
+	@Before
+	public void setUp() {
+		RDFInput.initPredicates();
+		cache = new ManualClockCache(3, 1000, 100);
+	}
+
+	@Test
+	public void testHit() throws Exception {
+		CountingMetadata first = new CountingMetadata("/Data/TestData/1", false);
+		assertSame("Wrong parsed metadata", first, cache.parse(MetadataSourceType.XML, first));
+		CountingMetadata second = new CountingMetadata("/Data/TestData/1", false);
+		assertSame("Cached metadata not returned", first, cache.parse(MetadataSourceType.XML, second));
+
+		assertEquals("Wrong number of parsings", 1, first.parseCount);
+		assertEquals("Cached metadata parsed again", 0, second.parseCount);
+		assertEquals("Wrong number of hits", 1, cache.getHitCount());
+		assertEquals("Wrong number of misses", 1, cache.getMissCount());
+		assertEquals("Wrong hit rate", 0.5, cache.getHitRate(), 0.0001);
+	}
+
+	@Test
+	public void testModifiedSourceFile() throws Exception {
+		File sourceFile = write("metadata.xml", "<panda:Metadata/>");
+		CountingMetadata first = new CountingMetadata("/Data/TestData/1", false);
+		first.sourceFile = sourceFile;
+		cache.parse(MetadataSourceType.XML, first);
+		assertSame("Cached metadata not returned", first, cache.getIfPresent(MetadataSourceType.XML, "/Data/TestData/1"));
+
+		sourceFile.setLastModified(sourceFile.lastModified() + 10000);
+		assertNull("Metadata of a modified file returned", cache.getIfPresent(MetadataSourceType.XML, "/Data/TestData/1"));
+		assertEquals("Outdated entry not removed", 0, cache.size());
+	}
+
+	@Test
+	public void testModifiedSourceFileOfNegativeEntry() throws Exception {
+		File sourceFile = write("metadata.xml", "<panda:Metadata/>");
+		cache.putNotFound(MetadataSourceType.XML_STREAM, "/Data/TestData/7", sourceFile);
+		try {
+			cache.getIfPresent(MetadataSourceType.XML_STREAM, "/Data/TestData/7");
+			fail("URI without metadata not cached");
+		} catch (MetadataNotFoundException e) {
+			//expected
+		}
+
+		write("metadata.xml", "<panda:Metadata><panda:Data/></panda:Metadata>");
+		assertNull("Negative entry of a modified file returned",
+				cache.getIfPresent(MetadataSourceType.XML_STREAM, "/Data/TestData/7"));
+	}
+
+	@Test
+	public void testUnmodifiedSourceFile() throws Exception {
+		File sourceFile = write("metadata.xml", "<panda:Metadata/>");
+		CountingMetadata metadata = new CountingMetadata("/Data/TestData/1", false);
+		metadata.sourceFile = sourceFile;
+		cache.put(MetadataSourceType.XML, metadata);
+		cache.advance(999);
+		assertNotNull("Metadata of an unmodified file removed",
+				cache.getIfPresent(MetadataSourceType.XML, "/Data/TestData/1"));
+	}
+
+	private File write(String fileName, String content) throws IOException {
+		File file = new File(folder.getRoot(), fileName);
+		FileWriter writer = new FileWriter(file);
+		writer.write(content);
+		writer.close();
+		return file;
+	}
+
+	@Test
+	public void testSourceTypeIsPartOfKey() throws Exception {
+		cache.parse(MetadataSourceType.XML, new CountingMetadata("/Data/TestData/1", false));
+		assertNull("Wrong source type returned", cache.getIfPresent(MetadataSourceType.VIRTUOSO, "/Data/TestData/1"));
+	}
+
+	@Test
+	public void testNegativeCaching() throws Exception {
+		CountingMetadata missing = new CountingMetadata("/Data/TestData/7", true);
+		for (int i = 0; i < 3; i++) {
+			try {
+				cache.parse(MetadataSourceType.XML, missing);
+				fail("No MetadataNotFoundException thrown");
+			} catch (MetadataNotFoundException e) {
+				assertEquals("Wrong exception message", "/Data/TestData/7", e.getMessage());
+			}
+		}
+		assertEquals("Wrong number of parsings", 1, missing.parseCount);
+		assertEquals("Wrong number of negative hits", 2, cache.getNegativeHitCount());
+
+		cache.advance(100);
+		try {
+			cache.parse(MetadataSourceType.XML, missing);
+			fail("No MetadataNotFoundException thrown");
+		} catch (MetadataNotFoundException e) {
+			assertEquals("Negative entry not expired", 2, missing.parseCount);
+		}
+	}
+
+	@Test
+	public void testProcessingUriExceptionNotCached() throws Exception {
+		CountingMetadata failing = new CountingMetadata("/Data/TestData/1", false);
+		failing.failing = true;
+		for (int i = 0; i < 2; i++) {
+			try {
+				cache.parse(MetadataSourceType.XML, failing);
+				fail("No ProcessingUriException thrown");
+			} catch (ProcessingUriException e) {
+				//expected
+			}
+		}
+		assertEquals("Failed parsing cached", 2, failing.parseCount);
+		assertEquals("Wrong cache size", 0, cache.size());
+	}
+
+	@Test
+	public void testTimeToLive() throws Exception {
+		cache.parse(MetadataSourceType.XML, new CountingMetadata("/Data/TestData/1", false));
+		cache.advance(999);
+		assertEquals("Entry expired too early", "/Data/TestData/1",
+				cache.getIfPresent(MetadataSourceType.XML, "/Data/TestData/1").getUri());
+		cache.advance(1);
+		assertNull("Entry not expired", cache.getIfPresent(MetadataSourceType.XML, "/Data/TestData/1"));
+		assertEquals("Expired entry not removed", 0, cache.size());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEviction() throws Exception {
+		for (int i = 1; i <= 3; i++) {
+			cache.parse(MetadataSourceType.XML, new CountingMetadata("/Data/TestData/" + i, false));
+		}
+		cache.getIfPresent(MetadataSourceType.XML, "/Data/TestData/1");
+		cache.parse(MetadataSourceType.XML, new CountingMetadata("/Data/TestData/4", false));
+
+		assertEquals("Wrong cache size", 3, cache.size());
+		assertEquals("Wrong number of evictions", 1, cache.getEvictionCount());
+		assertNull("Wrong entry evicted", cache.getIfPresent(MetadataSourceType.XML, "/Data/TestData/2"));
+		assertEquals("Recently used entry evicted", "/Data/TestData/1",
+				cache.getIfPresent(MetadataSourceType.XML, "/Data/TestData/1").getUri());
+	}
+
+	@Test
+	public void testVirtuosoBatchUsesCache() throws Exception {
+		Model localModel = ModelFactory.createDefaultModel();
+		for (int i = 0; i < 3; i++) {
+			Resource metadata = localModel.createResource(PANDA_NS + "/Data/TestData/" + i);
+			metadata.addProperty(localModel.createProperty(PANDA_NS + "Uri"), "/Data/TestData/" + i);
+			metadata.addProperty(localModel.createProperty(PANDA_NS + "Latitude"), "52.4" + i);
+		}
+		VirtuosoBatchQuery batchQuery = new VirtuosoBatchQuery(10, localModel);
+
+		ListResult firstResult = new ListResult();
+		firstResult.setMetadataCache(cache);
+		firstResult.parseVirtuosoMetadata(Arrays.asList("/Data/TestData/0", "/Data/TestData/1"), batchQuery);
+		assertEquals("Wrong number of misses", 2, cache.getMissCount());
+
+		ListResult secondResult = new ListResult();
+		secondResult.setMetadataCache(cache);
+		secondResult.parseVirtuosoMetadata(Arrays.asList("/Data/TestData/1", "/Data/TestData/2"), batchQuery);
+		assertEquals("Wrong number of hits", 1, cache.getHitCount());
+		assertEquals("Wrong number of misses", 3, cache.getMissCount());
+		assertEquals("Wrong cache size", 3, cache.size());
+
+		try {
+			secondResult.parseVirtuosoMetadata(Arrays.asList("/Data/TestData/5"), batchQuery);
+			fail("No MetadataNotFoundException thrown");
+		} catch (MetadataNotFoundException e) {
+			//expected
+		}
+		try {
+			cache.getIfPresent(MetadataSourceType.VIRTUOSO, "/Data/TestData/5");
+			fail("URI without metadata not cached");
+		} catch (MetadataNotFoundException e) {
+			assertEquals("Wrong number of negative hits", 1, cache.getNegativeHitCount());
+		}
+	}
+
+	/**
+	 * {@code ParsedMetadataCache} with a clock which is only advanced by the test.
+	 */
+	private static class ManualClockCache extends ParsedMetadataCache {
+		private long time = 0;
+
+		private ManualClockCache(int maxSize, long timeToLiveMillis, long negativeTimeToLiveMillis) {
+			super(maxSize, timeToLiveMillis, negativeTimeToLiveMillis);
+		}
+
+		private void advance(long millis) {
+			time += millis * 1000000;
+		}
+
+		@Override
+		protected long currentTimeNanos() {
+			return time;
+		}
+	}
+
+	/**
+	 * {@code ParsedMetadata} which counts how often it has been parsed.
+	 */
+	private static class CountingMetadata extends ParsedMetadata {
+		private boolean missing;
+		private boolean failing = false;
+		private int parseCount = 0;
+		private File sourceFile = null;
+
+		private CountingMetadata(String uri, boolean missing) {
+			this.uri = uri;
+			this.missing = missing;
+		}
+
+		@Override
+		public void parseMetadata() throws MetadataNotFoundException, ProcessingUriException {
+			parseCount++;
+			if (failing) {
+				throw new ProcessingUriException(uri);
+			}
+			if (missing) {
+				throw new MetadataNotFoundException(uri);
+			}
+		}
+
+		@Override
+		public File getSourceFile() {
+			return sourceFile;
+		}
+	}
+}
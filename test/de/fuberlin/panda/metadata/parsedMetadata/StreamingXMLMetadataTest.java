@@ -0,0 +1,127 @@
+package de.fuberlin.panda.metadata.parsedMetadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.fuberlin.panda.metadata.exceptions.MetadataNotFoundException;
+import de.fuberlin.panda.metadata.operational.Operation;
+
+public class StreamingXMLMetadataTest {
+	private File xmlFile;
+	
+	@Before
+	public void setUp() throws IOException {
+		xmlFile = File.createTempFile("metadata", ".xml");
+		String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<rdf:RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\"\n"
+				+ "  xmlns:panda=\"http://www.mi.fu-berlin.de/panda#\">\n"
+				+ "  <panda:Metadata>\n"
+				+ "    <panda:Data rdf:about=\"/Data/TestData/1\" /><panda:Data rdf:about=\"/Data/TestData/2\" />\n"
+				+ "    <!-- Operational Metadata -->\n"
+				+ "    <panda:Creation>20.08.2013 12:30:45.864</panda:Creation>\n"
+				+ "    <panda:Access>20.08.2013 12:45:12.123</panda:Access>\n"
+				+ "    <!-- Administrative Scope -->\n"
+				+ "    <panda:License rdf:resource=\"http://opendatacommons.org/licenses/pddl/\" />\n"
+				+ "    <!-- Areal Scope -->\n"
+				+ "    <panda:Latitude>52.45</panda:Latitude>\n"
+				+ "    <panda:Unknown><panda:Nested>value</panda:Nested></panda:Unknown>\n"
+				+ "    <panda:Longitude><![CDATA[13.29]]></panda:Longitude>\n"
+				+ "    <!-- Temporal Scope -->\n"
+				+ "    <panda:ExpirationDate>20.08.2014 12:00:00.000</panda:ExpirationDate>\n"
+				+ "    <!-- Semantic -->\n"
+				+ "    <cd:artist xmlns:cd=\"http://www.recshop.fake/cd#\">Christoph Schroeder</cd:artist>\n"
+				+ "  </panda:Metadata>\n"
+				+ "  <panda:Metadata>\n"
+				+ "    <panda:Data rdf:about=\"/Data/TestData/3\" />\n"
+				+ "    <!-- Operational Metadata -->\n"
+				+ "    <panda:Creation>21.08.2013 08:00:00.000</panda:Creation>\n"
+				+ "  </panda:Metadata>\n"
+				+ "  <panda:Metadata>\n"
+				+ "    <panda:Data rdf:about=\"/Data/TestData/3\" />\n"
+				+ "    <!-- Operational Metadata -->\n"
+				+ "    <panda:Deleting>22.08.2013 08:00:00.000</panda:Deleting>\n"
+				+ "  </panda:Metadata>\n"
+				+ "</rdf:RDF>";
+		Writer writer = new OutputStreamWriter(new FileOutputStream(xmlFile), "UTF-8");
+		writer.write(xml);
+		writer.close();
+	}
+	
+	@After
+	public void tearDown() {
+		XMLMetadataIndex.clear();
+		xmlFile.delete();
+	}
+	
+	private String operationsToString(ParsedMetadata metadata) {
+		StringBuilder operations = new StringBuilder();
+		for (Operation operation : metadata.getOperations().getAttributes()) {
+			operations.append(operation.getType() + "=" + operation.getTimestampString() + ";");
+		}
+		return operations.toString();
+	}
+	
+	private void assertSameMetadata(ParsedMetadata expected, ParsedMetadata actual) {
+		assertEquals("Wrong operations", operationsToString(expected), operationsToString(actual));
+		assertEquals("Wrong administrative scope", 
+				Arrays.deepToString(expected.getAdministrativeScope().getAttributes().toArray()), 
+				Arrays.deepToString(actual.getAdministrativeScope().getAttributes().toArray()));
+		assertEquals("Wrong areal scope", 
+				Arrays.deepToString(expected.getArealScope().getAttributes().toArray()), 
+				Arrays.deepToString(actual.getArealScope().getAttributes().toArray()));
+		assertEquals("Wrong temporal scope", expected.getTemporalScope().getExpirationDateString(), 
+				actual.getTemporalScope().getExpirationDateString());
+	}
+
+	@Test
+	public void testParseMetadataLikeXMLMetadata() throws Exception {
+		for (String uri : new String[] {"/Data/TestData/2", "/Data/TestData/3"}) {
+			XMLMetadata domMetadata = new XMLMetadata();
+			domMetadata.setXmlFilePath(xmlFile.getPath());
+			domMetadata.setUri(uri);
+			domMetadata.parseMetadata();
+			
+			StreamingXMLMetadata streamedMetadata = new StreamingXMLMetadata();
+			streamedMetadata.setXmlFilePath(xmlFile.getPath());
+			streamedMetadata.setUri(uri);
+			streamedMetadata.parseMetadata();
+			
+			assertSameMetadata(domMetadata, streamedMetadata);
+		}
+	}
+	
+	@Test
+	public void testParseSeveralUris() throws Exception {
+		Map<String, StreamingXMLMetadata> parsedMetadata = StreamingXMLMetadata.parseMetadata(
+				xmlFile.getPath(), Arrays.asList("/Data/TestData/3", "/Data/TestData/2", "/Data/TestData/4"));
+		assertEquals("Wrong number of parsed URIs", 2, parsedMetadata.size());
+		assertNull("Unknown URI parsed", parsedMetadata.get("/Data/TestData/4"));
+		assertEquals("Wrong URI set", "/Data/TestData/2", parsedMetadata.get("/Data/TestData/2").getUri());
+		assertEquals("Later metadata node used", "CREATION", 
+				parsedMetadata.get("/Data/TestData/3").getOperations().getAttributes().get(0).getType().name());
+		assertEquals("Wrong operations", 2, 
+				parsedMetadata.get("/Data/TestData/2").getOperations().getAttributes().size());
+		assertEquals("Wrong latitude", 52.45, 
+				parsedMetadata.get("/Data/TestData/2").getArealScope().getLatitude().doubleValue(), 0);
+	}
+	
+	@Test(expected = MetadataNotFoundException.class)
+	public void testParseUnknownUri() throws Exception {
+		StreamingXMLMetadata meta = new StreamingXMLMetadata();
+		meta.setXmlFilePath(xmlFile.getPath());
+		meta.setUri("/Data/TestData/4");
+		meta.parseMetadata();
+	}
+}
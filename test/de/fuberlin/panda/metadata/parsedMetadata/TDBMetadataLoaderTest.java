@@ -0,0 +1,133 @@
+package de.fuberlin.panda.metadata.parsedMetadata;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.hp.hpl.jena.tdb.TDBFactory;
+
+import de.fuberlin.panda.metadata.config.RDFInput;
+import de.fuberlin.panda.metadata.exceptions.MetadataNotFoundException;
+import de.fuberlin.panda.metadata.parsedMetadata.TDBMetadataLoader.LoadStatistics;
+
+public class TDBMetadataLoaderTest {
+	private static final String RDF_HEADER = "<rdf:RDF\n"
+			+ "    xmlns:panda=\"http://www.mi.fu-berlin.de/panda#\"\n"
+			+ "    xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\">\n";
+	private File fileDirectory;
+	private File tdbDirectory;
+
+	@Before
+	public void setUp() throws IOException {
+		RDFInput.initPredicates();
+		fileDirectory = createTempDirectory("pandaMD");
+		tdbDirectory = createTempDirectory("tdb");
+
+		for (int i = 0; i < 20; i++) {
+			writeFile("pandaMD" + i + ".rdf", RDF_HEADER
+					+ "<panda:Metadata rdf:about=\"http://www.mi.fu-berlin.de/panda#/Data/TestData/" + i + "\">\n"
+					+ "	<panda:Uri>/Data/TestData/" + i + "</panda:Uri>\n"
+					+ "	<panda:ExpirationDate>11.06.2013 19:25:55.276</panda:ExpirationDate>\n"
+					+ "	<panda:Longitude>13.3" + i + "</panda:Longitude>\n"
+					+ "	<panda:Latitude>52.5" + i + "</panda:Latitude>\n"
+					+ "	<panda:License rdf:resource=\"http://www.fuberlin.de/panda/licenses/PDDL\"/>\n"
+					+ "</panda:Metadata>\n</rdf:RDF>");
+		}
+		writeFile("pandaMDNoUri.rdf", RDF_HEADER
+				+ "<panda:Metadata rdf:about=\"http://www.mi.fu-berlin.de/panda#/Data/TestData/NoUri\">\n"
+				+ "	<panda:Latitude>\n		52.45\n	</panda:Latitude>\n"
+				+ "</panda:Metadata>\n</rdf:RDF>");
+		writeFile("pandaMDOtherSubject.rdf", RDF_HEADER
+				+ "<rdf:Description rdf:about=\"http://example.org/other\">\n"
+				+ "	<panda:Uri>/Data/TestData/Other</panda:Uri>\n"
+				+ "	<panda:Longitude>13.25</panda:Longitude>\n"
+				+ "</rdf:Description>\n</rdf:RDF>");
+		writeFile("pandaMDBroken.rdf", RDF_HEADER + "<panda:Metadata>");
+	}
+
+	@After
+	public void tearDown() {
+		TDBFactory.release(TDBFactory.createDataset(tdbDirectory.getPath()));
+		deleteDirectory(tdbDirectory);
+		deleteDirectory(fileDirectory);
+	}
+
+	private void writeFile(String name, String content) throws IOException {
+		try (Writer writer = new OutputStreamWriter(new FileOutputStream(new File(fileDirectory, name)), "UTF-8")) {
+			writer.write(content);
+		}
+	}
+
+	private static File createTempDirectory(String prefix) throws IOException {
+		File directory = File.createTempFile(prefix, "");
+		directory.delete();
+		directory.mkdir();
+		return directory;
+	}
+
+	private static void deleteDirectory(File directory) {
+		for (File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	private TDBMetadata parse(String uri) throws Exception {
+		TDBMetadata meta = new TDBMetadata();
+		meta.setTdbLocation(tdbDirectory.getPath());
+		meta.setUri(uri);
+		meta.parseMetadata();
+		return meta;
+	}
+
+	@Test
+	public void testLoad() throws Exception {
+		List<File> files = TDBMetadataLoader.findMetadataFiles(fileDirectory);
+		assertEquals("Wrong number of files", 23, files.size());
+
+		LoadStatistics statistics = new TDBMetadataLoader(tdbDirectory.getPath(), 4, 10).load(files);
+		assertEquals("Wrong number of files", 22, statistics.getFiles());
+		assertEquals("Wrong number of failed files", 1, statistics.getFailedFiles());
+		assertEquals("Wrong number of records", 22, statistics.getRecords());
+
+		TDBMetadata meta = parse("/Data/TestData/17");
+		assertEquals("Wrong latitude", 52.517, meta.getArealScope().getLatitude(), 0.0001);
+		assertEquals("Wrong longitude", 13.317, meta.getArealScope().getLongitude(), 0.0001);
+		assertEquals("Wrong license", "http://www.fuberlin.de/panda/licenses/PDDL",
+				meta.getAdministrativeScope().getLicenceUri().toString());
+		assertEquals("Wrong expiration date", "11.06.2013 19:25:55.276",
+				meta.getTemporalScope().getExpirationDateString());
+	}
+
+	@Test
+	public void testNormalisation() throws Exception {
+		new TDBMetadataLoader(tdbDirectory.getPath(), 2, 1000)
+				.load(TDBMetadataLoader.findMetadataFiles(fileDirectory));
+
+		assertEquals("Wrong latitude of derived URI", 52.45,
+				parse("/Data/TestData/NoUri").getArealScope().getLatitude(), 0.0001);
+		assertEquals("Wrong longitude of renamed subject", 13.25,
+				parse("/Data/TestData/Other").getArealScope().getLongitude(), 0.0001);
+	}
+
+	@Test(expected = MetadataNotFoundException.class)
+	public void testLoadTwice() throws Exception {
+		TDBMetadataLoader loader = new TDBMetadataLoader(tdbDirectory.getPath(), 3, 5);
+		List<File> files = TDBMetadataLoader.findMetadataFiles(new File(fileDirectory, "pandaMD3.rdf"));
+		loader.load(files);
+		LoadStatistics statistics = loader.load(files);
+		assertEquals("Wrong number of records", 1, statistics.getRecords());
+
+		assertEquals("Wrong latitude", 52.53, parse("/Data/TestData/3").getArealScope().getLatitude(), 0.0001);
+		parse("/Data/TestData/4");
+	}
+}
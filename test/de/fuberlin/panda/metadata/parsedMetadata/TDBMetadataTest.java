@@ -0,0 +1,110 @@
+package de.fuberlin.panda.metadata.parsedMetadata;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.hp.hpl.jena.query.Dataset;
+import com.hp.hpl.jena.query.ReadWrite;
+import com.hp.hpl.jena.rdf.model.Model;
+import com.hp.hpl.jena.rdf.model.ModelFactory;
+import com.hp.hpl.jena.rdf.model.Resource;
+import com.hp.hpl.jena.tdb.TDBFactory;
+
+import de.fuberlin.panda.metadata.config.RDFInput;
+import de.fuberlin.panda.metadata.exceptions.MetadataNotFoundException;
+
+public class TDBMetadataTest {
+	private static final String PANDA_NS = "http://www.mi.fu-berlin.de/panda#";
+	private File tdbDirectory;
+	private Dataset dataset;
+	
+	@Before
+	public void setUp() throws IOException {
+		RDFInput.initPredicates();
+		tdbDirectory = File.createTempFile("tdb", "");
+		tdbDirectory.delete();
+		tdbDirectory.mkdir();
+		
+		dataset = TDBFactory.createDataset(tdbDirectory.getPath());
+		dataset.begin(ReadWrite.WRITE);
+		try {
+			addMetadata(dataset.getDefaultModel());
+			dataset.commit();
+		} finally {
+			dataset.end();
+		}
+	}
+	
+	@After
+	public void tearDown() {
+		TDBFactory.release(dataset);
+		for (File file : tdbDirectory.listFiles()) {
+			file.delete();
+		}
+		tdbDirectory.delete();
+	}
+	
+	private static void addMetadata(Model model) {
+		for (int i = 0; i < 3; i++) {
+			Resource metadata = model.createResource(PANDA_NS + "/Data/TestData/" + i);
+			metadata.addProperty(model.createProperty(PANDA_NS + "Uri"), "/Data/TestData/" + i);
+			metadata.addProperty(model.createProperty(PANDA_NS + "Creation"), "20.08.2013 12:30:4" + i + ".864");
+			metadata.addProperty(model.createProperty(PANDA_NS + "Latitude"), "52.4" + i);
+			metadata.addProperty(model.createProperty(PANDA_NS + "Longitude"), "13.2" + i);
+			metadata.addProperty(model.createProperty(PANDA_NS + "ExpirationDate"), "11.01.2014 13:59:01.162");
+			metadata.addProperty(model.createProperty(PANDA_NS + "License"), 
+					model.createResource("http://www.fuberlin.de/panda/licenses/ODbL"));
+		}
+	}
+
+	@Test
+	public void testParseMetadata() throws Exception {
+		TDBMetadata meta = new TDBMetadata();
+		meta.setTdbLocation(tdbDirectory.getPath());
+		meta.setUri("/Data/TestData/1");
+		meta.parseMetadata();
+		
+		assertEquals("Wrong operations", 1, meta.getOperations().getAttributes().size());
+		assertEquals("Wrong latitude", 52.41, meta.getArealScope().getLatitude(), 0.0001);
+		assertEquals("Wrong longitude", 13.21, meta.getArealScope().getLongitude(), 0.0001);
+		assertEquals("Wrong license", "http://www.fuberlin.de/panda/licenses/ODbL", 
+				meta.getAdministrativeScope().getLicenceUri().toString());
+		assertEquals("Wrong expiration date", "11.01.2014 13:59:01.162", 
+				meta.getTemporalScope().getExpirationDateString());
+	}
+	
+	@Test
+	public void testParseMetadataLikeVirtuoso() throws Exception {
+		Model localModel = ModelFactory.createDefaultModel();
+		addMetadata(localModel);
+		VirtuosoMetadata virtuosoMetadata = new VirtuosoBatchQuery(10, localModel)
+				.parseMetadata(Arrays.asList("/Data/TestData/2")).get("/Data/TestData/2");
+		
+		TDBMetadata tdbMetadata = new TDBMetadata();
+		tdbMetadata.setTdbLocation(tdbDirectory.getPath());
+		tdbMetadata.setUri("/Data/TestData/2");
+		tdbMetadata.parseMetadata();
+		
+		assertEquals("Different areal scope", 
+				Arrays.deepToString(virtuosoMetadata.getArealScope().getAttributes().toArray()), 
+				Arrays.deepToString(tdbMetadata.getArealScope().getAttributes().toArray()));
+		assertEquals("Different administrative scope", 
+				Arrays.deepToString(virtuosoMetadata.getAdministrativeScope().getAttributes().toArray()), 
+				Arrays.deepToString(tdbMetadata.getAdministrativeScope().getAttributes().toArray()));
+	}
+	
+	@Test(expected = MetadataNotFoundException.class)
+	public void testParseUnknownUri() throws Exception {
+		TDBMetadata meta = new TDBMetadata();
+		meta.setTdbLocation(tdbDirectory.getPath());
+		meta.setUri("/Data/TestData/7");
+		meta.parseMetadata();
+	}
+}
@@ -0,0 +1,116 @@
+package de.fuberlin.panda.metadata.parsedMetadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.hp.hpl.jena.rdf.model.Model;
+import com.hp.hpl.jena.rdf.model.ModelFactory;
+import com.hp.hpl.jena.rdf.model.Resource;
+
+import de.fuberlin.panda.metadata.config.RDFInput;
+import de.fuberlin.panda.metadata.exceptions.MetadataNotFoundException;
+import de.fuberlin.panda.metadata.result.ListResult;
+import de.fuberlin.panda.metadata.result.MetadataResult;
+
+public class VirtuosoBatchQueryTest {
+	private static final String PANDA_NS = "http://www.mi.fu-berlin.de/panda#";
+	private Model localModel;
+	
+	@Before
+	public void setUp() {
+		RDFInput.initPredicates();
+		localModel = ModelFactory.createDefaultModel();
+		for (int i = 0; i < 5; i++) {
+			Resource metadata = localModel.createResource(PANDA_NS + "md" + i);
+			metadata.addProperty(localModel.createProperty(PANDA_NS + "Uri"), "/Data/TestData/" + i);
+			metadata.addProperty(localModel.createProperty(PANDA_NS + "Creation"), "20.08.2013 12:30:4" + i + ".864");
+			metadata.addProperty(localModel.createProperty(PANDA_NS + "Access"), "21.08.2013 12:30:4" + i + ".864");
+			metadata.addProperty(localModel.createProperty(PANDA_NS + "Latitude"), "52.4" + i);
+			metadata.addProperty(localModel.createProperty(PANDA_NS + "Longitude"), "13.2" + i);
+			metadata.addProperty(localModel.createProperty(PANDA_NS + "License"), 
+					localModel.createResource("http://opendatacommons.org/licenses/pddl/"));
+		}
+	}
+
+	@Test
+	public void testParseMetadata() throws Exception {
+		VirtuosoBatchQuery batchQuery = new VirtuosoBatchQuery(2, localModel);
+		Map<String, VirtuosoMetadata> parsedMetadata = batchQuery.parseMetadata(Arrays.asList(
+				"/Data/TestData/4", "/Data/TestData/0", "/Data/TestData/2", "/Data/TestData/3", "/Data/TestData/5"));
+		
+		assertEquals("Wrong number of parsed URIs", 4, parsedMetadata.size());
+		assertNull("Unknown URI parsed", parsedMetadata.get("/Data/TestData/5"));
+		for (String uri : new String[] {"/Data/TestData/0", "/Data/TestData/2", "/Data/TestData/3", "/Data/TestData/4"}) {
+			VirtuosoMetadata singleMetadata = parsedMetadata.get(uri);
+			int index = Integer.parseInt(uri.substring(uri.length() - 1));
+			assertEquals("Wrong URI", uri, singleMetadata.getUri());
+			assertEquals("Rows of other URIs added", 2, singleMetadata.getOperations().getAttributes().size());
+			assertEquals("Wrong latitude", 52.4 + index / 100.0, singleMetadata.getArealScope().getLatitude(), 0.0001);
+			assertEquals("Wrong license", "http://opendatacommons.org/licenses/pddl/", 
+					singleMetadata.getAdministrativeScope().getLicenceUri().toString());
+		}
+	}
+	
+	@Test
+	public void testPrepareQuery() {
+		VirtuosoBatchQuery batchQuery = new VirtuosoBatchQuery(2, localModel);
+		List<String> batch = Arrays.asList("/Data/TestData/1", "/Data/\"quoted\"");
+		String query = batchQuery.prepareQuery(batch, new VirtuosoMetadata());
+		assertTrue("Missing VALUES clause", query.contains("VALUES ?u { \"/Data/TestData/1\" \"/Data/\\\"quoted\\\"\" }"));
+	}
+	
+	@Test
+	public void testParseVirtuosoMetadataInBatches() throws Exception {
+		MetadataResult result = new ListResult();
+		result.parseVirtuosoMetadata(Arrays.asList("/Data/TestData/1", "/Data/TestData/0", "/Data/TestData/1"), 
+				new VirtuosoBatchQuery(2, localModel));
+		result.createRdfModel();
+		assertEquals("Wrong number of metadata subjects", 2, result.getMetadataModel().listSubjects().toList().size());
+	}
+	
+	@Test(expected = MetadataNotFoundException.class)
+	public void testParseUnknownUri() throws Exception {
+		MetadataResult result = new ListResult();
+		result.parseVirtuosoMetadata(Arrays.asList("/Data/TestData/1", "/Data/TestData/7"), 
+				new VirtuosoBatchQuery(10, localModel));
+	}
+	
+	@Test
+	public void testParseMetadataConcurrently() throws Exception {
+		List<String> uris = Arrays.asList("/Data/TestData/4", "/Data/TestData/0", "/Data/TestData/2", 
+				"/Data/TestData/3", "/Data/TestData/5", "/Data/TestData/1");
+		Map<String, VirtuosoMetadata> expected = new VirtuosoBatchQuery(2, localModel).parseMetadata(uris);
+		VirtuosoBatchQuery batchQuery = new VirtuosoBatchQuery(2, localModel);
+		batchQuery.setParallelism(3);
+		batchQuery.setTimeout(10000);
+		Map<String, VirtuosoMetadata> parsedMetadata = batchQuery.parseMetadata(uris);
+		
+		assertEquals("Wrong parsed URIs", expected.keySet(), parsedMetadata.keySet());
+		for (String uri : expected.keySet()) {
+			assertEquals("Wrong latitude", expected.get(uri).getArealScope().getLatitude(), 
+					parsedMetadata.get(uri).getArealScope().getLatitude(), 0);
+		}
+	}
+	
+	@Test
+	public void testSkipUnknownUri() throws Exception {
+		MetadataResult result = new ListResult();
+		result.parseVirtuosoMetadata(Arrays.asList("/Data/TestData/1", "/Data/TestData/7", "/Data/TestData/2"), 
+				new VirtuosoBatchQuery(2, localModel), false);
+		result.createRdfModel();
+		assertEquals("Wrong number of metadata subjects", 2, result.getMetadataModel().listSubjects().toList().size());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidBatchSize() {
+		new VirtuosoBatchQuery(0);
+	}
+}
@@ -0,0 +1,110 @@
+package de.fuberlin.panda.metadata.parsedMetadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.fuberlin.panda.metadata.exceptions.MetadataNotFoundException;
+
+public class XMLMetadataIndexTest {
+	private File xmlFile;
+	
+	@Before
+	public void setUp() throws IOException {
+		xmlFile = File.createTempFile("metadata", ".xml");
+		writeMetadataFile("/Data/TestData/1", "/Data/TestData/2", "/Data/TestData/3");
+	}
+	
+	@After
+	public void tearDown() {
+		XMLMetadataIndex.clear();
+		xmlFile.delete();
+	}
+	
+	private void writeMetadataFile(String... uris) throws IOException {
+		StringBuilder xml = new StringBuilder();
+		xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<rdf:RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\"\n"
+				+ "  xmlns:panda=\"http://www.mi.fu-berlin.de/panda#\">\n");
+		for (int i = 0; i < uris.length; i += 2) {
+			xml.append("  <panda:Metadata>\n");
+			xml.append("    <panda:Data rdf:about=\"" + uris[i] + "\" />");
+			if (i + 1 < uris.length) {
+				xml.append("<panda:Data rdf:about=\"" + uris[i + 1] + "\" />");
+			}
+			xml.append("\n");
+			xml.append("    <!-- Operational Metadata -->\n");
+			xml.append("    <panda:Creation>20.08.2013 12:30:4" + i + ".864</panda:Creation>\n");
+			xml.append("    <!-- Areal Scope -->\n");
+			xml.append("    <panda:Latitude>52.45</panda:Latitude>\n");
+			xml.append("    <panda:Longitude>13.29</panda:Longitude>\n");
+			xml.append("  </panda:Metadata>\n");
+		}
+		xml.append("</rdf:RDF>");
+		
+		Writer writer = new OutputStreamWriter(new FileOutputStream(xmlFile), "UTF-8");
+		writer.write(xml.toString());
+		writer.close();
+	}
+
+	@Test
+	public void testGetMetadataNodes() throws Exception {
+		XMLMetadataIndex index = XMLMetadataIndex.getIndex(xmlFile.getPath());
+		assertEquals("Wrong number of indexed URIs", 3, index.size());
+		assertNotNull("URI of first data node not indexed", index.getMetadataNodes("/Data/TestData/1"));
+		assertSame("URIs of the same metadata node have different nodes", 
+				index.getMetadataNodes("/Data/TestData/1"), index.getMetadataNodes("/Data/TestData/2"));
+		assertNotSame("URIs of different metadata nodes have the same nodes", 
+				index.getMetadataNodes("/Data/TestData/1"), index.getMetadataNodes("/Data/TestData/3"));
+		assertNull("Unknown URI found", index.getMetadataNodes("/Data/TestData/4"));
+	}
+	
+	@Test
+	public void testIndexIsCached() throws Exception {
+		XMLMetadataIndex index = XMLMetadataIndex.getIndex(xmlFile.getPath());
+		assertSame("File was parsed again", index, XMLMetadataIndex.getIndex(xmlFile.getPath()));
+	}
+	
+	@Test
+	public void testIndexIsInvalidated() throws Exception {
+		XMLMetadataIndex index = XMLMetadataIndex.getIndex(xmlFile.getPath());
+		long lastModified = xmlFile.lastModified();
+		writeMetadataFile("/Data/TestData/1", "/Data/TestData/2", "/Data/TestData/3", "/Data/TestData/4");
+		xmlFile.setLastModified(lastModified + 2000);
+		
+		XMLMetadataIndex newIndex = XMLMetadataIndex.getIndex(xmlFile.getPath());
+		assertNotSame("Modified file wasn't parsed again", index, newIndex);
+		assertNotNull("New URI not indexed", newIndex.getMetadataNodes("/Data/TestData/4"));
+	}
+	
+	@Test
+	public void testParseXMLMetadata() throws Exception {
+		XMLMetadata meta = new XMLMetadata();
+		meta.setXmlFilePath(xmlFile.getPath());
+		meta.setUri("/Data/TestData/3");
+		meta.parseMetadata();
+		assertEquals("Wrong operations parsed", 1, meta.getOperations().getAttributes().size());
+		assertTrue("Wrong areal scope parsed", meta.getArealScope().getAttributes().size() > 0);
+	}
+	
+	@Test(expected = MetadataNotFoundException.class)
+	public void testParseUnknownUri() throws Exception {
+		XMLMetadata meta = new XMLMetadata();
+		meta.setXmlFilePath(xmlFile.getPath());
+		meta.setUri("/Data/TestData/4");
+		meta.parseMetadata();
+	}
+}
@@ -0,0 +1,127 @@
+package de.fuberlin.panda.metadata.result;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+import de.fuberlin.panda.metadata.config.OutputFormat;
+import de.fuberlin.panda.metadata.config.RDFInput;
+import de.fuberlin.panda.metadata.parsedMetadata.GeneratedMetadata;
+
+/**
+ * Simple benchmark which compares the peak heap usage of a metadata request for the
+ * buffered output ({@link MetadataResult#toRdfXml()}), the streamed output 
+ * ({@link MetadataResult#writeRdfXml(OutputStream)}) and the {@link StreamingListResult}
+ * which doesn't build a model at all. The output is written to a 
+ * stream which just counts the bytes, like a servlet response sending chunks.
+ * <br><br>
+ * Usage: {@code MetadataOutputBenchmark [uriCount]}
+ * 
+ * @since 18.10.2026
+ */
+public class MetadataOutputBenchmark {
+	private static final int BUFFERED = 0;
+	private static final int STREAMED = 1;
+	private static final int EMITTED = 2;
+	
+	public static void main(String[] args) throws IOException {
+		int uriCount = (args.length > 0) ? Integer.parseInt(args[0]) : 5000;
+		RDFInput.initPredicates();
+		
+		//warm up
+		runBuffered(100);
+		runStreamed(100);
+		runEmitted(100);
+		
+		for (int i = 0; i < 3; i++) {
+			long bufferedPeak = measure(BUFFERED, uriCount);
+			long streamedPeak = measure(STREAMED, uriCount);
+			long emittedPeak = measure(EMITTED, uriCount);
+			System.out.println("URIs: " + uriCount + "\t buffered peak heap: " + (bufferedPeak / 1024) 
+					+ " KB\t streamed peak heap: " + (streamedPeak / 1024) + " KB"
+					+ "\t emitted peak heap: " + (emittedPeak / 1024) + " KB");
+		}
+	}
+	
+	/**
+	 * This method resets the peak usage of all heap pools, runs one request and returns 
+	 * the additional peak heap usage compared to the usage before the request.
+	 */
+	private static long measure(int mode, int uriCount) throws IOException {
+		System.gc();
+		long baseline = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				baseline += pool.getUsage().getUsed();
+				pool.resetPeakUsage();
+			}
+		}
+		
+		switch (mode) {
+		case BUFFERED:
+			runBuffered(uriCount);
+			break;
+		case STREAMED:
+			runStreamed(uriCount);
+			break;
+		default:
+			runEmitted(uriCount);
+			break;
+		}
+		
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				peak += pool.getPeakUsage().getUsed();
+			}
+		}
+		return peak - baseline;
+	}
+	
+	private static MetadataResult createResult(int uriCount) {
+		MetadataResult result = new ListResult();
+		for (int i = 0; i < uriCount; i++) {
+			result.metadataEntries.add(new GeneratedMetadata(i));
+		}
+		result.createRdfModel();
+		return result;
+	}
+	
+	private static void runBuffered(int uriCount) throws IOException {
+		String output = createResult(uriCount).toRdfXml();
+		byte[] bytes = output.getBytes("UTF-8");
+		new CountingOutputStream().write(bytes);
+	}
+	
+	private static void runStreamed(int uriCount) throws IOException {
+		createResult(uriCount).writeRdfXml(new CountingOutputStream());
+	}
+	
+	private static void runEmitted(int uriCount) throws IOException {
+		StreamingListResult result = new StreamingListResult(new CountingOutputStream(), 
+				OutputFormat.N_TRIPLES);
+		for (int i = 0; i < uriCount; i++) {
+			result.addMetadataEntry(new GeneratedMetadata(i));
+		}
+		result.finish();
+	}
+	
+	/**
+	 * {@code OutputStream} which discards all bytes and only counts them.
+	 */
+	private static class CountingOutputStream extends OutputStream {
+		private long count = 0;
+		
+		@Override
+		public void write(int b) {
+			count++;
+		}
+		
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
@@ -4,8 +4,19 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
 import org.junit.Test;
 
+import com.hp.hpl.jena.rdf.model.Model;
+import com.hp.hpl.jena.rdf.model.ModelFactory;
+
+import de.fuberlin.panda.metadata.config.OutputFormat;
+import de.fuberlin.panda.metadata.parsedMetadata.GeneratedMetadata;
+
 import de.fuberlin.panda.metadata.result.ListResult;
 import de.fuberlin.panda.metadata.result.MetadataResult;
 
@@ -33,4 +44,92 @@ public class MetadataResultTest {
 		}
 	}
 	
+	@Test
+	public void testWriteRdfXml() {
+		MetadataResult meta = new ListResult();
+		meta.metadataEntries.add(new GeneratedMetadata(1));
+		meta.metadataEntries.add(new GeneratedMetadata(2));
+		try {
+			meta.createRdfModel();
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			meta.writeRdfXml(out);
+			assertTrue("Streamed output differs from String output", 
+					out.toString().equals(meta.toRdfXml()));
+			assertTrue("Streamed output misses metadata", 
+					out.toString().contains("/Data/TestData/2"));
+		} catch (Exception e) {
+			fail(e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testWriteNTriples() {
+		MetadataResult meta = new ListResult();
+		meta.metadataEntries.add(new GeneratedMetadata(1));
+		try {
+			meta.createRdfModel();
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			meta.writeRdf(out, OutputFormat.N_TRIPLES);
+			String ntriples = out.toString();
+			assertTrue("N-Triples output starts with XML declaration", !ntriples.startsWith("<?xml"));
+			assertTrue("N-Triples output misses data triple", ntriples.contains(
+					"<http://www.mi.fu-berlin.de/panda#Data> \"/Data/TestData/1\""));
+		} catch (Exception e) {
+			fail(e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testStreamingListResult() {
+		MetadataResult meta = new ListResult();
+		for (int i = 0; i < 3; i++) {
+			meta.metadataEntries.add(new GeneratedMetadata(i));
+		}
+		meta.createRdfModel();
+		
+		for (OutputFormat format : new OutputFormat[] {OutputFormat.N_TRIPLES, OutputFormat.TURTLE}) {
+			try {
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				StreamingListResult streamingMeta = new StreamingListResult(out, format);
+				for (int i = 0; i < 3; i++) {
+					streamingMeta.addMetadataEntry(new GeneratedMetadata(i));
+				}
+				streamingMeta.finish();
+				
+				Model streamedModel = ModelFactory.createDefaultModel();
+				RDFDataMgr.read(streamedModel, new ByteArrayInputStream(out.toByteArray()), 
+						(format == OutputFormat.TURTLE) ? Lang.TURTLE : Lang.NTRIPLES);
+				assertTrue("Streamed " + format + " output differs from model", 
+						streamedModel.isIsomorphicWith(meta.getMetadataModel()));
+				assertTrue("Wrong number of streamed entries", streamingMeta.getEntryCount() == 3);
+			} catch (Exception e) {
+				fail(e.getMessage());
+			}
+		}
+	}
+	
+	@Test
+	public void testStreamingListResultWriteRdf() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		MetadataResult meta = new StreamingListResult(out, OutputFormat.N_TRIPLES);
+		meta.addMetadataEntry(new GeneratedMetadata(0));
+		meta.writeRdf(out, OutputFormat.N_TRIPLES);
+		int length = out.size();
+		assertTrue("No triples written", length > 0);
+		
+		meta.writeRdf(out, OutputFormat.N_TRIPLES);
+		assertTrue("Finished output written again", out.size() == length);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testStreamingListResultWriteRdfToOtherStream() throws Exception {
+		MetadataResult meta = new StreamingListResult(new ByteArrayOutputStream(), OutputFormat.TURTLE);
+		meta.writeRdf(new ByteArrayOutputStream(), OutputFormat.TURTLE);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testStreamingListResultWithXml() {
+		new StreamingListResult(new ByteArrayOutputStream(), OutputFormat.RDF_XML_ABBREV);
+	}
+	
 }
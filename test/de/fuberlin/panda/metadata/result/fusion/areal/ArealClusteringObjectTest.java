@@ -24,6 +24,32 @@ public class ArealClusteringObjectTest {
 		assertTrue("Distance was not 5,830951894845301 as expected but: " + testDistance + ".", testDistance == 5.830951894845301);
 	}
 	
+	@Test
+	public void testGeodesicDistance() {
+		ArealClusteringObject berlin = new ArealClusteringObject(0, 13.405, 52.52);
+		ArealClusteringObject potsdam = new ArealClusteringObject(1, 13.0645, 52.3906);
+		berlin.setDistanceMetric(ArealDistanceMetric.GEODESIC);
+		potsdam.setDistanceMetric(ArealDistanceMetric.GEODESIC);
+		
+		//haversine distance in degrees of latitude
+		double latitude1 = Math.toRadians(52.52);
+		double latitude2 = Math.toRadians(52.3906);
+		double longitudeDifference = Math.toRadians(13.405 - 13.0645);
+		double haversine = Math.pow(Math.sin((latitude1 - latitude2) / 2), 2) 
+				+ Math.cos(latitude1) * Math.cos(latitude2) * Math.pow(Math.sin(longitudeDifference / 2), 2);
+		double expected = Math.toDegrees(2 * Math.asin(Math.sqrt(haversine)));
+		
+		double testDistance = berlin.getDistance(potsdam);
+		assertTrue("Geodesic distance was not " + expected + " as expected but: " + testDistance + ".", 
+				Math.abs(testDistance - expected) < 1e-3 * expected);
+		assertTrue("Geodesic distance isn't symmetric.", testDistance == potsdam.getDistance(berlin));
+		
+		berlin.setDistanceMetric(ArealDistanceMetric.PLANAR);
+		potsdam.setDistanceMetric(ArealDistanceMetric.PLANAR);
+		assertTrue("Planar distance changed.", berlin.getDistance(potsdam) 
+				== Math.sqrt(Math.pow(52.52 - 52.3906, 2) + Math.pow(13.405 - 13.0645, 2)));
+	}
+	
 	@Test
 	public void testCalculateCoreDistance() {
 		int minNeighbors = 2;
@@ -0,0 +1,37 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.hp.hpl.jena.rdf.model.ModelFactory;
+
+import de.fuberlin.panda.metadata.parsedMetadata.GeneratedMetadata;
+import de.fuberlin.panda.metadata.parsedMetadata.ParsedMetadata;
+
+public class ArealFusionTest {
+	private ArealFusion arealFusion;
+
+	@Before
+	public void setUp() {
+		arealFusion = new ArealFusion(ModelFactory.createDefaultModel(), "test");
+	}
+
+	private void add(int index, double longitude, double latitude) {
+		ParsedMetadata singleMetadata = new GeneratedMetadata(index);
+		singleMetadata.getArealScope().setLongitude(Double.toString(longitude));
+		singleMetadata.getArealScope().setLatitude(Double.toString(latitude));
+		arealFusion.add(index, singleMetadata);
+	}
+
+	@Test
+	public void testNeighborhoodRadiusUsesDiagonal() {
+		//a bounding box of 4 x 3 degrees, so the diagonal is 5 degrees
+		add(0, 0, 0);
+		add(1, 4, 0);
+		add(2, 4, 3);
+		add(3, 0, 3);
+		assertEquals("Wrong neighborhood radius", 5.0 / 4, arealFusion.calculateNeighborhoodRadius(), 1e-12);
+	}
+}
@@ -10,9 +10,15 @@ import de.fuberlin.panda.metadata.result.fusion.areal.geocoding.GeocodingTestSui
 @SuiteClasses({
 	ArealClusterDetectorTest.class,
 	ArealClusteringObjectTest.class,
+	ArealFusionTest.class,
 	ConvexHullTest.class,
+	EncodedPolylineTest.class,
 	GeoAreaTest.class,
+	GeoAreaTreeTest.class,
 	GeoCoordinatesComparatorTest.class,
+	GeoPolygonTest.class,
+	SimplifiedPolygonTest.class,
+	ArealSpatialIndexTest.class,
 	GeocodingTestSuite.class
 })
 public class ArealFusionTestSuite {
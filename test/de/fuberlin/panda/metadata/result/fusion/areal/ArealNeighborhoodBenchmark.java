@@ -0,0 +1,99 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.TreeSet;
+
+import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringObject;
+import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringResult;
+import de.fuberlin.panda.metadata.result.fusion.clustering.NeighborsComparator;
+
+/**
+ * Simple benchmark which measures the neighborhood calculation of the
+ * {@link ArealClusterDetector} with the {@link ArealSpatialIndex} and the whole OPTICS
+ * clustering for 1k to 1M random points. For up to 10k points the neighborhoods are also
+ * calculated by comparing every object with every other object, like the detector did
+ * before the index. The neighborhood radius and the minimal neighbors are chosen like
+ * {@link ArealFusion} does.
+ * <br><br>
+ * Usage: {@code ArealNeighborhoodBenchmark [maxPoints]}
+ *
+ * @since 18.10.2026
+ */
+public class ArealNeighborhoodBenchmark {
+	private static final int MAX_BRUTE_FORCE_POINTS = 10000;
+
+	public static void main(String[] args) {
+		int maxPoints = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+
+		//warm up
+		runIndexed(createObjects(10000), 0.1, 5);
+		runBruteForce(createObjects(2000), 0.1, 5);
+
+		for (int pointCount = 1000; pointCount <= maxPoints; pointCount *= 10) {
+			double neighborhoodRadius = 1d / pointCount;
+
+			long startTime = System.nanoTime();
+			runIndexed(createObjects(pointCount), neighborhoodRadius, 5);
+			long indexedMillis = (System.nanoTime() - startTime) / 1000000;
+
+			String bruteForce = "-";
+			if (pointCount <= MAX_BRUTE_FORCE_POINTS) {
+				startTime = System.nanoTime();
+				runBruteForce(createObjects(pointCount), neighborhoodRadius, 5);
+				bruteForce = ((System.nanoTime() - startTime) / 1000000) + " ms";
+			}
+
+			startTime = System.nanoTime();
+			ClusteringResult result = new ArealClusterDetector(neighborhoodRadius, 5, 5)
+					.detectClusters(createObjects(pointCount));
+			long clusteringMillis = (System.nanoTime() - startTime) / 1000000;
+
+			System.out.println("points: " + pointCount + "\t indexed neighborhoods: " + indexedMillis
+					+ " ms\t brute force neighborhoods: " + bruteForce + "\t OPTICS: " + clusteringMillis
+					+ " ms (" + result.getClusters().size() + " clusters)");
+		}
+	}
+
+	private static TreeSet<ArealClusteringObject> createObjects(int pointCount) {
+		Random random = new Random(42);
+		TreeSet<ArealClusteringObject> objects = new TreeSet<>(new GeoCoordinatesComparator());
+		for (int i = 0; i < pointCount; i++) {
+			objects.add(new ArealClusteringObject(i, 13 + random.nextDouble(), 52 + random.nextDouble()));
+		}
+		return objects;
+	}
+
+	private static void runIndexed(TreeSet<ArealClusteringObject> objects, double neighborhoodRadius,
+			int minNeighbors) {
+		ArealClusterDetector detector = new ArealClusterDetector(neighborhoodRadius, minNeighbors);
+		for (ArealClusteringObject object : objects) {
+			detector.calculateNeighborhood(object, objects);
+		}
+	}
+
+	/**
+	 * The neighborhood calculation without index which compares every object with every other.
+	 */
+	private static void runBruteForce(TreeSet<ArealClusteringObject> objects, double neighborhoodRadius,
+			int minNeighbors) {
+		for (ArealClusteringObject object : objects) {
+			PriorityQueue<ClusteringObject> distancedNeighbors = 
+					new PriorityQueue<>(objects.size(), new NeighborsComparator());
+			for (ArealClusteringObject neighbor : objects) {
+				if (neighbor != object) {
+					double distance = object.getDistance(neighbor);
+					neighbor.setHelpEpsilonDistance(distance);
+					if (distance <= neighborhoodRadius) {
+						object.addNeighbor(neighbor);
+					} else {
+						distancedNeighbors.add(neighbor);
+					}
+				}
+			}
+			while (object.getNeighbors().size() < minNeighbors) {
+				object.addNeighbor(distancedNeighbors.poll());
+			}
+		}
+	}
+}
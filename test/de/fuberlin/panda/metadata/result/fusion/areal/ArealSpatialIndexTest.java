@@ -0,0 +1,134 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringObject;
+import de.fuberlin.panda.metadata.result.fusion.clustering.NeighborsComparator;
+
+public class ArealSpatialIndexTest {
+
+	private static List<ArealClusteringObject> createObjects(int count, long seed) {
+		Random random = new Random(seed);
+		List<ArealClusteringObject> objects = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			//rounded coordinates to get equal distances as well
+			double longitude = 13 + Math.round(random.nextDouble() * 100) / 100d;
+			double latitude = 52 + Math.round(random.nextDouble() * 100) / 100d;
+			objects.add(new ArealClusteringObject(i, longitude, latitude));
+		}
+		return objects;
+	}
+
+	private static List<Integer> getIndices(List<ArealClusteringObject> objects) {
+		List<Integer> indices = new ArrayList<>();
+		for (ArealClusteringObject object : objects) {
+			indices.add(object.getMetadataIndex());
+		}
+		return indices;
+	}
+
+	@Test
+	public void testRangeQuery() {
+		List<ArealClusteringObject> objects = createObjects(500, 1);
+		ArealSpatialIndex index = new ArealSpatialIndex(objects);
+		assertEquals("Wrong index size", 500, index.size());
+
+		for (ArealClusteringObject center : objects.subList(0, 50)) {
+			List<Integer> expected = new ArrayList<>();
+			for (ArealClusteringObject object : objects) {
+				if (object != center && center.getDistance(object) <= 0.05) {
+					expected.add(object.getMetadataIndex());
+				}
+			}
+			List<Integer> actual = getIndices(index.rangeQuery(center, 0.05));
+			Collections.sort(actual);
+			assertEquals("Wrong range of object " + center.getMetadataIndex(), expected, actual);
+		}
+	}
+
+	@Test
+	public void testNearestNeighbors() {
+		List<ArealClusteringObject> objects = createObjects(500, 2);
+		ArealSpatialIndex index = new ArealSpatialIndex(objects);
+
+		for (ArealClusteringObject center : objects.subList(0, 50)) {
+			TreeSet<ClusteringObject> sortedObjects = new TreeSet<>(new NeighborsComparator());
+			for (ArealClusteringObject object : objects) {
+				if (object != center) {
+					object.setHelpEpsilonDistance(center.getDistance(object));
+					sortedObjects.add(object);
+				}
+			}
+			List<Integer> expected = new ArrayList<>();
+			for (ClusteringObject object : sortedObjects) {
+				if (expected.size() == 7) {
+					break;
+				}
+				expected.add(object.getMetadataIndex());
+			}
+			assertEquals("Wrong nearest neighbors of object " + center.getMetadataIndex(), expected,
+					getIndices(index.nearestNeighbors(center, 7)));
+		}
+	}
+
+	@Test
+	public void testGeodesicQueries() {
+		Random random = new Random(4);
+		List<ArealClusteringObject> objects = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			ArealClusteringObject object = new ArealClusteringObject(i, 10 * random.nextDouble(), 
+					40 + 30 * random.nextDouble());
+			object.setDistanceMetric(ArealDistanceMetric.GEODESIC);
+			objects.add(object);
+		}
+		ArealSpatialIndex index = new ArealSpatialIndex(objects);
+
+		for (ArealClusteringObject center : objects.subList(0, 50)) {
+			List<Integer> expectedRange = new ArrayList<>();
+			TreeSet<ClusteringObject> sortedObjects = new TreeSet<>(new NeighborsComparator());
+			for (ArealClusteringObject object : objects) {
+				if (object != center) {
+					if (center.getDistance(object) <= 1) {
+						expectedRange.add(object.getMetadataIndex());
+					}
+					object.setHelpEpsilonDistance(center.getDistance(object));
+					sortedObjects.add(object);
+				}
+			}
+			List<Integer> actualRange = getIndices(index.rangeQuery(center, 1));
+			Collections.sort(actualRange);
+			assertEquals("Wrong range of object " + center.getMetadataIndex(), expectedRange, actualRange);
+
+			List<Integer> expectedNeighbors = new ArrayList<>();
+			for (ClusteringObject object : sortedObjects) {
+				if (expectedNeighbors.size() == 7) {
+					break;
+				}
+				expectedNeighbors.add(object.getMetadataIndex());
+			}
+			assertEquals("Wrong nearest neighbors of object " + center.getMetadataIndex(), expectedNeighbors,
+					getIndices(index.nearestNeighbors(center, 7)));
+		}
+	}
+
+	@Test
+	public void testQueriesWithFewObjects() {
+		List<ArealClusteringObject> objects = createObjects(3, 3);
+		objects.add(new ArealClusteringObject(3, null, null));
+		ArealSpatialIndex index = new ArealSpatialIndex(objects);
+
+		assertEquals("Object without coordinates indexed", 3, index.size());
+		assertEquals("Wrong number of nearest neighbors", 2, index.nearestNeighbors(objects.get(0), 5).size());
+		assertTrue("Center object returned", !index.rangeQuery(objects.get(0), 10).contains(objects.get(0)));
+		assertEquals("Wrong number of objects in range", 2, index.rangeQuery(objects.get(0), 10).size());
+	}
+}
@@ -0,0 +1,40 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class EncodedPolylineTest {
+
+	/**
+	 * The example of the documentation of the format.
+	 */
+	@Test
+	public void testReferenceExample() {
+		double[] ring = {-120.2, 38.5, -120.95, 40.7, -126.453, 43.252};
+		assertEquals("Wrong encoding", "_p~iF~ps|U_ulLnnqC_mqNvxq`@", EncodedPolyline.encode(ring));
+		assertArrayEquals("Wrong decoding", ring, EncodedPolyline.decode("_p~iF~ps|U_ulLnnqC_mqNvxq`@"), 1e-9);
+	}
+
+	@Test
+	public void testRandomRings() {
+		Random random = new Random(5);
+		for (int round = 0; round < 100; round++) {
+			double[] ring = new double[2 * random.nextInt(20)];
+			for (int i = 0; i < ring.length; i += 2) {
+				ring[i] = -180 + 360 * random.nextDouble();
+				ring[i + 1] = -90 + 180 * random.nextDouble();
+			}
+			double[] decoded = EncodedPolyline.decode(EncodedPolyline.encode(ring));
+			assertArrayEquals("Wrong ring in round " + round, ring, decoded, 0.5e-5 + 1e-9);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTruncatedPolyline() {
+		EncodedPolyline.decode("_p~iF~ps|U_ulL");
+	}
+}
@@ -0,0 +1,212 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.io.File;
+import java.io.FileFilter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import de.fuberlin.panda.metadata.exceptions.PolygonReadingException;
+import de.fuberlin.panda.metadata.result.fusion.areal.geocoding.PolygonFileReader;
+import de.fuberlin.panda.metadata.result.fusion.areal.geocoding.PolygonSection;
+
+/**
+ * Simple benchmark which compares the {@link GeoPolygon} with {@code java.awt.geom.Area},
+ * the former backend of the {@link GeoArea}, on the polygons of the {@code .poly} files of a
+ * directory:
+ * <ul>
+ * <li>construction of every polygon from its sections,</li>
+ * <li>the union of all polygons one after another, like the merging of the
+ * 	{@link ArealFusion},</li>
+ * <li>the difference of the largest polygon and every other polygon and</li>
+ * <li>containment checks of random points inside the bounds of all polygons.</li>
+ * </ul>
+ * Every variant is measured after a warm up as the average of several rounds.
+ * <br><br>
+ * Usage: {@code GeoAreaBenchmark [directory] [rounds]}
+ *
+ * @since 18.10.2026
+ */
+public class GeoAreaBenchmark {
+	private static final int POINT_COUNT = 100000;
+
+	//keeps the JIT compiler from removing the operations
+	private static double checksum = 0;
+
+	public static void main(String[] args) throws Exception {
+		File directory = new File((args.length > 0) ? args[0] : "WebContent/prefs/geocoding");
+		int rounds = (args.length > 1) ? Integer.parseInt(args[1]) : 10;
+
+		List<List<PolygonSection>> polygons = loadPolygons(directory);
+		List<Area> areas = new ArrayList<>();
+		List<GeoPolygon> geoPolygons = new ArrayList<>();
+		int largest = 0;
+		for (List<PolygonSection> sections : polygons) {
+			areas.add(createArea(sections));
+			geoPolygons.add(createGeoPolygon(sections));
+			if (areas.get(areas.size() - 1).getBounds2D().getWidth() > areas.get(largest).getBounds2D().getWidth()) {
+				largest = areas.size() - 1;
+			}
+		}
+		double[] points = createPoints(areas);
+
+		for (int warmUp = 0; warmUp < 2; warmUp++) {
+			measure(polygons, areas, geoPolygons, largest, points, 1);
+		}
+		System.out.println("polygons: " + polygons.size() + ", contains checks: " + POINT_COUNT + " per polygon, average of "
+				+ rounds + " rounds");
+		System.out.println("operation\tArea\tGeoPolygon");
+		measure(polygons, areas, geoPolygons, largest, points, rounds);
+		System.out.println("(checksum " + checksum + ")");
+	}
+
+	private static void measure(List<List<PolygonSection>> polygons, List<Area> areas, List<GeoPolygon> geoPolygons,
+			int largest, double[] points, int rounds) {
+		long[] nanos = new long[8];
+		for (int round = 0; round < rounds; round++) {
+			long startTime = System.nanoTime();
+			for (List<PolygonSection> sections : polygons) {
+				checksum += createArea(sections).getBounds2D().getWidth();
+			}
+			nanos[0] += System.nanoTime() - startTime;
+			startTime = System.nanoTime();
+			for (List<PolygonSection> sections : polygons) {
+				checksum += createGeoPolygon(sections).getBounds2D().getWidth();
+			}
+			nanos[1] += System.nanoTime() - startTime;
+
+			startTime = System.nanoTime();
+			Area areaUnion = new Area();
+			for (Area area : areas) {
+				areaUnion.add(area);
+			}
+			checksum += areaUnion.getBounds2D().getWidth();
+			nanos[2] += System.nanoTime() - startTime;
+			startTime = System.nanoTime();
+			GeoPolygon polygonUnion = GeoPolygon.EMPTY;
+			for (GeoPolygon polygon : geoPolygons) {
+				polygonUnion = polygonUnion.union(polygon);
+			}
+			checksum += polygonUnion.getBounds2D().getWidth();
+			nanos[3] += System.nanoTime() - startTime;
+
+			startTime = System.nanoTime();
+			for (int i = 0; i < areas.size(); i++) {
+				if (i != largest) {
+					Area difference = new Area(areas.get(largest));
+					difference.subtract(areas.get(i));
+					checksum += difference.getBounds2D().getWidth();
+				}
+			}
+			nanos[4] += System.nanoTime() - startTime;
+			startTime = System.nanoTime();
+			for (int i = 0; i < geoPolygons.size(); i++) {
+				if (i != largest) {
+					checksum += geoPolygons.get(largest).difference(geoPolygons.get(i)).getBounds2D().getWidth();
+				}
+			}
+			nanos[5] += System.nanoTime() - startTime;
+
+			startTime = System.nanoTime();
+			for (Area area : areas) {
+				for (int i = 0; i < points.length; i += 2) {
+					checksum += area.contains(points[i], points[i + 1]) ? 1 : 0;
+				}
+			}
+			nanos[6] += System.nanoTime() - startTime;
+			startTime = System.nanoTime();
+			for (GeoPolygon polygon : geoPolygons) {
+				for (int i = 0; i < points.length; i += 2) {
+					checksum += polygon.contains(points[i], points[i + 1]) ? 1 : 0;
+				}
+			}
+			nanos[7] += System.nanoTime() - startTime;
+		}
+		if (rounds > 1) {
+			String[] operations = {"construction", "union", "difference", "contains"};
+			for (int i = 0; i < operations.length; i++) {
+				System.out.println(operations[i] + "\t" + toMillis(nanos[2 * i], rounds) + " ms\t"
+						+ toMillis(nanos[2 * i + 1], rounds) + " ms");
+			}
+		}
+	}
+
+	private static String toMillis(long nanos, int rounds) {
+		return String.format("%.2f", nanos / 1000000d / rounds);
+	}
+
+	static List<List<PolygonSection>> loadPolygons(File directory) {
+		File[] polygonFiles = directory.listFiles(new FileFilter() {
+			@Override
+			public boolean accept(File file) {
+				return file.getName().endsWith(".poly");
+			}
+		});
+		List<List<PolygonSection>> polygons = new ArrayList<>();
+		for (File polygonFile : polygonFiles) {
+			try {
+				List<PolygonSection> sections = new PolygonFileReader(polygonFile).loadSections();
+				//files with single coordinates don't describe regions
+				if (!sections.isEmpty() && sections.get(0).getVertexCount() > 2) {
+					polygons.add(sections);
+				}
+			} catch (PolygonReadingException e) {
+				System.out.println("skipped " + polygonFile.getName() + ": " + e.getMessage());
+			}
+		}
+		return polygons;
+	}
+
+	private static Area createArea(List<PolygonSection> sections) {
+		Area area = new Area();
+		for (PolygonSection section : sections) {
+			Path2D.Double path = new Path2D.Double();
+			path.moveTo(section.getX(0), section.getY(0));
+			for (int vertex = 1; vertex < section.getVertexCount(); vertex++) {
+				path.lineTo(section.getX(vertex), section.getY(vertex));
+			}
+			path.closePath();
+			if (section.isHole()) {
+				area.subtract(new Area(path));
+			} else {
+				area.add(new Area(path));
+			}
+		}
+		return area;
+	}
+
+	static GeoPolygon createGeoPolygon(List<PolygonSection> sections) {
+		GeoPolygon polygon = GeoPolygon.EMPTY;
+		for (PolygonSection section : sections) {
+			double[] ring = new double[2 * section.getVertexCount()];
+			for (int vertex = 0; vertex < section.getVertexCount(); vertex++) {
+				ring[2 * vertex] = section.getX(vertex);
+				ring[2 * vertex + 1] = section.getY(vertex);
+			}
+			GeoPolygon sectionPolygon = GeoPolygon.create(ring);
+			polygon = section.isHole() ? polygon.difference(sectionPolygon) : polygon.union(sectionPolygon);
+		}
+		return polygon;
+	}
+
+	private static double[] createPoints(List<Area> areas) {
+		Rectangle2D bounds = new Rectangle2D.Double();
+		for (int i = 0; i < areas.size(); i++) {
+			if (i == 0) {
+				bounds = areas.get(i).getBounds2D();
+			} else {
+				bounds.add(areas.get(i).getBounds2D());
+			}
+		}
+		Random random = new Random(42);
+		double[] points = new double[2 * POINT_COUNT];
+		for (int i = 0; i < points.length; i += 2) {
+			points[i] = bounds.getMinX() + random.nextDouble() * bounds.getWidth();
+			points[i + 1] = bounds.getMinY() + random.nextDouble() * bounds.getHeight();
+		}
+		return points;
+	}
+}
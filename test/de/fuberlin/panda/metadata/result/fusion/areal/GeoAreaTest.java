@@ -1,5 +1,6 @@
 package de.fuberlin.panda.metadata.result.fusion.areal;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -50,4 +51,25 @@ public class GeoAreaTest {
 					geoArea.containsPartOf(secondArea));
 		
 	}
+	
+	@Test
+	public void testAddAndSubtract() {
+		ArrayList<Point2D.Double> neighborList = new ArrayList<>();
+		neighborList.add(new Point2D.Double(2,1));
+		neighborList.add(new Point2D.Double(2,2));
+		neighborList.add(new Point2D.Double(3,2));
+		neighborList.add(new Point2D.Double(3,1));
+		
+		GeoArea geoArea = new GeoArea(testList);
+		GeoArea copy = new GeoArea(geoArea);
+		geoArea.add(new GeoArea(neighborList));
+		assertTrue("Added area not contained", geoArea.contains(2.5, 1.5));
+		assertTrue("Common boundary not contained", geoArea.contains(2, 1.5));
+		assertEquals("Wrong bounds", 2, geoArea.getBounds2D().getWidth(), 0);
+		assertFalse("Copy changed", copy.contains(2.5, 1.5));
+		
+		geoArea.subtract(copy);
+		assertFalse("Subtracted area contained", geoArea.contains(1.5, 1.5));
+		assertTrue("Remaining area not contained", geoArea.contains(2.5, 1.5));
+	}
 }
@@ -0,0 +1,123 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class GeoAreaTreeTest {
+
+	private static GeoArea createTriangle(double x, double y, double size) {
+		ArrayList<Point2D.Double> boundary = new ArrayList<>();
+		boundary.add(new Point2D.Double(x, y));
+		boundary.add(new Point2D.Double(x + size, y));
+		boundary.add(new Point2D.Double(x, y + size));
+		return new GeoArea(boundary);
+	}
+
+	@Test
+	public void testInsertionOrder() {
+		GeoAreaTree tree = new GeoAreaTree();
+		List<GeoArea> areas = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			GeoArea area = createTriangle(49 - i, 0, 1.5);
+			areas.add(area);
+			tree.add(area);
+		}
+		assertEquals("Wrong size", 50, tree.size());
+		assertEquals("Wrong order", areas, tree.getGeoAreas());
+		assertEquals("Wrong candidates", Arrays.asList(areas.get(39), areas.get(41)),
+				tree.findIntersecting(areas.get(40)));
+	}
+
+	@Test
+	public void testFindContaining() {
+		GeoAreaTree tree = new GeoAreaTree();
+		GeoArea big = createTriangle(0, 0, 10);
+		GeoArea small = createTriangle(1, 1, 1);
+		ArrayList<Point2D.Double> singlePoint = new ArrayList<>();
+		singlePoint.add(new Point2D.Double(20, 20));
+		GeoArea point = new GeoArea(singlePoint);
+		tree.add(big);
+		tree.add(small);
+		tree.add(point);
+		tree.add(new GeoArea());
+
+		assertEquals("Wrong areas", Arrays.asList(big, small), tree.findContaining(1.2, 1.2));
+		assertEquals("Wrong areas", Arrays.asList(big), tree.findContaining(6, 1));
+		assertTrue("Point outside the triangle found", tree.findContaining(9, 9).isEmpty());
+		assertEquals("Single boundary point not found", Arrays.asList(point), tree.findContaining(20, 20));
+	}
+
+	@Test
+	public void testRemove() {
+		GeoAreaTree tree = new GeoAreaTree();
+		GeoArea area = createTriangle(0, 0, 1);
+		tree.add(area);
+		assertTrue("Area not removed", tree.remove(area));
+		assertFalse("Area removed twice", tree.remove(area));
+		assertTrue("Tree not empty", tree.isEmpty());
+		assertTrue("Removed area found", tree.findContaining(0.1, 0.1).isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddTwice() {
+		GeoAreaTree tree = new GeoAreaTree();
+		GeoArea area = createTriangle(0, 0, 1);
+		tree.add(area);
+		tree.add(area);
+	}
+
+	/**
+	 * Compares the queries after random insertions and removals with a comparison with every
+	 * stored area.
+	 */
+	@Test
+	public void testRandomOperations() {
+		Random random = new Random(7);
+		GeoAreaTree tree = new GeoAreaTree();
+		List<GeoArea> stored = new ArrayList<>();
+		for (int step = 0; step < 2000; step++) {
+			if (stored.isEmpty() || random.nextInt(3) > 0) {
+				GeoArea area = createTriangle(random.nextDouble() * 100, random.nextDouble() * 100,
+						random.nextDouble() * 10);
+				tree.add(area);
+				stored.add(area);
+			} else {
+				GeoArea area = stored.remove(random.nextInt(stored.size()));
+				assertTrue("Area not removed", tree.remove(area));
+			}
+
+			if (step % 20 == 0) {
+				assertEquals("Wrong areas", stored, tree.getGeoAreas());
+				GeoArea query = createTriangle(random.nextDouble() * 100, random.nextDouble() * 100, 5);
+				List<GeoArea> expected = new ArrayList<>();
+				for (GeoArea area : stored) {
+					if (area.containsPartOf(query) || query.containsPartOf(area)) {
+						expected.add(area);
+					}
+				}
+				List<GeoArea> candidates = tree.findIntersecting(query);
+				assertTrue("Intersecting area not found in step " + step, candidates.containsAll(expected));
+
+				double x = random.nextDouble() * 100;
+				double y = random.nextDouble() * 100;
+				expected.clear();
+				for (GeoArea area : stored) {
+					if (area.contains(x, y)) {
+						expected.add(area);
+					}
+				}
+				assertEquals("Wrong containing areas in step " + step, expected, tree.findContaining(x, y));
+			}
+		}
+		assertEquals("Wrong size", stored.size(), tree.size());
+	}
+}
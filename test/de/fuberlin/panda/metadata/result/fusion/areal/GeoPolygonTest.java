@@ -0,0 +1,180 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class GeoPolygonTest {
+	private static final double DELTA = 1e-9;
+
+	private static GeoPolygon square(double x, double y, double size) {
+		return GeoPolygon.create(new double[] {x, y, x, y + size, x + size, y + size, x + size, y});
+	}
+
+	@Test
+	public void testContains() {
+		GeoPolygon square = square(1, 1, 1);
+		assertTrue("Inner point not contained", square.contains(1.5, 1.5));
+		assertTrue("Vertex not contained", square.contains(1, 2));
+		assertTrue("Point on edge not contained", square.contains(1.5, 1));
+		assertFalse("Outer point contained", square.contains(2.5, 1.5));
+		assertFalse("Outer point contained", square.contains(0.5, 1.5));
+		assertEquals("Wrong number of rings", 1, square.getRingCount());
+		assertEquals("Wrong surface area", 1, square.getSurfaceArea(), DELTA);
+	}
+
+	@Test
+	public void testHole() {
+		GeoPolygon ring = square(0, 0, 4).difference(square(1, 1, 2));
+		assertEquals("Wrong number of rings", 2, ring.getRingCount());
+		assertEquals("Wrong surface area", 12, ring.getSurfaceArea(), DELTA);
+		assertFalse("Point in the hole contained", ring.contains(2, 2));
+		assertTrue("Point on the boundary of the hole not contained", ring.contains(1, 2));
+		assertTrue("Inner point not contained", ring.contains(0.5, 2));
+	}
+
+	@Test
+	public void testUnionOfAdjacentSquares() {
+		//like two neighbouring states with a common border
+		GeoPolygon union = square(0, 0, 1).union(square(1, 0, 1));
+		assertEquals("Wrong number of rings", 1, union.getRingCount());
+		assertEquals("Common edge not removed", 4, union.getVertexCount(0));
+		assertEquals("Wrong surface area", 2, union.getSurfaceArea(), DELTA);
+		assertTrue("Point on the former common edge not contained", union.contains(1, 0.5));
+	}
+
+	@Test
+	public void testUnionTouchingAtVertex() {
+		GeoPolygon union = square(0, 0, 1).union(square(1, 1, 1));
+		assertEquals("Wrong number of rings", 2, union.getRingCount());
+		assertEquals("Wrong surface area", 2, union.getSurfaceArea(), DELTA);
+		assertTrue("Common vertex not contained", union.contains(1, 1));
+		assertFalse("Outer point contained", union.contains(0.5, 1.5));
+	}
+
+	@Test
+	public void testDifference() {
+		GeoPolygon square = square(0, 0, 2);
+		assertTrue("Difference with itself not empty", square.difference(square).isEmpty());
+		assertSame("Disjoint polygon changed the polygon", square, square.difference(square(5, 5, 1)));
+		GeoPolygon difference = square.difference(square(1, -1, 2));
+		assertEquals("Wrong surface area", 3, difference.getSurfaceArea(), DELTA);
+		assertFalse("Removed point contained", difference.contains(1.5, 0.5));
+	}
+
+	@Test
+	public void testSelfIntersectingBoundary() {
+		GeoPolygon bowtie = GeoPolygon.create(new double[] {0, 0, 2, 2, 2, 0, 0, 2});
+		assertEquals("Wrong number of rings", 2, bowtie.getRingCount());
+		assertEquals("Wrong surface area", 2, bowtie.getSurfaceArea(), DELTA);
+		assertTrue("Crossing point not contained", bowtie.contains(1, 1));
+		assertTrue("Inner point not contained", bowtie.contains(0.2, 1));
+		assertFalse("Outer point contained", bowtie.contains(1, 0.2));
+	}
+
+	@Test
+	public void testDegenerateBoundaries() {
+		assertTrue("Point encloses a region", GeoPolygon.create(new double[] {1, 1}).isEmpty());
+		assertTrue("Line encloses a region", GeoPolygon.create(new double[] {1, 1, 2, 2}).isEmpty());
+		assertTrue("Collinear points enclose a region", GeoPolygon.create(new double[] {1, 1, 2, 2, 3, 3}).isEmpty());
+		assertTrue("Empty polygon has bounds", GeoPolygon.EMPTY.getBounds2D().isEmpty());
+		assertFalse("Empty polygon contains a point", GeoPolygon.EMPTY.contains(0, 0));
+	}
+
+	@Test
+	public void testToArea() {
+		GeoPolygon ring = square(0, 0, 4).difference(square(1, 1, 2));
+		Area expected = new Area(new Path2D.Double(square(0, 0, 4).toArea()));
+		expected.subtract(square(1, 1, 2).toArea());
+		assertTrue("Wrong area", expected.equals(ring.toArea()));
+	}
+
+	/**
+	 * Compares random unions and differences of random, partly self intersecting polygons
+	 * with the results of {@code java.awt.geom.Area} at random points.
+	 */
+	@Test
+	public void testRandomOverlaysLikeArea() {
+		Random random = new Random(4711);
+		for (int round = 0; round < 200; round++) {
+			double[] first = randomRing(random);
+			double[] second = randomRing(random);
+			GeoPolygon firstPolygon = GeoPolygon.create(first);
+			GeoPolygon secondPolygon = GeoPolygon.create(second);
+			Area firstArea = toArea(first);
+			Area secondArea = toArea(second);
+
+			Area union = new Area(firstArea);
+			union.add(secondArea);
+			Area difference = new Area(firstArea);
+			difference.subtract(secondArea);
+			assertLikeArea("Wrong polygon in round " + round, firstArea, firstPolygon, random);
+			assertLikeArea("Wrong union in round " + round, union, firstPolygon.union(secondPolygon), random);
+			assertLikeArea("Wrong difference in round " + round, difference,
+					firstPolygon.difference(secondPolygon), random);
+		}
+	}
+
+	private static double[] randomRing(Random random) {
+		int vertexCount = 3 + random.nextInt(8);
+		double[] ring = new double[2 * vertexCount];
+		for (int i = 0; i < ring.length; i++) {
+			//a coarse grid causes collinear and common vertices
+			ring[i] = (random.nextBoolean()) ? random.nextInt(5) : 4 * random.nextDouble();
+		}
+		return ring;
+	}
+
+	private static Area toArea(double[] ring) {
+		Path2D.Double path = new Path2D.Double(Path2D.WIND_NON_ZERO);
+		path.moveTo(ring[0], ring[1]);
+		for (int i = 2; i < ring.length; i += 2) {
+			path.lineTo(ring[i], ring[i + 1]);
+		}
+		path.closePath();
+		return new Area(path);
+	}
+
+	private static void assertLikeArea(String message, Area expected, GeoPolygon polygon, Random random) {
+		Area actual = polygon.toArea();
+		for (int i = 0; i < 200; i++) {
+			double x = -0.5 + 5 * random.nextDouble();
+			double y = -0.5 + 5 * random.nextDouble();
+			assertEquals(message + " at " + x + ", " + y, expected.contains(x, y), polygon.contains(x, y));
+			assertEquals(message + " at " + x + ", " + y, expected.contains(x, y), actual.contains(x, y));
+		}
+		assertEquals(message, getSurfaceArea(expected), polygon.getSurfaceArea(), 1e-6);
+	}
+
+	private static double getSurfaceArea(Area area) {
+		double surfaceArea = 0;
+		double[] coords = new double[6];
+		double startX = 0, startY = 0, lastX = 0, lastY = 0;
+		for (PathIterator iterator = area.getPathIterator(null); !iterator.isDone(); iterator.next()) {
+			switch (iterator.currentSegment(coords)) {
+				case PathIterator.SEG_MOVETO:
+					startX = lastX = coords[0];
+					startY = lastY = coords[1];
+					break;
+				case PathIterator.SEG_LINETO:
+					surfaceArea += (lastX * coords[1] - coords[0] * lastY) / 2;
+					lastX = coords[0];
+					lastY = coords[1];
+					break;
+				default:
+					surfaceArea += (lastX * startY - startX * lastY) / 2;
+					lastX = startX;
+					lastY = startY;
+			}
+		}
+		return Math.abs(surfaceArea);
+	}
+}
@@ -0,0 +1,153 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+import java.awt.geom.Rectangle2D;
+import java.io.File;
+import java.util.List;
+import java.util.Random;
+
+import de.fuberlin.panda.metadata.result.fusion.areal.geocoding.PolygonSection;
+
+/**
+ * Simple benchmark of the {@link SimplifiedPolygon}s on the polygons of the {@code .poly} files
+ * of a directory:
+ * <ul>
+ * <li>the number of vertices and the length of the encoded boundaries for every
+ * 	{@link PolygonResolution} and</li>
+ * <li>the containment check of random points with the {@code COARSE} rings first, like
+ * 	{@link GeoPolygon#contains(double, double)} for polygons with very many vertices, compared
+ * 	with the check of the {@link EdgeBuckets} only, for every number of vertices. The largest
+ * 	polygon is refined by splitting every edge into several slightly displaced ones to
+ * 	simulate detailed boundaries.</li>
+ * </ul>
+ * Usage: {@code PolygonSimplificationBenchmark [directory] [rounds]}
+ *
+ * @since 18.10.2026
+ */
+public class PolygonSimplificationBenchmark {
+	private static final int POINT_COUNT = 1000000;
+	private static final int[] SPLIT_COUNTS = {1, 4, 16, 64, 256};
+
+	//keeps the JIT compiler from removing the operations
+	private static double checksum = 0;
+
+	public static void main(String[] args) throws Exception {
+		File directory = new File((args.length > 0) ? args[0] : "WebContent/prefs/geocoding");
+		int rounds = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+
+		List<List<PolygonSection>> polygons = GeoAreaBenchmark.loadPolygons(directory);
+		int[] vertexCounts = new int[PolygonResolution.values().length];
+		int[] lengths = new int[PolygonResolution.values().length];
+		GeoPolygon largest = GeoPolygon.EMPTY;
+		for (List<PolygonSection> sections : polygons) {
+			GeoPolygon polygon = GeoAreaBenchmark.createGeoPolygon(sections);
+			for (PolygonResolution resolution : PolygonResolution.values()) {
+				SimplifiedPolygon simplified = polygon.getSimplified(resolution);
+				vertexCounts[resolution.ordinal()] += simplified.getVertexCount();
+				for (String encodedRing : simplified.toEncodedPolylines()) {
+					lengths[resolution.ordinal()] += encodedRing.length();
+				}
+			}
+			if (polygon.getBounds2D().getWidth() > largest.getBounds2D().getWidth()) {
+				largest = polygon;
+			}
+		}
+		System.out.println("polygons: " + polygons.size());
+		System.out.println("resolution\tvertices\tencoded characters");
+		for (PolygonResolution resolution : PolygonResolution.values()) {
+			System.out.println(resolution + "\t" + vertexCounts[resolution.ordinal()] + "\t"
+					+ lengths[resolution.ordinal()]);
+		}
+
+		double[] points = createPoints(largest.getBounds2D());
+		System.out.println("contains checks: " + POINT_COUNT + ", average of " + rounds + " rounds");
+		System.out.println("vertices\tcoarse first\tslab only");
+		for (int splitCount : SPLIT_COUNTS) {
+			GeoPolygon polygon = refine(largest, splitCount);
+			EdgeBuckets buckets = EdgeBuckets.create(polygon.getRings(), false);
+			for (int warmUp = 0; warmUp < 2; warmUp++) {
+				measure(polygon, buckets, points, 1);
+			}
+			long[] nanos = measure(polygon, buckets, points, rounds);
+			int vertexCount = 0;
+			for (int ring = 0; ring < polygon.getRingCount(); ring++) {
+				vertexCount += polygon.getVertexCount(ring);
+			}
+			System.out.println(vertexCount + "\t" + toNanosPerCheck(nanos[0], rounds) + " ns\t"
+					+ toNanosPerCheck(nanos[1], rounds) + " ns");
+		}
+		System.out.println("(checksum " + checksum + ")");
+	}
+
+	private static long[] measure(GeoPolygon polygon, EdgeBuckets buckets, double[] points, int rounds) {
+		SimplifiedPolygon coarse = polygon.getSimplified(PolygonResolution.COARSE);
+		long[] nanos = new long[2];
+		for (int round = 0; round < rounds; round++) {
+			long startTime = System.nanoTime();
+			for (int i = 0; i < points.length; i += 2) {
+				int location = coarse.locate(points[i], points[i + 1]);
+				if (location == SimplifiedPolygon.NEAR_BOUNDARY) {
+					checksum += contains(buckets, points[i], points[i + 1]) ? 1 : 0;
+				} else {
+					checksum += (location == SimplifiedPolygon.INSIDE) ? 1 : 0;
+				}
+			}
+			nanos[0] += System.nanoTime() - startTime;
+			startTime = System.nanoTime();
+			for (int i = 0; i < points.length; i += 2) {
+				checksum += contains(buckets, points[i], points[i + 1]) ? 1 : 0;
+			}
+			nanos[1] += System.nanoTime() - startTime;
+		}
+		return nanos;
+	}
+
+	private static boolean contains(EdgeBuckets buckets, double x, double y) {
+		return buckets.isOnBoundary(x, y) || buckets.winding(x, y, null) != 0;
+	}
+
+	private static String toNanosPerCheck(long nanos, int rounds) {
+		return String.format("%.1f", nanos / (double) rounds / POINT_COUNT);
+	}
+
+	/**
+	 * This method splits every edge of the outer rings into {@code splitCount} edges whose
+	 * inner vertices are displaced by less than a tenth of their length.
+	 */
+	private static GeoPolygon refine(GeoPolygon polygon, int splitCount) {
+		Random random = new Random(2);
+		GeoPolygon refined = GeoPolygon.EMPTY;
+		for (int ring = 0; ring < polygon.getRingCount(); ring++) {
+			int vertexCount = polygon.getVertexCount(ring);
+			double[] coordinates = new double[2 * vertexCount * splitCount];
+			int position = 0;
+			for (int vertex = 0; vertex < vertexCount; vertex++) {
+				int next = (vertex + 1) % vertexCount;
+				double dx = polygon.getX(ring, next) - polygon.getX(ring, vertex);
+				double dy = polygon.getY(ring, next) - polygon.getY(ring, vertex);
+				double displacement = 0.2 * Math.hypot(dx, dy) / splitCount;
+				for (int part = 0; part < splitCount; part++) {
+					double t = part / (double) splitCount;
+					double offset = (part == 0) ? 0 : (random.nextDouble() - 0.5) * displacement;
+					coordinates[position++] = polygon.getX(ring, vertex) + t * dx + offset;
+					offset = (part == 0) ? 0 : (random.nextDouble() - 0.5) * displacement;
+					coordinates[position++] = polygon.getY(ring, vertex) + t * dy + offset;
+				}
+			}
+			//holes are skipped
+			if (PolygonOverlay.signedArea(coordinates) > 0) {
+				refined = refined.union(GeoPolygon.create(coordinates));
+			}
+		}
+		return refined;
+	}
+
+	private static double[] createPoints(Rectangle2D bounds) {
+		Random random = new Random(42);
+		double[] points = new double[2 * POINT_COUNT];
+		for (int i = 0; i < points.length; i += 2) {
+			points[i] = bounds.getMinX() + random.nextDouble() * bounds.getWidth();
+			points[i + 1] = bounds.getMinY() + random.nextDouble() * bounds.getHeight();
+		}
+		return points;
+	}
+}
@@ -0,0 +1,119 @@
+package de.fuberlin.panda.metadata.result.fusion.areal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class SimplifiedPolygonTest {
+
+	/**
+	 * @return a star with jagged edges whose vertices lie between the radii 1 and 2.
+	 */
+	private static double[] createStar(int vertexCount, double x, double y, Random random) {
+		double[] ring = new double[2 * vertexCount];
+		for (int vertex = 0; vertex < vertexCount; vertex++) {
+			double angle = 2 * Math.PI * vertex / vertexCount;
+			double radius = 1.5 + 0.5 * Math.sin(5 * angle) + 0.01 * random.nextDouble();
+			ring[2 * vertex] = x + radius * Math.cos(angle);
+			ring[2 * vertex + 1] = y + radius * Math.sin(angle);
+		}
+		return ring;
+	}
+
+	@Test
+	public void testResolutions() {
+		GeoPolygon polygon = GeoPolygon.create(createStar(2000, 10, 50, new Random(1)));
+		SimplifiedPolygon full = polygon.getSimplified(PolygonResolution.FULL);
+		assertEquals("Full resolution simplified", 2000, full.getVertexCount());
+		int lastVertexCount = full.getVertexCount();
+		for (PolygonResolution resolution : PolygonResolution.values()) {
+			SimplifiedPolygon simplified = polygon.getSimplified(resolution);
+			assertSame("Simplification not cached", simplified, polygon.getSimplified(resolution));
+			assertEquals("Wrong tolerance", resolution.getTolerance(), simplified.getTolerance(), 0);
+			assertTrue("More vertices at a coarser resolution", simplified.getVertexCount() <= lastVertexCount);
+			lastVertexCount = simplified.getVertexCount();
+		}
+		assertTrue("Coarse ring not simplified", lastVertexCount < 200);
+	}
+
+	/**
+	 * Every original vertex has to lie within the tolerance of the simplified ring.
+	 */
+	@Test
+	public void testTolerance() {
+		GeoPolygon polygon = GeoPolygon.create(createStar(500, 0, 0, new Random(2)));
+		for (PolygonResolution resolution : PolygonResolution.values()) {
+			SimplifiedPolygon simplified = polygon.getSimplified(resolution);
+			for (int vertex = 0; vertex < polygon.getVertexCount(0); vertex++) {
+				double distance = getDistance(simplified, polygon.getX(0, vertex), polygon.getY(0, vertex));
+				assertTrue("Vertex " + vertex + " too far from the " + resolution + " ring",
+						distance <= resolution.getTolerance() + 1e-12);
+			}
+		}
+	}
+
+	private static double getDistance(SimplifiedPolygon simplified, double x, double y) {
+		double distance = Double.POSITIVE_INFINITY;
+		int vertexCount = simplified.getVertexCount(0);
+		for (int vertex = 0; vertex < vertexCount; vertex++) {
+			double startX = simplified.getX(0, vertex);
+			double startY = simplified.getY(0, vertex);
+			double dx = simplified.getX(0, (vertex + 1) % vertexCount) - startX;
+			double dy = simplified.getY(0, (vertex + 1) % vertexCount) - startY;
+			double t = Math.max(0, Math.min(1, ((x - startX) * dx + (y - startY) * dy) / (dx * dx + dy * dy)));
+			distance = Math.min(distance, Math.hypot(x - startX - t * dx, y - startY - t * dy));
+		}
+		return distance;
+	}
+
+	@Test
+	public void testEncodedPolylines() {
+		GeoPolygon ring = GeoPolygon.create(new double[] {0, 0, 4, 0, 4, 4, 0, 4})
+				.difference(GeoPolygon.create(new double[] {1, 1, 2, 1, 2, 2, 1, 2}));
+		List<String> encodedRings = ring.getSimplified(PolygonResolution.FULL).toEncodedPolylines();
+		assertEquals("Wrong number of rings", 2, encodedRings.size());
+		double surfaceArea = 0;
+		for (String encodedRing : encodedRings) {
+			surfaceArea += PolygonOverlay.signedArea(EncodedPolyline.decode(encodedRing));
+		}
+		assertEquals("Orientation of the hole lost", 15, surfaceArea, 1e-9);
+
+		//the small ring collapses at the coarse resolution
+		GeoPolygon small = GeoPolygon.create(new double[] {0, 0, 0.01, 0, 0.01, 0.01, 0.005, 0.012, 0, 0.01});
+		assertTrue("Collapsed ring encoded",
+				small.getSimplified(PolygonResolution.COARSE).toEncodedPolylines().isEmpty());
+	}
+
+	/**
+	 * Compares the containment check with coarse rings first of polygons with many vertices
+	 * with the check of the original rings, also at points close to the boundary.
+	 */
+	@Test
+	public void testContainsWithCoarseRings() {
+		Random random = new Random(3);
+		GeoPolygon polygon = GeoPolygon.create(createStar(40000, 10, 50, random))
+				.difference(GeoPolygon.create(new double[] {9.5, 49.5, 10.5, 49.5, 10.5, 50.5, 9.5, 50.5}));
+		EdgeBuckets buckets = EdgeBuckets.create(polygon.getRings(), false);
+		for (int i = 0; i < 100000; i++) {
+			double x;
+			double y;
+			if (i % 2 == 0) {
+				x = 8 + 4 * random.nextDouble();
+				y = 48 + 4 * random.nextDouble();
+			} else {
+				int ring = random.nextInt(polygon.getRingCount());
+				int vertex = random.nextInt(polygon.getVertexCount(ring));
+				x = polygon.getX(ring, vertex) + 0.02 * (random.nextDouble() - 0.5);
+				y = polygon.getY(ring, vertex) + 0.02 * (random.nextDouble() - 0.5);
+			}
+			boolean expected = buckets.isOnBoundary(x, y) || buckets.winding(x, y, null) != 0;
+			assertEquals("Wrong containment at " + x + ", " + y, expected, polygon.contains(x, y));
+		}
+		assertTrue("Vertex not contained", polygon.contains(polygon.getX(0, 0), polygon.getY(0, 0)));
+	}
+}
@@ -0,0 +1,254 @@
+package de.fuberlin.panda.metadata.result.fusion.areal.geocoding;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.fuberlin.panda.metadata.exceptions.PolygonReadingException;
+import de.fuberlin.panda.metadata.result.fusion.areal.GeoArea;
+
+public class GeocodingCacheTest {
+	private static final String TRIANGLE = "none\n1\n   1   1\n   1   2\n   2   1\n   1   1\nEND\nEND";
+	private static final String SQUARE = "none\n1\n   0   0\n   0   4\n   4   4\n   4   0\n   0   0\nEND\nEND";
+	private static final String COORDINATES = "none\n1\n   2   5\nEND\nEND";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	private ManualClockCache cache;
+
+	@Before
+	public void setUp() throws IOException {
+		write(GeocodingCache.POLYGON_PREFERENCES, "berlin\r\nbrandenburg\r\n");
+		write(GeocodingCache.GEO_COORD_PREFERENCES, "potsdam\r\n");
+		write("berlin.poly", TRIANGLE);
+		write("brandenburg.poly", SQUARE);
+		write("potsdam.poly", COORDINATES);
+		cache = new ManualClockCache(folder.getRoot(), 3, 1000);
+	}
+
+	private File write(String fileName, String content) throws IOException {
+		File file = new File(folder.getRoot(), fileName);
+		FileWriter writer = new FileWriter(file);
+		writer.write(content);
+		writer.close();
+		return file;
+	}
+
+	@Test
+	public void testPolygonHit() throws PolygonReadingException {
+		ResolvedLocation first = cache.resolve("Berlin");
+		assertTrue("Location not resolved as polygon", first.isPolygon());
+		assertFalse("Location resolved as coordinates", first.isGeoCoord());
+		assertTrue("Wrong polygon", first.getPolygon().getAreaObject().contains(1.2, 1.2));
+		assertSame("Cached location not returned", first, cache.resolve(" berlin "));
+
+		assertEquals("Wrong number of parsings", 1, cache.loadCount);
+		assertEquals("Wrong number of hits", 1, cache.getHitCount());
+		assertEquals("Wrong number of misses", 1, cache.getMissCount());
+	}
+
+	@Test
+	public void testGeoCoords() throws PolygonReadingException {
+		ResolvedLocation location = cache.resolve("Potsdam");
+		assertTrue("Location not resolved as coordinates", location.isGeoCoord());
+		assertFalse("Location resolved as polygon", location.isPolygon());
+		assertArrayEquals("Wrong coordinates", new double[] {2, 5}, location.getGeoCoords(), 0);
+
+		location.getGeoCoords()[0] = 7;
+		assertArrayEquals("Cached coordinates modified", new double[] {2, 5},
+				cache.resolve("Potsdam").getGeoCoords(), 0);
+		assertEquals("Wrong number of parsings", 1, cache.loadCount);
+	}
+
+	@Test
+	public void testUnknownLocationIsCached() throws PolygonReadingException {
+		ResolvedLocation location = cache.resolve("Hamburg");
+		assertFalse("Unknown location resolved as polygon", location.isPolygon());
+		assertFalse("Unknown location resolved as coordinates", location.isGeoCoord());
+		cache.resolve("Hamburg");
+		assertEquals("Wrong number of hits", 1, cache.getHitCount());
+		assertEquals("Wrong cache size", 1, cache.size());
+	}
+
+	@Test
+	public void testChangedPolygonFile() throws Exception {
+		ResolvedLocation first = cache.resolve("Berlin");
+		File polygonFile = write("berlin.poly", SQUARE);
+		polygonFile.setLastModified(polygonFile.lastModified() + 10000);
+
+		assertSame("Polygon file checked before the interval", first, cache.resolve("Berlin"));
+		cache.advance(1000);
+		ResolvedLocation second = cache.resolve("Berlin");
+		assertNotSame("Changed polygon file not parsed again", first, second);
+		assertTrue("Wrong polygon", second.getPolygon().getAreaObject().contains(3, 3));
+		assertEquals("Wrong number of invalidations", 1, cache.getInvalidationCount());
+		assertEquals("Wrong number of parsings", 2, cache.loadCount);
+	}
+
+	@Test
+	public void testChangedPreferences() throws Exception {
+		cache.resolve("Berlin");
+		cache.resolve("Hamburg");
+		File preferences = write(GeocodingCache.POLYGON_PREFERENCES, "berlin\r\nbrandenburg\r\nhamburg\r\n");
+		preferences.setLastModified(preferences.lastModified() + 10000);
+		write("hamburg.poly", SQUARE);
+
+		cache.advance(1000);
+		assertTrue("Added location not resolved", cache.resolve("Hamburg").isPolygon());
+		assertEquals("Wrong number of invalidations", 2, cache.getInvalidationCount());
+		assertEquals("Wrong cache size", 1, cache.size());
+	}
+
+	@Test
+	public void testEviction() throws PolygonReadingException {
+		cache.resolve("Berlin");
+		cache.resolve("Brandenburg");
+		cache.resolve("Potsdam");
+		cache.resolve("Berlin");
+		cache.resolve("Hamburg");
+
+		assertEquals("Wrong cache size", 3, cache.size());
+		assertEquals("Wrong number of evictions", 1, cache.getEvictionCount());
+		cache.resolve("Berlin");
+		assertEquals("Recently used location evicted", 3, cache.loadCount);
+		cache.resolve("Brandenburg");
+		assertEquals("Least recently used location not evicted", 4, cache.loadCount);
+	}
+
+	@Test
+	public void testParsingErrorIsNotCached() throws Exception {
+		write("berlin.poly", "");
+		for (int i = 0; i < 2; i++) {
+			try {
+				cache.resolve("Berlin");
+				fail("No PolygonReadingException thrown");
+			} catch (PolygonReadingException e) {
+				//expected
+			}
+		}
+		assertEquals("Wrong number of parsings", 2, cache.loadCount);
+		assertEquals("Wrong cache size", 0, cache.size());
+	}
+
+	@Test
+	public void testCompiledPolygons() throws Exception {
+		PolygonFileCompiler.compile(folder.getRoot(), new File(folder.getRoot(), GeocodingCache.COMPILED_POLYGONS));
+		//another modification time, but the same content
+		File polygonFile = new File(folder.getRoot(), "berlin.poly");
+		polygonFile.setLastModified(polygonFile.lastModified() + 10000);
+
+		ResolvedLocation berlin = cache.resolve("Berlin");
+		assertTrue("Compiled polygon not read", berlin.getPolygon().getAreaObject().contains(1.2, 1.2));
+		assertArrayEquals("Wrong coordinates", new double[] {2, 5}, cache.resolve("Potsdam").getGeoCoords(), 0);
+
+		//the same length, but unparsable
+		write("berlin.poly", TRIANGLE.replace('1', 'x'));
+		polygonFile.setLastModified(polygonFile.lastModified() + 10000);
+		cache.advance(1000);
+		try {
+			cache.resolve("Berlin");
+			fail("Outdated compiled polygon read");
+		} catch (PolygonReadingException e) {
+			//expected, the changed file is parsed
+		}
+	}
+
+	@Test
+	public void testGeocoderKeepsName() {
+		Geocoder first = new Geocoder("Berlin", cache);
+		Geocoder second = new Geocoder("berlin", cache);
+		assertTrue("Location not resolved as polygon", first.isResultPolygon());
+		assertEquals("Wrong name", "Berlin", first.getPolygon().getName());
+		assertEquals("Wrong name", "berlin", second.getPolygon().getName());
+		assertEquals("Wrong number of parsings", 1, cache.loadCount);
+	}
+
+	@Test
+	public void testConcurrentRequests() throws Exception {
+		final String[] locations = {"Berlin", "Brandenburg", "Potsdam", "Hamburg"};
+		final List<Throwable> errors = new ArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			final int offset = t;
+			Thread thread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int i = 0; i < 200; i++) {
+							String location = locations[(i + offset) % locations.length];
+							ResolvedLocation resolvedLocation = cache.resolve(location);
+							if (resolvedLocation.isPolygon() != (i + offset) % locations.length < 2) {
+								throw new AssertionError("Wrong result for " + location);
+							}
+						}
+					} catch (Throwable e) {
+						synchronized (errors) {
+							errors.add(e);
+						}
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertTrue("Errors: " + errors, errors.isEmpty());
+		assertEquals("Wrong number of requests", 800, cache.getHitCount() + cache.getMissCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidSize() {
+		new GeocodingCache(folder.getRoot(), 0, 1000);
+	}
+
+	private static class ManualClockCache extends GeocodingCache {
+		private long time = 0;
+		private int loadCount = 0;
+
+		private ManualClockCache(File directory, int maxSize, long checkIntervalMillis) {
+			super(directory, maxSize, checkIntervalMillis);
+		}
+
+		private void advance(long millis) {
+			time += millis * 1000000;
+		}
+
+		@Override
+		protected synchronized long currentTimeNanos() {
+			return time;
+		}
+
+		@Override
+		protected GeoArea loadPolygon(File polygonFile) throws PolygonReadingException {
+			countLoad();
+			return super.loadPolygon(polygonFile);
+		}
+
+		@Override
+		protected double[] loadGeoCoords(File polygonFile) throws PolygonReadingException {
+			countLoad();
+			return super.loadGeoCoords(polygonFile);
+		}
+
+		private synchronized void countLoad() {
+			loadCount++;
+		}
+	}
+}
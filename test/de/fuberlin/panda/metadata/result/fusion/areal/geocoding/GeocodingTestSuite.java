@@ -6,6 +6,8 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({ 
+	GeocodingCacheTest.class,
+	PolygonFileCompilerTest.class,
 	PolygonFileReaderTest.class
 })
 public class GeocodingTestSuite {
@@ -0,0 +1,176 @@
+package de.fuberlin.panda.metadata.result.fusion.areal.geocoding;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.geom.Rectangle2D;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.fuberlin.panda.metadata.exceptions.PolygonReadingException;
+import de.fuberlin.panda.metadata.result.fusion.areal.GeoArea;
+
+public class PolygonFileCompilerTest {
+	private static final String TRIANGLE = "none\n1\n   1   1\n   1   2\n   2   1\n   1   1\nEND\nEND";
+	private static final String DUAL = "none\n1\n   1   1\n   1   2\n   2   1\nEND\n\n2\n   3   3\n   3   4\n   4   4\n   4   3\nEND\nEND";
+	private static final String HOLE = "none\n1\n   0   0\n   0   4\n   4   4\n   4   0\nEND\n!2\n   1   1\n   1   2\n   2   2\n   2   1\nEND\nEND";
+	private static final String COORDINATES = "none\n1\n   1.373096E+01   5.239455E+01\nEND\nEND";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	private File target;
+
+	@Before
+	public void setUp() throws IOException {
+		write("triangle.poly", TRIANGLE);
+		write("dual.poly", DUAL);
+		write("hole.poly", HOLE);
+		write("coordinates.poly", COORDINATES);
+		write("broken.poly", "none\n1\n   1\nEND\nEND");
+		write("geoPref.txt", "coordinates\r\n");
+		target = new File(folder.getRoot(), GeocodingCache.COMPILED_POLYGONS);
+	}
+
+	private File write(String fileName, String content) throws IOException {
+		File file = new File(folder.getRoot(), fileName);
+		FileWriter writer = new FileWriter(file);
+		writer.write(content);
+		writer.close();
+		return file;
+	}
+
+	@Test
+	public void testCompiledPolygonsEqualParsedPolygons() throws Exception {
+		assertEquals("Wrong number of compiled polygons", 4, PolygonFileCompiler.compile(folder.getRoot(), target));
+		CompiledPolygonFile compiled = CompiledPolygonFile.open(target);
+		assertEquals("Wrong number of polygons", 4, compiled.getPolygonCount());
+
+		for (String name : new String[] {"triangle", "dual", "hole"}) {
+			File polygonFile = new File(folder.getRoot(), name + ".poly");
+			int polygon = compiled.indexOf(name);
+			assertTrue("Polygon " + name + " not compiled", polygon >= 0);
+			assertEquals("Wrong name", name, compiled.getName(polygon));
+			assertTrue("Polygon " + name + " outdated", compiled.isUpToDate(polygon, polygonFile));
+
+			GeoArea expected = new PolygonFileReader(polygonFile).loadPolygon();
+			GeoArea actual = compiled.loadPolygon(polygon);
+			assertEquals("Different boundary of " + name, expected.getBoundaryPoints(), actual.getBoundaryPoints());
+			assertTrue("Different area of " + name, expected.getAreaObject().equals(actual.getAreaObject()));
+		}
+
+		double[] expectedCoords = new PolygonFileReader(new File(folder.getRoot(), "coordinates.poly")).loadCoordinates();
+		assertArrayEquals("Different coordinates", expectedCoords,
+				compiled.loadCoordinates(compiled.indexOf("coordinates")), 0);
+	}
+
+	@Test
+	public void testSectionsAndBounds() throws Exception {
+		PolygonFileCompiler.compile(folder.getRoot(), target);
+		CompiledPolygonFile compiled = CompiledPolygonFile.open(target);
+
+		int hole = compiled.indexOf("hole");
+		int firstSection = compiled.getFirstSection(hole);
+		assertEquals("Wrong number of sections", 2, compiled.getSectionCount(hole));
+		assertFalse("Outer section is a hole", compiled.isHole(firstSection));
+		assertTrue("Inner section isn't a hole", compiled.isHole(firstSection + 1));
+		assertEquals("Wrong number of vertices", 4, compiled.getVertexCount(firstSection + 1));
+		assertEquals("Wrong longitude", 2, compiled.getX(firstSection + 1, 2), 0);
+		assertEquals("Wrong latitude", 2, compiled.getY(firstSection + 1, 2), 0);
+		assertEquals("Wrong section bounds", new Rectangle2D.Double(1, 1, 1, 1), compiled.getSectionBounds(firstSection + 1));
+		assertEquals("Wrong polygon bounds", new Rectangle2D.Double(0, 0, 4, 4), compiled.getBounds(hole));
+
+		assertEquals("Wrong polygon bounds", new Rectangle2D.Double(1, 1, 3, 3), compiled.getBounds(compiled.indexOf("dual")));
+	}
+
+	@Test
+	public void testUnparsableFilesAreSkipped() throws Exception {
+		PolygonFileCompiler.compile(folder.getRoot(), target);
+		CompiledPolygonFile compiled = CompiledPolygonFile.open(target);
+		assertEquals("Unparsable file compiled", -1, compiled.indexOf("broken"));
+		assertEquals("Other file compiled", -1, compiled.indexOf("geoPref"));
+	}
+
+	@Test
+	public void testChangedFileIsOutdated() throws Exception {
+		PolygonFileCompiler.compile(folder.getRoot(), target);
+		CompiledPolygonFile compiled = CompiledPolygonFile.open(target);
+		//same length, but another content
+		File polygonFile = write("triangle.poly", TRIANGLE.replace('2', '3'));
+		assertFalse("Changed file is up to date", compiled.isUpToDate(compiled.indexOf("triangle"), polygonFile));
+	}
+
+	@Test
+	public void testTouchedFileIsUpToDate() throws Exception {
+		PolygonFileCompiler.compile(folder.getRoot(), target);
+		CompiledPolygonFile compiled = CompiledPolygonFile.open(target);
+		File polygonFile = write("triangle.poly", TRIANGLE);
+		polygonFile.setLastModified(polygonFile.lastModified() + 10000);
+		assertTrue("Touched file is outdated", compiled.isUpToDate(compiled.indexOf("triangle"), polygonFile));
+	}
+
+	@Test
+	public void testChecksumIsCheckedOncePerFileState() throws Exception {
+		PolygonFileCompiler.compile(folder.getRoot(), target);
+		CompiledPolygonFile compiled = CompiledPolygonFile.open(target);
+		int triangle = compiled.indexOf("triangle");
+		File polygonFile = new File(folder.getRoot(), "triangle.poly");
+		long lastModified = polygonFile.lastModified();
+		assertTrue("Unchanged file is outdated", compiled.isUpToDate(triangle, polygonFile));
+
+		//the same length and modification time, so the checksum isn't computed again
+		write("triangle.poly", TRIANGLE.replace('2', '3'));
+		polygonFile.setLastModified(lastModified);
+		assertTrue("Checksum computed again", compiled.isUpToDate(triangle, polygonFile));
+
+		polygonFile.setLastModified(lastModified + 10000);
+		assertFalse("Changed file is up to date", compiled.isUpToDate(triangle, polygonFile));
+	}
+
+	@Test
+	public void testReadRing() throws Exception {
+		PolygonFileCompiler.compile(folder.getRoot(), target);
+		CompiledPolygonFile compiled = CompiledPolygonFile.open(target);
+		int section = compiled.getFirstSection(compiled.indexOf("dual")) + 1;
+		assertArrayEquals("Wrong ring", new double[] {3, 3, 3, 4, 4, 4, 4, 3}, compiled.readRing(section), 0);
+	}
+
+	@Test
+	public void testRecompiledFile() throws Exception {
+		PolygonFileCompiler.compile(folder.getRoot(), target);
+		new File(folder.getRoot(), "dual.poly").delete();
+		PolygonFileCompiler.compile(folder.getRoot(), target);
+		CompiledPolygonFile compiled = CompiledPolygonFile.open(target);
+		assertEquals("Wrong number of polygons", 3, compiled.getPolygonCount());
+		assertEquals("Deleted file compiled", -1, compiled.indexOf("dual"));
+		assertFalse("Temporary file not removed", new File(target.getPath() + ".tmp").exists());
+	}
+
+	@Test(expected = PolygonReadingException.class)
+	public void testInvalidFile() throws Exception {
+		FileOutputStream out = new FileOutputStream(target);
+		out.write(TRIANGLE.getBytes("ISO-8859-1"));
+		out.close();
+		CompiledPolygonFile.open(target);
+	}
+
+	@Test(expected = PolygonReadingException.class)
+	public void testTruncatedFile() throws Exception {
+		PolygonFileCompiler.compile(folder.getRoot(), target);
+		File truncated = new File(folder.getRoot(), "truncated.bin");
+		FileOutputStream out = new FileOutputStream(truncated);
+		byte[] content = Files.readAllBytes(target.toPath());
+		out.write(content, 0, content.length - 20);
+		out.close();
+		CompiledPolygonFile.open(truncated);
+	}
+}
@@ -0,0 +1,82 @@
+package de.fuberlin.panda.metadata.result.fusion.areal.geocoding;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.List;
+
+import de.fuberlin.panda.metadata.exceptions.PolygonReadingException;
+
+/**
+ * Simple benchmark which compares reading the vertices of all {@code .poly} files of a
+ * directory by the {@link PolygonFileReader} with reading them from the file compiled by the
+ * {@link PolygonFileCompiler}, including opening the {@link CompiledPolygonFile}. Every
+ * variant is measured after a warm up as the average of several rounds.
+ * <br><br>
+ * Usage: {@code PolygonLoadingBenchmark [directory] [rounds]}
+ *
+ * @since 18.10.2026
+ */
+public class PolygonLoadingBenchmark {
+	//keeps the JIT compiler from removing the reading
+	private static double checksum = 0;
+
+	public static void main(String[] args) throws Exception {
+		File directory = new File((args.length > 0) ? args[0] : "WebContent/prefs/geocoding");
+		int rounds = (args.length > 1) ? Integer.parseInt(args[1]) : 50;
+
+		File[] polygonFiles = directory.listFiles(new FileFilter() {
+			@Override
+			public boolean accept(File file) {
+				return file.getName().endsWith(".poly");
+			}
+		});
+		File compiledFile = File.createTempFile("polygons", ".bin");
+		compiledFile.deleteOnExit();
+		PolygonFileCompiler.compile(directory, compiledFile);
+
+		for (int warmUp = 0; warmUp < 2; warmUp++) {
+			measureParsing(polygonFiles, rounds);
+			measureCompiled(compiledFile, rounds);
+		}
+
+		System.out.println("polygon files: " + polygonFiles.length + ", average of " + rounds + " rounds");
+		System.out.println("parsed:  \t" + measureParsing(polygonFiles, rounds) + " ms");
+		System.out.println("compiled:\t" + measureCompiled(compiledFile, rounds) + " ms");
+		System.out.println("(checksum " + checksum + ")");
+	}
+
+	private static double measureParsing(File[] polygonFiles, int rounds) {
+		long startTime = System.nanoTime();
+		for (int round = 0; round < rounds; round++) {
+			for (File polygonFile : polygonFiles) {
+				try {
+					List<PolygonSection> sections = new PolygonFileReader(polygonFile).loadSections();
+					for (PolygonSection section : sections) {
+						for (int vertex = 0; vertex < section.getVertexCount(); vertex++) {
+							checksum += section.getX(vertex) + section.getY(vertex);
+						}
+					}
+				} catch (PolygonReadingException e) {
+					//skipped by the compiler as well
+				}
+			}
+		}
+		return (System.nanoTime() - startTime) / 1000000d / rounds;
+	}
+
+	private static double measureCompiled(File compiledFile, int rounds) throws PolygonReadingException {
+		long startTime = System.nanoTime();
+		for (int round = 0; round < rounds; round++) {
+			CompiledPolygonFile compiled = CompiledPolygonFile.open(compiledFile);
+			for (int polygon = 0; polygon < compiled.getPolygonCount(); polygon++) {
+				int firstSection = compiled.getFirstSection(polygon);
+				for (int section = firstSection; section < firstSection + compiled.getSectionCount(polygon); section++) {
+					for (int vertex = 0; vertex < compiled.getVertexCount(section); vertex++) {
+						checksum += compiled.getX(section, vertex) + compiled.getY(section, vertex);
+					}
+				}
+			}
+		}
+		return (System.nanoTime() - startTime) / 1000000d / rounds;
+	}
+}
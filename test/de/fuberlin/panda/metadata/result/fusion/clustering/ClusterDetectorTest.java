@@ -99,11 +99,11 @@ public class ClusterDetectorTest {
 		assertTrue("Test object 3: wrong object on last position.", 
 				testObject3.getNeighbors().last().getMetadataIndex() == 6);
 		
-		assertTrue("Test object 4: wrong neighbors size.", testObject4.getNeighbors().size() == 3);
+		assertTrue("Test object 4: wrong neighbors size.", testObject4.getNeighbors().size() == 2);
 		assertTrue("Test object 4: wrong object on first position.", 
 				testObject4.getNeighbors().first().getMetadataIndex() == 8);
 		assertTrue("Test object 4: wrong object on last position.", 
-				testObject4.getNeighbors().last().getMetadataIndex() == 5);
+				testObject4.getNeighbors().last().getMetadataIndex() == 9);
 		
 		assertTrue("Test object 5: wrong neighbors size.", testObject5.getNeighbors().size() == 2);
 		assertTrue("Test object 5: wrong object on first position.", 
@@ -111,11 +111,11 @@ public class ClusterDetectorTest {
 		assertTrue("Test object 5: wrong object on last position.", 
 				testObject5.getNeighbors().last().getMetadataIndex() == 0);
 		
-		assertTrue("Test object 6: wrong neighbors size.", testObject6.getNeighbors().size() == 3);
+		assertTrue("Test object 6: wrong neighbors size.", testObject6.getNeighbors().size() == 2);
 		assertTrue("Test object 6: wrong object on first position.", 
 				testObject6.getNeighbors().first().getMetadataIndex() == 9);
 		assertTrue("Test object 6: wrong object on last position.", 
-				testObject6.getNeighbors().last().getMetadataIndex() == 8);
+				testObject6.getNeighbors().last().getMetadataIndex() == 3);
 		
 		assertTrue("Test object 7: wrong neighbors size.", testObject7.getNeighbors().size() == 2);
 		assertTrue("Test object 7: wrong object on first position.", 
@@ -129,17 +129,17 @@ public class ClusterDetectorTest {
 		assertTrue("Test object 8: wrong object on last position.", 
 				testObject8.getNeighbors().last().getMetadataIndex() == 4);
 		
-		assertTrue("Test object 9: wrong neighbors size.", testObject9.getNeighbors().size() == 3);
+		assertTrue("Test object 9: wrong neighbors size.", testObject9.getNeighbors().size() == 2);
 		assertTrue("Test object 9: wrong object on first position.", 
 				testObject9.getNeighbors().first().getMetadataIndex() == 3);
 		assertTrue("Test object 9: wrong object on last position.", 
-				testObject9.getNeighbors().last().getMetadataIndex() == 5);
+				testObject9.getNeighbors().last().getMetadataIndex() == 9);
 		
-		assertTrue("Test object 10: wrong neighbors size.", testObject10.getNeighbors().size() == 3);
+		assertTrue("Test object 10: wrong neighbors size.", testObject10.getNeighbors().size() == 2);
 		assertTrue("Test object 10: wrong object on first position.", 
 				testObject10.getNeighbors().first().getMetadataIndex() == 3);
 		assertTrue("Test object 10: wrong object on last position.", 
-				testObject10.getNeighbors().last().getMetadataIndex() == 8);
+				testObject10.getNeighbors().last().getMetadataIndex() == 5);
 		
 		assertTrue("Test object 11: wrong neighbors size.", testObject11.getNeighbors().size() == 2);
 		assertTrue("Test object 11: wrong object on first position.", 
@@ -4,8 +4,6 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
-import java.util.TreeSet;
-
 import org.junit.Test;
 
 import de.fuberlin.panda.metadata.result.fusion.temporal.TemporalClusteringObject;
@@ -86,7 +84,7 @@ public class ClusteringObjectTest {
 		assertTrue("Initially more than 0 neighbors existend.", testObject.getNeighbors().size() == 0);
 		
 		testObject.addNeighbor(testNeighbor);
-		TreeSet<ClusteringObject> neighbors = testObject.getNeighbors();
+		NearestNeighbors neighbors = testObject.getNeighbors();
 		assertTrue("No exactly 1 neighbor existend.", neighbors.size() == 1);
 		assertTrue("The neighbors entry was not exactly the same object than the testNeighbor.", 
 				neighbors.first().equals(testNeighbor));
@@ -10,8 +10,15 @@ import org.junit.runners.Suite.SuiteClasses;
 	ClusterDetectorTest.class,
 	ClusteringObjectTest.class,
 	ClusteringResultTest.class,
+	DistanceKernelTest.class,
+	DuplicateGroupsTest.class,
+	GridDensityEngineTest.class,
+	NearestNeighborsTest.class,
 	NeighborsComparatorTest.class,
-	ReachabilityObjectComparatorTest.class
+	ParallelRangeTest.class,
+	PrimitiveOpticsEngineTest.class,
+	ReachabilityObjectComparatorTest.class,
+	SeedQueueTest.class
 })
 public class ClusteringTestSuite {
 
@@ -0,0 +1,102 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import de.fuberlin.panda.metadata.result.fusion.areal.ArealClusteringObject;
+import de.fuberlin.panda.metadata.result.fusion.temporal.TemporalClusteringObject;
+
+/**
+ * Simple benchmark which compares the distances from one query point to a block of candidate
+ * points, calculated one after another by {@link ClusteringObject#getDistance(ClusteringObject)}
+ * and as a block by the {@link DistanceKernel}. Every variant is measured after a warm up
+ * as the average of several rounds.
+ * <br><br>
+ * Usage: {@code DistanceKernelBenchmark [points] [rounds]}
+ *
+ * @since 18.10.2026
+ */
+public class DistanceKernelBenchmark {
+	//keeps the JIT compiler from removing the calculations
+	private static double checksum = 0;
+
+	public static void main(String[] args) {
+		int pointCount = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+		int rounds = (args.length > 1) ? Integer.parseInt(args[1]) : 50;
+
+		Random random = new Random(42);
+		double[] longitudes = new double[pointCount];
+		double[] latitudes = new double[pointCount];
+		long[] timestamps = new long[pointCount];
+		List<ArealClusteringObject> arealObjects = new ArrayList<>(pointCount);
+		List<TemporalClusteringObject> temporalObjects = new ArrayList<>(pointCount);
+		for (int i = 0; i < pointCount; i++) {
+			longitudes[i] = 13 + random.nextDouble();
+			latitudes[i] = 52 + random.nextDouble();
+			timestamps[i] = random.nextInt();
+			arealObjects.add(new ArealClusteringObject(i, longitudes[i], latitudes[i]));
+			temporalObjects.add(new TemporalClusteringObject(i, timestamps[i]));
+		}
+		ArealClusteringObject arealCenter = new ArealClusteringObject(-1, 13.5, 52.5);
+		TemporalClusteringObject temporalCenter = new TemporalClusteringObject(-1, 0L);
+		double[] distances = new double[pointCount];
+
+		for (int warmUp = 0; warmUp < 2; warmUp++) {
+			measureArealObjects(arealCenter, arealObjects, distances, rounds);
+			measureArealKernel(longitudes, latitudes, distances, rounds);
+			measureTemporalObjects(temporalCenter, temporalObjects, distances, rounds);
+			measureTemporalKernel(timestamps, distances, rounds);
+		}
+
+		System.out.println("points: " + pointCount + ", average of " + rounds + " rounds");
+		System.out.println("areal objects:   \t" + measureArealObjects(arealCenter, arealObjects, distances, rounds) + " ms");
+		System.out.println("areal kernel:    \t" + measureArealKernel(longitudes, latitudes, distances, rounds) + " ms");
+		System.out.println("temporal objects:\t" + measureTemporalObjects(temporalCenter, temporalObjects, distances, rounds) + " ms");
+		System.out.println("temporal kernel: \t" + measureTemporalKernel(timestamps, distances, rounds) + " ms");
+		System.out.println("(checksum " + checksum + ")");
+	}
+
+	private static double measureArealObjects(ArealClusteringObject center, List<ArealClusteringObject> objects,
+			double[] distances, int rounds) {
+		long startTime = System.nanoTime();
+		for (int round = 0; round < rounds; round++) {
+			for (int i = 0; i < objects.size(); i++) {
+				distances[i] = center.getDistance(objects.get(i));
+			}
+			checksum += distances[round];
+		}
+		return (System.nanoTime() - startTime) / 1000000d / rounds;
+	}
+
+	private static double measureArealKernel(double[] longitudes, double[] latitudes, double[] distances,
+			int rounds) {
+		long startTime = System.nanoTime();
+		for (int round = 0; round < rounds; round++) {
+			DistanceKernel.euclideanDistances(13.5, 52.5, longitudes, latitudes, 0, longitudes.length, distances);
+			checksum += distances[round];
+		}
+		return (System.nanoTime() - startTime) / 1000000d / rounds;
+	}
+
+	private static double measureTemporalObjects(TemporalClusteringObject center,
+			List<TemporalClusteringObject> objects, double[] distances, int rounds) {
+		long startTime = System.nanoTime();
+		for (int round = 0; round < rounds; round++) {
+			for (int i = 0; i < objects.size(); i++) {
+				distances[i] = center.getDistance(objects.get(i));
+			}
+			checksum += distances[round];
+		}
+		return (System.nanoTime() - startTime) / 1000000d / rounds;
+	}
+
+	private static double measureTemporalKernel(long[] timestamps, double[] distances, int rounds) {
+		long startTime = System.nanoTime();
+		for (int round = 0; round < rounds; round++) {
+			DistanceKernel.absoluteDistances(0L, timestamps, 0, timestamps.length, distances);
+			checksum += distances[round];
+		}
+		return (System.nanoTime() - startTime) / 1000000d / rounds;
+	}
+}
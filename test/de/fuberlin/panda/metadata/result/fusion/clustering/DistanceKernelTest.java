@@ -0,0 +1,65 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.fuberlin.panda.metadata.result.fusion.areal.ArealClusteringObject;
+import de.fuberlin.panda.metadata.result.fusion.temporal.TemporalClusteringObject;
+
+public class DistanceKernelTest {
+
+	@Test
+	public void testEuclideanDistances() {
+		Random random = new Random(1);
+		double[] longitudes = new double[1000];
+		double[] latitudes = new double[1000];
+		for (int i = 0; i < longitudes.length; i++) {
+			longitudes[i] = 360 * random.nextDouble() - 180;
+			latitudes[i] = 180 * random.nextDouble() - 90;
+		}
+		ArealClusteringObject center = new ArealClusteringObject(-1, 13.4, 52.5);
+
+		double[] distances = new double[longitudes.length];
+		DistanceKernel.euclideanDistances(13.4, 52.5, longitudes, latitudes, 3, 998, distances);
+		for (int i = 3; i < 998; i++) {
+			ArealClusteringObject object = new ArealClusteringObject(i, longitudes[i], latitudes[i]);
+			double expected = Math.sqrt(Math.pow(52.5 - latitudes[i], 2) + Math.pow(13.4 - longitudes[i], 2));
+			assertTrue("Wrong distance of point " + i, distances[i - 3] == center.getDistance(object));
+			assertTrue("Distance differs from Math.pow of point " + i, distances[i - 3] == expected);
+		}
+	}
+
+	@Test
+	public void testAbsoluteDistances() {
+		Random random = new Random(2);
+		long[] timestamps = new long[1000];
+		for (int i = 0; i < timestamps.length; i++) {
+			timestamps[i] = random.nextLong() >> 2;
+		}
+		TemporalClusteringObject center = new TemporalClusteringObject(-1, 1234567890L);
+
+		double[] distances = new double[timestamps.length];
+		DistanceKernel.absoluteDistances(1234567890L, timestamps, 5, 1000, distances);
+		for (int i = 5; i < 1000; i++) {
+			TemporalClusteringObject object = new TemporalClusteringObject(i, timestamps[i]);
+			assertTrue("Wrong distance of timestamp " + i, distances[i - 5] == center.getDistance(object));
+		}
+	}
+
+	@Test
+	public void testNeighborListAddAll() {
+		NeighborList neighbors = new NeighborList(1);
+		neighbors.add(7, 0.5);
+		neighbors.addAll(new int[] {1, 2, 3, 4}, 1, 4, new double[] {2d, 3d, 4d});
+
+		assertEquals("Wrong size", 4, neighbors.size());
+		assertEquals("Wrong id", 7, neighbors.getId(0));
+		assertEquals("Wrong id", 2, neighbors.getId(1));
+		assertEquals("Wrong id", 4, neighbors.getId(3));
+		assertTrue("Wrong distance", neighbors.getDistance(3) == 4d);
+	}
+}
@@ -0,0 +1,37 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class DuplicateGroupsTest {
+
+	@Test
+	public void testGroupsInOrderOfFirstMember() {
+		Object[] values = new Object[] {5L, 3L, 5L, 7L, 3L, 5L};
+		int[] metadataIndices = new int[] {10, 11, 12, 13, 14, 15};
+		DuplicateGroups duplicateGroups = DuplicateGroups.create(values, metadataIndices);
+
+		assertEquals("Wrong group count", 3, duplicateGroups.size());
+		assertEquals("Wrong member count", 6, duplicateGroups.getMemberCount());
+		assertEquals("Wrong weight", 3, duplicateGroups.getWeight(0));
+		assertEquals("Wrong weight", 2, duplicateGroups.getWeight(1));
+		assertEquals("Wrong weight", 1, duplicateGroups.getWeight(2));
+		assertEquals("Wrong first position", 0, duplicateGroups.getFirstPosition(0));
+		assertEquals("Wrong first position", 1, duplicateGroups.getFirstPosition(1));
+		assertEquals("Wrong first position", 3, duplicateGroups.getFirstPosition(2));
+		assertEquals("Wrong member", 10, duplicateGroups.getMetadataIndex(0, 0));
+		assertEquals("Wrong member", 12, duplicateGroups.getMetadataIndex(0, 1));
+		assertEquals("Wrong member", 15, duplicateGroups.getMetadataIndex(0, 2));
+		assertEquals("Wrong member", 11, duplicateGroups.getMetadataIndex(1, 0));
+		assertEquals("Wrong member", 14, duplicateGroups.getMetadataIndex(1, 1));
+		assertEquals("Wrong member", 13, duplicateGroups.getMetadataIndex(2, 0));
+	}
+
+	@Test
+	public void testEmptyValues() {
+		DuplicateGroups duplicateGroups = DuplicateGroups.create(new Object[0], new int[0]);
+		assertEquals("Wrong group count", 0, duplicateGroups.size());
+		assertEquals("Wrong member count", 0, duplicateGroups.getMemberCount());
+	}
+}
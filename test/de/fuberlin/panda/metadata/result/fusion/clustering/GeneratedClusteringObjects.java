@@ -0,0 +1,82 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import de.fuberlin.panda.metadata.result.fusion.areal.ArealClusteringObject;
+import de.fuberlin.panda.metadata.result.fusion.areal.ArealDistanceMetric;
+import de.fuberlin.panda.metadata.result.fusion.areal.GeoCoordinatesComparator;
+import de.fuberlin.panda.metadata.result.fusion.temporal.TemporalClusteringObject;
+import de.fuberlin.panda.metadata.result.fusion.temporal.TimestampComparator;
+
+/**
+ * This class creates random clustering objects for the tests which compare the clustering
+ * engines. Every 50th object has no metadata, the others form a few dense areas and some
+ * scattered objects. The same seed always creates the same objects.
+ *
+ * @since 18.10.2026
+ */
+public class GeneratedClusteringObjects {
+
+	private GeneratedClusteringObjects() {
+	}
+
+	/**
+	 * @return the areal objects, every 10th of them has one of a few equal coordinates.
+	 */
+	public static TreeSet<ArealClusteringObject> createArealObjects(int count, long seed,
+			ArealDistanceMetric distanceMetric) {
+		return createArealObjects(count, seed, distanceMetric, true);
+	}
+
+	/**
+	 * @param withDuplicates - {@code false} if no objects with equal coordinates should be
+	 * 	created on purpose.
+	 * @return the areal objects sorted by the {@code GeoCoordinatesComparator}.
+	 */
+	public static TreeSet<ArealClusteringObject> createArealObjects(int count, long seed,
+			ArealDistanceMetric distanceMetric, boolean withDuplicates) {
+		Random random = new Random(seed);
+		TreeSet<ArealClusteringObject> objects = new TreeSet<>(new GeoCoordinatesComparator());
+		for (int i = 0; i < count; i++) {
+			if (i % 50 == 7) {
+				objects.add(new ArealClusteringObject(i, null, null));
+			} else if (i % 10 == 3 && withDuplicates) {
+				//equal coordinates and distances
+				objects.add(new ArealClusteringObject(i, 13d + random.nextInt(3), 52d + random.nextInt(3)));
+			} else {
+				//a few dense areas and some scattered objects
+				double longitude = 5 * random.nextInt(4) + random.nextGaussian() * ((i % 4 == 0) ? 3 : 0.2);
+				double latitude = 40 + 5 * random.nextInt(3) + random.nextGaussian() * ((i % 4 == 0) ? 3 : 0.2);
+				objects.add(new ArealClusteringObject(i, longitude, latitude));
+			}
+		}
+		for (ArealClusteringObject object : objects) {
+			object.setDistanceMetric(distanceMetric);
+		}
+		return objects;
+	}
+
+	/**
+	 * @return the temporal objects, several of them with equal timestamps.
+	 */
+	public static TreeSet<TemporalClusteringObject> createTemporalObjects(int count, long seed) {
+		return createTemporalObjects(count, seed, true);
+	}
+
+	/**
+	 * @param withDuplicates - {@code false} if the timestamps should be distinct.
+	 * @return the temporal objects sorted by the {@code TimestampComparator}.
+	 */
+	public static TreeSet<TemporalClusteringObject> createTemporalObjects(int count, long seed,
+			boolean withDuplicates) {
+		Random random = new Random(seed);
+		TreeSet<TemporalClusteringObject> objects = new TreeSet<>(new TimestampComparator());
+		for (int i = 0; i < count; i++) {
+			long timestamp = (i % 50 == 7) ? -1 : 1389445141162L + random.nextInt(200) * 60000L
+					+ ((i % 5 == 0) ? random.nextInt(1000) * 3600000L : 0) + (withDuplicates ? 0 : i);
+			objects.add(new TemporalClusteringObject(i, timestamp));
+		}
+		return objects;
+	}
+}
@@ -0,0 +1,207 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import de.fuberlin.panda.metadata.result.fusion.areal.ArealClusteringObject;
+import de.fuberlin.panda.metadata.result.fusion.areal.ArealDistanceMetric;
+import de.fuberlin.panda.metadata.result.fusion.areal.ArealGridClusterDetector;
+import de.fuberlin.panda.metadata.result.fusion.areal.GeoCoordinatesComparator;
+import de.fuberlin.panda.metadata.result.fusion.temporal.TemporalClusteringObject;
+import de.fuberlin.panda.metadata.result.fusion.temporal.TemporalGridClusterDetector;
+import de.fuberlin.panda.metadata.result.fusion.temporal.TimestampComparator;
+
+public class GridDensityEngineTest {
+
+	/**
+	 * This method clusters the objects by comparing every object with every other object.
+	 */
+	private static ClusteringResult detectClustersByComparison(List<? extends ClusteringObject> objects,
+			List<Integer> noMetadataIndices, double neighborhoodRadius, int minNeighbors) {
+		int size = objects.size();
+		boolean[] coreObjects = new boolean[size];
+		for (int i = 0; i < size; i++) {
+			int count = 0;
+			for (int j = 0; j < size; j++) {
+				if (i != j && objects.get(i).getDistance(objects.get(j)) <= neighborhoodRadius) {
+					count++;
+				}
+			}
+			coreObjects[i] = count >= minNeighbors;
+		}
+
+		ClusteringResult result = new ClusteringResult();
+		for (Integer metadataIndex : noMetadataIndices) {
+			result.addNoMetadata(metadataIndex);
+		}
+		boolean[] clustered = new boolean[size];
+		for (int seed = 0; seed < size; seed++) {
+			if (clustered[seed] || !coreObjects[seed]) {
+				continue;
+			}
+			clustered[seed] = true;
+			result.addToNewCluster(objects.get(seed).getMetadataIndex());
+			List<Integer> queue = new ArrayList<>();
+			queue.add(seed);
+			for (int k = 0; k < queue.size(); k++) {
+				int i = queue.get(k);
+				for (int j = 0; j < size; j++) {
+					if (!clustered[j] && objects.get(i).getDistance(objects.get(j)) <= neighborhoodRadius) {
+						clustered[j] = true;
+						result.addToExistingCluster(objects.get(j).getMetadataIndex());
+						if (coreObjects[j]) {
+							queue.add(j);
+						}
+					}
+				}
+			}
+		}
+		for (int i = 0; i < size; i++) {
+			if (!clustered[i]) {
+				result.addOutlier(objects.get(i).getMetadataIndex());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The members of a cluster are found in another order, so they are compared sorted.
+	 */
+	private static void assertSameResult(ClusteringResult expected, ClusteringResult actual) {
+		assertEquals("Different objects without metadata", expected.getNoMetadata(), actual.getNoMetadata());
+		assertEquals("Different outliers", sort(expected.getOutliers()), sort(actual.getOutliers()));
+		assertEquals("Different cluster count", expected.getClusters().size(), actual.getClusters().size());
+		for (int i = 0; i < expected.getClusters().size(); i++) {
+			List<Integer> expectedCluster = new ArrayList<>(expected.getClusters().get(i));
+			List<Integer> actualCluster = new ArrayList<>(actual.getClusters().get(i));
+			assertEquals("Different first member of cluster " + i, expectedCluster.get(0), actualCluster.get(0));
+			Collections.sort(expectedCluster);
+			Collections.sort(actualCluster);
+			assertEquals("Different cluster " + i, expectedCluster, actualCluster);
+		}
+	}
+
+	private static List<Integer> sort(List<Integer> list) {
+		List<Integer> sortedList = new ArrayList<>(list);
+		Collections.sort(sortedList);
+		return sortedList;
+	}
+
+	@Test
+	public void testArealGridReturnsSameResultAsComparison() {
+		for (ArealDistanceMetric distanceMetric : ArealDistanceMetric.values()) {
+			for (int count : new int[] {1, 3, 40, 700}) {
+				for (int minNeighbors : new int[] {0, 2, 5}) {
+					for (double neighborhoodRadius : new double[] {0, 0.3, 2}) {
+						List<ArealClusteringObject> objects = new ArrayList<>();
+						List<Integer> noMetadataIndices = new ArrayList<>();
+						for (ArealClusteringObject object : GeneratedClusteringObjects.createArealObjects(count, count, distanceMetric)) {
+							if (object.getLongitude() == null) {
+								noMetadataIndices.add(object.getMetadataIndex());
+							} else {
+								objects.add(object);
+							}
+						}
+						ClusteringResult expected = detectClustersByComparison(objects, noMetadataIndices,
+								neighborhoodRadius, minNeighbors);
+
+						ArealGridClusterDetector detector = new ArealGridClusterDetector(neighborhoodRadius, minNeighbors);
+						detector.setParallelThreshold(0);
+						ClusteringResult actual = detector.detectClusters(
+								GeneratedClusteringObjects.createArealObjects(count, count, distanceMetric));
+						assertSameResult(expected, actual);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testTemporalGridReturnsSameResultAsComparison() {
+		for (int count : new int[] {1, 3, 40, 700}) {
+			for (int minNeighbors : new int[] {0, 2, 5}) {
+				for (double neighborhoodRadius : new double[] {0, 59999.5, 60000, 3600000}) {
+					List<TemporalClusteringObject> objects = new ArrayList<>();
+					List<Integer> noMetadataIndices = new ArrayList<>();
+					for (TemporalClusteringObject object : GeneratedClusteringObjects.createTemporalObjects(count, count)) {
+						if (object.getTimestamp() == -1) {
+							noMetadataIndices.add(object.getMetadataIndex());
+						} else {
+							objects.add(object);
+						}
+					}
+					ClusteringResult expected = detectClustersByComparison(objects, noMetadataIndices,
+							neighborhoodRadius, minNeighbors);
+
+					TemporalGridClusterDetector detector = new TemporalGridClusterDetector(neighborhoodRadius, minNeighbors);
+					ClusteringResult actual = detector.detectClusters(GeneratedClusteringObjects.createTemporalObjects(count, count));
+					assertSameResult(expected, actual);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCollapsedGridReturnsSameResult() {
+		for (int count : new int[] {1, 40, 700}) {
+			for (int minNeighbors : new int[] {0, 2, 5}) {
+				ArealGridClusterDetector arealDetector = new ArealGridClusterDetector(0.3, minNeighbors);
+				ClusteringResult expected = arealDetector.detectClusters(
+						GeneratedClusteringObjects.createArealObjects(count, count, ArealDistanceMetric.GEODESIC));
+				ArealGridClusterDetector collapsingArealDetector = new ArealGridClusterDetector(0.3, minNeighbors);
+				collapsingArealDetector.setCollapseDuplicates(true);
+				ClusteringResult actual = collapsingArealDetector.detectClusters(
+						GeneratedClusteringObjects.createArealObjects(count, count, ArealDistanceMetric.GEODESIC));
+				assertSameResult(expected, actual);
+
+				TemporalGridClusterDetector temporalDetector = new TemporalGridClusterDetector(60000, minNeighbors);
+				expected = temporalDetector.detectClusters(GeneratedClusteringObjects.createTemporalObjects(count, count));
+				TemporalGridClusterDetector collapsingTemporalDetector = new TemporalGridClusterDetector(60000, minNeighbors);
+				collapsingTemporalDetector.setCollapseDuplicates(true);
+				actual = collapsingTemporalDetector.detectClusters(GeneratedClusteringObjects.createTemporalObjects(count, count));
+				assertSameResult(expected, actual);
+			}
+		}
+	}
+
+	@Test
+	public void testTemporalClusterAndOutlier() {
+		TreeSet<TemporalClusteringObject> objects = new TreeSet<>(new TimestampComparator());
+		objects.add(new TemporalClusteringObject(0, 1000L));
+		objects.add(new TemporalClusteringObject(1, 1001L));
+		objects.add(new TemporalClusteringObject(2, 1002L));
+		objects.add(new TemporalClusteringObject(3, 1003L));
+		objects.add(new TemporalClusteringObject(4, 1100L));
+		objects.add(new TemporalClusteringObject(5, -1L));
+
+		ClusteringResult result = new TemporalGridClusterDetector(1.5, 2).detectClusters(objects);
+		assertEquals("Wrong objects without metadata", Arrays.asList(5), result.getNoMetadata());
+		assertEquals("Wrong outliers", Arrays.asList(4), result.getOutliers());
+		assertEquals("Wrong cluster count", 1, result.getClusters().size());
+		List<Integer> cluster = new ArrayList<>(result.getClusters().get(0));
+		Collections.sort(cluster);
+		assertEquals("Wrong cluster", Arrays.asList(0, 1, 2, 3), cluster);
+	}
+
+	@Test
+	public void testArealObjectWithOneCoordinateIsOutlier() {
+		TreeSet<ArealClusteringObject> objects = new TreeSet<>(new GeoCoordinatesComparator());
+		objects.add(new ArealClusteringObject(0, 13d, 52d));
+		objects.add(new ArealClusteringObject(1, 13.1, 52d));
+		objects.add(new ArealClusteringObject(2, 13d, 52.1));
+		objects.add(new ArealClusteringObject(3, 13d, null));
+
+		ClusteringResult result = new ArealGridClusterDetector(0.2, 2).detectClusters(objects);
+		assertTrue("Object with one coordinate isn't an outlier", result.getOutliers().contains(3));
+		assertEquals("Wrong cluster count", 1, result.getClusters().size());
+		assertEquals("Wrong cluster size", 3, result.getClusters().get(0).size());
+	}
+}
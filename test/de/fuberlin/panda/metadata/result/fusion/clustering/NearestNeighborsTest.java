@@ -0,0 +1,72 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import de.fuberlin.panda.metadata.result.fusion.temporal.TemporalClusteringObject;
+
+public class NearestNeighborsTest {
+
+	@Test
+	public void testBoundedCapacity() {
+		NearestNeighbors testNeighbors = new NearestNeighbors(2);
+		TemporalClusteringObject testNeighbor1 = new TemporalClusteringObject(1, 0);
+		TemporalClusteringObject testNeighbor2 = new TemporalClusteringObject(2, 0);
+		TemporalClusteringObject testNeighbor3 = new TemporalClusteringObject(3, 0);
+
+		assertTrue("Neighbor wasn't added.", testNeighbors.add(testNeighbor1, 5d));
+		assertTrue("Neighbor wasn't added.", testNeighbors.add(testNeighbor2, 7d));
+		assertFalse("Farther neighbor was added to full list.", testNeighbors.add(testNeighbor3, 9d));
+		assertTrue("Nearer neighbor wasn't added.", testNeighbors.add(testNeighbor3, 1d));
+
+		assertEquals("Wrong size.", 2, testNeighbors.size());
+		assertSame("Wrong first neighbor.", testNeighbor3, testNeighbors.first());
+		assertSame("Wrong last neighbor.", testNeighbor1, testNeighbors.last());
+		assertTrue("Wrong k-th distance.", testNeighbors.getDistance(1) == 5d);
+	}
+
+	@Test
+	public void testEqualDistancesAndDuplicates() {
+		NearestNeighbors testNeighbors = new NearestNeighbors(NearestNeighbors.UNBOUNDED);
+		TemporalClusteringObject testNeighbor1 = new TemporalClusteringObject(1, 0);
+		TemporalClusteringObject testNeighbor2 = new TemporalClusteringObject(2, 0);
+
+		testNeighbors.add(testNeighbor2, 3d);
+		testNeighbors.add(testNeighbor1, 3d);
+		assertFalse("Neighbor was added twice.", testNeighbors.add(testNeighbor1, 3d));
+		assertEquals("Wrong size.", 2, testNeighbors.size());
+		assertSame("Smaller metadata index isn't first.", testNeighbor1, testNeighbors.get(0));
+	}
+
+	@Test
+	public void testSameOrderAsTreeSet() {
+		Random random = new Random(3);
+		int capacity = 5;
+		for (int run = 0; run < 50; run++) {
+			NearestNeighbors testNeighbors = new NearestNeighbors(capacity);
+			TreeSet<ClusteringObject> referenceNeighbors = new TreeSet<>(new NeighborsComparator());
+			for (int i = 0; i < 40; i++) {
+				TemporalClusteringObject testNeighbor = new TemporalClusteringObject(i, 0);
+				testNeighbor.setHelpEpsilonDistance(random.nextInt(10));
+				testNeighbors.add(testNeighbor, testNeighbor.getHelpEpsilonDistance());
+				referenceNeighbors.add(testNeighbor);
+			}
+
+			List<ClusteringObject> expected = new ArrayList<>(referenceNeighbors).subList(0, capacity);
+			List<ClusteringObject> actual = new ArrayList<>();
+			for (ClusteringObject neighbor : testNeighbors) {
+				actual.add(neighbor);
+			}
+			assertEquals("Different nearest neighbors in run " + run, expected, actual);
+		}
+	}
+}
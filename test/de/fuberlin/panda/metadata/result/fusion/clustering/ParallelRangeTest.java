@@ -0,0 +1,101 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.Test;
+
+import de.fuberlin.panda.metadata.result.fusion.areal.ArealClusterDetector;
+import de.fuberlin.panda.metadata.result.fusion.areal.ArealClusteringObject;
+import de.fuberlin.panda.metadata.result.fusion.areal.GeoCoordinatesComparator;
+import de.fuberlin.panda.metadata.result.fusion.temporal.TemporalClusterDetector;
+import de.fuberlin.panda.metadata.result.fusion.temporal.TemporalClusteringObject;
+import de.fuberlin.panda.metadata.result.fusion.temporal.TimestampComparator;
+
+public class ParallelRangeTest {
+
+	private static TreeSet<ArealClusteringObject> createArealObjects(int count) {
+		Random random = new Random(count);
+		TreeSet<ArealClusteringObject> objects = new TreeSet<>(new GeoCoordinatesComparator());
+		for (int i = 0; i < count; i++) {
+			double spread = (i % 4 == 0) ? 3 : 0.2;
+			objects.add(new ArealClusteringObject(i, 5 * random.nextInt(4) + random.nextGaussian() * spread,
+					40 + 5 * random.nextInt(3) + random.nextGaussian() * spread));
+		}
+		return objects;
+	}
+
+	private static TreeSet<TemporalClusteringObject> createTemporalObjects(int count) {
+		Random random = new Random(count);
+		TreeSet<TemporalClusteringObject> objects = new TreeSet<>(new TimestampComparator());
+		for (int i = 0; i < count; i++) {
+			objects.add(new TemporalClusteringObject(i, 1389445141162L + random.nextInt(5000) * 60000L));
+		}
+		return objects;
+	}
+
+	private static void assertSameResult(ClusteringResult expected, ClusteringResult actual) {
+		assertEquals("Different outliers", expected.getOutliers(), actual.getOutliers());
+		assertEquals("Different clusters", expected.getClusters(), actual.getClusters());
+	}
+
+	@Test
+	public void testEveryIndexProcessedOnce() {
+		for (int size : new int[] {0, 1, 255, 100000}) {
+			final AtomicIntegerArray counts = new AtomicIntegerArray(size);
+			ParallelRange.forEach(size, 0, new ParallelRange.Body() {
+				@Override
+				public void run(int from, int to) {
+					for (int i = from; i < to; i++) {
+						counts.incrementAndGet(i);
+					}
+				}
+			});
+			for (int i = 0; i < size; i++) {
+				assertEquals("Index " + i + " of " + size + " processed wrong times", 1, counts.get(i));
+			}
+		}
+	}
+
+	@Test
+	public void testParallelArealClusteringIsDeterministic() {
+		for (boolean primitiveEngine : new boolean[] {false, true}) {
+			ArealClusterDetector serialDetector = new ArealClusterDetector(0.05, 4, 1.5);
+			serialDetector.setPrimitiveEngine(primitiveEngine);
+			serialDetector.setParallelThreshold(Integer.MAX_VALUE);
+			ClusteringResult expected = serialDetector.detectClusters(createArealObjects(5000));
+
+			for (int run = 0; run < 3; run++) {
+				ArealClusterDetector parallelDetector = new ArealClusterDetector(0.05, 4, 1.5);
+				parallelDetector.setPrimitiveEngine(primitiveEngine);
+				parallelDetector.setParallelThreshold(0);
+				assertSameResult(expected, parallelDetector.detectClusters(createArealObjects(5000)));
+			}
+		}
+	}
+
+	@Test
+	public void testParallelTemporalClusteringIsDeterministic() {
+		for (boolean primitiveEngine : new boolean[] {false, true}) {
+			TemporalClusterDetector serialDetector = new TemporalClusterDetector(60000, 3, 1.5);
+			serialDetector.setPrimitiveEngine(primitiveEngine);
+			serialDetector.setParallelThreshold(Integer.MAX_VALUE);
+			ClusteringResult expected = serialDetector.detectClusters(createTemporalObjects(5000));
+
+			for (int run = 0; run < 3; run++) {
+				TemporalClusterDetector parallelDetector = new TemporalClusterDetector(60000, 3, 1.5);
+				parallelDetector.setPrimitiveEngine(primitiveEngine);
+				parallelDetector.setParallelThreshold(0);
+				assertSameResult(expected, parallelDetector.detectClusters(createTemporalObjects(5000)));
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeParallelThreshold() {
+		new TemporalClusterDetector(1, 1).setParallelThreshold(-1);
+	}
+}
@@ -0,0 +1,61 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import de.fuberlin.panda.metadata.result.fusion.areal.ArealClusterDetector;
+import de.fuberlin.panda.metadata.result.fusion.areal.ArealClusteringObject;
+import de.fuberlin.panda.metadata.result.fusion.areal.ArealDistanceMetric;
+import de.fuberlin.panda.metadata.result.fusion.areal.GeoCoordinatesComparator;
+
+/**
+ * Simple benchmark which compares the OPTICS clustering of the {@link ClusterDetector} on
+ * {@link ClusteringObject}s with the {@link PrimitiveOpticsEngine} for 1k to 1M random
+ * geographical coordinates.
+ * <br><br>
+ * Usage: {@code PrimitiveOpticsBenchmark [maxPoints] [PLANAR|GEODESIC]}
+ *
+ * @since 18.10.2026
+ */
+public class PrimitiveOpticsBenchmark {
+	private static ArealDistanceMetric distanceMetric;
+
+	public static void main(String[] args) {
+		int maxPoints = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+		distanceMetric = (args.length > 1) ? ArealDistanceMetric.valueOf(args[1]) : ArealDistanceMetric.PLANAR;
+
+		//warm up
+		run(createObjects(10000), 1d / 10000, false);
+		run(createObjects(10000), 1d / 10000, true);
+
+		for (int pointCount = 1000; pointCount <= maxPoints; pointCount *= 10) {
+			double neighborhoodRadius = 1d / pointCount;
+			System.out.println("points: " + pointCount 
+					+ "\t objects: " + run(createObjects(pointCount), neighborhoodRadius, false)
+					+ "\t primitive: " + run(createObjects(pointCount), neighborhoodRadius, true));
+		}
+	}
+
+	private static TreeSet<ArealClusteringObject> createObjects(int pointCount) {
+		Random random = new Random(42);
+		TreeSet<ArealClusteringObject> objects = new TreeSet<>(new GeoCoordinatesComparator());
+		for (int i = 0; i < pointCount; i++) {
+			ArealClusteringObject object = new ArealClusteringObject(i, 13 + random.nextDouble(), 52 + random.nextDouble());
+			object.setDistanceMetric(distanceMetric);
+			objects.add(object);
+		}
+		return objects;
+	}
+
+	private static String run(TreeSet<ArealClusteringObject> objects, double neighborhoodRadius, 
+			boolean primitiveEngine) {
+		ArealClusterDetector detector = new ArealClusterDetector(neighborhoodRadius, 5, 5);
+		detector.setPrimitiveEngine(primitiveEngine);
+		long startTime = System.nanoTime();
+		ClusteringResult result = detector.detectClusters(objects);
+		long clusteringMillis = (System.nanoTime() - startTime) / 1000000;
+		Runtime runtime = Runtime.getRuntime();
+		long usedMegabytes = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+		return clusteringMillis + " ms, " + usedMegabytes + " MB used (" + result.getClusters().size() + " clusters)";
+	}
+}
@@ -0,0 +1,228 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import de.fuberlin.panda.metadata.result.fusion.areal.ArealClusterDetector;
+import de.fuberlin.panda.metadata.result.fusion.areal.ArealClusteringObject;
+import de.fuberlin.panda.metadata.result.fusion.areal.ArealDistanceMetric;
+import de.fuberlin.panda.metadata.result.fusion.temporal.TemporalClusterDetector;
+import de.fuberlin.panda.metadata.result.fusion.temporal.TemporalClusteringObject;
+import de.fuberlin.panda.metadata.result.fusion.temporal.TimestampComparator;
+
+public class PrimitiveOpticsEngineTest {
+
+	private static void assertSameResult(ClusteringResult expected, ClusteringResult actual) {
+		assertEquals("Different objects without metadata", expected.getNoMetadata(), actual.getNoMetadata());
+		assertEquals("Different outliers", expected.getOutliers(), actual.getOutliers());
+		assertEquals("Different clusters", expected.getClusters(), actual.getClusters());
+	}
+
+	@Test
+	public void testArealEngineReturnsSameResult() {
+		for (ArealDistanceMetric distanceMetric : ArealDistanceMetric.values()) {
+			for (int count : new int[] {1, 3, 6, 40, 700}) {
+				for (int minNeighbors : new int[] {2, 5}) {
+					for (double neighborhoodRadius : new double[] {0, 0.3, 2}) {
+						ArealClusterDetector objectDetector = new ArealClusterDetector(neighborhoodRadius, minNeighbors, 5);
+						ClusteringResult expected = objectDetector.detectClusters(
+								GeneratedClusteringObjects.createArealObjects(count, count, distanceMetric));
+
+						ArealClusterDetector primitiveDetector = new ArealClusterDetector(neighborhoodRadius, minNeighbors, 5);
+						primitiveDetector.setPrimitiveEngine(true);
+						ClusteringResult actual = primitiveDetector.detectClusters(
+								GeneratedClusteringObjects.createArealObjects(count, count, distanceMetric));
+						assertSameResult(expected, actual);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testTemporalEngineReturnsSameResult() {
+		for (int count : new int[] {1, 3, 6, 40, 700}) {
+			for (int minNeighbors : new int[] {2, 5}) {
+				for (double neighborhoodRadius : new double[] {0, 60000, 3600000}) {
+					TemporalClusterDetector objectDetector = new TemporalClusterDetector(neighborhoodRadius, minNeighbors, 5);
+					ClusteringResult expected = objectDetector.detectClusters(
+							GeneratedClusteringObjects.createTemporalObjects(count, count));
+
+					TemporalClusterDetector primitiveDetector = new TemporalClusterDetector(neighborhoodRadius, minNeighbors, 5);
+					primitiveDetector.setPrimitiveEngine(true);
+					ClusteringResult actual = primitiveDetector.detectClusters(
+							GeneratedClusteringObjects.createTemporalObjects(count, count));
+					assertSameResult(expected, actual);
+				}
+			}
+		}
+	}
+
+	/**
+	 * This method checks that every object is in the result once and that objects with equal
+	 * values are assigned together.
+	 */
+	private static void assertGroupsAssignedTogether(TreeSet<? extends ClusteringObject> objects,
+			Map<Integer, Object> values, ClusteringResult result) {
+		Map<Integer, Integer> assignments = new HashMap<>();
+		for (Integer metadataIndex : result.getNoMetadata()) {
+			assertNull("Object added twice", assignments.put(metadataIndex, -2));
+		}
+		for (Integer metadataIndex : result.getOutliers()) {
+			assertNull("Object added twice", assignments.put(metadataIndex, -1));
+		}
+		for (int cluster = 0; cluster < result.getClusters().size(); cluster++) {
+			for (Integer metadataIndex : result.getClusters().get(cluster)) {
+				assertNull("Object added twice", assignments.put(metadataIndex, cluster));
+			}
+		}
+		assertEquals("Wrong object count", objects.size(), assignments.size());
+
+		Map<Object, Integer> assignmentsByValue = new HashMap<>();
+		for (Map.Entry<Integer, Object> value : values.entrySet()) {
+			Integer assignment = assignmentsByValue.get(value.getValue());
+			if (assignment == null) {
+				assignmentsByValue.put(value.getValue(), assignments.get(value.getKey()));
+			} else {
+				assertEquals("Equal values assigned differently", assignment, assignments.get(value.getKey()));
+			}
+		}
+	}
+
+	@Test
+	public void testCollapsedArealEngineWithoutDuplicates() {
+		for (ArealDistanceMetric distanceMetric : ArealDistanceMetric.values()) {
+			for (int count : new int[] {1, 3, 6, 40, 700}) {
+				for (int minNeighbors : new int[] {2, 5}) {
+					for (double neighborhoodRadius : new double[] {0, 0.3, 2}) {
+						ArealClusterDetector primitiveDetector = new ArealClusterDetector(neighborhoodRadius, minNeighbors, 5);
+						primitiveDetector.setPrimitiveEngine(true);
+						ClusteringResult expected = primitiveDetector.detectClusters(
+								GeneratedClusteringObjects.createArealObjects(count, count, distanceMetric, false));
+
+						ArealClusterDetector collapsingDetector = new ArealClusterDetector(neighborhoodRadius, minNeighbors, 5);
+						collapsingDetector.setPrimitiveEngine(true);
+						collapsingDetector.setCollapseDuplicates(true);
+						ClusteringResult actual = collapsingDetector.detectClusters(
+								GeneratedClusteringObjects.createArealObjects(count, count, distanceMetric, false));
+						assertSameResult(expected, actual);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCollapsedTemporalEngineWithoutDuplicates() {
+		for (int count : new int[] {1, 3, 6, 40, 700}) {
+			for (int minNeighbors : new int[] {2, 5}) {
+				for (double neighborhoodRadius : new double[] {0, 60000, 3600000}) {
+					TemporalClusterDetector primitiveDetector = new TemporalClusterDetector(neighborhoodRadius, minNeighbors, 5);
+					primitiveDetector.setPrimitiveEngine(true);
+					ClusteringResult expected = primitiveDetector.detectClusters(
+							GeneratedClusteringObjects.createTemporalObjects(count, count, false));
+
+					TemporalClusterDetector collapsingDetector = new TemporalClusterDetector(neighborhoodRadius, minNeighbors, 5);
+					collapsingDetector.setPrimitiveEngine(true);
+					collapsingDetector.setCollapseDuplicates(true);
+					ClusteringResult actual = collapsingDetector.detectClusters(
+							GeneratedClusteringObjects.createTemporalObjects(count, count, false));
+					assertSameResult(expected, actual);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCollapsedEnginesAssignDuplicatesTogether() {
+		for (int count : new int[] {1, 6, 40, 700}) {
+			for (int minNeighbors : new int[] {2, 5}) {
+				TreeSet<ArealClusteringObject> arealObjects = 
+						GeneratedClusteringObjects.createArealObjects(count, count, ArealDistanceMetric.GEODESIC);
+				Map<Integer, Object> coordinates = new HashMap<>();
+				for (ArealClusteringObject object : arealObjects) {
+					if (object.getLongitude() != null) {
+						coordinates.put(object.getMetadataIndex(), 
+								Arrays.asList(object.getLongitude(), object.getLatitude()));
+					}
+				}
+				ArealClusterDetector arealDetector = new ArealClusterDetector(0.3, minNeighbors, 5);
+				arealDetector.setPrimitiveEngine(true);
+				arealDetector.setCollapseDuplicates(true);
+				ClusteringResult arealResult = arealDetector.detectClusters(arealObjects);
+				assertGroupsAssignedTogether(
+						GeneratedClusteringObjects.createArealObjects(count, count, ArealDistanceMetric.GEODESIC), 
+						coordinates, arealResult);
+
+				TreeSet<TemporalClusteringObject> temporalObjects = GeneratedClusteringObjects.createTemporalObjects(count, count);
+				Map<Integer, Object> timestamps = new HashMap<>();
+				for (TemporalClusteringObject object : temporalObjects) {
+					if (object.getTimestamp() != -1) {
+						timestamps.put(object.getMetadataIndex(), object.getTimestamp());
+					}
+				}
+				TemporalClusterDetector temporalDetector = new TemporalClusterDetector(60000, minNeighbors, 5);
+				temporalDetector.setPrimitiveEngine(true);
+				temporalDetector.setCollapseDuplicates(true);
+				ClusteringResult temporalResult = temporalDetector.detectClusters(temporalObjects);
+				assertGroupsAssignedTogether(GeneratedClusteringObjects.createTemporalObjects(count, count), 
+						timestamps, temporalResult);
+			}
+		}
+	}
+
+	@Test
+	public void testDuplicatesCountAsNeighbors() {
+		TreeSet<TemporalClusteringObject> objects = new TreeSet<>(new TimestampComparator());
+		for (int i = 0; i < 6; i++) {
+			objects.add(new TemporalClusteringObject(i, 1000L + (i / 3) * 10));
+		}
+		objects.add(new TemporalClusteringObject(6, 9000L));
+
+		TemporalClusterDetector detector = new TemporalClusterDetector(10, 2, 5);
+		detector.setPrimitiveEngine(true);
+		detector.setCollapseDuplicates(true);
+		ClusteringResult result = detector.detectClusters(objects);
+		assertEquals("Wrong outliers", Arrays.asList(6), result.getOutliers());
+		assertEquals("Wrong cluster count", 1, result.getClusters().size());
+		assertEquals("Wrong cluster", Arrays.asList(0, 1, 2, 3, 4, 5), result.getClusters().get(0));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testCollapseDuplicatesRequiresPrimitiveEngine() {
+		TemporalClusterDetector detector = new TemporalClusterDetector(10, 2, 5);
+		detector.setCollapseDuplicates(true);
+		detector.detectClusters(GeneratedClusteringObjects.createTemporalObjects(20, 20));
+	}
+
+	@Test
+	public void testSortNeighborList() {
+		Random random = new Random(5);
+		int[] metadataIndices = new int[200];
+		for (int i = 0; i < metadataIndices.length; i++) {
+			metadataIndices[i] = metadataIndices.length - i;
+		}
+		NeighborList neighbors = new NeighborList(1);
+		for (int i = 0; i < metadataIndices.length; i++) {
+			neighbors.add(i, random.nextInt(20));
+		}
+		neighbors.sort(metadataIndices);
+
+		assertEquals("Wrong size", 200, neighbors.size());
+		for (int i = 1; i < neighbors.size(); i++) {
+			double previousDistance = neighbors.getDistance(i - 1);
+			double distance = neighbors.getDistance(i);
+			boolean isOrdered = previousDistance < distance || (previousDistance == distance 
+					&& metadataIndices[neighbors.getId(i - 1)] < metadataIndices[neighbors.getId(i)]);
+			assertEquals("Wrong order at position " + i, true, isOrdered);
+		}
+	}
+}
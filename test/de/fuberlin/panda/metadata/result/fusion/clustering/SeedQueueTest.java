@@ -0,0 +1,88 @@
+package de.fuberlin.panda.metadata.result.fusion.clustering;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.fuberlin.panda.metadata.result.fusion.temporal.TemporalClusteringObject;
+
+public class SeedQueueTest {
+
+	@Test
+	public void testPollOrder() {
+		SeedQueue testQueue = new SeedQueue(1);
+		TemporalClusteringObject testObject1 = new TemporalClusteringObject(0, 0);
+		TemporalClusteringObject testObject2 = new TemporalClusteringObject(1, 0);
+		TemporalClusteringObject testObject3 = new TemporalClusteringObject(2, 0);
+		testObject1.setReachabilityDistance(5d);
+		testObject2.setReachabilityDistance(3d);
+		testObject3.setReachabilityDistance(3d);
+		testQueue.add(testObject3);
+		testQueue.add(testObject1);
+		testQueue.add(testObject2);
+
+		assertEquals("Queue has wrong size.", 3, testQueue.size());
+		assertSame("Wrong first object.", testObject2, testQueue.poll());
+		assertSame("Wrong second object.", testObject3, testQueue.poll());
+		assertFalse("Polled object still contained.", testQueue.contains(testObject3));
+		assertSame("Wrong third object.", testObject1, testQueue.poll());
+		assertTrue("Queue isn't empty.", testQueue.isEmpty());
+		assertNull("Empty queue returned an object.", testQueue.poll());
+	}
+
+	@Test
+	public void testDecreaseReachabilityDistance() {
+		SeedQueue testQueue = new SeedQueue(4);
+		TemporalClusteringObject testObject1 = new TemporalClusteringObject(0, 0);
+		TemporalClusteringObject testObject2 = new TemporalClusteringObject(1, 0);
+		testObject1.setReachabilityDistance(2d);
+		testObject2.setReachabilityDistance(8d);
+		testQueue.add(testObject1);
+		testQueue.add(testObject2);
+
+		testQueue.decreaseReachabilityDistance(testObject2, 1d);
+		assertTrue("Reachability distance wasn't set.", testObject2.getReachabilityDistance() == 1d);
+		assertSame("Decreased object isn't first.", testObject2, testQueue.poll());
+		assertSame("Wrong second object.", testObject1, testQueue.poll());
+	}
+
+	@Test
+	public void testSameOrderAsPriorityQueue() {
+		Random random = new Random(7);
+		List<TemporalClusteringObject> testObjects = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			testObjects.add(new TemporalClusteringObject(i, 0));
+		}
+
+		SeedQueue testQueue = new SeedQueue(16);
+		PriorityQueue<ClusteringObject> referenceQueue = new PriorityQueue<>(16, new ReachabilityComparator());
+		for (int step = 0; step < 3000; step++) {
+			TemporalClusteringObject testObject = testObjects.get(random.nextInt(testObjects.size()));
+			double reachabilityDistance = random.nextInt(50);
+			if (random.nextInt(4) == 0 && !testQueue.isEmpty()) {
+				assertSame("Different object polled in step " + step, referenceQueue.poll(), testQueue.poll());
+			} else if (!testQueue.contains(testObject)) {
+				testObject.setReachabilityDistance(reachabilityDistance);
+				testQueue.add(testObject);
+				referenceQueue.add(testObject);
+			} else if (reachabilityDistance < testObject.getReachabilityDistance()) {
+				referenceQueue.remove(testObject);
+				testQueue.decreaseReachabilityDistance(testObject, reachabilityDistance);
+				referenceQueue.add(testObject);
+			}
+		}
+		while (!referenceQueue.isEmpty()) {
+			assertSame("Different object polled.", referenceQueue.poll(), testQueue.poll());
+		}
+		assertTrue("Queue isn't empty.", testQueue.isEmpty());
+	}
+}
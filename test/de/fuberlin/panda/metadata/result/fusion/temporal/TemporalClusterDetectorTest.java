@@ -77,11 +77,13 @@ public class TemporalClusterDetectorTest {
 		testSet.add(testNeighbor3);
 		testSet.add(testNeighbor4);
 		
+		assertTrue("Neighborhood of test object has wrong size.", 
+				testDetector.findNeighbors(testObject, testSet).size() == 4);
 		testDetector.calculateNeighborhood(testObject, testSet);
-		assertTrue("Neighbors Set of test object has wrong size.", testObject.getNeighbors().size() == 4);
+		assertTrue("Not only the minNeighbors nearest neighbors were kept.", testObject.getNeighbors().size() == 2);
 		assertTrue("Wrong object on first position of neighbors set.", 
 				testObject.getNeighbors().first() == testNeighbor2);
 		assertTrue("Wrong object on last position of neighbors set.", 
-				testObject.getNeighbors().last() == testNeighbor1);
+				testObject.getNeighbors().last() == testNeighbor4);
 	}
 }
\ No newline at end of file
@@ -8,7 +8,8 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses({
 	TemporalClusterDetectorTest.class,
 	TemporalClusteringObjectTest.class,
-	TimestampComparatorTest.class
+	TimestampComparatorTest.class,
+	TemporalNeighborhoodIndexTest.class
 })
 public class TemporalFusionTestSuite {
 
@@ -0,0 +1,59 @@
+package de.fuberlin.panda.metadata.result.fusion.temporal;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringResult;
+
+/**
+ * Simple benchmark which measures the neighborhood calculation of the
+ * {@link TemporalClusterDetector} with the {@link TemporalNeighborhoodIndex} and the whole
+ * OPTICS clustering for 1k to 1M random expiration dates within one year.
+ * <br><br>
+ * Usage: {@code TemporalNeighborhoodBenchmark [maxTimestamps]}
+ *
+ * @since 18.10.2026
+ */
+public class TemporalNeighborhoodBenchmark {
+	private static final long YEAR_MILLIS = 365L * 24 * 60 * 60 * 1000;
+
+	public static void main(String[] args) {
+		int maxTimestamps = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+
+		//warm up
+		runIndexed(createObjects(10000), YEAR_MILLIS / 10000, 5);
+
+		for (int timestampCount = 1000; timestampCount <= maxTimestamps; timestampCount *= 10) {
+			double neighborhoodRadius = YEAR_MILLIS / timestampCount;
+
+			long startTime = System.nanoTime();
+			runIndexed(createObjects(timestampCount), neighborhoodRadius, 5);
+			long indexedMillis = (System.nanoTime() - startTime) / 1000000;
+
+			startTime = System.nanoTime();
+			ClusteringResult result = new TemporalClusterDetector(neighborhoodRadius, 5, 5)
+					.detectClusters(createObjects(timestampCount));
+			long clusteringMillis = (System.nanoTime() - startTime) / 1000000;
+
+			System.out.println("timestamps: " + timestampCount + "\t indexed neighborhoods: " + indexedMillis
+					+ " ms\t OPTICS: " + clusteringMillis + " ms (" + result.getClusters().size() + " clusters)");
+		}
+	}
+
+	private static TreeSet<TemporalClusteringObject> createObjects(int timestampCount) {
+		Random random = new Random(42);
+		TreeSet<TemporalClusteringObject> objects = new TreeSet<>(new TimestampComparator());
+		for (int i = 0; i < timestampCount; i++) {
+			objects.add(new TemporalClusteringObject(i, 1389445141162L + (long) (random.nextDouble() * YEAR_MILLIS)));
+		}
+		return objects;
+	}
+
+	private static void runIndexed(TreeSet<TemporalClusteringObject> objects, double neighborhoodRadius,
+			int minNeighbors) {
+		TemporalClusterDetector detector = new TemporalClusterDetector(neighborhoodRadius, minNeighbors);
+		for (TemporalClusteringObject object : objects) {
+			detector.calculateNeighborhood(object, objects);
+		}
+	}
+}
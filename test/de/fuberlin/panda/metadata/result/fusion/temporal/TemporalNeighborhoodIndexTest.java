@@ -0,0 +1,94 @@
+package de.fuberlin.panda.metadata.result.fusion.temporal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import de.fuberlin.panda.metadata.result.fusion.clustering.ClusteringObject;
+import de.fuberlin.panda.metadata.result.fusion.clustering.NeighborsComparator;
+
+public class TemporalNeighborhoodIndexTest {
+
+	private static List<TemporalClusteringObject> createObjects(int count, long seed) {
+		Random random = new Random(seed);
+		List<TemporalClusteringObject> objects = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			//few different timestamps to get a lot of equal distances
+			objects.add(new TemporalClusteringObject(i, 1389445141162L + random.nextInt(100) * 1000));
+		}
+		Collections.shuffle(objects, random);
+		return objects;
+	}
+
+	private static List<Integer> getIndices(List<TemporalClusteringObject> objects) {
+		List<Integer> indices = new ArrayList<>();
+		for (TemporalClusteringObject object : objects) {
+			indices.add(object.getMetadataIndex());
+		}
+		return indices;
+	}
+
+	@Test
+	public void testRangeQuery() {
+		List<TemporalClusteringObject> objects = createObjects(500, 1);
+		TemporalNeighborhoodIndex index = new TemporalNeighborhoodIndex(objects);
+		assertEquals("Wrong index size", 500, index.size());
+
+		for (TemporalClusteringObject center : objects.subList(0, 50)) {
+			List<Integer> expected = new ArrayList<>();
+			for (TemporalClusteringObject object : objects) {
+				if (object != center && center.getDistance(object) <= 3000) {
+					expected.add(object.getMetadataIndex());
+				}
+			}
+			Collections.sort(expected);
+			List<Integer> actual = getIndices(index.rangeQuery(center, 3000));
+			Collections.sort(actual);
+			assertEquals("Wrong range of object " + center.getMetadataIndex(), expected, actual);
+		}
+	}
+
+	@Test
+	public void testNearestNeighbors() {
+		List<TemporalClusteringObject> objects = createObjects(500, 2);
+		TemporalNeighborhoodIndex index = new TemporalNeighborhoodIndex(objects);
+
+		for (TemporalClusteringObject center : objects.subList(0, 50)) {
+			TreeSet<ClusteringObject> sortedObjects = new TreeSet<>(new NeighborsComparator());
+			for (TemporalClusteringObject object : objects) {
+				if (object != center) {
+					object.setHelpEpsilonDistance(center.getDistance(object));
+					sortedObjects.add(object);
+				}
+			}
+			for (int k : new int[] {1, 7, 30}) {
+				List<Integer> expected = new ArrayList<>();
+				for (ClusteringObject object : sortedObjects) {
+					if (expected.size() == k) {
+						break;
+					}
+					expected.add(object.getMetadataIndex());
+				}
+				assertEquals("Wrong " + k + " nearest neighbors of object " + center.getMetadataIndex(),
+						expected, getIndices(index.nearestNeighbors(center, k)));
+			}
+		}
+	}
+
+	@Test
+	public void testQueriesWithFewObjects() {
+		List<TemporalClusteringObject> objects = createObjects(3, 3);
+		TemporalNeighborhoodIndex index = new TemporalNeighborhoodIndex(objects);
+
+		assertEquals("Wrong number of nearest neighbors", 2, index.nearestNeighbors(objects.get(0), 5).size());
+		assertTrue("Center object returned", !index.rangeQuery(objects.get(0), 1e9).contains(objects.get(0)));
+		assertEquals("Wrong number of objects in range", 2, index.rangeQuery(objects.get(0), 1e9).size());
+	}
+}
@@ -0,0 +1,38 @@
+package de.fuberlin.panda.properties;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import de.fuberlin.panda.metadata.config.OutputFormat;
+
+public class OutputFormatTest {
+
+	@Test
+	public void testFromParameter() {
+		assertTrue("Wrong format for parameter 'turtle'.", 
+				OutputFormat.fromParameter("turtle") == OutputFormat.TURTLE);
+		assertTrue("Wrong format for parameter 'NTriples'.", 
+				OutputFormat.fromParameter("NTriples") == OutputFormat.N_TRIPLES);
+		assertNull("Format found for unknown parameter.", OutputFormat.fromParameter("thrift"));
+		assertNull("Format found for missing parameter.", OutputFormat.fromParameter(null));
+	}
+	
+	@Test
+	public void testFromAcceptHeader() {
+		assertTrue("Wrong format for single media type.", 
+				OutputFormat.fromAcceptHeader("text/turtle") == OutputFormat.TURTLE);
+		assertTrue("Quality values weren't respected.", 
+				OutputFormat.fromAcceptHeader("text/turtle;q=0.5, application/n-triples") 
+				== OutputFormat.N_TRIPLES);
+		assertTrue("Order wasn't respected for equal quality.", 
+				OutputFormat.fromAcceptHeader("application/rdf+json, text/turtle") 
+				== OutputFormat.RDF_JSON);
+		assertTrue("Browser header didn't return the default format.", 
+				OutputFormat.fromAcceptHeader("text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8") 
+				== OutputFormat.RDF_XML_ABBREV);
+		assertNull("Format found for wildcard.", OutputFormat.fromAcceptHeader("*/*"));
+		assertNull("Format found for missing header.", OutputFormat.fromAcceptHeader(null));
+	}
+}
@@ -7,6 +7,7 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({ 
 	RDFInputTest.class,
+	OutputFormatTest.class,
 })
 public class PropertiesTestSuite {
 